@@ -12,9 +12,16 @@
  */
 package tech.pegasys.pantheon.consensus.ibft;
 
+import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Message;
 
 public interface Gossiper {
 
-  void send(Message message);
+  /**
+   * Retransmits a received message.
+   *
+   * @param message The raw message to be gossiped
+   * @param author The author of the message, as recovered when it was decoded
+   */
+  void send(Message message, Address author);
 }
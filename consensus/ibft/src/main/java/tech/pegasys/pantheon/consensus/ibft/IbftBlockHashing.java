@@ -16,13 +16,11 @@ import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderBuilder;
 import tech.pegasys.pantheon.ethereum.core.Hash;
-import tech.pegasys.pantheon.ethereum.core.Util;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.List;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 public class IbftBlockHashing {
 
@@ -61,6 +59,7 @@ public class IbftBlockHashing {
 
   /**
    * Recovers the {@link Address} for each validator that contributed a committed seal to the block.
+   * The seals are recovered concurrently, and their addresses cached.
    *
    * @param header the block header that was signed by the committed seals
    * @param ibftExtraData the parsed {@link IbftExtraData} from the header
@@ -71,9 +70,7 @@ public class IbftBlockHashing {
     final Hash committerHash =
         IbftBlockHashing.calculateDataHashForCommittedSeal(header, ibftExtraData);
 
-    return ibftExtraData.getSeals().stream()
-        .map(p -> Util.signatureToAddress(p, committerHash))
-        .collect(Collectors.toList());
+    return SignatureRecovery.recoverAddresses(ibftExtraData.getSeals(), committerHash);
   }
 
   private static BytesValue serializeHeader(
@@ -12,13 +12,7 @@
  */
 package tech.pegasys.pantheon.consensus.ibft;
 
-import tech.pegasys.pantheon.consensus.ibft.messagedata.CommitMessageData;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.IbftV2;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.PrepareMessageData;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.ProposalMessageData;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.RoundChangeMessageData;
 import tech.pegasys.pantheon.consensus.ibft.network.ValidatorMulticaster;
-import tech.pegasys.pantheon.consensus.ibft.payload.Authored;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Message;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
@@ -45,31 +39,14 @@ public class IbftGossip implements Gossiper {
    * Retransmit a given IBFT message to other known validators nodes
    *
    * @param message The raw message to be gossiped
+   * @param author The author of the message, which it was already decoded to handle, so that it
+   *     doesn't have to be decoded again
    */
   @Override
-  public void send(final Message message) {
+  public void send(final Message message, final Address author) {
     final MessageData messageData = message.getData();
-    final Authored decodedMessage;
-    switch (messageData.getCode()) {
-      case IbftV2.PROPOSAL:
-        decodedMessage = ProposalMessageData.fromMessageData(messageData).decode();
-        break;
-      case IbftV2.PREPARE:
-        decodedMessage = PrepareMessageData.fromMessageData(messageData).decode();
-        break;
-      case IbftV2.COMMIT:
-        decodedMessage = CommitMessageData.fromMessageData(messageData).decode();
-        break;
-      case IbftV2.ROUND_CHANGE:
-        decodedMessage = RoundChangeMessageData.fromMessageData(messageData).decode();
-        break;
-      default:
-        throw new IllegalArgumentException(
-            "Received message does not conform to any recognised IBFT message structure.");
-    }
     final List<Address> excludeAddressesList =
-        Lists.newArrayList(
-            message.getConnection().getPeerInfo().getAddress(), decodedMessage.getAuthor());
+        Lists.newArrayList(message.getConnection().getPeerInfo().getAddress(), author);
 
     multicaster.send(messageData, excludeAddressesList);
   }
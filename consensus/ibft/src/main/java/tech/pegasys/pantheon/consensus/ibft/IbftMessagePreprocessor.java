@@ -0,0 +1,217 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.consensus.ibft;
+
+import static tech.pegasys.pantheon.ethereum.eth.manager.MonitoredExecutors.newCachedThreadPool;
+
+import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftReceivedMessageEvent;
+import tech.pegasys.pantheon.consensus.ibft.messagedata.IbftMessages;
+import tech.pegasys.pantheon.consensus.ibft.messagewrappers.IbftMessage;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Message;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.plugin.services.MetricsSystem;
+import tech.pegasys.pantheon.plugin.services.metrics.Counter;
+import tech.pegasys.pantheon.plugin.services.metrics.LabelledMetric;
+import tech.pegasys.pantheon.plugin.services.metrics.OperationTimer;
+import tech.pegasys.pantheon.plugin.services.metrics.OperationTimer.TimingContext;
+import tech.pegasys.pantheon.services.pipeline.Pipe;
+import tech.pegasys.pantheon.services.pipeline.Pipeline;
+import tech.pegasys.pantheon.services.pipeline.PipelineBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Decodes and authenticates received IBFT messages on several threads before they are queued for
+ * the {@link IbftProcessor}, so that the single thread running the state machine only spends time
+ * on messages it can act upon. Messages which were already received, which can't be decoded or
+ * whose author can't be recovered, and messages for heights which are already complete or too far
+ * in the future, are dropped rather than queued.
+ */
+public class IbftMessagePreprocessor {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int DECODER_COUNT =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+  private final Blockchain blockchain;
+  private final IbftEventQueue eventQueue;
+  private final long futureMessagesMaxDistance;
+  private final MessageTracker seenMessages;
+  private final MetricsSystem metricsSystem;
+  private final Pipeline<ReceivedMessage> pipeline;
+  private final AtomicInteger pendingMessages = new AtomicInteger();
+  private final LabelledMetric<OperationTimer> stageTimer;
+  private final LabelledMetric<Counter> droppedMessages;
+  private ExecutorService executor;
+
+  /**
+   * @param blockchain the chain whose head determines which heights messages are expected for.
+   * @param eventQueue the queue to add decoded and authenticated messages to.
+   * @param bufferSize the number of received messages which may await decoding.
+   * @param futureMessagesMaxDistance how many heights beyond the next one to accept messages for.
+   * @param duplicateMessageLimit how many received messages to remember to detect duplicates.
+   * @param metricsSystem the metrics system to report queue depths and stage latencies to.
+   */
+  public IbftMessagePreprocessor(
+      final Blockchain blockchain,
+      final IbftEventQueue eventQueue,
+      final int bufferSize,
+      final long futureMessagesMaxDistance,
+      final int duplicateMessageLimit,
+      final MetricsSystem metricsSystem) {
+    this.blockchain = blockchain;
+    this.eventQueue = eventQueue;
+    this.futureMessagesMaxDistance = futureMessagesMaxDistance;
+    this.seenMessages = new MessageTracker(duplicateMessageLimit);
+    this.metricsSystem = metricsSystem;
+
+    metricsSystem.createIntegerGauge(
+        PantheonMetricCategory.CONSENSUS,
+        "ibft_pending_messages",
+        "Number of received IBFT messages awaiting decoding and authentication",
+        pendingMessages::get);
+    metricsSystem.createIntegerGauge(
+        PantheonMetricCategory.CONSENSUS,
+        "ibft_event_queue_size",
+        "Number of IBFT events queued for the state machine",
+        eventQueue::size);
+    stageTimer =
+        metricsSystem.createLabelledTimer(
+            PantheonMetricCategory.CONSENSUS,
+            "ibft_message_stage_duration_seconds",
+            "Time received IBFT messages spend in each stage before reaching the state machine",
+            "stage");
+    droppedMessages =
+        metricsSystem.createLabelledCounter(
+            PantheonMetricCategory.CONSENSUS,
+            "ibft_dropped_messages_total",
+            "Number of received IBFT messages dropped before reaching the state machine",
+            "reason");
+    final LabelledMetric<Counter> outputCounter =
+        metricsSystem.createLabelledCounter(
+            PantheonMetricCategory.CONSENSUS,
+            "ibft_message_pipeline_processed_total",
+            "Number of messages processed by each IBFT message pipeline stage",
+            "step",
+            "action");
+
+    pipeline =
+        PipelineBuilder.<ReceivedMessage>createPipeline(
+                "ibftMessageReceived", bufferSize, outputCounter)
+            .thenFlatMapInParallel(
+                "ibftMessageDecoded", this::preprocess, DECODER_COUNT, bufferSize)
+            .andFinishWith("ibftMessageQueued", eventQueue::add);
+  }
+
+  public synchronized void start() {
+    if (executor == null) {
+      executor = newCachedThreadPool("IbftMessagePreprocessor", metricsSystem);
+      pipeline.start(executor);
+    }
+  }
+
+  public synchronized void stop() {
+    if (executor != null) {
+      pipeline.abort();
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Adds a received message to be decoded and authenticated. The message is dropped if too many
+   * messages are already awaiting decoding.
+   *
+   * @param message the received message.
+   */
+  public void add(final Message message) {
+    final Pipe<ReceivedMessage> input = pipeline.getInputPipe();
+    if (!input.hasRemainingCapacity()) {
+      LOG.debug("Too many IBFT messages awaiting decoding, dropping message");
+      droppedMessages.labels("overloaded").inc();
+      return;
+    }
+    pendingMessages.incrementAndGet();
+    input.put(new ReceivedMessage(message, stageTimer.labels("queued").startTimer()));
+  }
+
+  private Stream<IbftReceivedMessageEvent> preprocess(final ReceivedMessage received) {
+    received.queuedTimer.stopTimer();
+    final Message message = received.message;
+    try {
+      if (isDuplicate(message.getData())) {
+        return drop("duplicate");
+      }
+
+      final IbftMessage<?> ibftMessage;
+      try (final TimingContext ignored = stageTimer.labels("decode").startTimer()) {
+        ibftMessage = IbftMessages.decode(message.getData());
+      }
+
+      // Heights up to the chain head are complete, messages for them can no longer be acted upon.
+      final long height = ibftMessage.getRoundIdentifier().getSequenceNumber();
+      final long chainHeadNumber = blockchain.getChainHeadBlockNumber();
+      if (height <= chainHeadNumber) {
+        return drop("old_height");
+      }
+      if (height > chainHeadNumber + 1 + futureMessagesMaxDistance) {
+        return drop("far_future_height");
+      }
+
+      try (final TimingContext ignored = stageTimer.labels("authenticate").startTimer()) {
+        if (ibftMessage.getAuthor() == null) {
+          return drop("unauthenticated");
+        }
+      }
+      return Stream.of(new IbftReceivedMessageEvent(message, ibftMessage));
+    } catch (final RuntimeException e) {
+      // An exception escaping a pipeline stage aborts the pipeline.
+      LOG.debug("Dropping IBFT message which could not be decoded", e);
+      return drop("invalid");
+    } finally {
+      pendingMessages.decrementAndGet();
+    }
+  }
+
+  private boolean isDuplicate(final MessageData messageData) {
+    synchronized (seenMessages) {
+      if (seenMessages.hasSeenMessage(messageData)) {
+        return true;
+      }
+      seenMessages.addSeenMessage(messageData);
+      return false;
+    }
+  }
+
+  private Stream<IbftReceivedMessageEvent> drop(final String reason) {
+    LOG.trace("Dropping IBFT message, reason={}", reason);
+    droppedMessages.labels(reason).inc();
+    return Stream.empty();
+  }
+
+  private static class ReceivedMessage {
+    private final Message message;
+    private final TimingContext queuedTimer;
+
+    private ReceivedMessage(final Message message, final TimingContext queuedTimer) {
+      this.message = message;
+      this.queuedTimer = queuedTimer;
+    }
+  }
+}
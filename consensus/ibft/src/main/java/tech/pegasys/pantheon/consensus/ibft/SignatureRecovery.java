@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.consensus.ibft;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.Signature;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Recovers the addresses which signed IBFT messages and commit seals, which is by far the most
+ * expensive part of handling them.
+ *
+ * <p>Recovered addresses are cached by signature and signed hash, as the same signatures are
+ * recovered time and again: a message is included in the certificates of later messages, and the
+ * commit seals of a block are recovered when its commits are received as well as when its header
+ * is validated. The signatures of a certificate or the seals of a header, which can number in the
+ * dozens on networks with many validators, are recovered concurrently on a small shared pool.
+ */
+public class SignatureRecovery {
+
+  private static final int CACHE_SIZE = 8192;
+  // Handing signatures over to the pool only pays off when there are a few to recover.
+  private static final int MIN_CONCURRENT_RECOVERIES = 4;
+  private static final int WORKER_COUNT =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+  private static final Cache<SignedHash, Address> RECOVERED_ADDRESSES =
+      CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+  private static final ExecutorService RECOVERY_EXECUTOR =
+      Executors.newFixedThreadPool(
+          WORKER_COUNT,
+          new ThreadFactoryBuilder()
+              .setNameFormat("ibft-signature-recovery-%d")
+              .setDaemon(true)
+              .build());
+
+  private SignatureRecovery() {}
+
+  /**
+   * Recovers the address which signed the given hash.
+   *
+   * @param signature the signature.
+   * @param dataHash the hash which was signed.
+   * @return the address which signed the hash, or null if the signature is invalid.
+   */
+  public static Address recoverAddress(final Signature signature, final Hash dataHash) {
+    final SignedHash key = new SignedHash(signature, dataHash);
+    final Address cached = RECOVERED_ADDRESSES.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    final Address recovered = Util.signatureToAddress(signature, dataHash);
+    if (recovered != null) {
+      RECOVERED_ADDRESSES.put(key, recovered);
+    }
+    return recovered;
+  }
+
+  /**
+   * Recovers the addresses which signed the same hash, such as the commit seals of a block.
+   *
+   * @param signatures the signatures.
+   * @param dataHash the hash which was signed.
+   * @return the address which made each signature, in order, null for invalid signatures.
+   */
+  public static List<Address> recoverAddresses(
+      final Collection<Signature> signatures, final Hash dataHash) {
+    return recoverAddresses(
+        new ArrayList<>(signatures), Collections.nCopies(signatures.size(), dataHash));
+  }
+
+  /**
+   * Recovers the addresses which signed the given hashes, such as the messages of a certificate.
+   *
+   * @param signatures the signatures.
+   * @param dataHashes the hash which was signed by each signature.
+   * @return the address which made each signature, in order, null for invalid signatures.
+   */
+  public static List<Address> recoverAddresses(
+      final List<Signature> signatures, final List<Hash> dataHashes) {
+    final int count = signatures.size();
+    final List<Address> addresses = new ArrayList<>(count);
+    if (count < MIN_CONCURRENT_RECOVERIES) {
+      for (int i = 0; i < count; i++) {
+        addresses.add(recoverAddress(signatures.get(i), dataHashes.get(i)));
+      }
+      return addresses;
+    }
+
+    final List<CompletableFuture<Address>> recoveries = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final Signature signature = signatures.get(i);
+      final Hash dataHash = dataHashes.get(i);
+      final Address cached = RECOVERED_ADDRESSES.getIfPresent(new SignedHash(signature, dataHash));
+      recoveries.add(
+          cached != null
+              ? CompletableFuture.completedFuture(cached)
+              : CompletableFuture.supplyAsync(
+                  () -> recoverAddress(signature, dataHash), RECOVERY_EXECUTOR));
+    }
+    try {
+      for (final CompletableFuture<Address> recovery : recoveries) {
+        addresses.add(recovery.join());
+      }
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+    return addresses;
+  }
+
+  private static class SignedHash {
+    private final Signature signature;
+    private final Hash dataHash;
+
+    private SignedHash(final Signature signature, final Hash dataHash) {
+      this.signature = signature;
+      this.dataHash = dataHash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final SignedHash that = (SignedHash) o;
+      return signature.equals(that.signature) && dataHash.equals(that.dataHash);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(signature, dataHash);
+    }
+  }
+}
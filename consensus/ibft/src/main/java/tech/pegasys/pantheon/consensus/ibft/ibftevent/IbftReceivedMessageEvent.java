@@ -13,20 +13,43 @@
 package tech.pegasys.pantheon.consensus.ibft.ibftevent;
 
 import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftEvents.Type;
+import tech.pegasys.pantheon.consensus.ibft.messagewrappers.IbftMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Message;
 
+import java.util.Optional;
+
 public class IbftReceivedMessageEvent implements IbftEvent {
 
   private final Message message;
+  private final Optional<IbftMessage<?>> decodedMessage;
 
   public IbftReceivedMessageEvent(final Message message) {
+    this(message, Optional.empty());
+  }
+
+  /**
+   * @param message the received message.
+   * @param decodedMessage the message already decoded, with its author recovered.
+   */
+  public IbftReceivedMessageEvent(final Message message, final IbftMessage<?> decodedMessage) {
+    this(message, Optional.of(decodedMessage));
+  }
+
+  private IbftReceivedMessageEvent(
+      final Message message, final Optional<IbftMessage<?>> decodedMessage) {
     this.message = message;
+    this.decodedMessage = decodedMessage;
   }
 
   public Message getMessage() {
     return message;
   }
 
+  /** @return the decoded message, if it was decoded before being queued. */
+  public Optional<IbftMessage<?>> getDecodedMessage() {
+    return decodedMessage;
+  }
+
   @Override
   public Type getType() {
     return Type.MESSAGE;
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.consensus.ibft.messagedata;
+
+import tech.pegasys.pantheon.consensus.ibft.messagewrappers.IbftMessage;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
+
+/** Static helper functions for decoding received IBFT messages */
+public class IbftMessages {
+
+  /**
+   * Decodes a received message into the IBFT message its code identifies.
+   *
+   * @param messageData the received message.
+   * @return the decoded message.
+   * @throws IllegalArgumentException if the message code is not an IBFT message code.
+   */
+  public static IbftMessage<?> decode(final MessageData messageData) {
+    switch (messageData.getCode()) {
+      case IbftV2.PROPOSAL:
+        return ProposalMessageData.fromMessageData(messageData).decode();
+      case IbftV2.PREPARE:
+        return PrepareMessageData.fromMessageData(messageData).decode();
+      case IbftV2.COMMIT:
+        return CommitMessageData.fromMessageData(messageData).decode();
+      case IbftV2.ROUND_CHANGE:
+        return RoundChangeMessageData.fromMessageData(messageData).decode();
+      default:
+        throw new IllegalArgumentException(
+            String.format(
+                "Received message with messageCode=%d does not conform to any recognised IBFT message structure",
+                messageData.getCode()));
+    }
+  }
+}
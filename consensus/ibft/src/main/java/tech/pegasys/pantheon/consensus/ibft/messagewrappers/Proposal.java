@@ -23,6 +23,8 @@ import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public class Proposal extends IbftMessage<ProposalPayload> {
@@ -77,6 +79,14 @@ public class Proposal extends IbftMessage<ProposalPayload> {
         readRoundChangeCertificate(rlpIn);
 
     rlpIn.leaveList();
+
+    // Recover the authors of all messages at once, rather than one by one as each is validated.
+    final List<SignedData<?>> signedMessages = new ArrayList<>();
+    signedMessages.add(payload);
+    roundChangeCertificate.ifPresent(
+        certificate -> signedMessages.addAll(certificate.getSignedMessages()));
+    SignedData.recoverAuthors(signedMessages);
+
     return new Proposal(payload, proposedBlock, roundChangeCertificate);
   }
 
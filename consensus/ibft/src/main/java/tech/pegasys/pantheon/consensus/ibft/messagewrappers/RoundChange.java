@@ -23,6 +23,8 @@ import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public class RoundChange extends IbftMessage<RoundChangePayload> {
@@ -76,6 +78,15 @@ public class RoundChange extends IbftMessage<RoundChangePayload> {
     }
     rlpIn.leaveList();
 
+    // Recover the authors of all messages at once, rather than one by one as each is validated.
+    final List<SignedData<?>> signedMessages = new ArrayList<>();
+    signedMessages.add(payload);
+    payload
+        .getPayload()
+        .getPreparedCertificate()
+        .ifPresent(certificate -> signedMessages.addAll(certificate.getSignedMessages()));
+    SignedData.recoverAuthors(signedMessages);
+
     return new RoundChange(payload, block);
   }
 }
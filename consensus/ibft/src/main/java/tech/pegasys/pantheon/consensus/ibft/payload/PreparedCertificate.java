@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.consensus.ibft.payload;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -58,6 +59,14 @@ public class PreparedCertificate {
     return preparePayloads;
   }
 
+  /** @return The proposal and prepares of the certificate. */
+  public List<SignedData<?>> getSignedMessages() {
+    final List<SignedData<?>> messages = new ArrayList<>(preparePayloads.size() + 1);
+    messages.add(proposalPayload);
+    messages.addAll(preparePayloads);
+    return messages;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -16,6 +16,7 @@ import tech.pegasys.pantheon.consensus.ibft.messagewrappers.RoundChange;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -52,6 +53,18 @@ public class RoundChangeCertificate {
     return roundChangePayloads;
   }
 
+  /** @return The round changes of the certificate and the messages of their certificates. */
+  public List<SignedData<?>> getSignedMessages() {
+    final List<SignedData<?>> messages = new ArrayList<>(roundChangePayloads);
+    for (final SignedData<RoundChangePayload> roundChange : roundChangePayloads) {
+      roundChange
+          .getPayload()
+          .getPreparedCertificate()
+          .ifPresent(certificate -> messages.addAll(certificate.getSignedMessages()));
+    }
+    return messages;
+  }
+
   public static class Builder {
 
     private final List<RoundChange> roundChangePayloads = Lists.newArrayList();
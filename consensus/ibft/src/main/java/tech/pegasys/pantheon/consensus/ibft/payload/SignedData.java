@@ -12,20 +12,25 @@
  */
 package tech.pegasys.pantheon.consensus.ibft.payload;
 
+import tech.pegasys.pantheon.consensus.ibft.SignatureRecovery;
 import tech.pegasys.pantheon.crypto.SECP256K1.Signature;
 import tech.pegasys.pantheon.ethereum.core.Address;
-import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
 
 public class SignedData<M extends Payload> implements Authored {
 
-  private final Address sender;
+  // Recovered from the signature when first needed, if the data was decoded.
+  private volatile Address sender;
   private final Signature signature;
   private final M unsignedPayload;
 
@@ -37,9 +42,35 @@ public class SignedData<M extends Payload> implements Authored {
 
   @Override
   public Address getAuthor() {
+    if (sender == null) {
+      sender = recoverSender(unsignedPayload, signature);
+    }
     return sender;
   }
 
+  /**
+   * Recovers the authors of decoded data concurrently, such as the messages of a certificate,
+   * rather than one after another as each author is needed.
+   *
+   * @param signedData the data whose authors to recover.
+   */
+  public static void recoverAuthors(final Collection<? extends SignedData<?>> signedData) {
+    final List<SignedData<?>> unrecovered = new ArrayList<>(signedData.size());
+    final List<Signature> signatures = new ArrayList<>(signedData.size());
+    final List<Hash> dataHashes = new ArrayList<>(signedData.size());
+    for (final SignedData<?> data : signedData) {
+      if (data.sender == null) {
+        unrecovered.add(data);
+        signatures.add(data.signature);
+        dataHashes.add(MessageFactory.hashForSignature(data.unsignedPayload));
+      }
+    }
+    final List<Address> senders = SignatureRecovery.recoverAddresses(signatures, dataHashes);
+    for (int i = 0; i < unrecovered.size(); i++) {
+      unrecovered.get(i).sender = senders.get(i);
+    }
+  }
+
   public M getPayload() {
     return unsignedPayload;
   }
@@ -101,10 +132,8 @@ public class SignedData<M extends Payload> implements Authored {
 
   protected static <M extends Payload> SignedData<M> from(
       final M unsignedMessageData, final Signature signature) {
-
-    final Address sender = recoverSender(unsignedMessageData, signature);
-
-    return new SignedData<>(unsignedMessageData, sender, signature);
+    // The sender is recovered once needed, possibly along with those of other messages.
+    return new SignedData<>(unsignedMessageData, null, signature);
   }
 
   protected static Signature readSignature(final RLPInput signedMessage) {
@@ -114,7 +143,8 @@ public class SignedData<M extends Payload> implements Authored {
   protected static Address recoverSender(
       final Payload unsignedMessageData, final Signature signature) {
 
-    return Util.signatureToAddress(signature, MessageFactory.hashForSignature(unsignedMessageData));
+    return SignatureRecovery.recoverAddress(
+        signature, MessageFactory.hashForSignature(unsignedMessageData));
   }
 
   @Override
@@ -126,20 +156,20 @@ public class SignedData<M extends Payload> implements Authored {
       return false;
     }
     final SignedData<?> that = (SignedData<?>) o;
-    return Objects.equals(sender, that.sender)
+    return Objects.equals(getAuthor(), that.getAuthor())
         && Objects.equals(signature, that.signature)
         && Objects.equals(unsignedPayload, that.unsignedPayload);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(sender, signature, unsignedPayload);
+    return Objects.hash(getAuthor(), signature, unsignedPayload);
   }
 
   @Override
   public String toString() {
     return new StringJoiner(", ", SignedData.class.getSimpleName() + "[", "]")
-        .add("sender=" + sender)
+        .add("sender=" + getAuthor())
         .add("signature=" + signature)
         .add("unsignedPayload=" + unsignedPayload)
         .toString();
@@ -12,9 +12,7 @@
  */
 package tech.pegasys.pantheon.consensus.ibft.protocol;
 
-import tech.pegasys.pantheon.consensus.ibft.IbftEventQueue;
-import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftEvent;
-import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftEvents;
+import tech.pegasys.pantheon.consensus.ibft.IbftMessagePreprocessor;
 import tech.pegasys.pantheon.consensus.ibft.network.PeerConnectionTracker;
 import tech.pegasys.pantheon.ethereum.p2p.network.ProtocolManager;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection;
@@ -26,19 +24,20 @@ import java.util.Arrays;
 import java.util.List;
 
 public class IbftProtocolManager implements ProtocolManager {
-  private final IbftEventQueue ibftEventQueue;
+  private final IbftMessagePreprocessor messagePreprocessor;
 
   private final PeerConnectionTracker peers;
 
   /**
    * Constructor for the ibft protocol manager
    *
-   * @param ibftEventQueue Entry point into the ibft event processor
+   * @param messagePreprocessor Decodes received messages before queuing them for the ibft event
+   *     processor
    * @param peers Used to track all connected IBFT peers.
    */
   public IbftProtocolManager(
-      final IbftEventQueue ibftEventQueue, final PeerConnectionTracker peers) {
-    this.ibftEventQueue = ibftEventQueue;
+      final IbftMessagePreprocessor messagePreprocessor, final PeerConnectionTracker peers) {
+    this.messagePreprocessor = messagePreprocessor;
     this.peers = peers;
   }
 
@@ -75,8 +74,7 @@ public class IbftProtocolManager implements ProtocolManager {
    */
   @Override
   public void processMessage(final Capability cap, final Message message) {
-    final IbftEvent messageEvent = IbftEvents.fromMessage(message);
-    ibftEventQueue.add(messageEvent);
+    messagePreprocessor.add(message);
   }
 
   @Override
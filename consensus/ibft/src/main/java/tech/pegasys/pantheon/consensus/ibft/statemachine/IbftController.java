@@ -20,18 +20,20 @@ import tech.pegasys.pantheon.consensus.ibft.ibftevent.BlockTimerExpiry;
 import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftReceivedMessageEvent;
 import tech.pegasys.pantheon.consensus.ibft.ibftevent.NewChainHead;
 import tech.pegasys.pantheon.consensus.ibft.ibftevent.RoundExpiry;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.CommitMessageData;
+import tech.pegasys.pantheon.consensus.ibft.messagedata.IbftMessages;
 import tech.pegasys.pantheon.consensus.ibft.messagedata.IbftV2;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.PrepareMessageData;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.ProposalMessageData;
-import tech.pegasys.pantheon.consensus.ibft.messagedata.RoundChangeMessageData;
+import tech.pegasys.pantheon.consensus.ibft.messagewrappers.Commit;
 import tech.pegasys.pantheon.consensus.ibft.messagewrappers.IbftMessage;
+import tech.pegasys.pantheon.consensus.ibft.messagewrappers.Prepare;
+import tech.pegasys.pantheon.consensus.ibft.messagewrappers.Proposal;
+import tech.pegasys.pantheon.consensus.ibft.messagewrappers.RoundChange;
 import tech.pegasys.pantheon.consensus.ibft.payload.Authored;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Message;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
@@ -70,41 +72,37 @@ public class IbftController {
     final MessageData data = msg.getMessage().getData();
     if (!duplicateMessageTracker.hasSeenMessage(data)) {
       duplicateMessageTracker.addSeenMessage(data);
-      handleMessage(msg.getMessage());
+      handleMessage(msg.getMessage(), msg.getDecodedMessage());
     } else {
       LOG.trace("Discarded duplicate message");
     }
   }
 
   private void handleMessage(final Message message) {
+    handleMessage(message, Optional.empty());
+  }
+
+  private void handleMessage(final Message message, final Optional<IbftMessage<?>> decoded) {
     final MessageData messageData = message.getData();
+    // Received messages are usually decoded before being queued, off this thread.
+    final IbftMessage<?> ibftMessage = decoded.orElseGet(() -> IbftMessages.decode(messageData));
     switch (messageData.getCode()) {
       case IbftV2.PROPOSAL:
         consumeMessage(
-            message,
-            ProposalMessageData.fromMessageData(messageData).decode(),
-            currentHeightManager::handleProposalPayload);
+            message, (Proposal) ibftMessage, currentHeightManager::handleProposalPayload);
         break;
 
       case IbftV2.PREPARE:
-        consumeMessage(
-            message,
-            PrepareMessageData.fromMessageData(messageData).decode(),
-            currentHeightManager::handlePreparePayload);
+        consumeMessage(message, (Prepare) ibftMessage, currentHeightManager::handlePreparePayload);
         break;
 
       case IbftV2.COMMIT:
-        consumeMessage(
-            message,
-            CommitMessageData.fromMessageData(messageData).decode(),
-            currentHeightManager::handleCommitPayload);
+        consumeMessage(message, (Commit) ibftMessage, currentHeightManager::handleCommitPayload);
         break;
 
       case IbftV2.ROUND_CHANGE:
         consumeMessage(
-            message,
-            RoundChangeMessageData.fromMessageData(messageData).decode(),
-            currentHeightManager::handleRoundChangePayload);
+            message, (RoundChange) ibftMessage, currentHeightManager::handleRoundChangePayload);
         break;
 
       default:
@@ -119,7 +117,7 @@ public class IbftController {
       final Message message, final P ibftMessage, final Consumer<P> handleMessage) {
     LOG.trace("Received IBFT {} message", ibftMessage.getClass().getSimpleName());
     if (processMessage(ibftMessage, message)) {
-      gossiper.send(message);
+      gossiper.send(message, ibftMessage.getAuthor());
       handleMessage.accept(ibftMessage);
     }
   }
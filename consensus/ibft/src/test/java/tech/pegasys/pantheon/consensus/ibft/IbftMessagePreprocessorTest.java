@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.consensus.ibft;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftEvent;
+import tech.pegasys.pantheon.consensus.ibft.ibftevent.IbftReceivedMessageEvent;
+import tech.pegasys.pantheon.consensus.ibft.messagedata.IbftV2;
+import tech.pegasys.pantheon.consensus.ibft.messagedata.PrepareMessageData;
+import tech.pegasys.pantheon.consensus.ibft.messagewrappers.IbftMessage;
+import tech.pegasys.pantheon.consensus.ibft.messagewrappers.Prepare;
+import tech.pegasys.pantheon.consensus.ibft.payload.MessageFactory;
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.DefaultMessage;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Message;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
+import tech.pegasys.pantheon.metrics.StubMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IbftMessagePreprocessorTest {
+
+  private static final long CHAIN_HEAD_NUMBER = 10;
+  private static final long FUTURE_MESSAGES_MAX_DISTANCE = 5;
+
+  private final KeyPair keyPair = KeyPair.generate();
+  private final MessageFactory messageFactory = new MessageFactory(keyPair);
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final IbftEventQueue eventQueue = new IbftEventQueue(1000);
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final IbftMessagePreprocessor preprocessor =
+      new IbftMessagePreprocessor(
+          blockchain, eventQueue, 100, FUTURE_MESSAGES_MAX_DISTANCE, 100, metricsSystem);
+
+  @Before
+  public void setUp() {
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(CHAIN_HEAD_NUMBER);
+    preprocessor.start();
+  }
+
+  @After
+  public void tearDown() {
+    preprocessor.stop();
+  }
+
+  @Test
+  public void queuesMessagesDecodedWithTheirAuthor() throws InterruptedException {
+    final Prepare prepare = createPrepare(CHAIN_HEAD_NUMBER + 1);
+    final Message message = new DefaultMessage(null, PrepareMessageData.create(prepare));
+
+    preprocessor.add(message);
+
+    final IbftEvent event = eventQueue.poll(5, TimeUnit.SECONDS);
+    assertThat(event).isInstanceOf(IbftReceivedMessageEvent.class);
+    final IbftReceivedMessageEvent messageEvent = (IbftReceivedMessageEvent) event;
+    assertThat(messageEvent.getMessage()).isSameAs(message);
+    assertThat(messageEvent.getDecodedMessage()).isPresent();
+    final IbftMessage<?> decoded = messageEvent.getDecodedMessage().get();
+    assertThat(decoded.getSignedPayload()).isEqualTo(prepare.getSignedPayload());
+    assertThat(decoded.getAuthor()).isEqualTo(Util.publicKeyToAddress(keyPair.getPublicKey()));
+  }
+
+  @Test
+  public void queuesMessagesForFutureHeightsWithinTheMaximumDistance() {
+    preprocessor.add(prepareMessage(CHAIN_HEAD_NUMBER + 1 + FUTURE_MESSAGES_MAX_DISTANCE));
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> eventQueue.size() == 1);
+  }
+
+  @Test
+  public void dropsDuplicateMessages() {
+    final Message message = prepareMessage(CHAIN_HEAD_NUMBER + 1);
+    preprocessor.add(message);
+    await().atMost(5, TimeUnit.SECONDS).until(() -> eventQueue.size() == 1);
+
+    preprocessor.add(message);
+
+    assertDropped("duplicate", 1, 1);
+  }
+
+  @Test
+  public void dropsMessagesForCompletedHeights() {
+    preprocessor.add(prepareMessage(CHAIN_HEAD_NUMBER));
+
+    assertDropped("old_height", 1, 0);
+  }
+
+  @Test
+  public void dropsMessagesTooFarInTheFuture() {
+    preprocessor.add(prepareMessage(CHAIN_HEAD_NUMBER + 2 + FUTURE_MESSAGES_MAX_DISTANCE));
+
+    assertDropped("far_future_height", 1, 0);
+  }
+
+  @Test
+  public void dropsMessagesWhichCannotBeDecoded() {
+    preprocessor.add(
+        new DefaultMessage(null, new RawMessage(IbftV2.PREPARE, BytesValue.of(1, 2, 3))));
+    preprocessor.add(new DefaultMessage(null, new RawMessage(99, BytesValue.EMPTY)));
+
+    assertDropped("invalid", 2, 0);
+  }
+
+  private void assertDropped(
+      final String reason, final long droppedMessages, final int previouslyQueuedEvents) {
+    // Dropped messages never reach the queue, so once they are counted nothing more will be queued.
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .until(
+            () ->
+                metricsSystem.getCounterValue("ibft_dropped_messages_total", reason)
+                    == droppedMessages);
+    assertThat(eventQueue.size()).isEqualTo(previouslyQueuedEvents);
+  }
+
+  private Message prepareMessage(final long height) {
+    return new DefaultMessage(null, PrepareMessageData.create(createPrepare(height)));
+  }
+
+  private Prepare createPrepare(final long height) {
+    return messageFactory.createPrepare(new ConsensusRoundIdentifier(height, 0), Hash.ZERO);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.consensus.ibft;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.crypto.SECP256K1;
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.crypto.SECP256K1.Signature;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class SignatureRecoveryTest {
+
+  private final Hash dataHash = Hash.hash(BytesValue.fromHexString("0x1234"));
+
+  @Test
+  public void recoversTheAddressWhichSigned() {
+    final KeyPair keyPair = KeyPair.generate();
+    final Signature signature = SECP256K1.sign(dataHash, keyPair);
+
+    final Address expected = Util.publicKeyToAddress(keyPair.getPublicKey());
+    assertThat(SignatureRecovery.recoverAddress(signature, dataHash)).isEqualTo(expected);
+    // The second recovery is served from the cache.
+    assertThat(SignatureRecovery.recoverAddress(signature, dataHash)).isEqualTo(expected);
+  }
+
+  @Test
+  public void recoversManySealsInOrder() {
+    final List<KeyPair> keyPairs = new ArrayList<>();
+    final List<Signature> seals = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      final KeyPair keyPair = KeyPair.generate();
+      keyPairs.add(keyPair);
+      seals.add(SECP256K1.sign(dataHash, keyPair));
+    }
+    // Some of the seals are already cached.
+    SignatureRecovery.recoverAddress(seals.get(3), dataHash);
+
+    assertThat(SignatureRecovery.recoverAddresses(seals, dataHash))
+        .containsExactlyElementsOf(
+            keyPairs.stream()
+                .map(keyPair -> Util.publicKeyToAddress(keyPair.getPublicKey()))
+                .collect(Collectors.toList()));
+  }
+
+  @Test
+  public void recoversSignaturesOfDifferentHashes() {
+    final List<Address> expected = new ArrayList<>();
+    final List<Signature> signatures = new ArrayList<>();
+    final List<Hash> dataHashes = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      final KeyPair keyPair = KeyPair.generate();
+      final Hash hash = Hash.hash(BytesValue.of(i));
+      expected.add(Util.publicKeyToAddress(keyPair.getPublicKey()));
+      signatures.add(SECP256K1.sign(hash, keyPair));
+      dataHashes.add(hash);
+    }
+
+    assertThat(SignatureRecovery.recoverAddresses(signatures, dataHashes))
+        .containsExactlyElementsOf(expected);
+  }
+}
@@ -148,11 +148,11 @@ public class IbftControllerTest {
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verify(blockHeightManager, never()).handleProposalPayload(proposal);
     verify(blockHeightManager).handlePreparePayload(prepare);
-    verify(ibftGossip).send(prepareMessage);
+    verify(ibftGossip).send(prepareMessage, validator);
     verify(blockHeightManager).handleCommitPayload(commit);
-    verify(ibftGossip).send(commitMessage);
+    verify(ibftGossip).send(commitMessage, validator);
     verify(blockHeightManager).handleRoundChangePayload(roundChange);
-    verify(ibftGossip).send(roundChangeMessage);
+    verify(ibftGossip).send(roundChangeMessage, validator);
   }
 
   @Test
@@ -176,13 +176,13 @@ public class IbftControllerTest {
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verify(futureMessageBuffer, times(2)).retrieveMessagesForHeight(2L);
     verify(blockHeightManager).handleProposalPayload(proposal);
-    verify(ibftGossip).send(proposalMessage);
+    verify(ibftGossip).send(proposalMessage, validator);
     verify(blockHeightManager).handlePreparePayload(prepare);
-    verify(ibftGossip).send(prepareMessage);
+    verify(ibftGossip).send(prepareMessage, validator);
     verify(blockHeightManager).handleCommitPayload(commit);
-    verify(ibftGossip).send(commitMessage);
+    verify(ibftGossip).send(commitMessage, validator);
     verify(blockHeightManager).handleRoundChangePayload(roundChange);
-    verify(ibftGossip).send(roundChangeMessage);
+    verify(ibftGossip).send(roundChangeMessage, validator);
   }
 
   @Test
@@ -229,7 +229,7 @@ public class IbftControllerTest {
 
     verify(futureMessageBuffer, never()).addMessage(anyLong(), any());
     verify(blockHeightManager).handleProposalPayload(proposal);
-    verify(ibftGossip).send(proposalMessage);
+    verify(ibftGossip).send(proposalMessage, validator);
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verifyNoMoreInteractions(blockHeightManager);
   }
@@ -242,7 +242,7 @@ public class IbftControllerTest {
 
     verify(futureMessageBuffer, never()).addMessage(anyLong(), any());
     verify(blockHeightManager).handlePreparePayload(prepare);
-    verify(ibftGossip).send(prepareMessage);
+    verify(ibftGossip).send(prepareMessage, validator);
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verifyNoMoreInteractions(blockHeightManager);
   }
@@ -255,7 +255,7 @@ public class IbftControllerTest {
 
     verify(futureMessageBuffer, never()).addMessage(anyLong(), any());
     verify(blockHeightManager).handleCommitPayload(commit);
-    verify(ibftGossip).send(commitMessage);
+    verify(ibftGossip).send(commitMessage, validator);
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verifyNoMoreInteractions(blockHeightManager);
   }
@@ -269,7 +269,7 @@ public class IbftControllerTest {
 
     verify(futureMessageBuffer, never()).addMessage(anyLong(), any());
     verify(blockHeightManager).handleRoundChangePayload(roundChange);
-    verify(ibftGossip).send(roundChangeMessage);
+    verify(ibftGossip).send(roundChangeMessage, validator);
     verify(blockHeightManager, atLeastOnce()).getChainHeight();
     verifyNoMoreInteractions(blockHeightManager);
   }
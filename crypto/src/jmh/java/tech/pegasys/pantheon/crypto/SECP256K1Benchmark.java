@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Optional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Signature verification and public key recovery with the Java and native implementations. */
+@State(Scope.Thread)
+public class SECP256K1Benchmark {
+
+  @Param({"java", "native"})
+  public String implementation;
+
+  private Bytes32 dataHash;
+  private SECP256K1.KeyPair keyPair;
+  private SECP256K1.Signature signature;
+
+  @Setup
+  public void prepare() {
+    if (implementation.equals("native")) {
+      if (!SECP256K1.enableNative()) {
+        throw new IllegalStateException("Native secp256k1 library is unavailable");
+      }
+    } else {
+      SECP256K1.disableNative();
+    }
+    keyPair = SECP256K1.KeyPair.generate();
+    dataHash = Hash.keccak256(BytesValue.of(1, 2, 3));
+    signature = SECP256K1.sign(dataHash, keyPair);
+  }
+
+  @Benchmark
+  public Optional<SECP256K1.PublicKey> recoverFromSignature() {
+    return SECP256K1.PublicKey.recoverFromSignature(dataHash, signature);
+  }
+
+  @Benchmark
+  public boolean verify() {
+    return SECP256K1.verify(dataHash, signature, keyPair.getPublicKey());
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Binding to the native libsecp256k1 library of Bitcoin Core, built with its recovery module.
+ *
+ * <p>The library is looked up on the classpath for the current platform, then in the system library
+ * paths. The build bundles a copy for {@code linux-x86-64}, so elsewhere it has to be installed
+ * separately. When it can't be loaded, or the platform isn't 64 bits, {@link #CONTEXT} is null and
+ * callers must use the Java implementation instead.
+ */
+final class LibSecp256k1 {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int SECP256K1_FLAGS_TYPE_CONTEXT = 1;
+  private static final int SECP256K1_FLAGS_BIT_CONTEXT_VERIFY = 1 << 8;
+  private static final int SECP256K1_FLAGS_BIT_CONTEXT_SIGN = 1 << 9;
+  private static final int SECP256K1_FLAGS_TYPE_COMPRESSION = 1 << 1;
+
+  static final int SECP256K1_EC_UNCOMPRESSED = SECP256K1_FLAGS_TYPE_COMPRESSION;
+
+  // Opaque structures of the library, which are only ever handed back to it.
+  static final int PUBKEY_SIZE = 64;
+  static final int SIGNATURE_SIZE = 64;
+  static final int RECOVERABLE_SIGNATURE_SIZE = 65;
+
+  /** The context of all calls, or null if the library isn't available. */
+  static final Pointer CONTEXT = createContext();
+
+  private LibSecp256k1() {}
+
+  private static Pointer createContext() {
+    if (Native.POINTER_SIZE != 8) {
+      LOG.debug("The native secp256k1 library is only supported on 64 bit platforms");
+      return null;
+    }
+    try {
+      Native.register(LibSecp256k1.class, "secp256k1");
+      // Contexts can be shared by threads as long as they are only passed as const.
+      return secp256k1_context_create(
+          SECP256K1_FLAGS_TYPE_CONTEXT
+              | SECP256K1_FLAGS_BIT_CONTEXT_VERIFY
+              | SECP256K1_FLAGS_BIT_CONTEXT_SIGN);
+    } catch (final Throwable t) {
+      LOG.debug("Unable to load the native secp256k1 library", t);
+      return null;
+    }
+  }
+
+  static native Pointer secp256k1_context_create(int flags);
+
+  static native int secp256k1_ec_pubkey_parse(
+      Pointer ctx, byte[] pubkey, byte[] input, long inputlen);
+
+  // The output length is a size_t, which is 64 bits as only 64 bit platforms are supported.
+  static native int secp256k1_ec_pubkey_serialize(
+      Pointer ctx, byte[] output, long[] outputlen, byte[] pubkey, int flags);
+
+  static native int secp256k1_ecdsa_signature_parse_compact(
+      Pointer ctx, byte[] sig, byte[] input64);
+
+  static native int secp256k1_ecdsa_signature_normalize(Pointer ctx, byte[] sigout, byte[] sigin);
+
+  static native int secp256k1_ecdsa_verify(Pointer ctx, byte[] sig, byte[] msg32, byte[] pubkey);
+
+  static native int secp256k1_ecdsa_recoverable_signature_parse_compact(
+      Pointer ctx, byte[] sig, byte[] input64, int recid);
+
+  static native int secp256k1_ecdsa_recover(Pointer ctx, byte[] pubkey, byte[] sig, byte[] msg32);
+}
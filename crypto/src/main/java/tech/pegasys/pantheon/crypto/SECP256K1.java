@@ -79,6 +79,8 @@ public class SECP256K1 {
   private static final KeyPairGenerator KEY_PAIR_GENERATOR;
   private static final BigInteger CURVE_ORDER;
 
+  private static volatile boolean useNative = LibSecp256k1.CONTEXT != null;
+
   static {
     Security.addProvider(new BouncyCastleProvider());
 
@@ -99,6 +101,27 @@ public class SECP256K1 {
     }
   }
 
+  /**
+   * Uses the native libsecp256k1 library for signature verification and public key recovery, if
+   * it is available. This is the default.
+   *
+   * @return true if the native library is used.
+   */
+  public static boolean enableNative() {
+    useNative = LibSecp256k1.CONTEXT != null;
+    return useNative;
+  }
+
+  /** Uses the Java implementation for signature verification and public key recovery. */
+  public static void disableNative() {
+    useNative = false;
+  }
+
+  /** @return true if the native libsecp256k1 library is used. */
+  public static boolean isNative() {
+    return useNative;
+  }
+
   /** Decompress a compressed public key (x co-ord and low-bit of y-coord). */
   private static ECPoint decompressKey(final BigInteger xBN, final boolean yBit) {
     final X9IntegerConverter x9 = new X9IntegerConverter();
@@ -247,6 +270,12 @@ public class SECP256K1 {
    */
   public static boolean verify(
       final BytesValue data, final Signature signature, final PublicKey pub) {
+    if (useNative && data.size() == Bytes32.SIZE) {
+      final Optional<Boolean> verified = verifyNative(data, signature, pub);
+      if (verified.isPresent()) {
+        return verified.get();
+      }
+    }
     final ECDSASigner signer = new ECDSASigner();
     final BytesValue toDecode = BytesValue.wrap(BytesValue.of((byte) 4), pub.getEncodedBytes());
     final ECPublicKeyParameters params =
@@ -262,6 +291,34 @@ public class SECP256K1 {
     }
   }
 
+  // Empty if the public key isn't a point of the curve, for the Java implementation to reject it.
+  private static Optional<Boolean> verifyNative(
+      final BytesValue data, final Signature signature, final PublicKey pub) {
+    final byte[] nativePublicKey = new byte[LibSecp256k1.PUBKEY_SIZE];
+    final byte[] encodedPublicKey =
+        BytesValue.wrap(BytesValue.of((byte) 4), pub.getEncodedBytes()).extractArray();
+    if (LibSecp256k1.secp256k1_ec_pubkey_parse(
+            LibSecp256k1.CONTEXT, nativePublicKey, encodedPublicKey, encodedPublicKey.length)
+        == 0) {
+      return Optional.empty();
+    }
+
+    final byte[] nativeSignature = new byte[LibSecp256k1.SIGNATURE_SIZE];
+    if (LibSecp256k1.secp256k1_ecdsa_signature_parse_compact(
+            LibSecp256k1.CONTEXT, nativeSignature, signature.encodedBytes().getArrayUnsafe())
+        == 0) {
+      return Optional.of(false);
+    }
+    // The library only accepts signatures with a low S, unlike the Java implementation.
+    LibSecp256k1.secp256k1_ecdsa_signature_normalize(
+        LibSecp256k1.CONTEXT, nativeSignature, nativeSignature);
+
+    return Optional.of(
+        LibSecp256k1.secp256k1_ecdsa_verify(
+                LibSecp256k1.CONTEXT, nativeSignature, data.extractArray(), nativePublicKey)
+            == 1);
+  }
+
   /**
    * Verifies the given ECDSA signature using the public key bytes against the message bytes,
    * previously passed through a preprocessor function, which is normally a hashing function.
@@ -444,12 +501,46 @@ public class SECP256K1 {
 
     public static Optional<PublicKey> recoverFromSignature(
         final Bytes32 dataHash, final Signature signature) {
+      if (useNative) {
+        return recoverFromSignatureNative(dataHash, signature);
+      }
       final BigInteger publicKeyBI =
           SECP256K1.recoverFromSignature(
               signature.getRecId(), signature.getR(), signature.getS(), dataHash);
       return Optional.ofNullable(publicKeyBI).map(PublicKey::create);
     }
 
+    private static Optional<PublicKey> recoverFromSignatureNative(
+        final Bytes32 dataHash, final Signature signature) {
+      final byte[] nativeSignature = new byte[LibSecp256k1.RECOVERABLE_SIGNATURE_SIZE];
+      if (LibSecp256k1.secp256k1_ecdsa_recoverable_signature_parse_compact(
+              LibSecp256k1.CONTEXT,
+              nativeSignature,
+              signature.encodedBytes().getArrayUnsafe(),
+              signature.getRecId())
+          == 0) {
+        return Optional.empty();
+      }
+
+      final byte[] nativePublicKey = new byte[LibSecp256k1.PUBKEY_SIZE];
+      if (LibSecp256k1.secp256k1_ecdsa_recover(
+              LibSecp256k1.CONTEXT, nativePublicKey, nativeSignature, dataHash.extractArray())
+          == 0) {
+        return Optional.empty();
+      }
+
+      final byte[] encoded = new byte[BYTE_LENGTH + 1];
+      final long[] encodedLength = {encoded.length};
+      LibSecp256k1.secp256k1_ec_pubkey_serialize(
+          LibSecp256k1.CONTEXT,
+          encoded,
+          encodedLength,
+          nativePublicKey,
+          LibSecp256k1.SECP256K1_EC_UNCOMPRESSED);
+      // We remove the prefix
+      return Optional.of(PublicKey.create(BytesValue.wrap(encoded, 1, BYTE_LENGTH)));
+    }
+
     private PublicKey(final BytesValue encoded) {
       checkNotNull(encoded);
       checkArgument(
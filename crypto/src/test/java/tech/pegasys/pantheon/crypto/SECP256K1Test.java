@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.crypto;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
 import static tech.pegasys.pantheon.crypto.Hash.keccak256;
 import static tech.pegasys.pantheon.util.bytes.BytesValue.fromHexString;
 
@@ -26,6 +27,7 @@ import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+import org.junit.After;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -49,6 +51,11 @@ public class SECP256K1Test {
     return suiteName;
   }
 
+  @After
+  public void restoreDefaultImplementation() {
+    SECP256K1.enableNative();
+  }
+
   @Test(expected = NullPointerException.class)
   public void createPrivateKey_NullEncoding() {
     SECP256K1.PrivateKey.create((Bytes32) null);
@@ -241,6 +248,54 @@ public class SECP256K1Test {
     assertThat(SECP256K1.verify(data, signature, keyPair.getPublicKey(), Hash::keccak256)).isTrue();
   }
 
+  @Test
+  public void javaImplementationIsUsedOnceNativeIsDisabled() {
+    SECP256K1.disableNative();
+    assertThat(SECP256K1.isNative()).isFalse();
+
+    final SECP256K1.KeyPair keyPair = SECP256K1.KeyPair.generate();
+    final Bytes32 dataHash = keccak256(BytesValue.of(1, 2, 3));
+    final SECP256K1.Signature signature = SECP256K1.sign(dataHash, keyPair);
+    assertThat(SECP256K1.PublicKey.recoverFromSignature(dataHash, signature))
+        .contains(keyPair.getPublicKey());
+    assertThat(SECP256K1.verify(dataHash, signature, keyPair.getPublicKey())).isTrue();
+  }
+
+  @Test
+  public void nativeAndJavaImplementationsAgree() {
+    assumeTrue("Native secp256k1 library is unavailable", SECP256K1.enableNative());
+    final SECP256K1.KeyPair otherKeyPair = SECP256K1.KeyPair.generate();
+
+    for (int i = 0; i < 100; i++) {
+      final SECP256K1.KeyPair keyPair = SECP256K1.KeyPair.generate();
+      final Bytes32 dataHash = keccak256(BytesValue.wrap(Integer.toString(i).getBytes(UTF_8)));
+      final SECP256K1.Signature signature = SECP256K1.sign(dataHash, keyPair);
+      final SECP256K1.Signature highSSignature =
+          SECP256K1.Signature.create(
+              signature.getR(),
+              SECP256K1.CURVE.getN().subtract(signature.getS()),
+              (byte) (1 - signature.getRecId()));
+
+      assertThat(SECP256K1.PublicKey.recoverFromSignature(dataHash, signature))
+          .contains(keyPair.getPublicKey());
+      assertThat(SECP256K1.PublicKey.recoverFromSignature(dataHash, highSSignature))
+          .contains(keyPair.getPublicKey());
+      assertThat(SECP256K1.verify(dataHash, signature, keyPair.getPublicKey())).isTrue();
+      assertThat(SECP256K1.verify(dataHash, highSSignature, keyPair.getPublicKey())).isTrue();
+      assertThat(SECP256K1.verify(dataHash, signature, otherKeyPair.getPublicKey())).isFalse();
+
+      SECP256K1.disableNative();
+      assertThat(SECP256K1.PublicKey.recoverFromSignature(dataHash, signature))
+          .contains(keyPair.getPublicKey());
+      assertThat(SECP256K1.PublicKey.recoverFromSignature(dataHash, highSSignature))
+          .contains(keyPair.getPublicKey());
+      assertThat(SECP256K1.verify(dataHash, signature, keyPair.getPublicKey())).isTrue();
+      assertThat(SECP256K1.verify(dataHash, highSSignature, keyPair.getPublicKey())).isTrue();
+      assertThat(SECP256K1.verify(dataHash, signature, otherKeyPair.getPublicKey())).isFalse();
+      SECP256K1.enableNative();
+    }
+  }
+
   @Test
   public void fileContainsValidPrivateKey() throws Exception {
     final File file =
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.api.jsonrpc;
+
+import tech.pegasys.pantheon.ethereum.api.LogWithMetadata;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.LogsResult;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares serializing a large eth_getLogs response into a String before writing it out, as was
+ * done before, against streaming it out in chunks as it is generated. Run with <code>-Pprof=gc
+ * </code> to compare the memory allocated per response (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonRpcResponseSerializationBenchmark {
+
+  @Param({"100", "10000"})
+  public int logCount;
+
+  private JsonRpcResponse response;
+
+  @Setup
+  public void prepare() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final List<LogWithMetadata> logs = new ArrayList<>(logCount);
+    for (int i = 0; i < logCount; i++) {
+      final List<LogTopic> topics = new ArrayList<>();
+      topics.add(LogTopic.wrap(gen.hash()));
+      topics.add(LogTopic.wrap(gen.hash()));
+      logs.add(
+          new LogWithMetadata(
+              i,
+              i / 10,
+              gen.hash(),
+              gen.hash(),
+              i % 10,
+              gen.address(),
+              gen.bytesValue(64),
+              topics,
+              false));
+    }
+    response = new JsonRpcSuccessResponse(1, new LogsResult(logs));
+  }
+
+  @Benchmark
+  public Buffer encodeToString() {
+    return Buffer.buffer(Json.encodePrettily(response));
+  }
+
+  @Benchmark
+  public long streamInChunks() throws IOException {
+    final ChunkCountingStream out = new ChunkCountingStream();
+    final JsonGenerator generator = Json.mapper.getFactory().createGenerator(out);
+    Json.mapper.writeValue(generator, response);
+    generator.close();
+    return out.chunks;
+  }
+
+  /**
+   * Buffers output in chunks as {@link JsonResponseStreamer} does, dropping each chunk once full as
+   * the HTTP response would once it is sent.
+   */
+  private static class ChunkCountingStream extends OutputStream {
+    private Buffer chunk = Buffer.buffer(JsonResponseStreamer.CHUNK_SIZE);
+    private long chunks;
+
+    @Override
+    public void write(final int b) {
+      chunk.appendByte((byte) b);
+      nextChunkIfFull();
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+      chunk.appendBytes(bytes, offset, length);
+      nextChunkIfFull();
+    }
+
+    private void nextChunkIfFull() {
+      if (chunk.length() >= JsonResponseStreamer.CHUNK_SIZE) {
+        chunk = Buffer.buffer(JsonResponseStreamer.CHUNK_SIZE);
+        chunks++;
+      }
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.queries;
+
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryWorldStateArchive;
+
+import tech.pegasys.pantheon.ethereum.api.BlockWithMetadata;
+import tech.pegasys.pantheon.ethereum.api.TransactionWithMetadata;
+import tech.pegasys.pantheon.ethereum.chain.DefaultBlockchain;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures common JSON-RPC queries over blocks which are read from storage rather than from the
+ * blockchain cache, as for any block but the most recent ones. Each query is also measured by
+ * decoding the whole body and receipts of the block, as was done before, in the benchmarks suffixed
+ * with "Eagerly".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockchainQueriesBenchmark {
+
+  private static final int BLOCK_COUNT = 16;
+
+  @Param({"20", "180"})
+  public int transactionsPerBlock;
+
+  private MutableBlockchain blockchain;
+  private BlockchainQueries blockchainQueries;
+  private Hash blockHash;
+  private Hash transactionHash;
+  private int transactionIndex;
+
+  @Setup
+  public void prepare() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    // Each block gets distinct transactions, as the location of transactions is indexed by hash.
+    final List<Transaction> transactions =
+        new ArrayList<>(gen.transactions(BLOCK_COUNT * transactionsPerBlock));
+
+    Block parent = gen.genesisBlock();
+    blockchain =
+        DefaultBlockchain.createMutable(
+            parent,
+            new KeyValueStoragePrefixedKeyBlockchainStorage(
+                new InMemoryKeyValueStorage(), new MainnetBlockHeaderFunctions()),
+            new NoOpMetricsSystem(),
+            0);
+    for (int blockNumber = 1; blockNumber <= BLOCK_COUNT; blockNumber++) {
+      final BlockOptions options = gen.nextBlockOptions(parent);
+      for (int i = 0; i < transactionsPerBlock; i++) {
+        options.addTransaction(transactions.get((blockNumber - 1) * transactionsPerBlock + i));
+      }
+      final Block block = gen.block(options);
+      final List<TransactionReceipt> receipts = new ArrayList<>(transactionsPerBlock);
+      for (int i = 0; i < transactionsPerBlock; i++) {
+        receipts.add(gen.receipt(21000L * (i + 1)));
+      }
+      blockchain.appendBlock(block, receipts);
+      parent = block;
+    }
+
+    blockchainQueries = new BlockchainQueries(blockchain, createInMemoryWorldStateArchive());
+    blockHash = blockchain.getBlockHashByNumber(BLOCK_COUNT / 2).get();
+    transactionIndex = transactionsPerBlock / 2;
+    transactionHash =
+        blockchain.getBlockBody(blockHash).get().getTransactions().get(transactionIndex).hash();
+  }
+
+  @Benchmark
+  public Integer getBlockTransactionCount() {
+    return blockchainQueries.getTransactionCount(blockHash);
+  }
+
+  @Benchmark
+  public Integer getBlockTransactionCountEagerly() {
+    return blockchain.getBlockBody(blockHash).get().getTransactions().size();
+  }
+
+  @Benchmark
+  public Optional<BlockWithMetadata<Hash, Hash>> getBlockWithTransactionHashes() {
+    return blockchainQueries.blockByHashWithTxHashes(blockHash);
+  }
+
+  @Benchmark
+  public List<Hash> getBlockWithTransactionHashesEagerly() {
+    final BlockBody body = blockchain.getBlockBody(blockHash).get();
+    blockchain.getTotalDifficultyByHash(blockHash).get();
+    new Block(blockchain.getBlockHeader(blockHash).get(), body).calculateSize();
+    return body.getTransactions().stream().map(Transaction::hash).collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public Optional<TransactionWithMetadata> getTransactionByBlockHashAndIndex() {
+    return blockchainQueries.transactionByBlockHashAndIndex(blockHash, transactionIndex);
+  }
+
+  @Benchmark
+  public Transaction getTransactionByBlockHashAndIndexEagerly() {
+    blockchain.getBlockHeader(blockHash).get();
+    return blockchain.getBlockBody(blockHash).get().getTransactions().get(transactionIndex);
+  }
+
+  @Benchmark
+  public Optional<TransactionReceiptWithMetadata> getTransactionReceipt() {
+    return blockchainQueries.transactionReceiptByTransactionHash(transactionHash);
+  }
+
+  @Benchmark
+  public long getTransactionReceiptEagerly() {
+    blockchain.getTransactionLocation(transactionHash).get();
+    blockchain.getBlockBody(blockHash).get().getTransactions().get(transactionIndex);
+    blockchain.getBlockHeader(blockHash).get();
+    final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockHash).get();
+    return receipts.get(transactionIndex).getCumulativeGasUsed()
+        - receipts.get(transactionIndex - 1).getCumulativeGasUsed();
+  }
+}
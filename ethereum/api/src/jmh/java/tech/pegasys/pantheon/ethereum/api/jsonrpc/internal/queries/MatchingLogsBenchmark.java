@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.queries;
+
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryWorldStateArchive;
+
+import tech.pegasys.pantheon.ethereum.api.LogWithMetadata;
+import tech.pegasys.pantheon.ethereum.api.LogsQuery;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Log;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares looking up the logs of a single contract over a synthetic chain using the logs bloom
+ * filter of the block headers against loading the receipts of every block, as was done before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MatchingLogsBenchmark {
+
+  private static final int TRANSACTIONS_PER_BLOCK = 4;
+  private static final int LOGS_PER_RECEIPT = 2;
+
+  @Param({"10000"})
+  public int blockCount;
+
+  // The queried contract emits a log in one block out of this many.
+  @Param({"100"})
+  public int contractLogInterval;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private MutableBlockchain blockchain;
+  private BlockchainQueries blockchainQueries;
+  private LogsQuery query;
+
+  @Setup
+  public void prepare() {
+    final Address contract = gen.address();
+    // Transactions are expensive to sign, so blocks share a small set of them.
+    final List<Transaction> transactions = new ArrayList<>(gen.transactions(16));
+
+    Block parent = gen.genesisBlock();
+    blockchain = createInMemoryBlockchain(parent);
+    for (int blockNumber = 1; blockNumber <= blockCount; blockNumber++) {
+      final BlockOptions options = gen.nextBlockOptions(parent);
+      final List<TransactionReceipt> receipts = new ArrayList<>(TRANSACTIONS_PER_BLOCK);
+      final List<Log> blockLogs = new ArrayList<>();
+      for (int i = 0; i < TRANSACTIONS_PER_BLOCK; i++) {
+        options.addTransaction(transactions.get((blockNumber + i) % transactions.size()));
+        final List<Log> logs = new ArrayList<>(LOGS_PER_RECEIPT);
+        for (int j = 0; j < LOGS_PER_RECEIPT; j++) {
+          final boolean contractLog = i == 0 && j == 0 && blockNumber % contractLogInterval == 0;
+          logs.add(
+              new Log(
+                  contractLog ? contract : gen.address(),
+                  gen.bytesValue(32),
+                  Collections.singletonList(LogTopic.wrap(gen.hash()))));
+        }
+        blockLogs.addAll(logs);
+        receipts.add(new TransactionReceipt(gen.hash(), 21000L * (i + 1), logs, Optional.empty()));
+      }
+      final Block block = gen.block(options.setLogsBloom(LogsBloomFilter.compute(blockLogs)));
+      blockchain.appendBlock(block, receipts);
+      parent = block;
+    }
+
+    blockchainQueries = new BlockchainQueries(blockchain, createInMemoryWorldStateArchive());
+    query = new LogsQuery.Builder().address(contract).build();
+  }
+
+  @Benchmark
+  public List<LogWithMetadata> matchingLogs() {
+    return blockchainQueries.matchingLogs(1, blockCount, query);
+  }
+
+  @Benchmark
+  public int matchingLogsWithoutBloomFilter() {
+    int matches = 0;
+    for (long blockNumber = 1; blockNumber <= blockCount; blockNumber++) {
+      final Hash blockHash = blockchain.getBlockHashByNumber(blockNumber).get();
+      blockchain.getBlockBody(blockHash).get();
+      for (final TransactionReceipt receipt : blockchain.getTxReceipts(blockHash).get()) {
+        for (final Log log : receipt.getLogs()) {
+          if (query.matches(log)) {
+            matches++;
+          }
+        }
+      }
+    }
+    return matches;
+  }
+}
@@ -15,9 +15,14 @@ package tech.pegasys.pantheon.ethereum.api;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
 
@@ -25,10 +30,57 @@ public class LogsQuery {
 
   private final List<Address> queryAddresses;
   private final List<List<LogTopic>> queryTopics;
+  // The bloom filters of the values matched by the query: a log matches only if it contains one of
+  // the values of each clause. Wildcard topic positions don't restrict logs, so have no clause.
+  private final List<List<LogsBloomFilter>> bloomFilterClauses;
 
   private LogsQuery(final List<Address> addresses, final List<List<LogTopic>> topics) {
     this.queryAddresses = addresses;
     this.queryTopics = topics;
+    this.bloomFilterClauses = new ArrayList<>();
+    if (!addresses.isEmpty()) {
+      bloomFilterClauses.add(
+          addresses.stream().map(LogsQuery::bloomOf).collect(Collectors.toList()));
+    }
+    for (final List<LogTopic> candidates : topics) {
+      if (candidates.stream().noneMatch(Objects::isNull)) {
+        bloomFilterClauses.add(
+            candidates.stream().map(LogsQuery::bloomOf).collect(Collectors.toList()));
+      }
+    }
+  }
+
+  private static LogsBloomFilter bloomOf(final BytesValue value) {
+    final LogsBloomFilter bloom = new LogsBloomFilter();
+    bloom.insertValue(value);
+    return bloom;
+  }
+
+  /**
+   * Checks whether a block or receipt with the provided logs bloom filter could contain a log
+   * matching this query, which lets blocks be skipped without loading their receipts.
+   *
+   * @param bloom The logs bloom filter of the block or receipt.
+   * @return False if no log matching this query can have been inserted in {@code bloom}, true if
+   *     some may have been.
+   */
+  public boolean couldMatch(final LogsBloomFilter bloom) {
+    for (final List<LogsBloomFilter> clause : bloomFilterClauses) {
+      if (clause.stream().noneMatch(bloom::couldContain)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the bloom filters of the values a log must contain to match this query: for each
+   * clause, a matching log contains one of the values the clause holds the bloom filter of.
+   *
+   * @return The clauses of the query, empty if the query matches any log.
+   */
+  public List<List<LogsBloomFilter>> getBloomFilterClauses() {
+    return bloomFilterClauses;
   }
 
   public boolean matches(final Log log) {
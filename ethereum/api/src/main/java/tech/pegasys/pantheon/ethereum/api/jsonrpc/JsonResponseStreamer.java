@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.api.jsonrpc;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Writes to a HTTP response in chunks as it is written to, so that a response can be serialized
+ * straight into the HTTP response rather than first being built in memory in its entirety. Closing
+ * the stream ends the response.
+ *
+ * <p>When written to by a worker thread, writes block while the client falls behind reading the
+ * response, so that a response produced faster than it is read doesn't pile up in memory. Writes
+ * fail once the response grows beyond a maximum size, or once it has taken longer than the write
+ * timeout to send, so that a client which stops reading can't hold on to the writing thread.
+ */
+class JsonResponseStreamer extends OutputStream {
+
+  static final int CHUNK_SIZE = 16 * 1024;
+  private static final long DRAIN_CHECK_INTERVAL_MILLIS = 1000;
+
+  private final HttpServerResponse response;
+  private final long maxBytes;
+  private final long deadlineNanos;
+  private Buffer chunk = Buffer.buffer(CHUNK_SIZE);
+  private long byteCount = 0;
+  private boolean closed = false;
+
+  JsonResponseStreamer(
+      final HttpServerResponse response, final long maxBytes, final long writeTimeoutMillis) {
+    this.response = response;
+    this.maxBytes = maxBytes;
+    this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+    response.setChunked(true);
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    checkWritable(1);
+    chunk.appendByte((byte) b);
+    if (chunk.length() >= CHUNK_SIZE) {
+      writeChunk();
+    }
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+    checkWritable(length);
+    chunk.appendBytes(bytes, offset, length);
+    if (chunk.length() >= CHUNK_SIZE) {
+      writeChunk();
+    }
+  }
+
+  /** Sends what was written so far, so that the client can start processing it. */
+  @Override
+  public void flush() throws IOException {
+    checkNotClosed();
+    if (chunk.length() > 0) {
+      writeChunk();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    response.end(chunk);
+    chunk = null;
+  }
+
+  private void writeChunk() throws IOException {
+    awaitWritable();
+    // The response holds on to the buffer until it is sent, so it can't be reused.
+    response.write(chunk);
+    chunk = Buffer.buffer(CHUNK_SIZE);
+  }
+
+  private void awaitWritable() throws IOException {
+    // The event loop sends the response, so it must never wait for it to be sent.
+    if (Context.isOnEventLoopThread()) {
+      return;
+    }
+    checkDeadline();
+    while (response.writeQueueFull()) {
+      if (response.closed()) {
+        throw new IOException("Connection closed before the response was sent");
+      }
+      final CountDownLatch drained = new CountDownLatch(1);
+      response.drainHandler(v -> drained.countDown());
+      try {
+        final long remainingMillis =
+            TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        drained.await(
+            Math.max(0, Math.min(DRAIN_CHECK_INTERVAL_MILLIS, remainingMillis)),
+            TimeUnit.MILLISECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting to send the response");
+      }
+      checkDeadline();
+    }
+  }
+
+  private void checkDeadline() throws IOException {
+    if (System.nanoTime() - deadlineNanos >= 0) {
+      throw new IOException("Timed out waiting for the client to read the response");
+    }
+  }
+
+  private void checkWritable(final int length) throws IOException {
+    checkNotClosed();
+    byteCount += length;
+    if (byteCount > maxBytes) {
+      throw new IOException("Response exceeds the maximum size of " + maxBytes + " bytes");
+    }
+  }
+
+  private void checkNotClosed() throws IOException {
+    if (closed) {
+      throw new IOException("Response already ended");
+    }
+  }
+}
@@ -24,6 +24,8 @@ import com.google.common.base.MoreObjects;
 public class JsonRpcConfiguration {
   private static final String DEFAULT_JSON_RPC_HOST = "127.0.0.1";
   public static final int DEFAULT_JSON_RPC_PORT = 8545;
+  public static final long DEFAULT_MAX_RESPONSE_BYTES = 4L * 1024 * 1024 * 1024;
+  public static final long DEFAULT_RESPONSE_WRITE_TIMEOUT_SECONDS = 600;
 
   private boolean enabled;
   private int port;
@@ -33,6 +35,8 @@ public class JsonRpcConfiguration {
   private List<String> hostsWhitelist = Arrays.asList("localhost", "127.0.0.1");
   private boolean authenticationEnabled = false;
   private String authenticationCredentialsFile;
+  private long maxResponseBytes = DEFAULT_MAX_RESPONSE_BYTES;
+  private long responseWriteTimeoutSeconds = DEFAULT_RESPONSE_WRITE_TIMEOUT_SECONDS;
 
   public static JsonRpcConfiguration createDefault() {
     final JsonRpcConfiguration config = new JsonRpcConfiguration();
@@ -100,6 +104,30 @@ public class JsonRpcConfiguration {
     this.hostsWhitelist = hostsWhitelist;
   }
 
+  /**
+   * @return the size beyond which a response is aborted. Responses are streamed, so this bounds the
+   *     time spent on a response, such as a debug trace, rather than the memory it takes.
+   */
+  public long getMaxResponseBytes() {
+    return maxResponseBytes;
+  }
+
+  public void setMaxResponseBytes(final long maxResponseBytes) {
+    this.maxResponseBytes = maxResponseBytes;
+  }
+
+  /**
+   * @return the time allowed for a response to be sent, after which it is aborted so that a client
+   *     which stops reading a response can't hold on to the thread writing it.
+   */
+  public long getResponseWriteTimeoutSeconds() {
+    return responseWriteTimeoutSeconds;
+  }
+
+  public void setResponseWriteTimeoutSeconds(final long responseWriteTimeoutSeconds) {
+    this.responseWriteTimeoutSeconds = responseWriteTimeoutSeconds;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -111,6 +139,8 @@ public class JsonRpcConfiguration {
         .add("rpcApis", rpcApis)
         .add("authenticationEnabled", authenticationEnabled)
         .add("authenticationCredentialsFile", authenticationCredentialsFile)
+        .add("maxResponseBytes", maxResponseBytes)
+        .add("responseWriteTimeoutSeconds", responseWriteTimeoutSeconds)
         .toString();
   }
 
@@ -128,12 +158,22 @@ public class JsonRpcConfiguration {
         && Objects.equals(host, that.host)
         && Objects.equals(corsAllowedDomains, that.corsAllowedDomains)
         && Objects.equals(hostsWhitelist, that.hostsWhitelist)
-        && Objects.equals(rpcApis, that.rpcApis);
+        && Objects.equals(rpcApis, that.rpcApis)
+        && maxResponseBytes == that.maxResponseBytes
+        && responseWriteTimeoutSeconds == that.responseWriteTimeoutSeconds;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(enabled, port, host, corsAllowedDomains, hostsWhitelist, rpcApis);
+    return Objects.hash(
+        enabled,
+        port,
+        host,
+        corsAllowedDomains,
+        hostsWhitelist,
+        rpcApis,
+        maxResponseBytes,
+        responseWriteTimeoutSeconds);
   }
 
   public boolean isAuthenticationEnabled() {
@@ -36,20 +36,25 @@ import tech.pegasys.pantheon.plugin.services.metrics.LabelledMetric;
 import tech.pegasys.pantheon.plugin.services.metrics.OperationTimer;
 import tech.pegasys.pantheon.util.NetworkUtility;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
 import io.netty.handler.codec.http.HttpResponseStatus;
-import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
@@ -76,6 +81,10 @@ public class JsonRpcHttpService {
   private static final InetSocketAddress EMPTY_SOCKET_ADDRESS = new InetSocketAddress("0.0.0.0", 0);
   private static final String APPLICATION_JSON = "application/json";
   private static final JsonRpcResponse NO_RESPONSE = new JsonRpcNoResponse();
+  // Output is only sent once a chunk is full rather than after each response, so that small
+  // responses are sent in one go and a failure of part of a small batch can still be reported.
+  private static final ObjectWriter JSON_WRITER =
+      Json.mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
   private static final String EMPTY_RESPONSE = "";
 
   private final Vertx vertx;
@@ -367,22 +376,31 @@ public class JsonRpcHttpService {
   private void handleJsonSingleRequest(
       final RoutingContext routingContext, final JsonObject request, final Optional<User> user) {
     final HttpServerResponse response = routingContext.response();
+    // The response is written by the worker too, as some results (such as debug traces) are only
+    // computed as they are serialized.
     vertx.executeBlocking(
         future -> {
           final JsonRpcResponse jsonRpcResponse = process(request, user);
-          future.complete(jsonRpcResponse);
+          response.setStatusCode(status(jsonRpcResponse).code());
+          response.putHeader("Content-Type", APPLICATION_JSON);
+          if (jsonRpcResponse.getType() == JsonRpcResponseType.NONE) {
+            response.end(EMPTY_RESPONSE);
+          } else {
+            try {
+              final JsonGenerator generator = createGenerator(response);
+              JSON_WRITER.writeValue(generator, jsonRpcResponse);
+              generator.close();
+            } catch (final IOException e) {
+              abortResponse(response, e);
+            }
+          }
+          future.complete();
         },
         false,
         (res) -> {
           if (res.failed()) {
-            response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
-            return;
+            abortResponse(response, res.cause());
           }
-
-          final JsonRpcResponse jsonRpcResponse = (JsonRpcResponse) res.result();
-          response.setStatusCode(status(jsonRpcResponse).code());
-          response.putHeader("Content-Type", APPLICATION_JSON);
-          response.end(serialise(jsonRpcResponse));
         });
   }
 
@@ -400,20 +418,41 @@ public class JsonRpcHttpService {
     }
   }
 
-  private String serialise(final JsonRpcResponse response) {
+  /**
+   * Creates a generator which writes compact JSON straight to the response as it is generated.
+   * Closing the generator ends the response.
+   */
+  private JsonGenerator createGenerator(final HttpServerResponse response) throws IOException {
+    return Json.mapper
+        .getFactory()
+        .createGenerator(
+            new JsonResponseStreamer(
+                response,
+                config.getMaxResponseBytes(),
+                TimeUnit.SECONDS.toMillis(config.getResponseWriteTimeoutSeconds())));
+  }
 
-    if (response.getType() == JsonRpcResponseType.NONE) {
-      return EMPTY_RESPONSE;
+  /**
+   * Ends a response which failed while it was being written. Results such as debug traces are only
+   * computed as they are written, so they can fail after the status line has been decided and part
+   * of the response may already have been sent. There is no way to turn these into a JSON-RPC error
+   * response: the request fails with a 500 if nothing was sent yet, otherwise the connection is
+   * closed so that the client sees a truncated response.
+   */
+  private void abortResponse(final HttpServerResponse response, final Throwable cause) {
+    LOG.error("Error writing JSON-RPC response", cause);
+    if (response.headWritten()) {
+      // Part of the response was already sent, so the only way to signal the error is to drop it.
+      response.close();
+    } else {
+      response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
     }
-
-    return Json.encodePrettily(response);
   }
 
-  @SuppressWarnings("rawtypes")
   private void handleJsonBatchRequest(
       final RoutingContext routingContext, final JsonArray jsonArray, final Optional<User> user) {
     // Interpret json as rpc request
-    final List<Future> responses =
+    final List<Future<JsonRpcResponse>> responses =
         jsonArray.stream()
             .map(
                 obj -> {
@@ -438,23 +477,65 @@ public class JsonRpcHttpService {
                 })
             .collect(toList());
 
-    CompositeFuture.all(responses)
+    final HttpServerResponse response = routingContext.response();
+    response.putHeader("Content-Type", APPLICATION_JSON);
+    final JsonGenerator generator;
+    try {
+      generator = createGenerator(response);
+      generator.writeStartArray();
+    } catch (final IOException e) {
+      abortResponse(response, e);
+      return;
+    }
+    writeBatchResponses(responses.iterator(), generator, response);
+  }
+
+  /**
+   * Writes each response of a batch as soon as it and the responses before it have completed, so
+   * that completed responses needn't be held on to until the whole batch has. Responses are written
+   * by a worker, as some are only computed as they are serialized. If a response fails after part
+   * of the batch was sent, the connection is closed as the status can't be changed.
+   */
+  private void writeBatchResponses(
+      final Iterator<Future<JsonRpcResponse>> responses,
+      final JsonGenerator generator,
+      final HttpServerResponse response) {
+    if (!responses.hasNext()) {
+      try {
+        generator.writeEndArray();
+        generator.close();
+      } catch (final IOException e) {
+        abortResponse(response, e);
+      }
+      return;
+    }
+    responses
+        .next()
         .setHandler(
-            (res) -> {
+            res -> {
               if (res.failed()) {
-                routingContext
-                    .response()
-                    .setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
-                    .end();
+                abortResponse(response, res.cause());
                 return;
               }
-              final JsonRpcResponse[] completed =
-                  res.result().list().stream()
-                      .map(JsonRpcResponse.class::cast)
-                      .filter(this::isNonEmptyResponses)
-                      .toArray(JsonRpcResponse[]::new);
-
-              routingContext.response().end(Json.encode(completed));
+              vertx.executeBlocking(
+                  future -> {
+                    try {
+                      if (isNonEmptyResponses(res.result())) {
+                        JSON_WRITER.writeValue(generator, res.result());
+                      }
+                      future.complete();
+                    } catch (final IOException e) {
+                      future.fail(e);
+                    }
+                  },
+                  false,
+                  written -> {
+                    if (written.failed()) {
+                      abortResponse(response, written.cause());
+                      return;
+                    }
+                    writeBatchResponses(responses, generator, response);
+                  });
             });
   }
 
@@ -110,6 +110,7 @@ import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.core.Synchronizer;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
 import tech.pegasys.pantheon.ethereum.eth.transactions.PendingTransactions;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPool;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
@@ -144,6 +145,7 @@ public class JsonRpcMethodsFactory {
       final BigInteger networkId,
       final GenesisConfigOptions genesisConfigOptions,
       final P2PNetwork peerNetworkingService,
+      final EthPeers ethPeers,
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
       final Synchronizer synchronizer,
@@ -167,6 +169,7 @@ public class JsonRpcMethodsFactory {
         networkId,
         genesisConfigOptions,
         peerNetworkingService,
+        ethPeers,
         blockchainQueries,
         synchronizer,
         protocolSchedule,
@@ -189,6 +192,7 @@ public class JsonRpcMethodsFactory {
       final BigInteger networkId,
       final GenesisConfigOptions genesisConfigOptions,
       final P2PNetwork p2pNetwork,
+      final EthPeers ethPeers,
       final BlockchainQueries blockchainQueries,
       final Synchronizer synchronizer,
       final ProtocolSchedule<?> protocolSchedule,
@@ -331,7 +335,7 @@ public class JsonRpcMethodsFactory {
           new AdminRemovePeer(p2pNetwork, parameter),
           new AdminNodeInfo(
               clientVersion, networkId, genesisConfigOptions, p2pNetwork, blockchainQueries),
-          new AdminPeers(p2pNetwork),
+          new AdminPeers(p2pNetwork, ethPeers),
           new AdminChangeLogLevel(parameter));
     }
 
@@ -19,17 +19,21 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcError
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.PeerResult;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
 import tech.pegasys.pantheon.ethereum.p2p.network.P2PNetwork;
 import tech.pegasys.pantheon.ethereum.p2p.network.exceptions.P2PDisabledException;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class AdminPeers implements JsonRpcMethod {
   private final P2PNetwork peerDiscoveryAgent;
+  private final EthPeers ethPeers;
 
-  public AdminPeers(final P2PNetwork peerDiscoveryAgent) {
+  public AdminPeers(final P2PNetwork peerDiscoveryAgent, final EthPeers ethPeers) {
     this.peerDiscoveryAgent = peerDiscoveryAgent;
+    this.ethPeers = ethPeers;
   }
 
   @Override
@@ -42,7 +46,9 @@ public class AdminPeers implements JsonRpcMethod {
 
     try {
       final List<PeerResult> peers =
-          peerDiscoveryAgent.getPeers().stream().map(PeerResult::new).collect(Collectors.toList());
+          peerDiscoveryAgent.getPeers().stream()
+              .map(peer -> new PeerResult(peer, Optional.ofNullable(ethPeers.peer(peer))))
+              .collect(Collectors.toList());
       final JsonRpcResponse result = new JsonRpcSuccessResponse(req.getId(), peers);
       return result;
     } catch (P2PDisabledException e) {
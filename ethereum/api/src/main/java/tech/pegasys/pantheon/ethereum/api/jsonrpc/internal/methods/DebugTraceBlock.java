@@ -16,24 +16,20 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.RpcMethod;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.BlockTrace;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.BlockTracer;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.DebugTraceBlockResult;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
-import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
-import java.util.Collection;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -78,13 +74,11 @@ public class DebugTraceBlock implements JsonRpcMethod {
             .orElse(TraceOptions.DEFAULT);
 
     if (this.blockchain.blockByHash(block.getHeader().getParentHash()).isPresent()) {
-      final Collection<DebugTraceTransactionResult> results =
-          blockTracer
-              .trace(block, new DebugOperationTracer(traceOptions))
-              .map(BlockTrace::getTransactionTraces)
-              .map(DebugTraceTransactionResult::of)
-              .orElse(null);
-      return new JsonRpcSuccessResponse(request.getId(), results);
+      final DebugTraceBlockResult result =
+          new DebugTraceBlockResult(
+              (tracers, traceConsumer) -> blockTracer.trace(block, tracers, traceConsumer),
+              traceOptions);
+      return new JsonRpcSuccessResponse(request.getId(), result);
     } else {
       return new JsonRpcErrorResponse(request.getId(), JsonRpcError.PARENT_BLOCK_NOT_FOUND);
     }
@@ -16,16 +16,12 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.RpcMethod;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.BlockTrace;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.BlockTracer;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.DebugTraceBlockResult;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
-import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
-
-import java.util.Collection;
 
 public class DebugTraceBlockByHash implements JsonRpcMethod {
 
@@ -51,12 +47,10 @@ public class DebugTraceBlockByHash implements JsonRpcMethod {
             .map(TransactionTraceParams::traceOptions)
             .orElse(TraceOptions.DEFAULT);
 
-    final Collection<DebugTraceTransactionResult> results =
-        blockTracer
-            .trace(blockHash, new DebugOperationTracer(traceOptions))
-            .map(BlockTrace::getTransactionTraces)
-            .map(DebugTraceTransactionResult::of)
-            .orElse(null);
-    return new JsonRpcSuccessResponse(request.getId(), results);
+    final DebugTraceBlockResult result =
+        new DebugTraceBlockResult(
+            (tracers, traceConsumer) -> blockTracer.trace(blockHash, tracers, traceConsumer),
+            traceOptions);
+    return new JsonRpcSuccessResponse(request.getId(), result);
   }
 }
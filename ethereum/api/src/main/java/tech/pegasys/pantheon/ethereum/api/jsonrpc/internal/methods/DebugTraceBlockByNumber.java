@@ -17,13 +17,11 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.BlockTrace;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.BlockTracer;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.queries.BlockchainQueries;
-import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.DebugTraceBlockResult;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
-import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 
 import java.util.Optional;
 
@@ -59,12 +57,11 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
             .orElse(TraceOptions.DEFAULT);
 
     return blockHash
-        .flatMap(
+        .map(
             hash ->
-                blockTracer
-                    .trace(hash, new DebugOperationTracer(traceOptions))
-                    .map(BlockTrace::getTransactionTraces)
-                    .map(DebugTraceTransactionResult::of))
+                new DebugTraceBlockResult(
+                    (tracers, traceConsumer) -> blockTracer.trace(hash, tracers, traceConsumer),
+                    traceOptions))
         .orElse(null);
   }
 }
@@ -24,7 +24,6 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSucce
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
-import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 
 import java.util.Optional;
 
@@ -74,11 +73,8 @@ public class DebugTraceTransaction implements JsonRpcMethod {
       final TraceOptions traceOptions) {
     final Hash blockHash = transactionWithMetadata.getBlockHash().get();
 
-    final DebugOperationTracer execTracer = new DebugOperationTracer(traceOptions);
-
-    return transactionTracer
-        .traceTransaction(blockHash, hash, execTracer)
-        .map(DebugTraceTransactionResult::new)
-        .orElse(null);
+    return new DebugTraceTransactionResult(
+        execTracer -> transactionTracer.traceTransaction(blockHash, hash, execTracer),
+        traceOptions);
   }
 }
@@ -20,6 +20,8 @@ import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /** Used to produce debug traces of blocks */
 public class BlockTracer {
@@ -38,9 +40,39 @@ public class BlockTracer {
     return blockReplay.block(block, prepareReplayAction(tracer));
   }
 
+  /**
+   * Traces each transaction of a block with a tracer of its own, handing each transaction trace to
+   * the consumer as soon as the transaction has been replayed rather than once the whole block has.
+   *
+   * @param blockHash the hash of the block to trace.
+   * @param tracers supplies the tracer for each transaction, just before it is replayed.
+   * @param traceConsumer the consumer of each transaction trace.
+   * @return the traces of the block, or empty if the block or its parent state are unavailable.
+   */
+  public Optional<BlockTrace> trace(
+      final Hash blockHash,
+      final Supplier<DebugOperationTracer> tracers,
+      final Consumer<TransactionTrace> traceConsumer) {
+    return blockReplay.block(blockHash, prepareReplayAction(tracers, traceConsumer));
+  }
+
+  public Optional<BlockTrace> trace(
+      final Block block,
+      final Supplier<DebugOperationTracer> tracers,
+      final Consumer<TransactionTrace> traceConsumer) {
+    return blockReplay.block(block, prepareReplayAction(tracers, traceConsumer));
+  }
+
   private TransactionAction<TransactionTrace> prepareReplayAction(
       final DebugOperationTracer tracer) {
+    return prepareReplayAction(() -> tracer, trace -> {});
+  }
+
+  private TransactionAction<TransactionTrace> prepareReplayAction(
+      final Supplier<DebugOperationTracer> tracers,
+      final Consumer<TransactionTrace> traceConsumer) {
     return (transaction, header, blockchain, mutableWorldState, transactionProcessor) -> {
+      final DebugOperationTracer tracer = tracers.get();
       final TransactionProcessor.Result result =
           transactionProcessor.processTransaction(
               blockchain,
@@ -51,7 +83,10 @@ public class BlockTracer {
               tracer,
               new BlockHashLookup(header, blockchain),
               false);
-      return new TransactionTrace(transaction, result, tracer.getTraceFrames());
+      final TransactionTrace trace =
+          new TransactionTrace(transaction, result, tracer.getTraceFrames());
+      traceConsumer.accept(trace);
+      return trace;
     };
   }
 }
@@ -18,14 +18,15 @@ import tech.pegasys.pantheon.ethereum.api.BlockWithMetadata;
 import tech.pegasys.pantheon.ethereum.api.LogWithMetadata;
 import tech.pegasys.pantheon.ethereum.api.LogsQuery;
 import tech.pegasys.pantheon.ethereum.api.TransactionWithMetadata;
+import tech.pegasys.pantheon.ethereum.bloombits.BloomBitsIndex;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.chain.TransactionLocation;
 import tech.pegasys.pantheon.ethereum.core.Account;
 import tech.pegasys.pantheon.ethereum.core.Address;
-import tech.pegasys.pantheon.ethereum.core.Block;
-import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LazyBlockBody;
+import tech.pegasys.pantheon.ethereum.core.LazyTransactionReceipts;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
@@ -40,17 +41,30 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import com.google.common.collect.Lists;
 
 public class BlockchainQueries {
 
+  // The number of consecutive blocks scanned by a single thread when looking for matching logs.
+  private static final long LOGS_SCAN_RANGE_SIZE = 500;
+
   private final WorldStateArchive worldStateArchive;
   private final Blockchain blockchain;
+  private final Optional<BloomBitsIndex> bloomBitsIndex;
 
   public BlockchainQueries(final Blockchain blockchain, final WorldStateArchive worldStateArchive) {
+    this(blockchain, worldStateArchive, Optional.empty());
+  }
+
+  public BlockchainQueries(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final Optional<BloomBitsIndex> bloomBitsIndex) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
+    this.bloomBitsIndex = bloomBitsIndex;
   }
 
   public Blockchain getBlockchain() {
@@ -127,12 +141,7 @@ public class BlockchainQueries {
       return Optional.empty();
     }
     return Optional.of(
-        blockchain
-            .getBlockHashByNumber(blockNumber)
-            .flatMap(this::blockByHashWithTxHashes)
-            .map(BlockWithMetadata::getTransactions)
-            .map(List::size)
-            .orElse(-1));
+        blockchain.getBlockHashByNumber(blockNumber).map(this::getTransactionCount).orElse(-1));
   }
 
   /**
@@ -143,8 +152,8 @@ public class BlockchainQueries {
    */
   public Integer getTransactionCount(final Hash blockHeaderHash) {
     return blockchain
-        .getBlockBody(blockHeaderHash)
-        .map(body -> body.getTransactions().size())
+        .getLazyBlockBody(blockHeaderHash)
+        .map(LazyBlockBody::getTransactionCount)
         .orElse(-1);
   }
 
@@ -190,7 +199,7 @@ public class BlockchainQueries {
    * @return The number of ommers in the referenced block.
    */
   public Optional<Integer> getOmmerCount(final Hash blockHeaderHash) {
-    return blockchain.getBlockBody(blockHeaderHash).map(b -> b.getOmmers().size());
+    return blockchain.getLazyBlockBody(blockHeaderHash).map(LazyBlockBody::getOmmerCount);
   }
 
   /**
@@ -210,13 +219,14 @@ public class BlockchainQueries {
    * @return The ommer at the given index belonging to the referenced block.
    */
   public Optional<BlockHeader> getOmmer(final Hash blockHeaderHash, final int index) {
-    return blockchain.getBlockBody(blockHeaderHash).map(blockBody -> getOmmer(blockBody, index));
+    return blockchain
+        .getLazyBlockBody(blockHeaderHash)
+        .map(blockBody -> getOmmer(blockBody, index));
   }
 
-  private BlockHeader getOmmer(final BlockBody blockBody, final int index) {
-    final List<BlockHeader> ommers = blockBody.getOmmers();
-    if (ommers.size() > index) {
-      return ommers.get(index);
+  private BlockHeader getOmmer(final LazyBlockBody blockBody, final int index) {
+    if (blockBody.getOmmerCount() > index) {
+      return blockBody.getOmmers().get(index);
     } else {
       return null;
     }
@@ -258,7 +268,7 @@ public class BlockchainQueries {
         .flatMap(
             header ->
                 blockchain
-                    .getBlockBody(blockHeaderHash)
+                    .getLazyBlockBody(blockHeaderHash)
                     .flatMap(
                         body ->
                             blockchain
@@ -273,7 +283,7 @@ public class BlockchainQueries {
                                           body.getOmmers().stream()
                                               .map(BlockHeader::getHash)
                                               .collect(Collectors.toList());
-                                      final int size = new Block(header, body).calculateSize();
+                                      final int size = body.getBlockSize(header);
                                       return new BlockWithMetadata<>(
                                           header, formattedTxs, ommers, td, size);
                                     })));
@@ -313,22 +323,19 @@ public class BlockchainQueries {
         .flatMap(
             header ->
                 blockchain
-                    .getBlockBody(blockHeaderHash)
+                    .getLazyBlockBody(blockHeaderHash)
                     .flatMap(
                         body ->
                             blockchain
                                 .getTotalDifficultyByHash(blockHeaderHash)
                                 .map(
                                     (td) -> {
-                                      final List<Hash> txs =
-                                          body.getTransactions().stream()
-                                              .map(Transaction::hash)
-                                              .collect(Collectors.toList());
+                                      final List<Hash> txs = body.getTransactionHashes();
                                       final List<Hash> ommers =
                                           body.getOmmers().stream()
                                               .map(BlockHeader::getHash)
                                               .collect(Collectors.toList());
-                                      final int size = new Block(header, body).calculateSize();
+                                      final int size = body.getBlockSize(header);
                                       return new BlockWithMetadata<>(header, txs, ommers, td, size);
                                     })));
   }
@@ -422,13 +429,12 @@ public class BlockchainQueries {
   private TransactionWithMetadata transactionByHeaderAndIndex(
       final BlockHeader header, final int txIndex) {
     final Hash blockHeaderHash = header.getHash();
-    final BlockBody blockBody = blockchain.getBlockBody(blockHeaderHash).get();
-    final List<Transaction> txs = blockBody.getTransactions();
-    if (txIndex >= txs.size()) {
+    final LazyBlockBody blockBody = blockchain.getLazyBlockBody(blockHeaderHash).get();
+    if (txIndex >= blockBody.getTransactionCount()) {
       return null;
     }
     return new TransactionWithMetadata(
-        txs.get(txIndex), header.getNumber(), blockHeaderHash, txIndex);
+        blockBody.getTransaction(txIndex), header.getNumber(), blockHeaderHash, txIndex);
   }
 
   /**
@@ -445,21 +451,17 @@ public class BlockchainQueries {
       return Optional.empty();
     }
     final TransactionLocation location = maybeLocation.get();
-    final BlockBody blockBody = blockchain.getBlockBody(location.getBlockHash()).get();
-    final Transaction transaction = blockBody.getTransactions().get(location.getTransactionIndex());
-
     final Hash blockhash = location.getBlockHash();
+    // Only the transaction and its receipt are decoded, the receipt before it only partially.
+    final LazyBlockBody blockBody = blockchain.getLazyBlockBody(blockhash).get();
+    final Transaction transaction = blockBody.getTransaction(location.getTransactionIndex());
+
     final BlockHeader header = blockchain.getBlockHeader(blockhash).get();
-    final List<TransactionReceipt> transactionReceipts = blockchain.getTxReceipts(blockhash).get();
+    final LazyTransactionReceipts transactionReceipts =
+        blockchain.getLazyTxReceipts(blockhash).get();
     final TransactionReceipt transactionReceipt =
         transactionReceipts.get(location.getTransactionIndex());
-
-    long gasUsed = transactionReceipt.getCumulativeGasUsed();
-    if (location.getTransactionIndex() > 0) {
-      gasUsed =
-          gasUsed
-              - transactionReceipts.get(location.getTransactionIndex() - 1).getCumulativeGasUsed();
-    }
+    final long gasUsed = transactionReceipts.getGasUsed(location.getTransactionIndex());
 
     return Optional.of(
         TransactionReceiptWithMetadata.create(
@@ -476,6 +478,11 @@ public class BlockchainQueries {
    * Retrieve logs from the range of blocks with optional filtering based on logger address and log
    * topics.
    *
+   * <p>Blocks whose logs bloom filter shows they can't contain a matching log are skipped without
+   * loading their body nor receipts. The blocks covered by the bloom bits index, if any, are found
+   * from it, while the others have their header checked, large ranges being split into sub-ranges
+   * scanned in parallel.
+   *
    * @param fromBlockNumber The block number defining the first block in the search range
    *     (inclusive).
    * @param toBlockNumber The block number defining the last block in the search range (inclusive).
@@ -488,39 +495,83 @@ public class BlockchainQueries {
     if (fromBlockNumber > toBlockNumber || toBlockNumber > headBlockNumber()) {
       return Lists.newArrayList();
     }
-    List<LogWithMetadata> matchingLogs = Lists.newArrayList();
-    for (long blockNumber = fromBlockNumber; blockNumber <= toBlockNumber; blockNumber++) {
-      final Hash blockhash = blockchain.getBlockHashByNumber(blockNumber).get();
-      final boolean logHasBeenRemoved = !blockchain.blockIsOnCanonicalChain(blockhash);
-      final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockhash).get();
-      final List<Transaction> transaction =
-          blockchain.getBlockBody(blockhash).get().getTransactions();
-      matchingLogs =
-          generateLogWithMetadata(
-              receipts,
-              blockNumber,
-              query,
-              blockhash,
-              matchingLogs,
-              transaction,
-              logHasBeenRemoved);
+    // The index can't narrow down the blocks to load for queries matching any log.
+    final long indexedBlockCount =
+        query.getBloomFilterClauses().isEmpty()
+            ? 0
+            : bloomBitsIndex.map(BloomBitsIndex::getIndexedBlockCount).orElse(0L);
+    final List<LogWithMetadata> matchingLogs = new ArrayList<>();
+    if (fromBlockNumber < indexedBlockCount) {
+      matchingLogs.addAll(
+          matchingLogsFromIndex(
+              fromBlockNumber, Math.min(toBlockNumber, indexedBlockCount - 1), query));
+    }
+    if (toBlockNumber >= indexedBlockCount) {
+      matchingLogs.addAll(
+          scanMatchingLogs(Math.max(fromBlockNumber, indexedBlockCount), toBlockNumber, query));
     }
     return matchingLogs;
   }
 
+  private List<LogWithMetadata> matchingLogsFromIndex(
+      final long fromBlockNumber, final long toBlockNumber, final LogsQuery query) {
+    return bloomBitsIndex
+        .get()
+        .candidateBlockNumbers(fromBlockNumber, toBlockNumber, query.getBloomFilterClauses())
+        .parallel()
+        .mapToObj(blockNumber -> matchingLogsInBlock(blockNumber, query, new ArrayList<>()))
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+  }
+
+  private List<LogWithMetadata> scanMatchingLogs(
+      final long fromBlockNumber, final long toBlockNumber, final LogsQuery query) {
+    final long rangeCount = (toBlockNumber - fromBlockNumber) / LOGS_SCAN_RANGE_SIZE + 1;
+    final LongStream ranges = LongStream.range(0, rangeCount);
+    // Ranges are scanned concurrently, and their logs concatenated in block order.
+    return (rangeCount > 1 ? ranges.parallel() : ranges)
+        .mapToObj(
+            range -> {
+              final long rangeStart = fromBlockNumber + range * LOGS_SCAN_RANGE_SIZE;
+              final long rangeEnd =
+                  Math.min(toBlockNumber, rangeStart + LOGS_SCAN_RANGE_SIZE - 1);
+              List<LogWithMetadata> matchingLogs = Lists.newArrayList();
+              for (long blockNumber = rangeStart; blockNumber <= rangeEnd; blockNumber++) {
+                matchingLogs = matchingLogsInBlock(blockNumber, query, matchingLogs);
+              }
+              return matchingLogs;
+            })
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+  }
+
+  private List<LogWithMetadata> matchingLogsInBlock(
+      final long blockNumber, final LogsQuery query, final List<LogWithMetadata> matchingLogs) {
+    final BlockHeader blockHeader = blockchain.getBlockHeader(blockNumber).get();
+    // Only load the body and receipts of the blocks which may contain a matching log.
+    if (!query.couldMatch(blockHeader.getLogsBloom())) {
+      return matchingLogs;
+    }
+    final Hash blockhash = blockHeader.getHash();
+    final boolean logHasBeenRemoved = !blockchain.blockIsOnCanonicalChain(blockhash);
+    final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockhash).get();
+    final LazyBlockBody body = blockchain.getLazyBlockBody(blockhash).get();
+    return generateLogWithMetadata(
+        receipts, blockNumber, query, blockhash, matchingLogs, body, logHasBeenRemoved);
+  }
+
   public List<LogWithMetadata> matchingLogs(final Hash blockhash, final LogsQuery query) {
     final List<LogWithMetadata> matchingLogs = Lists.newArrayList();
     Optional<BlockHeader> blockHeader = blockchain.getBlockHeader(blockhash);
-    if (!blockHeader.isPresent()) {
+    if (!blockHeader.isPresent() || !query.couldMatch(blockHeader.get().getLogsBloom())) {
       return matchingLogs;
     }
     final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockhash).get();
-    final List<Transaction> transaction =
-        blockchain.getBlockBody(blockhash).get().getTransactions();
+    final LazyBlockBody body = blockchain.getLazyBlockBody(blockhash).get();
     final long number = blockHeader.get().getNumber();
     final boolean logHasBeenRemoved = !blockchain.blockIsOnCanonicalChain(blockhash);
     return generateLogWithMetadata(
-        receipts, number, query, blockhash, matchingLogs, transaction, logHasBeenRemoved);
+        receipts, number, query, blockhash, matchingLogs, body, logHasBeenRemoved);
   }
 
   private List<LogWithMetadata> generateLogWithMetadata(
@@ -529,7 +580,7 @@ public class BlockchainQueries {
       final LogsQuery query,
       final Hash blockhash,
       final List<LogWithMetadata> matchingLogs,
-      final List<Transaction> transaction,
+      final LazyBlockBody body,
       final boolean removed) {
     for (int transactionIndex = 0; transactionIndex < receipts.size(); ++transactionIndex) {
       final TransactionReceipt receipt = receipts.get(transactionIndex);
@@ -540,7 +591,7 @@ public class BlockchainQueries {
                   logIndex,
                   number,
                   blockhash,
-                  transaction.get(transactionIndex).hash(),
+                  body.getTransactionHash(transactionIndex),
                   transactionIndex,
                   receipts.get(transactionIndex).getLogs().get(logIndex).getLogger(),
                   receipts.get(transactionIndex).getLogs().get(logIndex).getData(),
@@ -69,6 +69,9 @@ public enum JsonRpcError {
   // Debug failures
   PARENT_BLOCK_NOT_FOUND(-32000, "Parent block not found"),
 
+  // Response failures
+  RESPONSE_TOO_LARGE(-32000, "Response exceeds the maximum size"),
+
   // Permissioning/Account whitelist errors
   ACCOUNT_WHITELIST_NOT_ENABLED(-32000, "Account whitelisting has not been enabled"),
   ACCOUNT_WHITELIST_EMPTY_ENTRY(-32000, "Request contains an empty list of accounts"),
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results;
+
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.BlockTrace;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * The debug traces of the transactions of a block, which are only replayed as they are serialized
+ * so that each struct log is written out as soon as it is traced. It is serialized as null if the
+ * block can't be replayed.
+ *
+ * <p>As the traces are only produced once the response is being sent, a replay which fails part
+ * way through can't be reported as a JSON-RPC error: the HTTP request fails with a 500, or the
+ * connection is dropped if part of the response was already sent.
+ */
+public class DebugTraceBlockResult extends JsonSerializable.Base {
+
+  private final Replay replay;
+  private final TraceOptions traceOptions;
+  private final long maxStructLogs;
+
+  /**
+   * @param replay replays the transactions of the block.
+   * @param traceOptions which parts of the execution state to include in the struct logs.
+   */
+  public DebugTraceBlockResult(final Replay replay, final TraceOptions traceOptions) {
+    this(replay, traceOptions, StructLogWriter.DEFAULT_MAX_STRUCT_LOGS);
+  }
+
+  @VisibleForTesting
+  DebugTraceBlockResult(
+      final Replay replay, final TraceOptions traceOptions, final long maxStructLogs) {
+    this.replay = replay;
+    this.traceOptions = traceOptions;
+    this.maxStructLogs = maxStructLogs;
+  }
+
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider serializers)
+      throws IOException {
+    final StructLogWriter writer =
+        new StructLogWriter(generator, serializers, traceOptions, maxStructLogs);
+    writer.startTransactionList();
+    try {
+      final Optional<BlockTrace> trace = replay.trace(writer::newTracer, writer::endTransaction);
+      if (trace.isPresent()) {
+        writer.endTransactionList();
+      } else {
+        generator.writeNull();
+      }
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  @Override
+  public void serializeWithType(
+      final JsonGenerator generator,
+      final SerializerProvider serializers,
+      final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+
+  /** Replays the transactions of a block, each with a tracer of its own. */
+  @FunctionalInterface
+  public interface Replay {
+    Optional<BlockTrace> trace(
+        Supplier<DebugOperationTracer> tracers, Consumer<TransactionTrace> traceConsumer);
+  }
+}
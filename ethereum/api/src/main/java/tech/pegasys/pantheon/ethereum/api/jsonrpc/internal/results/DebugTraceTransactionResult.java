@@ -13,61 +13,78 @@
 package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results;
 
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
-import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.function.Function;
 
-import com.fasterxml.jackson.annotation.JsonGetter;
-import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.google.common.annotations.VisibleForTesting;
 
-@JsonPropertyOrder({"gas", "failed", "returnValue", "structLogs"})
-public class DebugTraceTransactionResult {
-
-  private final List<StructLog> structLogs;
-  private final String returnValue;
-  private final long gas;
-  private final boolean failed;
-
-  public DebugTraceTransactionResult(final TransactionTrace transactionTrace) {
-    gas = transactionTrace.getGas();
-    returnValue = transactionTrace.getResult().getOutput().toString().substring(2);
-    structLogs =
-        transactionTrace.getTraceFrames().stream()
-            .map(DebugTraceTransactionResult::createStructLog)
-            .collect(Collectors.toList());
-    failed = !transactionTrace.getResult().isSuccessful();
-  }
-
-  public static Collection<DebugTraceTransactionResult> of(
-      final Collection<TransactionTrace> traces) {
-    return traces.stream().map(DebugTraceTransactionResult::new).collect(Collectors.toList());
-  }
+/**
+ * The debug trace of a transaction, which is only replayed as it is serialized so that each struct
+ * log is written out as soon as it is traced. It is serialized as null if the transaction can't be
+ * replayed.
+ *
+ * <p>As the trace is only produced once the response is being sent, a replay which fails part way
+ * through can't be reported as a JSON-RPC error: the HTTP request fails with a 500, or the
+ * connection is dropped if part of the response was already sent.
+ */
+public class DebugTraceTransactionResult extends JsonSerializable.Base {
 
-  private static StructLog createStructLog(final TraceFrame frame) {
-    return frame.getExceptionalHaltReasons().isEmpty()
-        ? new StructLog(frame)
-        : new StructLogWithError(frame);
-  }
+  private final Function<DebugOperationTracer, Optional<TransactionTrace>> replay;
+  private final TraceOptions traceOptions;
+  private final long maxStructLogs;
 
-  @JsonGetter(value = "structLogs")
-  public List<StructLog> getStructLogs() {
-    return structLogs;
+  /**
+   * @param replay replays the transaction with the given tracer.
+   * @param traceOptions which parts of the execution state to include in the struct logs.
+   */
+  public DebugTraceTransactionResult(
+      final Function<DebugOperationTracer, Optional<TransactionTrace>> replay,
+      final TraceOptions traceOptions) {
+    this(replay, traceOptions, StructLogWriter.DEFAULT_MAX_STRUCT_LOGS);
   }
 
-  @JsonGetter(value = "returnValue")
-  public String getReturnValue() {
-    return returnValue;
+  @VisibleForTesting
+  DebugTraceTransactionResult(
+      final Function<DebugOperationTracer, Optional<TransactionTrace>> replay,
+      final TraceOptions traceOptions,
+      final long maxStructLogs) {
+    this.replay = replay;
+    this.traceOptions = traceOptions;
+    this.maxStructLogs = maxStructLogs;
   }
 
-  @JsonGetter(value = "gas")
-  public long getGas() {
-    return gas;
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider serializers)
+      throws IOException {
+    final StructLogWriter writer =
+        new StructLogWriter(generator, serializers, traceOptions, maxStructLogs);
+    try {
+      final Optional<TransactionTrace> trace = replay.apply(writer.newTracer());
+      if (trace.isPresent()) {
+        writer.endTransaction(trace.get());
+      } else {
+        generator.writeNull();
+      }
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
   }
 
-  @JsonGetter(value = "failed")
-  public boolean failed() {
-    return failed;
+  @Override
+  public void serializeWithType(
+      final JsonGenerator generator,
+      final SerializerProvider serializers,
+      final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
   }
 }
@@ -12,18 +12,25 @@
  */
 package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Capability;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 
-@JsonPropertyOrder({"version", "name", "caps", "network", "port", "id"})
+@JsonPropertyOrder({"version", "name", "caps", "network", "port", "id", "requests"})
 public class PeerResult {
 
   private final String version;
@@ -32,8 +39,13 @@ public class PeerResult {
   private final NetworkResult network;
   private final String port;
   private final String id;
+  private final Map<String, RequestStatisticsResult> requests;
 
   public PeerResult(final PeerConnection peer) {
+    this(peer, Optional.empty());
+  }
+
+  public PeerResult(final PeerConnection peer, final Optional<EthPeer> ethPeer) {
     this.version = Quantity.create(peer.getPeerInfo().getVersion());
     this.name = peer.getPeerInfo().getClientId();
     this.caps =
@@ -44,6 +56,15 @@ public class PeerResult {
     this.network = new NetworkResult(peer.getLocalAddress(), peer.getRemoteAddress());
     this.port = Quantity.create(peer.getPeerInfo().getPort());
     this.id = peer.getPeerInfo().getNodeId().toString();
+    this.requests = ethPeer.map(PeerResult::requestStatistics).orElse(null);
+  }
+
+  private static Map<String, RequestStatisticsResult> requestStatistics(final EthPeer peer) {
+    final Map<String, RequestStatisticsResult> results = new LinkedHashMap<>();
+    peer.requestStatistics()
+        .forEach(
+            (request, statistics) -> results.put(request, new RequestStatisticsResult(statistics)));
+    return results;
   }
 
   @JsonGetter(value = "version")
@@ -75,4 +96,10 @@ public class PeerResult {
   public String getId() {
     return id;
   }
+
+  @JsonGetter(value = "requests")
+  @JsonInclude(NON_NULL)
+  public Map<String, RequestStatisticsResult> getRequests() {
+    return requests;
+  }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+import tech.pegasys.pantheon.ethereum.eth.manager.RequestStatistics;
+
+import java.util.OptionalDouble;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonInclude(NON_NULL)
+@JsonPropertyOrder({"responses", "timeouts", "latency", "responseSize", "bytesPerSecond"})
+public class RequestStatisticsResult {
+
+  private final String responses;
+  private final String timeouts;
+  private final String latency;
+  private final String responseSize;
+  private final String bytesPerSecond;
+
+  public RequestStatisticsResult(final RequestStatistics statistics) {
+    this.responses = Quantity.create(statistics.getResponseCount());
+    this.timeouts = Quantity.create(statistics.getTimeoutCount());
+    this.latency = quantity(statistics.getLatencyMillis());
+    this.responseSize = quantity(statistics.getResponseBytes());
+    this.bytesPerSecond = quantity(statistics.getBytesPerSecond());
+  }
+
+  private static String quantity(final OptionalDouble value) {
+    return value.isPresent() ? Quantity.create(Math.round(value.getAsDouble())) : null;
+  }
+
+  @JsonGetter(value = "responses")
+  public String getResponses() {
+    return responses;
+  }
+
+  @JsonGetter(value = "timeouts")
+  public String getTimeouts() {
+    return timeouts;
+  }
+
+  /** @return the average latency of the responses, in milliseconds. */
+  @JsonGetter(value = "latency")
+  public String getLatency() {
+    return latency;
+  }
+
+  @JsonGetter(value = "responseSize")
+  public String getResponseSize() {
+    return responseSize;
+  }
+
+  @JsonGetter(value = "bytesPerSecond")
+  public String getBytesPerSecond() {
+    return bytesPerSecond;
+  }
+}
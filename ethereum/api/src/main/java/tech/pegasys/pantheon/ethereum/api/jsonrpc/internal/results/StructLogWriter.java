@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results;
+
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Writes the trace of each transaction as it is replayed, each struct log as soon as it is traced,
+ * so that a trace is never held in memory in its entirety. Writing is aborted once a trace grows
+ * beyond a maximum number of struct logs. The size of the output is limited by the response it is
+ * written to.
+ *
+ * <p>As tracers can't throw checked exceptions, failures to write are thrown as {@link
+ * UncheckedIOException}.
+ */
+class StructLogWriter {
+
+  static final long DEFAULT_MAX_STRUCT_LOGS = 10_000_000L;
+
+  private final JsonGenerator generator;
+  private final SerializerProvider serializers;
+  private final TraceOptions traceOptions;
+  private final long maxStructLogs;
+
+  private long structLogCount = 0;
+  private boolean inTransaction = false;
+  private boolean listStartPending = false;
+
+  StructLogWriter(
+      final JsonGenerator generator,
+      final SerializerProvider serializers,
+      final TraceOptions traceOptions,
+      final long maxStructLogs) {
+    this.generator = generator;
+    this.serializers = serializers;
+    this.traceOptions = traceOptions;
+    this.maxStructLogs = maxStructLogs;
+  }
+
+  /**
+   * Starts a list of transaction traces. The start of the list is only written along with the
+   * first trace, so that nothing is written if no transaction can be replayed.
+   */
+  void startTransactionList() {
+    listStartPending = true;
+  }
+
+  void endTransactionList() throws IOException {
+    writeListStartIfPending();
+    generator.writeEndArray();
+  }
+
+  /** @return a tracer which writes the struct logs of the next transaction as it is replayed. */
+  DebugOperationTracer newTracer() {
+    return new DebugOperationTracer(traceOptions, this::writeStructLog);
+  }
+
+  /**
+   * Completes the trace of a transaction once it has been replayed.
+   *
+   * @param trace the trace of the transaction, whose trace frames were already written.
+   */
+  void endTransaction(final TransactionTrace trace) {
+    try {
+      startTransactionIfNeeded();
+      generator.writeEndArray();
+      generator.writeNumberField("gas", trace.getGas());
+      generator.writeBooleanField("failed", !trace.getResult().isSuccessful());
+      generator.writeStringField("returnValue", trace.getResult().getOutput().toUnprefixedString());
+      generator.writeEndObject();
+      inTransaction = false;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeStructLog(final TraceFrame frame) {
+    try {
+      structLogCount++;
+      if (structLogCount > maxStructLogs) {
+        throw new JsonGenerationException(
+            "Trace exceeds the maximum of " + maxStructLogs + " struct logs", generator);
+      }
+      startTransactionIfNeeded();
+      serializers.defaultSerializeValue(createStructLog(frame), generator);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // The start of a transaction's trace is only written once it is known to have been replayed.
+  private void startTransactionIfNeeded() throws IOException {
+    if (!inTransaction) {
+      writeListStartIfPending();
+      generator.writeStartObject();
+      generator.writeFieldName("structLogs");
+      generator.writeStartArray();
+      inTransaction = true;
+    }
+  }
+
+  private void writeListStartIfPending() throws IOException {
+    if (listStartPending) {
+      generator.writeStartArray();
+      listStartPending = false;
+    }
+  }
+
+  private static StructLog createStructLog(final TraceFrame frame) {
+    return frame.getExceptionalHaltReasons().isEmpty()
+        ? new StructLog(frame)
+        : new StructLogWithError(frame);
+  }
+}
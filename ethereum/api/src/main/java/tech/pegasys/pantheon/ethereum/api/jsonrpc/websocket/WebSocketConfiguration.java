@@ -28,6 +28,7 @@ public class WebSocketConfiguration {
   public static final int DEFAULT_WEBSOCKET_PORT = 8546;
   public static final List<RpcApi> DEFAULT_WEBSOCKET_APIS =
       Arrays.asList(RpcApis.ETH, RpcApis.NET, RpcApis.WEB3);
+  public static final int DEFAULT_MAX_RESPONSE_BYTES = 64 * 1024 * 1024;
 
   private boolean enabled;
   private int port;
@@ -36,6 +37,7 @@ public class WebSocketConfiguration {
   private boolean authenticationEnabled = false;
   private String authenticationCredentialsFile;
   private Collection<String> hostsWhitelist = Collections.singletonList("localhost");
+  private int maxResponseBytes = DEFAULT_MAX_RESPONSE_BYTES;
 
   public static WebSocketConfiguration createDefault() {
     final WebSocketConfiguration config = new WebSocketConfiguration();
@@ -80,6 +82,18 @@ public class WebSocketConfiguration {
     this.rpcApis = rpcApis;
   }
 
+  /**
+   * @return the size beyond which a response is replaced with an error. A response is sent as a
+   *     single WebSocket message, so it is held in memory in its entirety before being sent.
+   */
+  public int getMaxResponseBytes() {
+    return maxResponseBytes;
+  }
+
+  public void setMaxResponseBytes(final int maxResponseBytes) {
+    this.maxResponseBytes = maxResponseBytes;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -89,6 +103,7 @@ public class WebSocketConfiguration {
         .add("rpcApis", rpcApis)
         .add("authenticationEnabled", authenticationEnabled)
         .add("authenticationCredentialsFile", authenticationCredentialsFile)
+        .add("maxResponseBytes", maxResponseBytes)
         .toString();
   }
 
@@ -104,12 +119,13 @@ public class WebSocketConfiguration {
     return enabled == that.enabled
         && port == that.port
         && Objects.equals(host, that.host)
-        && Objects.equals(rpcApis, that.rpcApis);
+        && Objects.equals(rpcApis, that.rpcApis)
+        && maxResponseBytes == that.maxResponseBytes;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(enabled, port, host, rpcApis);
+    return Objects.hash(enabled, port, host, rpcApis, maxResponseBytes);
   }
 
   public boolean isAuthenticationEnabled() {
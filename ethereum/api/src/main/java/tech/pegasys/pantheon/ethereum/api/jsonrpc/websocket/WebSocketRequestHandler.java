@@ -17,9 +17,16 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.authentication.AuthenticationU
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcUnauthorizedResponse;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.websocket.methods.WebSocketRpcRequest;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Optional;
 
@@ -37,10 +44,17 @@ public class WebSocketRequestHandler {
 
   private final Vertx vertx;
   private final Map<String, JsonRpcMethod> methods;
+  private final int maxResponseBytes;
 
   public WebSocketRequestHandler(final Vertx vertx, final Map<String, JsonRpcMethod> methods) {
+    this(vertx, methods, WebSocketConfiguration.DEFAULT_MAX_RESPONSE_BYTES);
+  }
+
+  public WebSocketRequestHandler(
+      final Vertx vertx, final Map<String, JsonRpcMethod> methods, final int maxResponseBytes) {
     this.vertx = vertx;
     this.methods = methods;
+    this.maxResponseBytes = maxResponseBytes;
   }
 
   public void handle(final String id, final Buffer buffer) {
@@ -52,50 +66,115 @@ public class WebSocketRequestHandler {
       final String id,
       final Buffer buffer,
       final Optional<User> user) {
+    // The response is serialized by the worker too, as some results (such as debug traces) are
+    // only computed as they are serialized.
     vertx.executeBlocking(
-        future -> {
-          final WebSocketRpcRequest request;
-          try {
-            request = buffer.toJsonObject().mapTo(WebSocketRpcRequest.class);
-          } catch (final IllegalArgumentException | DecodeException e) {
-            LOG.debug("Error mapping json to WebSocketRpcRequest", e);
-            future.complete(new JsonRpcErrorResponse(null, JsonRpcError.INVALID_REQUEST));
-            return;
-          }
-
-          if (!methods.containsKey(request.getMethod())) {
-            future.complete(
-                new JsonRpcErrorResponse(request.getId(), JsonRpcError.METHOD_NOT_FOUND));
-            LOG.debug("Can't find method {}", request.getMethod());
-            return;
-          }
-          final JsonRpcMethod method = methods.get(request.getMethod());
-          try {
-            LOG.debug("WS-RPC request -> {}", request.getMethod());
-            request.setConnectionId(id);
-            if (AuthenticationUtils.isPermitted(authenticationService, user, method)) {
-              future.complete(method.response(request));
-            } else {
-              future.complete(
-                  new JsonRpcUnauthorizedResponse(request.getId(), JsonRpcError.UNAUTHORIZED));
-            }
-          } catch (final Exception e) {
-            LOG.error(JsonRpcError.INTERNAL_ERROR.getMessage(), e);
-            future.complete(new JsonRpcErrorResponse(request.getId(), JsonRpcError.INTERNAL_ERROR));
-          }
-        },
+        future -> future.complete(encodeResponse(process(authenticationService, id, buffer, user))),
         result -> {
           if (result.succeeded()) {
-            replyToClient(id, Json.encodeToBuffer(result.result()));
+            replyToClient(id, (String) result.result());
           } else {
+            LOG.error(JsonRpcError.INTERNAL_ERROR.getMessage(), result.cause());
             replyToClient(
-                id,
-                Json.encodeToBuffer(new JsonRpcErrorResponse(null, JsonRpcError.INTERNAL_ERROR)));
+                id, Json.encode(new JsonRpcErrorResponse(null, JsonRpcError.INTERNAL_ERROR)));
           }
         });
   }
 
-  private void replyToClient(final String id, final Buffer request) {
-    vertx.eventBus().send(id, request.toString());
+  /**
+   * Serializes a response, which is sent as a single message and so is held in memory in its
+   * entirety. A response which grows beyond the maximum size, such as the trace of a long
+   * transaction, is abandoned as soon as it does and replaced with an error.
+   */
+  private String encodeResponse(final JsonRpcResponse response) {
+    final SizeLimitedOutputStream output = new SizeLimitedOutputStream(maxResponseBytes);
+    try {
+      Json.mapper.writeValue(output, response);
+    } catch (final IOException e) {
+      if (!output.isLimitExceeded()) {
+        throw new UncheckedIOException(e);
+      }
+      LOG.debug("WS-RPC response exceeds the maximum size of {} bytes", maxResponseBytes);
+      final Object id =
+          response instanceof JsonRpcSuccessResponse
+              ? ((JsonRpcSuccessResponse) response).getId()
+              : null;
+      return Json.encode(new JsonRpcErrorResponse(id, JsonRpcError.RESPONSE_TOO_LARGE));
+    }
+    return output.toString();
+  }
+
+  private JsonRpcResponse process(
+      final Optional<AuthenticationService> authenticationService,
+      final String id,
+      final Buffer buffer,
+      final Optional<User> user) {
+    final WebSocketRpcRequest request;
+    try {
+      request = buffer.toJsonObject().mapTo(WebSocketRpcRequest.class);
+    } catch (final IllegalArgumentException | DecodeException e) {
+      LOG.debug("Error mapping json to WebSocketRpcRequest", e);
+      return new JsonRpcErrorResponse(null, JsonRpcError.INVALID_REQUEST);
+    }
+
+    if (!methods.containsKey(request.getMethod())) {
+      LOG.debug("Can't find method {}", request.getMethod());
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.METHOD_NOT_FOUND);
+    }
+    final JsonRpcMethod method = methods.get(request.getMethod());
+    try {
+      LOG.debug("WS-RPC request -> {}", request.getMethod());
+      request.setConnectionId(id);
+      if (AuthenticationUtils.isPermitted(authenticationService, user, method)) {
+        return method.response(request);
+      } else {
+        return new JsonRpcUnauthorizedResponse(request.getId(), JsonRpcError.UNAUTHORIZED);
+      }
+    } catch (final Exception e) {
+      LOG.error(JsonRpcError.INTERNAL_ERROR.getMessage(), e);
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.INTERNAL_ERROR);
+    }
+  }
+
+  private void replyToClient(final String id, final String response) {
+    vertx.eventBus().send(id, response);
+  }
+
+  private static class SizeLimitedOutputStream extends OutputStream {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final int maxBytes;
+    private boolean limitExceeded = false;
+
+    private SizeLimitedOutputStream(final int maxBytes) {
+      this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      checkLimit(1);
+      bytes.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int offset, final int length) throws IOException {
+      checkLimit(length);
+      bytes.write(b, offset, length);
+    }
+
+    private void checkLimit(final int length) throws IOException {
+      if ((long) bytes.size() + length > maxBytes) {
+        limitExceeded = true;
+        throw new IOException("Response exceeds the maximum size of " + maxBytes + " bytes");
+      }
+    }
+
+    private boolean isLimitExceeded() {
+      return limitExceeded;
+    }
+
+    @Override
+    public String toString() {
+      return bytes.toString(StandardCharsets.UTF_8);
+    }
   }
 }
@@ -32,6 +32,7 @@ import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.core.Synchronizer;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
 import tech.pegasys.pantheon.ethereum.eth.transactions.PendingTransactions;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPool;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
@@ -141,6 +142,7 @@ public abstract class AbstractJsonRpcHttpServiceTest {
             NETWORK_ID,
             new StubGenesisConfigOptions(),
             peerDiscoveryMock,
+            mock(EthPeers.class),
             blockchainQueries,
             synchronizerMock,
             MainnetProtocolSchedule.create(),
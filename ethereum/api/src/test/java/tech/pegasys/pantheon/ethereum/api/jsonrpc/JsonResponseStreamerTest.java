@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.api.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class JsonResponseStreamerTest {
+
+  private static final long MAX_BYTES = 4 * JsonResponseStreamer.CHUNK_SIZE;
+  private static final long WRITE_TIMEOUT_MILLIS = 60_000;
+
+  private final HttpServerResponse response = mock(HttpServerResponse.class);
+  private final JsonResponseStreamer streamer =
+      new JsonResponseStreamer(response, MAX_BYTES, WRITE_TIMEOUT_MILLIS);
+
+  @Test
+  public void shouldUseChunkedTransferEncoding() {
+    verify(response).setChunked(true);
+  }
+
+  @Test
+  public void shouldHoldSmallResponsesUntilClosed() throws IOException {
+    streamer.write(bytes("{\"result\":true}"));
+    verify(response, never()).write(any(Buffer.class));
+
+    streamer.close();
+
+    verify(response).end(Buffer.buffer("{\"result\":true}"));
+  }
+
+  @Test
+  public void shouldWriteEachFullChunk() throws IOException {
+    streamer.write(new byte[JsonResponseStreamer.CHUNK_SIZE + 10]);
+    streamer.write(new byte[JsonResponseStreamer.CHUNK_SIZE]);
+    streamer.close();
+
+    final ArgumentCaptor<Buffer> chunks = ArgumentCaptor.forClass(Buffer.class);
+    verify(response, times(2)).write(chunks.capture());
+    assertThat(chunks.getAllValues())
+        .extracting(Buffer::length)
+        .containsExactly(JsonResponseStreamer.CHUNK_SIZE + 10, JsonResponseStreamer.CHUNK_SIZE);
+    verify(response).end(Buffer.buffer());
+  }
+
+  @Test
+  public void shouldWritePendingOutputOnFlush() throws IOException {
+    streamer.write(bytes("[{\"id\":1}"));
+    streamer.flush();
+
+    verify(response).write(Buffer.buffer("[{\"id\":1}"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldWaitForTheClientToCatchUpBeforeWritingMore() throws IOException {
+    when(response.writeQueueFull()).thenReturn(true, false);
+    doAnswer(
+            invocation -> {
+              ((Handler<Void>) invocation.getArgument(0)).handle(null);
+              return response;
+            })
+        .when(response)
+        .drainHandler(any());
+
+    streamer.write(new byte[JsonResponseStreamer.CHUNK_SIZE]);
+
+    verify(response).drainHandler(any());
+    verify(response).write(any(Buffer.class));
+  }
+
+  @Test
+  public void shouldFailWhenConnectionClosesWhileWaitingForTheClient() {
+    when(response.writeQueueFull()).thenReturn(true);
+    when(response.closed()).thenReturn(true);
+
+    assertThatThrownBy(() -> streamer.write(new byte[JsonResponseStreamer.CHUNK_SIZE]))
+        .isInstanceOf(IOException.class);
+    verify(response, never()).write(any(Buffer.class));
+  }
+
+  @Test
+  public void shouldFailWhenTheClientDoesNotReadTheResponseInTime() {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response, MAX_BYTES, 50);
+    when(response.writeQueueFull()).thenReturn(true);
+
+    assertThatThrownBy(() -> streamer.write(new byte[JsonResponseStreamer.CHUNK_SIZE]))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("Timed out");
+    verify(response, never()).write(any(Buffer.class));
+  }
+
+  @Test
+  public void shouldFailOnceTheResponseExceedsTheMaximumSize() throws IOException {
+    streamer.write(new byte[(int) MAX_BYTES - 1]);
+    streamer.write(1);
+
+    assertThatThrownBy(() -> streamer.write(1))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("maximum size of " + MAX_BYTES + " bytes");
+  }
+
+  @Test
+  public void shouldNotEndResponseTwice() {
+    streamer.close();
+    streamer.close();
+
+    verify(response).end(any(Buffer.class));
+  }
+
+  @Test
+  public void shouldRejectWritesOnceClosed() {
+    streamer.close();
+
+    assertThatThrownBy(() -> streamer.write(1)).isInstanceOf(IOException.class);
+  }
+
+  private static byte[] bytes(final String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -26,6 +26,7 @@ import tech.pegasys.pantheon.ethereum.blockcreation.EthHashMiningCoordinator;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.core.Synchronizer;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPool;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.network.P2PNetwork;
@@ -94,6 +95,7 @@ public class JsonRpcHttpServiceHostWhitelistTest {
                     CHAIN_ID,
                     new StubGenesisConfigOptions(),
                     peerDiscoveryMock,
+                    mock(EthPeers.class),
                     blockchainQueries,
                     synchronizer,
                     MainnetProtocolSchedule.fromConfig(
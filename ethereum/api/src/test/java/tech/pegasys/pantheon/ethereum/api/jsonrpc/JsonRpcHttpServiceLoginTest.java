@@ -32,6 +32,7 @@ import tech.pegasys.pantheon.ethereum.blockcreation.EthHashMiningCoordinator;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.core.Synchronizer;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPool;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.network.P2PNetwork;
@@ -125,6 +126,7 @@ public class JsonRpcHttpServiceLoginTest {
                     CHAIN_ID,
                     genesisConfigOptions,
                     peerDiscoveryMock,
+                    mock(EthPeers.class),
                     blockchainQueries,
                     synchronizer,
                     MainnetProtocolSchedule.fromConfig(genesisConfigOptions),
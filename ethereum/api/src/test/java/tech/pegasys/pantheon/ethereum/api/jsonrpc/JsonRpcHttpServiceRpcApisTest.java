@@ -29,6 +29,7 @@ import tech.pegasys.pantheon.ethereum.blockcreation.EthHashMiningCoordinator;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.core.Synchronizer;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPool;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.config.DiscoveryConfiguration;
@@ -189,6 +190,7 @@ public class JsonRpcHttpServiceRpcApisTest {
                     NETWORK_ID,
                     new StubGenesisConfigOptions(),
                     mock(P2PNetwork.class),
+                    mock(EthPeers.class),
                     blockchainQueries,
                     mock(Synchronizer.class),
                     MainnetProtocolSchedule.create(),
@@ -279,6 +281,7 @@ public class JsonRpcHttpServiceRpcApisTest {
                     NETWORK_ID,
                     new StubGenesisConfigOptions(),
                     p2pNetwork,
+                    mock(EthPeers.class),
                     blockchainQueries,
                     mock(Synchronizer.class),
                     MainnetProtocolSchedule.create(),
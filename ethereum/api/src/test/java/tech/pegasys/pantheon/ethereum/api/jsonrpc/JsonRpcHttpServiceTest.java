@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.api.jsonrpc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -27,6 +28,7 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.filter.FilterManager;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.websocket.WebSocketConfiguration;
 import tech.pegasys.pantheon.ethereum.blockcreation.EthHashMiningCoordinator;
 import tech.pegasys.pantheon.ethereum.core.Address;
@@ -41,6 +43,7 @@ import tech.pegasys.pantheon.ethereum.core.Synchronizer;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPool;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.network.P2PNetwork;
@@ -53,6 +56,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
@@ -67,6 +71,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.google.common.base.Strings;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
@@ -121,6 +130,7 @@ public class JsonRpcHttpServiceTest {
                     CHAIN_ID,
                     new StubGenesisConfigOptions(),
                     peerDiscoveryMock,
+                    mock(EthPeers.class),
                     blockchainQueries,
                     synchronizer,
                     MainnetProtocolSchedule.fromConfig(
@@ -1487,6 +1497,42 @@ public class JsonRpcHttpServiceTest {
     }
   }
 
+  @Test
+  public void resultFailingBeforeAnyOfTheResponseIsSentShouldRespondWithServerError()
+      throws Exception {
+    final JsonRpcMethod jsonRpcMethod = mock(JsonRpcMethod.class);
+    when(jsonRpcMethod.getName()).thenReturn("foo");
+    when(jsonRpcMethod.response(ArgumentMatchers.any()))
+        .thenReturn(new JsonRpcSuccessResponse("666", new FailingResult(10)));
+    doReturn(Optional.of(jsonRpcMethod)).when(rpcMethods).get("foo");
+
+    final RequestBody body =
+        RequestBody.create(JSON, "{\"jsonrpc\":\"2.0\",\"id\":\"666\",\"method\":\"foo\"}");
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(500);
+    }
+  }
+
+  @Test
+  public void resultFailingAfterPartOfTheResponseIsSentShouldDropTheConnection() throws Exception {
+    final JsonRpcMethod jsonRpcMethod = mock(JsonRpcMethod.class);
+    when(jsonRpcMethod.getName()).thenReturn("foo");
+    when(jsonRpcMethod.response(ArgumentMatchers.any()))
+        .thenReturn(
+            new JsonRpcSuccessResponse(
+                "666", new FailingResult(4 * JsonResponseStreamer.CHUNK_SIZE)));
+    doReturn(Optional.of(jsonRpcMethod)).when(rpcMethods).get("foo");
+
+    final RequestBody body =
+        RequestBody.create(JSON, "{\"jsonrpc\":\"2.0\",\"id\":\"666\",\"method\":\"foo\"}");
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      assertThatThrownBy(() -> resp.body().string()).isInstanceOf(IOException.class);
+    }
+  }
+
   @Test
   public void exceptionallyHandleJsonBatchRequest() throws Exception {
     final JsonRpcMethod jsonRpcMethod = mock(JsonRpcMethod.class);
@@ -2061,4 +2107,30 @@ public class JsonRpcHttpServiceTest {
   private Request buildGetRequest(final String path) {
     return new Request.Builder().get().url(baseUrl + path).build();
   }
+
+  /** A result which fails part way through being written, as a debug trace replay might. */
+  private static class FailingResult extends JsonSerializable.Base {
+    private final int charactersBeforeFailure;
+
+    FailingResult(final int charactersBeforeFailure) {
+      this.charactersBeforeFailure = charactersBeforeFailure;
+    }
+
+    @Override
+    public void serialize(final JsonGenerator generator, final SerializerProvider serializers)
+        throws IOException {
+      generator.writeStartArray();
+      generator.writeString(Strings.repeat("a", charactersBeforeFailure));
+      throw new IOException("Replay failed");
+    }
+
+    @Override
+    public void serializeWithType(
+        final JsonGenerator generator,
+        final SerializerProvider serializers,
+        final TypeSerializer typeSerializer)
+        throws IOException {
+      serialize(generator, serializers);
+    }
+  }
 }
@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.ethereum.api.LogsQuery;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
@@ -415,4 +416,63 @@ public class LogsQueryTest {
 
     assertThat(query.matches(log)).isTrue();
   }
+
+  @Test
+  public void bloomOfMatchingLogCouldMatch() {
+    final Address address = Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final LogTopic topic =
+        LogTopic.fromHexString(
+            "0xaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+    final List<List<LogTopic>> queryParameter = new ArrayList<>();
+    queryParameter.add(Lists.newArrayList((LogTopic) null));
+    queryParameter.add(Lists.newArrayList(topic));
+    final LogsQuery query = new LogsQuery.Builder().address(address).topics(queryParameter).build();
+
+    final LogTopic otherTopic =
+        LogTopic.fromHexString(
+            "0xbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb");
+    final Log log =
+        new Log(address, BytesValue.fromHexString("0x0102"), Lists.newArrayList(otherTopic, topic));
+
+    assertThat(query.matches(log)).isTrue();
+    assertThat(query.couldMatch(LogsBloomFilter.compute(Lists.newArrayList(log)))).isTrue();
+  }
+
+  @Test
+  public void bloomWithoutQueriedAddressCannotMatch() {
+    final Address address1 = Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final Address address2 = Address.fromHexString("0x2222222222222222222222222222222222222222");
+    final LogsQuery query = new LogsQuery.Builder().address(address1).build();
+
+    final Log log = new Log(address2, BytesValue.fromHexString("0x0102"), new ArrayList<>());
+
+    assertThat(query.couldMatch(LogsBloomFilter.compute(Lists.newArrayList(log)))).isFalse();
+    assertThat(query.couldMatch(LogsBloomFilter.empty())).isFalse();
+  }
+
+  @Test
+  public void bloomWithoutQueriedTopicCannotMatch() {
+    final LogTopic topic1 =
+        LogTopic.fromHexString(
+            "0xaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+    final LogTopic topic2 =
+        LogTopic.fromHexString(
+            "0xbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb");
+    final List<List<LogTopic>> queryParameter = new ArrayList<>();
+    queryParameter.add(Lists.newArrayList(topic1));
+    final LogsQuery query = new LogsQuery.Builder().topics(queryParameter).build();
+
+    final Address address = Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final Log log =
+        new Log(address, BytesValue.fromHexString("0x0102"), Lists.newArrayList(topic2));
+
+    assertThat(query.couldMatch(LogsBloomFilter.compute(Lists.newArrayList(log)))).isFalse();
+  }
+
+  @Test
+  public void wildcardQueryCouldMatchEmptyBloom() {
+    final LogsQuery query = new LogsQuery.Builder().build();
+
+    assertThat(query.couldMatch(LogsBloomFilter.empty())).isTrue();
+  }
 }
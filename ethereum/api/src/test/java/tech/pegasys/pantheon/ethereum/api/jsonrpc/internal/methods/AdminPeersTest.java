@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.methods;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.MockPeerConnection;
@@ -22,6 +23,10 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcError
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.PeerResult;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.RequestStatisticsResult;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
+import tech.pegasys.pantheon.ethereum.eth.manager.RequestStatistics;
 import tech.pegasys.pantheon.ethereum.p2p.network.P2PNetwork;
 import tech.pegasys.pantheon.ethereum.p2p.network.exceptions.P2PDisabledException;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection;
@@ -47,10 +52,11 @@ public class AdminPeersTest {
   private AdminPeers adminPeers;
 
   @Mock private P2PNetwork p2pNetwork;
+  @Mock private EthPeers ethPeers;
 
   @Before
   public void before() {
-    adminPeers = new AdminPeers(p2pNetwork);
+    adminPeers = new AdminPeers(p2pNetwork, ethPeers);
   }
 
   @Test
@@ -86,6 +92,30 @@ public class AdminPeersTest {
     assertThat(response).isEqualToComparingFieldByFieldRecursively(expectedResponse);
   }
 
+  @Test
+  public void shouldReturnRequestStatisticsOfEthPeers() {
+    final Collection<PeerConnection> peerList = peerList();
+    final PeerConnection connection = peerList.iterator().next();
+    final RequestStatistics statistics = new RequestStatistics();
+    statistics.recordResponse(100, 1000);
+    final EthPeer ethPeer = mock(EthPeer.class);
+    when(ethPeer.requestStatistics()).thenReturn(Collections.singletonMap("headers", statistics));
+    when(ethPeers.peer(connection)).thenReturn(ethPeer);
+    when(p2pNetwork.getPeers()).thenReturn(peerList);
+
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse) adminPeers.response(adminPeers());
+
+    @SuppressWarnings("unchecked")
+    final List<PeerResult> peers = (List<PeerResult>) response.getResult();
+    final RequestStatisticsResult headers = peers.get(0).getRequests().get("headers");
+    assertThat(headers.getResponses()).isEqualTo("0x1");
+    assertThat(headers.getTimeouts()).isEqualTo("0x0");
+    assertThat(headers.getLatency()).isEqualTo("0x64");
+    assertThat(headers.getResponseSize()).isEqualTo("0x3e8");
+    assertThat(headers.getBytesPerSecond()).isEqualTo("0x2710");
+  }
+
   @Test
   public void shouldFailIfP2pDisabled() {
     when(p2pNetwork.getPeers()).thenThrow(new P2PDisabledException("P2P disabled."));
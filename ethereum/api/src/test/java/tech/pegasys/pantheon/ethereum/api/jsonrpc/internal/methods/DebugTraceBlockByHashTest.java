@@ -24,18 +24,16 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.BlockTrace;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.BlockTracer;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Hash;
-import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
-import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.EnumSet;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
 public class DebugTraceBlockByHashTest {
@@ -58,18 +56,6 @@ public class DebugTraceBlockByHashTest {
     final Object[] params = new Object[] {blockHash};
     final JsonRpcRequest request = new JsonRpcRequest("2.0", "debug_traceBlockByHash", params);
 
-    final TraceFrame traceFrame =
-        new TraceFrame(
-            12,
-            "NONE",
-            Gas.of(45),
-            Optional.of(Gas.of(56)),
-            2,
-            EnumSet.noneOf(ExceptionalHaltReason.class),
-            Optional.empty(),
-            Optional.empty(),
-            Optional.empty());
-
     final TransactionProcessor.Result transaction1Result = mock(TransactionProcessor.Result.class);
     final TransactionProcessor.Result transaction2Result = mock(TransactionProcessor.Result.class);
 
@@ -78,17 +64,23 @@ public class DebugTraceBlockByHashTest {
 
     BlockTrace blockTrace = new BlockTrace(Arrays.asList(transaction1Trace, transaction2Trace));
 
-    when(transaction1Trace.getTraceFrames()).thenReturn(Arrays.asList(traceFrame));
-    when(transaction2Trace.getTraceFrames()).thenReturn(Arrays.asList(traceFrame));
     when(transaction1Trace.getResult()).thenReturn(transaction1Result);
     when(transaction2Trace.getResult()).thenReturn(transaction2Result);
     when(transaction1Result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
     when(transaction2Result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
-    when(blockTracer.trace(eq(blockHash), any())).thenReturn(Optional.of(blockTrace));
+    when(blockTracer.trace(eq(blockHash), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final Consumer<TransactionTrace> traceConsumer = invocation.getArgument(2);
+              blockTrace.getTransactionTraces().forEach(traceConsumer);
+              return Optional.of(blockTrace);
+            });
 
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceBlockByHash.response(request);
-    final Collection<?> result = (Collection<?>) response.getResult();
+    final JsonNode result = new ObjectMapper().valueToTree(response.getResult());
     assertThat(result).hasSize(2);
+    assertThat(result.get(0).get("returnValue").asText()).isEqualTo("1234");
+    assertThat(result.get(1).get("returnValue").asText()).isEqualTo("1234");
   }
 }
@@ -13,7 +13,6 @@
 package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.methods;
 
 import static java.util.Arrays.asList;
-import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -31,18 +30,16 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcError
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
-import tech.pegasys.pantheon.ethereum.core.Gas;
-import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
-import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
-import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -77,18 +74,6 @@ public class DebugTraceBlockTest {
     final Object[] params = new Object[] {block.toRlp().toString()};
     final JsonRpcRequest request = new JsonRpcRequest("2.0", "debug_traceBlock", params);
 
-    final TraceFrame traceFrame =
-        new TraceFrame(
-            12,
-            "NONE",
-            Gas.of(45),
-            Optional.of(Gas.of(56)),
-            2,
-            EnumSet.noneOf(ExceptionalHaltReason.class),
-            Optional.empty(),
-            Optional.empty(),
-            Optional.empty());
-
     final TransactionProcessor.Result transaction1Result = mock(TransactionProcessor.Result.class);
     final TransactionProcessor.Result transaction2Result = mock(TransactionProcessor.Result.class);
 
@@ -97,13 +82,17 @@ public class DebugTraceBlockTest {
 
     final BlockTrace blockTrace = new BlockTrace(asList(transaction1Trace, transaction2Trace));
 
-    when(transaction1Trace.getTraceFrames()).thenReturn(singletonList(traceFrame));
-    when(transaction2Trace.getTraceFrames()).thenReturn(singletonList(traceFrame));
     when(transaction1Trace.getResult()).thenReturn(transaction1Result);
     when(transaction2Trace.getResult()).thenReturn(transaction2Result);
     when(transaction1Result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
     when(transaction2Result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
-    when(blockTracer.trace(Mockito.eq(block), any())).thenReturn(Optional.of(blockTrace));
+    when(blockTracer.trace(Mockito.eq(block), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final Consumer<TransactionTrace> traceConsumer = invocation.getArgument(2);
+              blockTrace.getTransactionTraces().forEach(traceConsumer);
+              return Optional.of(blockTrace);
+            });
 
     when(blockchainQueries.blockByHash(parentBlock.getHash()))
         .thenReturn(
@@ -117,8 +106,10 @@ public class DebugTraceBlockTest {
 
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceBlock.response(request);
-    final Collection<?> result = (Collection<?>) response.getResult();
+    final JsonNode result = new ObjectMapper().valueToTree(response.getResult());
     assertThat(result).hasSize(2);
+    assertThat(result.get(0).get("returnValue").asText()).isEqualTo("1234");
+    assertThat(result.get(1).get("returnValue").asText()).isEqualTo("1234");
   }
 
   @Test
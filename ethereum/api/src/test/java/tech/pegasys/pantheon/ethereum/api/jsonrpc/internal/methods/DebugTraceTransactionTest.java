@@ -25,8 +25,6 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.Transaction
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.TransactionTracer;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
-import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results.StructLog;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Hash;
@@ -43,6 +41,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
 public class DebugTraceTransactionTest {
@@ -93,6 +93,7 @@ public class DebugTraceTransactionTest {
     when(transaction.getGasLimit()).thenReturn(100L);
     when(result.getGasRemaining()).thenReturn(27L);
     when(result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
+    when(result.isSuccessful()).thenReturn(true);
     when(blockHeader.getNumber()).thenReturn(12L);
     when(blockchain.headBlockNumber()).thenReturn(12L);
     when(blockchain.transactionByHash(transactionHash))
@@ -101,13 +102,13 @@ public class DebugTraceTransactionTest {
         .thenReturn(Optional.of(transactionTrace));
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceTransaction.response(request);
-    final DebugTraceTransactionResult transactionResult =
-        (DebugTraceTransactionResult) response.getResult();
+    final JsonNode transactionResult = new ObjectMapper().valueToTree(response.getResult());
 
-    assertThat(transactionResult.getGas()).isEqualTo(73);
-    assertThat(transactionResult.getReturnValue()).isEqualTo("1234");
-    final List<StructLog> expectedStructLogs = Collections.singletonList(new StructLog(traceFrame));
-    assertThat(transactionResult.getStructLogs()).isEqualTo(expectedStructLogs);
+    assertThat(transactionResult.get("gas").asLong()).isEqualTo(73);
+    assertThat(transactionResult.get("failed").asBoolean()).isFalse();
+    assertThat(transactionResult.get("returnValue").asText()).isEqualTo("1234");
+    // The struct logs are written as the transaction is replayed, rather than taken from the trace.
+    assertThat(transactionResult.get("structLogs")).isEmpty();
   }
 
   @Test
@@ -14,6 +14,9 @@ package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.queries;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
 import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryWorldStateArchive;
 
@@ -29,6 +32,8 @@ import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Log;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.core.Wei;
@@ -342,6 +347,44 @@ public class BlockchainQueriesTest {
     assertThat(logs).allMatch(LogWithMetadata::isRemoved);
   }
 
+  @Test
+  public void matchingLogsOverRangeShouldReturnLogsOfQueriedAddressInBlockOrder() {
+    final Address address = gen.address();
+    // Spans several scan ranges, so that they are scanned in parallel.
+    final MutableBlockchain blockchain = setupBlockchainWithLogs(600, address, 7);
+    final BlockchainQueries queries =
+        new BlockchainQueries(blockchain, createInMemoryWorldStateArchive());
+
+    final List<LogWithMetadata> logs =
+        queries.matchingLogs(1, 600, new LogsQuery.Builder().address(address).build());
+
+    final List<Long> expectedBlockNumbers = new ArrayList<>();
+    for (long blockNumber = 7; blockNumber <= 600; blockNumber += 7) {
+      expectedBlockNumbers.add(blockNumber);
+    }
+    assertThat(logs).allMatch(log -> log.getAddress().equals(address));
+    assertThat(logs.stream().map(LogWithMetadata::getBlockNumber).collect(Collectors.toList()))
+        .isEqualTo(expectedBlockNumbers);
+  }
+
+  @Test
+  public void matchingLogsOverRangeShouldNotLoadBlocksWhoseBloomCannotMatch() {
+    final Address address = gen.address();
+    final MutableBlockchain blockchain = spy(setupBlockchainWithLogs(20, address, 10));
+    final BlockchainQueries queries =
+        new BlockchainQueries(blockchain, createInMemoryWorldStateArchive());
+
+    final List<LogWithMetadata> logs =
+        queries.matchingLogs(1, 20, new LogsQuery.Builder().address(address).build());
+
+    assertThat(logs.stream().map(LogWithMetadata::getBlockNumber).collect(Collectors.toList()))
+        .containsExactly(10L, 20L);
+    final Hash skippedBlockHash = blockchain.getBlockHashByNumber(5).get();
+    verify(blockchain, never()).getTxReceipts(skippedBlockHash);
+    verify(blockchain, never()).getBlockBody(skippedBlockHash);
+    verify(blockchain, never()).getLazyBlockBody(skippedBlockHash);
+  }
+
   @Test
   public void matchingLogsShouldReturnAnEmptyListWhenGivenAnInvalidBlockHash() {
     final BlockchainWithData data = setupBlockchain(3);
@@ -550,6 +593,33 @@ public class BlockchainQueriesTest {
     return new BlockchainWithData(blockchain, blockData, worldStateArchive);
   }
 
+  /**
+   * Creates a blockchain whose blocks each hold a single log, emitted by the provided address in
+   * every {@code interval}th block and by a random address in the others, with headers holding the
+   * matching logs bloom filter.
+   */
+  private MutableBlockchain setupBlockchainWithLogs(
+      final int blocksToAdd, final Address address, final int interval) {
+    Block parent = gen.genesisBlock();
+    final MutableBlockchain blockchain = createInMemoryBlockchain(parent);
+    for (int blockNumber = 1; blockNumber <= blocksToAdd; blockNumber++) {
+      final Address logger = blockNumber % interval == 0 ? address : gen.address();
+      final Log log = new Log(logger, gen.bytesValue(4), Collections.emptyList());
+      final Block block =
+          gen.block(
+              gen.nextBlockOptions(parent)
+                  .addTransaction(gen.transaction())
+                  .setLogsBloom(LogsBloomFilter.compute(Collections.singletonList(log))));
+      blockchain.appendBlock(
+          block,
+          Collections.singletonList(
+              new TransactionReceipt(
+                  gen.hash(), 21000, Collections.singletonList(log), Optional.empty())));
+      parent = block;
+    }
+    return blockchain;
+  }
+
   private static class BlockchainWithData {
     final MutableBlockchain blockchain;
     final List<BlockData> blockData;
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.BlockTrace;
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.core.MessageFrameTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.mainnet.FrontierGasCalculator;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
+import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
+import tech.pegasys.pantheon.ethereum.vm.operations.AddOperation;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DebugTraceBlockResultTest {
+
+  private static final TraceOptions NO_STATE = new TraceOptions(false, false, false);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Transaction transaction = mock(Transaction.class);
+  private final Result result = mock(Result.class);
+  private final MessageFrame frame = new MessageFrameTestFixture().build();
+
+  @Before
+  public void setUp() {
+    frame.setCurrentOperation(new AddOperation(new FrontierGasCalculator()));
+    when(transaction.getGasLimit()).thenReturn(100L);
+    when(result.getGasRemaining()).thenReturn(27L);
+    when(result.getOutput()).thenReturn(BytesValue.fromHexString("0x1234"));
+  }
+
+  @Test
+  public void shouldWriteTheTraceOfEachTransaction() {
+    final DebugTraceBlockResult trace = new DebugTraceBlockResult(this::replay, NO_STATE);
+
+    final JsonNode json = objectMapper.valueToTree(trace);
+
+    assertThat(json).hasSize(2);
+    assertThat(json.get(0).get("structLogs")).hasSize(2);
+    assertThat(json.get(1).get("structLogs")).hasSize(2);
+    assertThat(json.get(1).get("gas").asLong()).isEqualTo(73);
+    assertThat(json.get(1).get("failed").asBoolean()).isTrue();
+  }
+
+  @Test
+  public void shouldBeEmptyWhenTheBlockHasNoTransactions() {
+    final DebugTraceBlockResult trace =
+        new DebugTraceBlockResult(
+            (tracers, traceConsumer) -> Optional.of(new BlockTrace(new ArrayList<>())), NO_STATE);
+
+    final JsonNode json = objectMapper.valueToTree(trace);
+
+    assertThat(json.isArray()).isTrue();
+    assertThat(json).isEmpty();
+  }
+
+  @Test
+  public void shouldBeNullWhenTheBlockCannotBeReplayed() {
+    final DebugTraceBlockResult trace =
+        new DebugTraceBlockResult((tracers, traceConsumer) -> Optional.empty(), NO_STATE);
+
+    assertThat(objectMapper.valueToTree(trace).isNull()).isTrue();
+  }
+
+  @Test
+  public void shouldLimitTheStructLogsOfAllTransactionsTogether() {
+    final DebugTraceBlockResult trace = new DebugTraceBlockResult(this::replay, NO_STATE, 3);
+
+    assertThatThrownBy(() -> objectMapper.writeValueAsString(trace))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("maximum of 3 struct logs");
+  }
+
+  private Optional<BlockTrace> replay(
+      final Supplier<DebugOperationTracer> tracers,
+      final Consumer<TransactionTrace> traceConsumer) {
+    final List<TransactionTrace> traces = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      final DebugOperationTracer tracer = tracers.get();
+      try {
+        tracer.traceExecution(frame, Optional.of(Gas.of(3)), () -> {});
+        tracer.traceExecution(frame, Optional.of(Gas.of(3)), () -> {});
+      } catch (final ExceptionalHaltException e) {
+        throw new IllegalStateException(e);
+      }
+      final TransactionTrace trace =
+          new TransactionTrace(transaction, result, tracer.getTraceFrames());
+      traceConsumer.accept(trace);
+      traces.add(trace);
+    }
+    return Optional.of(new BlockTrace(traces));
+  }
+}
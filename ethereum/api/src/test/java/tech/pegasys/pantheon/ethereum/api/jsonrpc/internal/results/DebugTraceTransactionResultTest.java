@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.core.MessageFrameTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.mainnet.FrontierGasCalculator;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
+import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
+import tech.pegasys.pantheon.ethereum.vm.operations.AddOperation;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DebugTraceTransactionResultTest {
+
+  private static final TraceOptions STACK_ONLY = new TraceOptions(false, false, true);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Transaction transaction = mock(Transaction.class);
+  private final Result result = mock(Result.class);
+  private final MessageFrame frame = new MessageFrameTestFixture().build();
+
+  @Before
+  public void setUp() {
+    frame.setCurrentOperation(new AddOperation(new FrontierGasCalculator()));
+    frame.pushStackItem(Bytes32.fromHexString("0x01"));
+    when(transaction.getGasLimit()).thenReturn(100L);
+    when(result.getGasRemaining()).thenReturn(27L);
+    when(result.getOutput()).thenReturn(BytesValue.fromHexString("0x1234"));
+    when(result.isSuccessful()).thenReturn(true);
+  }
+
+  @Test
+  public void shouldWriteStructLogsAsTheTransactionIsReplayed() {
+    final DebugTraceTransactionResult trace =
+        new DebugTraceTransactionResult(tracer -> replay(tracer, 2), STACK_ONLY);
+
+    final JsonNode json = objectMapper.valueToTree(trace);
+
+    assertThat(json.get("gas").asLong()).isEqualTo(73);
+    assertThat(json.get("failed").asBoolean()).isFalse();
+    assertThat(json.get("returnValue").asText()).isEqualTo("1234");
+    assertThat(json.get("structLogs")).hasSize(2);
+    final JsonNode structLog = json.get("structLogs").get(0);
+    assertThat(structLog.get("op").asText()).isEqualTo("ADD");
+    assertThat(structLog.get("gasCost").asLong()).isEqualTo(3);
+    assertThat(structLog.get("stack").get(0).asText())
+        .isEqualTo(Bytes32.fromHexString("0x01").toUnprefixedString());
+    assertThat(structLog.has("memory")).isFalse();
+  }
+
+  @Test
+  public void shouldBeNullWhenTheTransactionCannotBeReplayed() {
+    final DebugTraceTransactionResult trace =
+        new DebugTraceTransactionResult(tracer -> Optional.empty(), STACK_ONLY);
+
+    assertThat(objectMapper.valueToTree(trace).isNull()).isTrue();
+  }
+
+  @Test
+  public void shouldAbortOnceTheTraceHasTooManyStructLogs() {
+    final DebugTraceTransactionResult trace =
+        new DebugTraceTransactionResult(tracer -> replay(tracer, 3), STACK_ONLY, 2);
+
+    assertThatThrownBy(() -> objectMapper.writeValueAsString(trace))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("maximum of 2 struct logs");
+  }
+
+  private Optional<TransactionTrace> replay(final DebugOperationTracer tracer, final int steps) {
+    for (int i = 0; i < steps; i++) {
+      try {
+        tracer.traceExecution(frame, Optional.of(Gas.of(3)), () -> {});
+      } catch (final ExceptionalHaltException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    return Optional.of(new TransactionTrace(transaction, result, tracer.getTraceFrames()));
+  }
+}
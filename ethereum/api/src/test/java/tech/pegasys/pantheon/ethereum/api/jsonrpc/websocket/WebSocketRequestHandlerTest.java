@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
+import com.google.common.base.Strings;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.Json;
@@ -92,6 +93,34 @@ public class WebSocketRequestHandlerTest {
     async.awaitSuccess(WebSocketRequestHandlerTest.VERTX_AWAIT_TIMEOUT_MILLIS);
   }
 
+  @Test
+  public void responseLargerThanTheMaximumSizeShouldRespondWithError(final TestContext context) {
+    final Async async = context.async();
+
+    final WebSocketRequestHandler limitedHandler = new WebSocketRequestHandler(vertx, methods, 100);
+    final JsonObject requestJson = new JsonObject().put("id", 1).put("method", "eth_x");
+    final JsonRpcRequest expectedRequest = requestJson.mapTo(WebSocketRpcRequest.class);
+    when(jsonRpcMethodMock.response(eq(expectedRequest)))
+        .thenReturn(new JsonRpcSuccessResponse(expectedRequest.getId(), Strings.repeat("a", 200)));
+    final JsonRpcErrorResponse expectedResponse =
+        new JsonRpcErrorResponse(expectedRequest.getId(), JsonRpcError.RESPONSE_TOO_LARGE);
+
+    final String websocketId = UUID.randomUUID().toString();
+
+    vertx
+        .eventBus()
+        .consumer(websocketId)
+        .handler(
+            msg -> {
+              context.assertEquals(Json.encode(expectedResponse), msg.body());
+              async.complete();
+            })
+        .completionHandler(
+            v -> limitedHandler.handle(websocketId, Buffer.buffer(requestJson.toString())));
+
+    async.awaitSuccess(VERTX_AWAIT_TIMEOUT_MILLIS);
+  }
+
   @Test
   public void jsonDecodeFailureShouldRespondInvalidRequest(final TestContext context) {
     final Async async = context.async();
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decodes blocks shaped like recent mainnet blocks, then hashes their header and transactions and
+ * re-encodes their body, as importing a block received from a peer does.
+ *
+ * <p>Decoded objects hash and re-encode themselves from the encoding they were decoded from, which
+ * {@link #decodeThenHash} measures. {@link #encodeThenHash} measures hashing and re-encoding the
+ * same blocks from their fields instead, as built rather than decoded objects still do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BlockDecodingBenchmark {
+
+  private static final int BLOCK_COUNT = 16;
+
+  @Param({"20", "180"})
+  public int transactionsPerBlock;
+
+  private final MainnetBlockHeaderFunctions blockHeaderFunctions =
+      new MainnetBlockHeaderFunctions();
+  private final List<BytesValue> encodedBlocks = new ArrayList<>();
+  private final List<Block> blocks = new ArrayList<>();
+
+  @Setup
+  public void prepare() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    for (int i = 0; i < BLOCK_COUNT; i++) {
+      final BlockOptions options = BlockOptions.create();
+      for (int j = 0; j < transactionsPerBlock; j++) {
+        // Mostly plain transfers and token transfers, with the odd larger contract call.
+        final int payloadSize = j % 10 < 4 ? 0 : j % 10 < 9 ? 68 : 600;
+        options.addTransaction(gen.transaction(gen.bytesValue(payloadSize)));
+      }
+      final Block block = gen.block(options);
+      blocks.add(block);
+      encodedBlocks.add(RLP.encode(block::writeTo));
+    }
+  }
+
+  @Benchmark
+  public void decodeThenHash(final Blackhole blackhole) {
+    for (final BytesValue encodedBlock : encodedBlocks) {
+      final Block block = Block.readFrom(RLP.input(encodedBlock), blockHeaderFunctions);
+      blackhole.consume(block.getHash());
+      for (final Transaction transaction : block.getBody().getTransactions()) {
+        blackhole.consume(transaction.hash());
+      }
+      blackhole.consume(block.getBody().encoded());
+    }
+  }
+
+  @Benchmark
+  public void encodeThenHash(final Blackhole blackhole) {
+    for (final Block block : blocks) {
+      blackhole.consume(Hash.hash(RLP.encode(block.getHeader()::writeTo)));
+      for (final Transaction transaction : block.getBody().getTransactions()) {
+        blackhole.consume(Hash.hash(RLP.encode(transaction::writeTo)));
+      }
+      blackhole.consume(RLP.encode(block.getBody()::writeTo));
+    }
+  }
+}
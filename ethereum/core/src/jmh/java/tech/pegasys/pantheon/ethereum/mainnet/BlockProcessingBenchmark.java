@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockchainSetupUtil;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Replays the recorded blocks of a chain on top of the world state of their parent, executing
+ * their transactions either one after the other or speculatively in parallel.
+ *
+ * <p>The recorded mainnet blocks are the first thousand blocks of the chain, which hold nearly no
+ * transactions, while the blocks of the test chain mostly hold contract calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BlockProcessingBenchmark {
+
+  public enum Chain {
+    MAINNET,
+    TEST
+  }
+
+  @Param public Chain chain;
+
+  @Param({"false", "true"})
+  public boolean parallel;
+
+  private Blockchain blockchain;
+  private WorldStateArchive worldStateArchive;
+  private ProtocolSchedule<Void> protocolSchedule;
+  private List<Block> blocks;
+  private ExecutorService executorService;
+
+  @Setup
+  public void prepare() {
+    final BlockchainSetupUtil<Void> setupUtil =
+        chain == Chain.MAINNET
+            ? BlockchainSetupUtil.forMainnet()
+            : BlockchainSetupUtil.forTesting();
+    blockchain = setupUtil.importAllBlocks();
+    worldStateArchive = setupUtil.getWorldArchive();
+    protocolSchedule = setupUtil.getProtocolSchedule();
+    blocks =
+        setupUtil.getBlocks().stream()
+            .filter(block -> !block.getBody().getTransactions().isEmpty())
+            .collect(Collectors.toList());
+
+    if (parallel) {
+      final int parallelism = Runtime.getRuntime().availableProcessors();
+      executorService =
+          Executors.newFixedThreadPool(
+              parallelism, new ThreadFactoryBuilder().setDaemon(true).build());
+      protocolSchedule.setSpeculativeTransactionExecutor(
+          new SpeculativeTransactionExecutor(
+              executorService, parallelism, new NoOpMetricsSystem()));
+    }
+  }
+
+  @TearDown
+  public void cleanUp() {
+    if (executorService != null) {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Benchmark
+  public int processBlocks() {
+    int receipts = 0;
+    for (final Block block : blocks) {
+      final BlockHeader parent = blockchain.getBlockHeader(block.getHeader().getParentHash()).get();
+      final BlockProcessor blockProcessor =
+          protocolSchedule.getByBlockNumber(block.getHeader().getNumber()).getBlockProcessor();
+      final BlockProcessor.Result result =
+          blockProcessor.processBlock(
+              blockchain, worldStateArchive.getMutable(parent.getStateRoot()).get(), block);
+      receipts += result.getReceipts().size();
+    }
+    return receipts;
+  }
+}
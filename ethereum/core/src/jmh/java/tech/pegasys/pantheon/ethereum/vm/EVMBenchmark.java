@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
+import tech.pegasys.pantheon.ethereum.vm.operations.OperationBenchmarkHelper;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares running code with its pre-decoded operations (used when nothing traces the execution)
+ * against running it one traced operation at a time.
+ */
+@State(Scope.Thread)
+public class EVMBenchmark {
+
+  public enum Workload {
+    // Counts down from 1000, doing some arithmetic on every iteration.
+    ARITHMETIC_LOOP("0x6103e85b6001900380600702600301600506508060035700"),
+    // Counts down from 1000, hashing memory on every iteration.
+    MEMORY_LOOP("0x6103e85b600190038060005260406000206020528060035700"),
+    // Counts down from 1000, shuffling the stack on every iteration.
+    STACK_LOOP("0x6103e85b600190038080808091909192505050508060035700");
+
+    private final BytesValue code;
+
+    Workload(final String code) {
+      this.code = BytesValue.fromHexString(code);
+    }
+  }
+
+  // Any tracer other than NO_TRACING disables the pre-decoded loop.
+  private static final OperationTracer PASS_THROUGH_TRACER =
+      (frame, currentGasCost, executeOperation) -> executeOperation.execute();
+
+  @Param public Workload workload;
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private EVM evm;
+  private Code code;
+
+  @Setup
+  public void prepare() throws Exception {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    evm = MainnetProtocolSchedule.create().getByBlockNumber(Long.MAX_VALUE).getEvm();
+    code = new Code(workload.code);
+  }
+
+  @TearDown
+  public void cleanUp() throws Exception {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  @Benchmark
+  public Gas decoded() throws ExceptionalHaltException {
+    return run(OperationTracer.NO_TRACING);
+  }
+
+  @Benchmark
+  public Gas perOperation() throws ExceptionalHaltException {
+    return run(PASS_THROUGH_TRACER);
+  }
+
+  private Gas run(final OperationTracer tracer) throws ExceptionalHaltException {
+    final MessageFrame frame =
+        operationBenchmarkHelper
+            .createMessageFrameBuilder()
+            .code(code)
+            .initialGas(Gas.of(10_000_000))
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, tracer);
+    return frame.getRemainingGas();
+  }
+}
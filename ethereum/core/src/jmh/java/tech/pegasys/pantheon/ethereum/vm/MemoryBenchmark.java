@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Memory access patterns of contracts working on large amounts of memory. */
+@State(Scope.Thread)
+public class MemoryBenchmark {
+
+  private static final UInt256 RETURN_DATA_SIZE = UInt256.of(256);
+
+  @Param({"1024", "65536", "1048576"})
+  public int size;
+
+  private BytesValue callData;
+  private BytesValue returnData;
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(42);
+    final byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    callData = BytesValue.wrap(bytes);
+    final byte[] returned = new byte[RETURN_DATA_SIZE.toInt()];
+    random.nextBytes(returned);
+    returnData = BytesValue.wrap(returned);
+  }
+
+  /** CALLDATACOPY of the whole call data followed by a SHA3 of it. */
+  @Benchmark
+  public Bytes32 hashCallData() {
+    final Memory memory = new Memory();
+    final UInt256 length = UInt256.of(size);
+    memory.setBytes(UInt256.ZERO, UInt256.ZERO, length, callData);
+    return Hash.hash(memory.getBytesWithoutCopy(UInt256.ZERO, length));
+  }
+
+  /** RETURNDATACOPY in a loop, appending the return data of successive calls to memory. */
+  @Benchmark
+  public Memory copyReturnDataInLoop() {
+    final Memory memory = new Memory();
+    for (int offset = 0; offset < size; offset += RETURN_DATA_SIZE.toInt()) {
+      memory.setBytes(UInt256.of(offset), UInt256.ZERO, RETURN_DATA_SIZE, returnData);
+    }
+    return memory;
+  }
+
+  /** MSTORE then MLOAD of every word, growing memory one word at a time. */
+  @Benchmark
+  public Bytes32 storeAndLoadWords() {
+    final Memory memory = new Memory();
+    Bytes32 last = Bytes32.ZERO;
+    for (int offset = 0; offset < size; offset += Bytes32.SIZE) {
+      final UInt256 location = UInt256.of(offset);
+      memory.setWord(location, Bytes32.wrap(callData, offset));
+      last = memory.getWord(location);
+    }
+    return last;
+  }
+
+  /** Unaligned reads of big chunks, as when returning or logging large arrays. */
+  @Benchmark
+  public BytesValue readUnaligned() {
+    final Memory memory = new Memory();
+    memory.setBytes(UInt256.ZERO, UInt256.of(size), callData);
+    return memory.getBytes(UInt256.of(7), UInt256.of(size - 7));
+  }
+}
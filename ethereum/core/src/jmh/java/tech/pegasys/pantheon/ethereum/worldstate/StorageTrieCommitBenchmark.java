@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Imports a block updating the storage of many contracts, one transaction per contract, comparing
+ * computing and committing their storage tries on the importing thread against doing it on a pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageTrieCommitBenchmark {
+
+  private static final int SLOTS_PER_CONTRACT = 1000;
+  private static final int SLOTS_UPDATED_PER_TRANSACTION = 8;
+
+  @Param({"100", "500"})
+  public int contractCount;
+
+  @Param({"1", "8"})
+  public int parallelism;
+
+  private WorldStateKeyValueStorage worldStateStorage;
+  private WorldStatePreimageKeyValueStorage preimageStorage;
+  private Optional<ForkJoinPool> storageTriePool;
+  private Hash parentStateRoot;
+  private long block;
+
+  @Setup
+  public void prepare() {
+    worldStateStorage = new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+    preimageStorage = new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage());
+    storageTriePool =
+        parallelism > 1 ? Optional.of(new ForkJoinPool(parallelism)) : Optional.empty();
+
+    final MutableWorldState worldState =
+        new DefaultMutableWorldState(worldStateStorage, preimageStorage);
+    final WorldUpdater updater = worldState.updater();
+    for (int contract = 0; contract < contractCount; contract++) {
+      final MutableAccount account = updater.createAccount(contractAddress(contract));
+      for (int slot = 0; slot < SLOTS_PER_CONTRACT; slot++) {
+        account.setStorageValue(UInt256.of(slot), UInt256.of(slot + 1));
+      }
+    }
+    updater.commit();
+    worldState.persist();
+    parentStateRoot = worldState.rootHash();
+  }
+
+  @TearDown
+  public void cleanUp() {
+    storageTriePool.ifPresent(ForkJoinPool::shutdownNow);
+  }
+
+  @Benchmark
+  public Hash importBlock() {
+    block++;
+    final MutableWorldState worldState =
+        new DefaultMutableWorldState(
+            parentStateRoot, worldStateStorage, preimageStorage, storageTriePool);
+    for (int contract = 0; contract < contractCount; contract++) {
+      final WorldUpdater updater = worldState.updater();
+      final MutableAccount account = updater.getMutable(contractAddress(contract));
+      for (int i = 0; i < SLOTS_UPDATED_PER_TRANSACTION; i++) {
+        final long slot = (block * SLOTS_UPDATED_PER_TRANSACTION + i) % SLOTS_PER_CONTRACT;
+        account.setStorageValue(UInt256.of(slot), UInt256.of(block));
+      }
+      updater.commit();
+    }
+    worldState.persist();
+    return worldState.rootHash();
+  }
+
+  private static Address contractAddress(final int index) {
+    return Address.fromHexString(String.format("0x%040x", index + 1));
+  }
+}
@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.chain.BlockchainCache;
 import tech.pegasys.pantheon.ethereum.chain.BlockchainStorage;
 import tech.pegasys.pantheon.ethereum.chain.DefaultBlockchain;
 import tech.pegasys.pantheon.ethereum.chain.GenesisState;
@@ -53,6 +54,22 @@ public class ProtocolContext<C> {
       final ProtocolSchedule<T> protocolSchedule,
       final MetricsSystem metricsSystem,
       final BiFunction<Blockchain, WorldStateArchive, T> consensusContextFactory) {
+    return init(
+        storageProvider,
+        genesisState,
+        protocolSchedule,
+        metricsSystem,
+        BlockchainCache.DEFAULT_MAX_BLOCKS,
+        consensusContextFactory);
+  }
+
+  public static <T> ProtocolContext<T> init(
+      final StorageProvider storageProvider,
+      final GenesisState genesisState,
+      final ProtocolSchedule<T> protocolSchedule,
+      final MetricsSystem metricsSystem,
+      final int blockchainCacheSize,
+      final BiFunction<Blockchain, WorldStateArchive, T> consensusContextFactory) {
     final BlockchainStorage blockchainStorage =
         storageProvider.createBlockchainStorage(protocolSchedule);
     final WorldStateStorage worldStateStorage = storageProvider.createWorldStateStorage();
@@ -60,7 +77,8 @@ public class ProtocolContext<C> {
         storageProvider.createWorldStatePreimageStorage();
 
     final MutableBlockchain blockchain =
-        DefaultBlockchain.createMutable(genesisState.getBlock(), blockchainStorage, metricsSystem);
+        DefaultBlockchain.createMutable(
+            genesisState.getBlock(), blockchainStorage, metricsSystem, blockchainCacheSize);
 
     final WorldStateArchive worldStateArchive =
         new WorldStateArchive(worldStateStorage, preimageStorage);
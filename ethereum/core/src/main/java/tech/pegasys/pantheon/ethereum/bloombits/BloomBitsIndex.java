@@ -0,0 +1,357 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.bloombits;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.plugin.services.MetricsSystem;
+import tech.pegasys.pantheon.plugin.services.metrics.Counter;
+import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorage;
+import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorageTransaction;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An index of the logs bloom filters of the canonical chain, rotated so that the blocks whose bloom
+ * filter has a given bit set can be found without reading their headers.
+ *
+ * <p>The chain is split into sections of {@link #SECTION_SIZE} blocks and, for each section and
+ * each of the 2048 bits of a bloom filter, the index holds a bit vector with one bit per block of
+ * the section, set if that bit is set in the block's bloom filter. Finding the blocks which could
+ * contain a value then only takes reading the vectors of the three bits the value sets.
+ *
+ * <p>A section is only indexed once enough blocks were added on top of it for it to be unlikely to
+ * be reorganised, so the most recent blocks are never covered by the index. Indexing happens in
+ * the background, catching up with the existing chain on start, then as blocks are added. When a
+ * reorg replaces indexed blocks, the sections holding them are dropped and indexed again.
+ */
+public class BloomBitsIndex {
+  private static final Logger LOG = LogManager.getLogger();
+
+  /** The number of blocks in a section of the index. */
+  public static final int SECTION_SIZE = 4096;
+
+  // The number of blocks which must be added on top of a section before it is indexed.
+  static final long CONFIRMATIONS = 256;
+
+  private static final int BLOOM_BITS = LogsBloomFilter.BYTE_SIZE * Byte.SIZE;
+  private static final int WORDS_PER_VECTOR = SECTION_SIZE / Long.SIZE;
+
+  // Keys are short enough not to collide with other data when segments share a single store.
+  private static final byte BIT_VECTOR_PREFIX = 1;
+  private static final byte SECTION_HEAD_PREFIX = 2;
+  private static final byte[] INDEXED_SECTIONS_KEY = {3};
+
+  private final Blockchain blockchain;
+  private final KeyValueStorage storage;
+  private final ExecutorService executorService;
+  private final AtomicBoolean updateScheduled = new AtomicBoolean(false);
+  private final Counter sectionsInvalidatedCounter;
+  private volatile long indexedSections;
+  private OptionalLong blockAddedObserverId = OptionalLong.empty();
+
+  public BloomBitsIndex(
+      final Blockchain blockchain,
+      final KeyValueStorage storage,
+      final ExecutorService executorService,
+      final MetricsSystem metricsSystem) {
+    this.blockchain = blockchain;
+    this.storage = storage;
+    this.executorService = executorService;
+    this.indexedSections =
+        storage.get(INDEXED_SECTIONS_KEY).map(value -> ByteBuffer.wrap(value).getLong()).orElse(0L);
+
+    metricsSystem.createLongGauge(
+        PantheonMetricCategory.BLOCKCHAIN,
+        "bloom_bits_indexed_sections",
+        "Number of sections of the chain covered by the bloom bits index",
+        () -> indexedSections);
+    metricsSystem.createLongGauge(
+        PantheonMetricCategory.BLOCKCHAIN,
+        "bloom_bits_pending_sections",
+        "Number of confirmed sections of the chain not yet covered by the bloom bits index",
+        () -> Math.max(0, confirmedSections() - indexedSections));
+    sectionsInvalidatedCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "bloom_bits_sections_invalidated_total",
+            "Total number of bloom bits index sections dropped because of a reorg");
+  }
+
+  public void start() {
+    blockAddedObserverId =
+        OptionalLong.of(blockchain.observeBlockAdded((event, blockchain) -> onBlockAdded(event)));
+    scheduleUpdate();
+  }
+
+  public void stop() throws InterruptedException {
+    blockAddedObserverId.ifPresent(blockchain::removeObserver);
+    executorService.shutdownNow();
+    executorService.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  /** @return The number of blocks, starting from genesis, covered by the index. */
+  public long getIndexedBlockCount() {
+    return indexedSections * SECTION_SIZE;
+  }
+
+  /**
+   * Finds the blocks of a range whose logs bloom filter could match a query, expressed as clauses
+   * of values: a block could match if, for every clause, its bloom filter could contain one of the
+   * values of the clause.
+   *
+   * @param fromBlockNumber The first block of the range (inclusive).
+   * @param toBlockNumber The last block of the range (inclusive), which must be covered by the
+   *     index.
+   * @param clauses The bloom filters of the values of each clause, each built from a single value.
+   * @return The numbers of the blocks which could match, in ascending order.
+   */
+  public LongStream candidateBlockNumbers(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final List<List<LogsBloomFilter>> clauses) {
+    final long lastBlockNumber = Math.min(toBlockNumber, getIndexedBlockCount() - 1);
+    if (lastBlockNumber < fromBlockNumber) {
+      return LongStream.empty();
+    }
+    final List<List<List<Integer>>> clauseBits = new ArrayList<>(clauses.size());
+    for (final List<LogsBloomFilter> clause : clauses) {
+      final List<List<Integer>> valueBits = new ArrayList<>(clause.size());
+      clause.forEach(value -> valueBits.add(setBits(value)));
+      clauseBits.add(valueBits);
+    }
+
+    final LongStream.Builder candidates = LongStream.builder();
+    for (long section = fromBlockNumber / SECTION_SIZE;
+        section <= lastBlockNumber / SECTION_SIZE;
+        section++) {
+      final BitSet matches = candidatesInSection(section, clauseBits);
+      final long sectionStart = section * SECTION_SIZE;
+      final int fromOffset = (int) Math.max(0, fromBlockNumber - sectionStart);
+      final int toOffset = (int) Math.min(SECTION_SIZE - 1, lastBlockNumber - sectionStart);
+      for (int offset = matches.nextSetBit(fromOffset);
+          offset >= 0 && offset <= toOffset;
+          offset = matches.nextSetBit(offset + 1)) {
+        candidates.add(sectionStart + offset);
+      }
+    }
+    return candidates.build();
+  }
+
+  private BitSet candidatesInSection(final long section, final List<List<List<Integer>>> clauses) {
+    final BitSet matches = new BitSet(SECTION_SIZE);
+    matches.set(0, SECTION_SIZE);
+    final Map<Integer, BitSet> vectors = new HashMap<>();
+    for (final List<List<Integer>> clause : clauses) {
+      final BitSet clauseMatches = new BitSet(SECTION_SIZE);
+      for (final List<Integer> valueBits : clause) {
+        final BitSet valueMatches = new BitSet(SECTION_SIZE);
+        valueMatches.set(0, SECTION_SIZE);
+        for (final Integer bit : valueBits) {
+          valueMatches.and(vectors.computeIfAbsent(bit, b -> readVector(b, section)));
+        }
+        clauseMatches.or(valueMatches);
+      }
+      matches.and(clauseMatches);
+    }
+    return matches;
+  }
+
+  private BitSet readVector(final int bit, final long section) {
+    return storage.get(bitVectorKey(bit, section)).map(BitSet::valueOf).orElseGet(BitSet::new);
+  }
+
+  private void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    // Transactions being removed means that blocks were, which may have been indexed.
+    if (!event.getRemovedTransactions().isEmpty()
+        || event.getEventType() == BlockAddedEvent.EventType.CHAIN_REORG
+        || confirmedSections() > indexedSections) {
+      scheduleUpdate();
+    }
+  }
+
+  private void scheduleUpdate() {
+    if (updateScheduled.compareAndSet(false, true)) {
+      try {
+        executorService.execute(this::update);
+      } catch (final RejectedExecutionException e) {
+        updateScheduled.set(false);
+        LOG.debug("Bloom bits index update rejected", e);
+      }
+    }
+  }
+
+  void update() {
+    updateScheduled.set(false);
+    try {
+      dropReorganisedSections();
+      while (indexedSections < confirmedSections() && !Thread.currentThread().isInterrupted()) {
+        indexSection(indexedSections);
+      }
+    } catch (final RuntimeException e) {
+      LOG.error("Failed to update the bloom bits index", e);
+    }
+  }
+
+  private long confirmedSections() {
+    return Math.max(0, (blockchain.getChainHeadBlockNumber() + 1 - CONFIRMATIONS) / SECTION_SIZE);
+  }
+
+  private void dropReorganisedSections() {
+    long sections = indexedSections;
+    // A reorg changes the hash of every following block, so sections are checked from the most
+    // recent one down until one whose last block is still on the canonical chain.
+    while (sections > 0 && !isOnCanonicalChain(sections - 1)) {
+      sections--;
+    }
+    if (sections < indexedSections) {
+      LOG.info(
+          "Dropping {} bloom bits index sections after a chain reorg",
+          indexedSections - sections);
+      final KeyValueStorageTransaction transaction = storage.startTransaction();
+      transaction.put(INDEXED_SECTIONS_KEY, longToBytes(sections));
+      transaction.commit();
+      sectionsInvalidatedCounter.inc(indexedSections - sections);
+      indexedSections = sections;
+    }
+  }
+
+  private boolean isOnCanonicalChain(final long section) {
+    final Optional<Hash> canonicalHash =
+        blockchain.getBlockHashByNumber((section + 1) * SECTION_SIZE - 1);
+    return storage
+        .get(sectionHeadKey(section))
+        .map(hash -> Hash.wrap(Bytes32.wrap(hash)))
+        .map(sectionHead -> canonicalHash.map(sectionHead::equals).orElse(false))
+        .orElse(false);
+  }
+
+  private void indexSection(final long section) {
+    final long[][] vectors = new long[BLOOM_BITS][WORDS_PER_VECTOR];
+    final long sectionStart = section * SECTION_SIZE;
+    BlockHeader header = null;
+    for (int offset = 0; offset < SECTION_SIZE; offset++) {
+      final long blockNumber = sectionStart + offset;
+      header =
+          blockchain
+              .getBlockHeader(blockNumber)
+              .orElseThrow(() -> new IllegalStateException("Missing block " + blockNumber));
+      final BytesValue bloom = header.getLogsBloom().getBytes();
+      for (int byteIndex = 0; byteIndex < LogsBloomFilter.BYTE_SIZE; byteIndex++) {
+        final int bloomByte = bloom.get(byteIndex) & 0xff;
+        for (int bitInByte = 0; bloomByte >>> bitInByte != 0; bitInByte++) {
+          if ((bloomByte & (1 << bitInByte)) != 0) {
+            vectors[bitIndex(byteIndex, bitInByte)][offset / Long.SIZE] |= 1L << offset;
+          }
+        }
+      }
+    }
+
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    for (int bit = 0; bit < BLOOM_BITS; bit++) {
+      final byte[] key = bitVectorKey(bit, section);
+      if (isEmpty(vectors[bit])) {
+        // Drop any vector left over from before a reorg, a missing vector being empty.
+        transaction.remove(key);
+      } else {
+        transaction.put(key, vectorToBytes(vectors[bit]));
+      }
+    }
+    transaction.put(sectionHeadKey(section), header.getHash().extractArray());
+    transaction.put(INDEXED_SECTIONS_KEY, longToBytes(section + 1));
+    transaction.commit();
+    indexedSections = section + 1;
+    LOG.debug("Indexed bloom bits of blocks {} to {}", sectionStart, header.getNumber());
+  }
+
+  /**
+   * Returns the index of a bit of a bloom filter, numbered as {@link LogsBloomFilter} does when
+   * setting them, from the least significant bit of the last byte.
+   */
+  private static int bitIndex(final int byteIndex, final int bitInByte) {
+    return (LogsBloomFilter.BYTE_SIZE - 1 - byteIndex) * Byte.SIZE + bitInByte;
+  }
+
+  private static List<Integer> setBits(final LogsBloomFilter bloom) {
+    final List<Integer> bits = new ArrayList<>(3);
+    final BytesValue bytes = bloom.getBytes();
+    for (int byteIndex = 0; byteIndex < LogsBloomFilter.BYTE_SIZE; byteIndex++) {
+      for (int bitInByte = 0; bitInByte < Byte.SIZE; bitInByte++) {
+        if ((bytes.get(byteIndex) & (1 << bitInByte)) != 0) {
+          bits.add(bitIndex(byteIndex, bitInByte));
+        }
+      }
+    }
+    return bits;
+  }
+
+  private static boolean isEmpty(final long[] vector) {
+    for (final long word : vector) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Laid out as read by BitSet.valueOf, block offset n being bit n % 8 of byte n / 8.
+  private static byte[] vectorToBytes(final long[] vector) {
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(vector.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    for (final long word : vector) {
+      buffer.putLong(word);
+    }
+    return buffer.array();
+  }
+
+  private static byte[] bitVectorKey(final int bit, final long section) {
+    return ByteBuffer.allocate(1 + Short.BYTES + Long.BYTES)
+        .put(BIT_VECTOR_PREFIX)
+        .putShort((short) bit)
+        .putLong(section)
+        .array();
+  }
+
+  private static byte[] sectionHeadKey(final long section) {
+    return ByteBuffer.allocate(1 + Long.BYTES).put(SECTION_HEAD_PREFIX).putLong(section).array();
+  }
+
+  private static byte[] longToBytes(final long value) {
+    return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+  }
+}
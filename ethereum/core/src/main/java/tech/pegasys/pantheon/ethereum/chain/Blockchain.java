@@ -16,8 +16,12 @@ import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LazyBlockBody;
+import tech.pegasys.pantheon.ethereum.core.LazyTransactionReceipts;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.List;
@@ -139,6 +143,66 @@ public interface Blockchain {
    */
   Optional<List<TransactionReceipt>> getTxReceipts(Hash blockHeaderHash);
 
+  /**
+   * Returns a view of the block body corresponding to the given block header hash which only
+   * decodes the transactions and ommers which are accessed, for queries which only need a few of
+   * them, or their number or hashes. Associated block is not necessarily on the canonical chain.
+   *
+   * @param blockHeaderHash The block header hash identifying the block whose body should be
+   *     returned.
+   * @return The lazily decoded block body corresponding to the target block.
+   */
+  default Optional<LazyBlockBody> getLazyBlockBody(final Hash blockHeaderHash) {
+    return getBlockBody(blockHeaderHash).map(LazyBlockBody::of);
+  }
+
+  /**
+   * Returns a view of the transaction receipts associated with the given block's transactions
+   * which only decodes the receipts which are accessed. Associated block is not necessarily on the
+   * canonical chain.
+   *
+   * @param blockHeaderHash The header hash of the block we're querying.
+   * @return The lazily decoded transaction receipts corresponding to block hash.
+   */
+  default Optional<LazyTransactionReceipts> getLazyTxReceipts(final Hash blockHeaderHash) {
+    return getTxReceipts(blockHeaderHash).map(LazyTransactionReceipts::of);
+  }
+
+  /**
+   * Returns the RLP encoding of the block header corresponding to the given block hash, as sent to
+   * peers, without decoding it where it is stored encoded.
+   *
+   * @param blockHeaderHash The hash of the block whose header we want to retrieve.
+   * @return The RLP encoded block header corresponding to this block hash.
+   */
+  default Optional<BytesValue> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return getBlockHeader(blockHeaderHash).map(BlockHeader::encoded);
+  }
+
+  /**
+   * Returns the RLP encoding of the block body corresponding to the given block header hash, as
+   * sent to peers, without decoding it where it is stored encoded.
+   *
+   * @param blockHeaderHash The block header hash identifying the block whose body should be
+   *     returned.
+   * @return The RLP encoded block body corresponding to the target block.
+   */
+  default Optional<BytesValue> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return getBlockBody(blockHeaderHash).map(BlockBody::encoded);
+  }
+
+  /**
+   * Returns the RLP encoding of the list of transaction receipts associated with the given block's
+   * transactions, as sent to peers, without decoding them where they are stored encoded.
+   *
+   * @param blockHeaderHash The header hash of the block we're querying.
+   * @return The RLP encoded transaction receipts corresponding to block hash.
+   */
+  default Optional<BytesValue> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return getTxReceipts(blockHeaderHash)
+        .map(receipts -> RLP.encode(out -> out.writeList(receipts, TransactionReceipt::writeTo)));
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.chain;
+
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.plugin.services.MetricsSystem;
+import tech.pegasys.pantheon.plugin.services.metrics.Counter;
+import tech.pegasys.pantheon.plugin.services.metrics.LabelledMetric;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * A bounded, thread-safe cache of the decoded headers, bodies and receipts of recent blocks, and of
+ * the hashes of recent canonical blocks by number.
+ *
+ * <p>The BLOCKHASH operation, the JSON-RPC APIs, log subscriptions and the serving of peers mostly
+ * read the last few hundred blocks, so those are cached when appended as well as when read. Each
+ * cache holds at most the configured number of blocks, evicting the least recently used first.
+ *
+ * <p>Headers, bodies and receipts are keyed by block hash so they are never stale, even across
+ * reorgs. Only the hashes by number change when the canonical chain does, which is why they have
+ * to be invalidated once a reorg is committed.
+ */
+public class BlockchainCache {
+
+  /** The default number of blocks to cache, enough for the BLOCKHASH operation's window. */
+  public static final int DEFAULT_MAX_BLOCKS = 256;
+
+  private final boolean enabled;
+  private final Cache<Hash, BlockHeader> headers;
+  private final Cache<Hash, BlockBody> bodies;
+  private final Cache<Hash, List<TransactionReceipt>> receipts;
+  private final Cache<Long, Hash> blockHashes;
+
+  private final Counter headerHits;
+  private final Counter headerMisses;
+  private final Counter bodyHits;
+  private final Counter bodyMisses;
+  private final Counter receiptsHits;
+  private final Counter receiptsMisses;
+  private final Counter blockHashHits;
+  private final Counter blockHashMisses;
+
+  // Incremented whenever hashes by number are invalidated, so that a hash read from storage before
+  // a reorg was committed isn't cached once the reorg invalidated it.
+  private long blockHashesEpoch = 0;
+
+  public BlockchainCache(final int maxBlocks, final MetricsSystem metricsSystem) {
+    enabled = maxBlocks > 0;
+    final LabelledMetric<Counter> hits =
+        metricsSystem.createLabelledCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "cache_hits_total",
+            "Total number of blockchain cache hits",
+            "type");
+    final LabelledMetric<Counter> misses =
+        metricsSystem.createLabelledCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "cache_misses_total",
+            "Total number of blockchain cache misses",
+            "type");
+    headerHits = hits.labels("header");
+    headerMisses = misses.labels("header");
+    bodyHits = hits.labels("body");
+    bodyMisses = misses.labels("body");
+    receiptsHits = hits.labels("receipts");
+    receiptsMisses = misses.labels("receipts");
+    blockHashHits = hits.labels("block_hash");
+    blockHashMisses = misses.labels("block_hash");
+
+    headers = newCache(maxBlocks);
+    bodies = newCache(maxBlocks);
+    receipts = newCache(maxBlocks);
+    blockHashes = newCache(maxBlocks);
+  }
+
+  private static <K, V> Cache<K, V> newCache(final int maxBlocks) {
+    return CacheBuilder.newBuilder().maximumSize(Math.max(maxBlocks, 0)).build();
+  }
+
+  Optional<BlockHeader> getBlockHeader(
+      final Hash blockHash, final Function<Hash, Optional<BlockHeader>> loader) {
+    return getOrLoad(headers, blockHash, loader, headerHits, headerMisses);
+  }
+
+  Optional<BlockBody> getBlockBody(
+      final Hash blockHash, final Function<Hash, Optional<BlockBody>> loader) {
+    return getOrLoad(bodies, blockHash, loader, bodyHits, bodyMisses);
+  }
+
+  Optional<List<TransactionReceipt>> getTransactionReceipts(
+      final Hash blockHash, final Function<Hash, Optional<List<TransactionReceipt>>> loader) {
+    return getOrLoad(
+        receipts,
+        blockHash,
+        hash -> loader.apply(hash).map(Collections::unmodifiableList),
+        receiptsHits,
+        receiptsMisses);
+  }
+
+  /**
+   * Returns the body of a block if it is cached, without loading it otherwise, for callers which
+   * can read the body from storage without decoding it in its entirety.
+   *
+   * @param blockHash The hash of the block.
+   * @return The cached body of the block, if any.
+   */
+  Optional<BlockBody> getCachedBlockBody(final Hash blockHash) {
+    return getIfCached(bodies, blockHash, bodyHits, bodyMisses);
+  }
+
+  /**
+   * Returns the receipts of a block if they are cached, without loading them otherwise, for
+   * callers which can read the receipts from storage without decoding them in their entirety.
+   *
+   * @param blockHash The hash of the block.
+   * @return The cached receipts of the block, if any.
+   */
+  Optional<List<TransactionReceipt>> getCachedTransactionReceipts(final Hash blockHash) {
+    return getIfCached(receipts, blockHash, receiptsHits, receiptsMisses);
+  }
+
+  Optional<Hash> getBlockHash(final long blockNumber, final Function<Long, Optional<Hash>> loader) {
+    if (!enabled) {
+      return loader.apply(blockNumber);
+    }
+    final Hash cached = blockHashes.getIfPresent(blockNumber);
+    if (cached != null) {
+      blockHashHits.inc();
+      return Optional.of(cached);
+    }
+    blockHashMisses.inc();
+    final long epoch;
+    synchronized (this) {
+      epoch = blockHashesEpoch;
+    }
+    final Optional<Hash> loaded = loader.apply(blockNumber);
+    if (loaded.isPresent()) {
+      synchronized (this) {
+        if (epoch == blockHashesEpoch) {
+          blockHashes.put(blockNumber, loaded.get());
+        }
+      }
+    }
+    return loaded;
+  }
+
+  private <K, V> Optional<V> getOrLoad(
+      final Cache<K, V> cache,
+      final K key,
+      final Function<K, Optional<V>> loader,
+      final Counter hitCounter,
+      final Counter missCounter) {
+    if (!enabled) {
+      return loader.apply(key);
+    }
+    final V cached = cache.getIfPresent(key);
+    if (cached != null) {
+      hitCounter.inc();
+      return Optional.of(cached);
+    }
+    missCounter.inc();
+    final Optional<V> loaded = loader.apply(key);
+    loaded.ifPresent(value -> cache.put(key, value));
+    return loaded;
+  }
+
+  private <K, V> Optional<V> getIfCached(
+      final Cache<K, V> cache, final K key, final Counter hitCounter, final Counter missCounter) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    final Optional<V> cached = Optional.ofNullable(cache.getIfPresent(key));
+    (cached.isPresent() ? hitCounter : missCounter).inc();
+    return cached;
+  }
+
+  /**
+   * Caches a block which has just been written to storage.
+   *
+   * @param blockHash The hash of the block.
+   * @param header The header of the block.
+   * @param body The body of the block.
+   * @param blockReceipts The receipts of the block's transactions.
+   */
+  void putBlock(
+      final Hash blockHash,
+      final BlockHeader header,
+      final BlockBody body,
+      final List<TransactionReceipt> blockReceipts) {
+    if (enabled) {
+      headers.put(blockHash, header);
+      bodies.put(blockHash, body);
+      receipts.put(blockHash, Collections.unmodifiableList(blockReceipts));
+    }
+  }
+
+  /**
+   * Caches the hash of a block which has just been made canonical by advancing the chain head.
+   *
+   * @param blockNumber The number of the block.
+   * @param blockHash The hash of the block.
+   */
+  synchronized void putBlockHash(final long blockNumber, final Hash blockHash) {
+    if (enabled) {
+      blockHashes.put(blockNumber, blockHash);
+    }
+  }
+
+  /**
+   * Drops every cached hash by number, once a reorg or a rewind has been committed to storage.
+   * Reorgs being rare and mostly shallow, the hashes of the few blocks they actually changed aren't
+   * worth tracking down.
+   */
+  synchronized void invalidateBlockHashes() {
+    blockHashesEpoch++;
+    blockHashes.invalidateAll();
+  }
+}
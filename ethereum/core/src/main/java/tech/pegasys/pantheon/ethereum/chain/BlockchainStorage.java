@@ -15,7 +15,9 @@ package tech.pegasys.pantheon.ethereum.chain;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LazyBlockBody;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Collection;
@@ -34,6 +36,28 @@ public interface BlockchainStorage {
 
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
+  Optional<BytesValue> getBlockHeaderRlp(Hash blockHash);
+
+  Optional<BytesValue> getBlockBodyRlp(Hash blockHash);
+
+  /**
+   * Returns a view of the body of a block which decodes its transactions and ommers from storage
+   * only when they are accessed.
+   *
+   * @param blockHash the hash of the block
+   * @return the lazily decoded body
+   */
+  Optional<LazyBlockBody> getLazyBlockBody(Hash blockHash);
+
+  /**
+   * Returns the transaction receipts of a block as they are stored, that is RLP encoded including
+   * the revert reason of each receipt which has one.
+   *
+   * @param blockHash the hash of the block
+   * @return the RLP encoded list of receipts
+   */
+  Optional<BytesValue> getTransactionReceiptsRlp(Hash blockHash);
+
   Optional<Hash> getBlockHash(long blockNumber);
 
   Optional<UInt256> getTotalDifficulty(Hash blockHash);
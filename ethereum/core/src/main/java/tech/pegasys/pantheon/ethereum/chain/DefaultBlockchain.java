@@ -21,12 +21,18 @@ import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LazyBlockBody;
+import tech.pegasys.pantheon.ethereum.core.LazyTransactionReceipts;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 import tech.pegasys.pantheon.plugin.services.MetricsSystem;
 import tech.pegasys.pantheon.util.InvalidConfigurationException;
 import tech.pegasys.pantheon.util.Subscribers;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
@@ -44,7 +50,11 @@ import com.google.common.annotations.VisibleForTesting;
 
 public class DefaultBlockchain implements MutableBlockchain {
 
+  // The status or state root, cumulative gas used, logs bloom and logs of a receipt.
+  private static final int CONSENSUS_RECEIPT_FIELDS = 4;
+
   protected final BlockchainStorage blockchainStorage;
+  private final BlockchainCache cache;
 
   private final Subscribers<BlockAddedObserver> blockAddedObservers = Subscribers.create();
 
@@ -56,12 +66,14 @@ public class DefaultBlockchain implements MutableBlockchain {
   private DefaultBlockchain(
       final Optional<Block> genesisBlock,
       final BlockchainStorage blockchainStorage,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final int cacheSize) {
     checkNotNull(genesisBlock);
     checkNotNull(blockchainStorage);
     checkNotNull(metricsSystem);
 
     this.blockchainStorage = blockchainStorage;
+    this.cache = new BlockchainCache(cacheSize, metricsSystem);
     genesisBlock.ifPresent(this::setGenesis);
 
     final Hash chainHead = blockchainStorage.getChainHead().get();
@@ -119,15 +131,35 @@ public class DefaultBlockchain implements MutableBlockchain {
       final Block genesisBlock,
       final BlockchainStorage blockchainStorage,
       final MetricsSystem metricsSystem) {
+    return createMutable(
+        genesisBlock, blockchainStorage, metricsSystem, BlockchainCache.DEFAULT_MAX_BLOCKS);
+  }
+
+  /**
+   * Creates a blockchain which caches the data of recent blocks.
+   *
+   * @param genesisBlock The genesis block, written to storage if it is empty.
+   * @param blockchainStorage The storage of the blockchain.
+   * @param metricsSystem The metrics system.
+   * @param cacheSize The number of recent blocks to cache, or 0 not to cache any.
+   * @return The blockchain.
+   */
+  public static MutableBlockchain createMutable(
+      final Block genesisBlock,
+      final BlockchainStorage blockchainStorage,
+      final MetricsSystem metricsSystem,
+      final int cacheSize) {
     checkNotNull(genesisBlock);
-    return new DefaultBlockchain(Optional.of(genesisBlock), blockchainStorage, metricsSystem);
+    return new DefaultBlockchain(
+        Optional.of(genesisBlock), blockchainStorage, metricsSystem, cacheSize);
   }
 
   public static Blockchain create(
       final BlockchainStorage blockchainStorage, final MetricsSystem metricsSystem) {
     checkArgument(
         validateStorageNonEmpty(blockchainStorage), "Cannot create Blockchain from empty storage");
-    return new DefaultBlockchain(Optional.empty(), blockchainStorage, metricsSystem);
+    return new DefaultBlockchain(
+        Optional.empty(), blockchainStorage, metricsSystem, BlockchainCache.DEFAULT_MAX_BLOCKS);
   }
 
   private static boolean validateStorageNonEmpty(final BlockchainStorage blockchainStorage) {
@@ -171,27 +203,94 @@ public class DefaultBlockchain implements MutableBlockchain {
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final long blockNumber) {
-    return blockchainStorage.getBlockHash(blockNumber).flatMap(blockchainStorage::getBlockHeader);
+    return getBlockHashByNumber(blockNumber).flatMap(this::getBlockHeader);
   }
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final Hash blockHeaderHash) {
-    return blockchainStorage.getBlockHeader(blockHeaderHash);
+    return cache.getBlockHeader(blockHeaderHash, blockchainStorage::getBlockHeader);
   }
 
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHeaderHash) {
-    return blockchainStorage.getBlockBody(blockHeaderHash);
+    return cache.getBlockBody(blockHeaderHash, blockchainStorage::getBlockBody);
   }
 
   @Override
   public Optional<List<TransactionReceipt>> getTxReceipts(final Hash blockHeaderHash) {
-    return blockchainStorage.getTransactionReceipts(blockHeaderHash);
+    return cache.getTransactionReceipts(blockHeaderHash, blockchainStorage::getTransactionReceipts);
+  }
+
+  @Override
+  public Optional<LazyBlockBody> getLazyBlockBody(final Hash blockHeaderHash) {
+    // A cached body is already decoded, while one in storage only needs to be split up.
+    final Optional<BlockBody> cached = cache.getCachedBlockBody(blockHeaderHash);
+    if (cached.isPresent()) {
+      return cached.map(LazyBlockBody::of);
+    }
+    return blockchainStorage.getLazyBlockBody(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<LazyTransactionReceipts> getLazyTxReceipts(final Hash blockHeaderHash) {
+    final Optional<List<TransactionReceipt>> cached =
+        cache.getCachedTransactionReceipts(blockHeaderHash);
+    if (cached.isPresent()) {
+      return cached.map(LazyTransactionReceipts::of);
+    }
+    return blockchainStorage
+        .getTransactionReceiptsRlp(blockHeaderHash)
+        .map(LazyTransactionReceipts::fromRlp);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockHeaderRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockBodyRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return blockchainStorage
+        .getTransactionReceiptsRlp(blockHeaderHash)
+        .map(DefaultBlockchain::withoutRevertReasons);
+  }
+
+  /**
+   * Receipts are stored with their revert reason, which isn't part of their consensus encoding, so
+   * any receipt which has one is re-encoded without it. The other receipts are copied as is.
+   */
+  private static BytesValue withoutRevertReasons(final BytesValue receiptsRlp) {
+    final RLPInput input = RLP.input(receiptsRlp);
+    final BytesValueRLPOutput output = new BytesValueRLPOutput();
+    input.enterList();
+    output.startList();
+    while (!input.isEndOfCurrentList()) {
+      final BytesValue receiptRlp = input.readAsRlp().raw();
+      final RLPInput receipt = RLP.input(receiptRlp);
+      final int fieldCount = receipt.enterList();
+      if (fieldCount <= CONSENSUS_RECEIPT_FIELDS) {
+        output.writeRLPUnsafe(receiptRlp);
+        continue;
+      }
+      output.startList();
+      for (int i = 0; i < CONSENSUS_RECEIPT_FIELDS; i++) {
+        output.writeRLPUnsafe(receipt.readAsRlp().raw());
+      }
+      output.endList();
+    }
+    input.leaveList();
+    output.endList();
+    return output.encoded();
   }
 
   @Override
   public Optional<Hash> getBlockHashByNumber(final long number) {
-    return blockchainStorage.getBlockHash(number);
+    return cache.getBlockHash(number, blockchainStorage::getBlockHash);
   }
 
   @Override
@@ -205,8 +304,7 @@ public class DefaultBlockchain implements MutableBlockchain {
         .getTransactionLocation(transactionHash)
         .flatMap(
             l ->
-                blockchainStorage
-                    .getBlockBody(l.getBlockHash())
+                getBlockBody(l.getBlockHash())
                     .map(b -> b.getTransactions().get(l.getTransactionIndex())));
   }
 
@@ -247,6 +345,12 @@ public class DefaultBlockchain implements MutableBlockchain {
     final BlockAddedEvent blockAddedEvent = updateCanonicalChainData(updater, block, td);
 
     updater.commit();
+    cache.putBlock(hash, block.getHeader(), block.getBody(), receipts);
+    if (blockAddedEvent.getEventType() == BlockAddedEvent.EventType.HEAD_ADVANCED) {
+      cache.putBlockHash(block.getHeader().getNumber(), hash);
+    } else if (blockAddedEvent.getEventType() == BlockAddedEvent.EventType.CHAIN_REORG) {
+      cache.invalidateBlockHashes();
+    }
     if (blockAddedEvent.isNewCanonicalHead()) {
       updateCacheForNewCanonicalHead(block, td);
     }
@@ -412,6 +516,7 @@ public class DefaultBlockchain implements MutableBlockchain {
 
       handleChainReorg(updater, block);
       updater.commit();
+      cache.invalidateBlockHashes();
 
       updateCacheForNewCanonicalHead(block, calculateTotalDifficulty(block));
       return true;
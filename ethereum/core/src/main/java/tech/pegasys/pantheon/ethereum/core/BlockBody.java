@@ -12,8 +12,10 @@
  */
 package tech.pegasys.pantheon.ethereum.core;
 
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Collections;
 import java.util.List;
@@ -27,9 +29,20 @@ public class BlockBody {
   private final List<Transaction> transactions;
   private final List<BlockHeader> ommers;
 
+  // The encoding the body was decoded from, if it was, to re-encode it for free.
+  private final BytesValue encoded;
+
   public BlockBody(final List<Transaction> transactions, final List<BlockHeader> ommers) {
+    this(transactions, ommers, null);
+  }
+
+  private BlockBody(
+      final List<Transaction> transactions,
+      final List<BlockHeader> ommers,
+      final BytesValue encoded) {
     this.transactions = transactions;
     this.ommers = ommers;
+    this.encoded = encoded;
   }
 
   public static BlockBody empty() {
@@ -52,20 +65,36 @@ public class BlockBody {
    * @param output Output to write to
    */
   public void writeTo(final RLPOutput output) {
+    if (encoded != null) {
+      output.writeRLPUnsafe(encoded);
+      return;
+    }
     output.startList();
     output.writeList(getTransactions(), Transaction::writeTo);
     output.writeList(getOmmers(), BlockHeader::writeTo);
     output.endList();
   }
 
+  /**
+   * Returns the RLP representation, which is the one the body was decoded from if it was.
+   *
+   * @return The RLP representation
+   */
+  public BytesValue encoded() {
+    return encoded != null ? encoded : RLP.encode(this::writeTo);
+  }
+
   public static BlockBody readFrom(
       final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+    final BytesValue encoded = input.currentListAsBytesValue();
     input.enterList();
     // TODO: Support multiple hard fork transaction formats.
     final BlockBody body =
         new BlockBody(
-            input.readList(Transaction::readFrom),
-            input.readList(rlp -> BlockHeader.readFrom(rlp, blockHeaderFunctions)));
+            Collections.unmodifiableList(input.readList(Transaction::readFrom)),
+            Collections.unmodifiableList(
+                input.readList(rlp -> BlockHeader.readFrom(rlp, blockHeaderFunctions))),
+            encoded);
     input.leaveList();
     return body;
   }
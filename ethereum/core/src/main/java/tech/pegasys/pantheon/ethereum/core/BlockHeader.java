@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.core;
 
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -38,6 +39,9 @@ public class BlockHeader extends SealableBlockHeader
 
   private final Supplier<ParsedExtraData> parsedExtraData;
 
+  // The encoding the header was decoded from, if it was, to hash and re-encode it for free.
+  private final BytesValue encoded;
+
   public BlockHeader(
       final Hash parentHash,
       final Hash ommersHash,
@@ -55,6 +59,44 @@ public class BlockHeader extends SealableBlockHeader
       final Hash mixHash,
       final long nonce,
       final BlockHeaderFunctions blockHeaderFunctions) {
+    this(
+        parentHash,
+        ommersHash,
+        coinbase,
+        stateRoot,
+        transactionsRoot,
+        receiptsRoot,
+        logsBloom,
+        difficulty,
+        number,
+        gasLimit,
+        gasUsed,
+        timestamp,
+        extraData,
+        mixHash,
+        nonce,
+        blockHeaderFunctions,
+        null);
+  }
+
+  private BlockHeader(
+      final Hash parentHash,
+      final Hash ommersHash,
+      final Address coinbase,
+      final Hash stateRoot,
+      final Hash transactionsRoot,
+      final Hash receiptsRoot,
+      final LogsBloomFilter logsBloom,
+      final UInt256 difficulty,
+      final long number,
+      final long gasLimit,
+      final long gasUsed,
+      final long timestamp,
+      final BytesValue extraData,
+      final Hash mixHash,
+      final long nonce,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final BytesValue encoded) {
     super(
         parentHash,
         ommersHash,
@@ -71,6 +113,7 @@ public class BlockHeader extends SealableBlockHeader
         extraData);
     this.mixHash = mixHash;
     this.nonce = nonce;
+    this.encoded = encoded;
     this.hash = Suppliers.memoize(() -> blockHeaderFunctions.hash(this));
     this.parsedExtraData = Suppliers.memoize(() -> blockHeaderFunctions.parseExtraData(this));
   }
@@ -123,6 +166,10 @@ public class BlockHeader extends SealableBlockHeader
    * @param out The RLP output to write to
    */
   public void writeTo(final RLPOutput out) {
+    if (encoded != null) {
+      out.writeRLPUnsafe(encoded);
+      return;
+    }
     out.startList();
 
     out.writeBytesValue(parentHash);
@@ -144,8 +191,18 @@ public class BlockHeader extends SealableBlockHeader
     out.endList();
   }
 
+  /**
+   * Returns the RLP representation, which is the one the header was decoded from if it was.
+   *
+   * @return The RLP representation
+   */
+  public BytesValue encoded() {
+    return encoded != null ? encoded : RLP.encode(this::writeTo);
+  }
+
   public static BlockHeader readFrom(
       final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+    final BytesValue encoded = input.currentListAsBytesValue();
     input.enterList();
     final BlockHeader blockHeader =
         new BlockHeader(
@@ -164,7 +221,8 @@ public class BlockHeader extends SealableBlockHeader
             input.readBytesValue(),
             Hash.wrap(input.readBytes32()),
             input.readLong(),
-            blockHeaderFunctions);
+            blockHeaderFunctions,
+            encoded);
     input.leaveList();
     return blockHeader;
   }
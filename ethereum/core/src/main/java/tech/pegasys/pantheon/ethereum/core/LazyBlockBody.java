@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A view of a block body which only decodes what is asked of it, for queries which only need the
+ * number of transactions, their hashes, or a single one of them.
+ *
+ * <p>When created over the RLP encoding of a body, the encoding is only split into the encodings
+ * of its transactions on creation, each transaction being decoded when it is accessed, every time
+ * it is accessed. A view can also be created over a body which was already decoded, in which case
+ * it is merely read from.
+ */
+public class LazyBlockBody {
+
+  // Set when the view is over a decoded body, in which case the fields below are unset.
+  private final BlockBody body;
+
+  private final BytesValue encoded;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+  private final List<BytesValue> encodedTransactions;
+  private final BytesValue encodedTransactionList;
+  private final BytesValue encodedOmmerList;
+  private final int ommerCount;
+
+  private LazyBlockBody(final BlockBody body) {
+    this.body = body;
+    this.encoded = null;
+    this.blockHeaderFunctions = null;
+    this.encodedTransactions = null;
+    this.encodedTransactionList = null;
+    this.encodedOmmerList = null;
+    this.ommerCount = body.getOmmers().size();
+  }
+
+  private LazyBlockBody(final BytesValue encoded, final BlockHeaderFunctions blockHeaderFunctions) {
+    this.body = null;
+    this.encoded = encoded;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+
+    final RLPInput input = RLP.input(encoded);
+    input.enterList();
+    encodedTransactionList = input.currentListAsBytesValue();
+    final int transactionCount = input.enterList();
+    encodedTransactions = new ArrayList<>(transactionCount);
+    for (int i = 0; i < transactionCount; i++) {
+      encodedTransactions.add(input.currentListAsBytesValue());
+      input.skipNext();
+    }
+    input.leaveList();
+    encodedOmmerList = input.currentListAsBytesValue();
+    ommerCount = input.enterList();
+    for (int i = 0; i < ommerCount; i++) {
+      input.skipNext();
+    }
+    input.leaveList();
+    input.leaveList();
+  }
+
+  /**
+   * Creates a view over the RLP encoding of a block body.
+   *
+   * @param encoded the RLP encoding of the body.
+   * @param blockHeaderFunctions the functions to decode the ommers of the body with.
+   * @return a view over the encoded body.
+   */
+  public static LazyBlockBody fromRlp(
+      final BytesValue encoded, final BlockHeaderFunctions blockHeaderFunctions) {
+    return new LazyBlockBody(encoded, blockHeaderFunctions);
+  }
+
+  /**
+   * Creates a view over a block body which was already decoded.
+   *
+   * @param body the decoded body.
+   * @return a view over the body.
+   */
+  public static LazyBlockBody of(final BlockBody body) {
+    return new LazyBlockBody(body);
+  }
+
+  /** @return The number of transactions of the block. */
+  public int getTransactionCount() {
+    return body != null ? body.getTransactions().size() : encodedTransactions.size();
+  }
+
+  /**
+   * Returns the transaction at the given index, decoding it if needed.
+   *
+   * @param index the index of the transaction in the block.
+   * @return the transaction at the given index.
+   * @throws IndexOutOfBoundsException if the block doesn't have such a transaction.
+   */
+  public Transaction getTransaction(final int index) {
+    if (body != null) {
+      return body.getTransactions().get(index);
+    }
+    return Transaction.readFrom(RLP.input(encodedTransactions.get(index)));
+  }
+
+  /**
+   * Returns the hash of the transaction at the given index, without decoding it.
+   *
+   * @param index the index of the transaction in the block.
+   * @return the hash of the transaction at the given index.
+   * @throws IndexOutOfBoundsException if the block doesn't have such a transaction.
+   */
+  public Hash getTransactionHash(final int index) {
+    if (body != null) {
+      return body.getTransactions().get(index).hash();
+    }
+    return Hash.hash(encodedTransactions.get(index));
+  }
+
+  /** @return The hashes of the transactions of the block, without decoding them. */
+  public List<Hash> getTransactionHashes() {
+    final int count = getTransactionCount();
+    final List<Hash> hashes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      hashes.add(getTransactionHash(i));
+    }
+    return hashes;
+  }
+
+  /** @return The transactions of the block, all decoded if needed. */
+  public List<Transaction> getTransactions() {
+    if (body != null) {
+      return body.getTransactions();
+    }
+    return encodedTransactions.stream()
+        .map(transaction -> Transaction.readFrom(RLP.input(transaction)))
+        .collect(Collectors.toList());
+  }
+
+  /** @return The number of ommers of the block. */
+  public int getOmmerCount() {
+    return ommerCount;
+  }
+
+  /** @return The ommers of the block, all decoded if needed. */
+  public List<BlockHeader> getOmmers() {
+    if (body != null) {
+      return body.getOmmers();
+    }
+    return RLP.input(encodedOmmerList)
+        .readList(ommer -> BlockHeader.readFrom(ommer, blockHeaderFunctions));
+  }
+
+  /**
+   * Returns the size of the RLP encoding of the block this is the body of, without encoding it if
+   * the body wasn't decoded.
+   *
+   * @param header the header of the block.
+   * @return the size of the encoded block.
+   */
+  public int getBlockSize(final BlockHeader header) {
+    if (body != null) {
+      return new Block(header, body).calculateSize();
+    }
+    // A block is encoded as the list of its header, transactions and ommers.
+    final int payloadSize =
+        header.encoded().size() + encodedTransactionList.size() + encodedOmmerList.size();
+    if (payloadSize <= 55) {
+      return 1 + payloadSize;
+    }
+    return 1 + (4 - Integer.numberOfLeadingZeros(payloadSize) / 8) + payloadSize;
+  }
+
+  /** @return The block body, decoded in its entirety if needed. */
+  public BlockBody materialize() {
+    if (body != null) {
+      return body;
+    }
+    return BlockBody.readFrom(RLP.input(encoded), blockHeaderFunctions);
+  }
+}
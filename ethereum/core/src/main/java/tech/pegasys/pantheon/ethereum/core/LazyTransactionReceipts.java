@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A view of the transaction receipts of a block which only decodes what is asked of it, for
+ * queries which only need a single receipt, or the gas used by some transactions, rather than the
+ * logs and bloom filter of every receipt.
+ *
+ * <p>When created over the RLP encoding of the receipts, the encoding is only split into the
+ * encodings of each receipt on creation, each receipt being decoded when it is accessed, every time
+ * it is accessed. A view can also be created over receipts which were already decoded, in which
+ * case they are merely read from.
+ */
+public class LazyTransactionReceipts {
+
+  // Set when the view is over decoded receipts, in which case the encodings are unset.
+  private final List<TransactionReceipt> receipts;
+  private final List<BytesValue> encodedReceipts;
+
+  private LazyTransactionReceipts(
+      final List<TransactionReceipt> receipts, final List<BytesValue> encodedReceipts) {
+    this.receipts = receipts;
+    this.encodedReceipts = encodedReceipts;
+  }
+
+  /**
+   * Creates a view over the RLP encoding of the list of receipts of a block, where each receipt
+   * may include its revert reason.
+   *
+   * @param encoded the RLP encoding of the receipts.
+   * @return a view over the encoded receipts.
+   */
+  public static LazyTransactionReceipts fromRlp(final BytesValue encoded) {
+    final RLPInput input = RLP.input(encoded);
+    final int count = input.enterList();
+    final List<BytesValue> encodedReceipts = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      encodedReceipts.add(input.currentListAsBytesValue());
+      input.skipNext();
+    }
+    input.leaveList();
+    return new LazyTransactionReceipts(null, encodedReceipts);
+  }
+
+  /**
+   * Creates a view over receipts which were already decoded.
+   *
+   * @param receipts the decoded receipts.
+   * @return a view over the receipts.
+   */
+  public static LazyTransactionReceipts of(final List<TransactionReceipt> receipts) {
+    return new LazyTransactionReceipts(receipts, null);
+  }
+
+  /** @return The number of receipts, that is of transactions in the block. */
+  public int size() {
+    return receipts != null ? receipts.size() : encodedReceipts.size();
+  }
+
+  /**
+   * Returns the receipt at the given index, decoding it if needed.
+   *
+   * @param index the index of the transaction whose receipt to return.
+   * @return the receipt at the given index.
+   * @throws IndexOutOfBoundsException if the block doesn't have such a transaction.
+   */
+  public TransactionReceipt get(final int index) {
+    if (receipts != null) {
+      return receipts.get(index);
+    }
+    return TransactionReceipt.readFrom(RLP.input(encodedReceipts.get(index)));
+  }
+
+  /**
+   * Returns the total amount of gas used in the block once the transaction at the given index was
+   * processed, without decoding its logs and bloom filter.
+   *
+   * @param index the index of the transaction whose receipt to read.
+   * @return the cumulative gas used of the receipt at the given index.
+   * @throws IndexOutOfBoundsException if the block doesn't have such a transaction.
+   */
+  public long getCumulativeGasUsed(final int index) {
+    if (receipts != null) {
+      return receipts.get(index).getCumulativeGasUsed();
+    }
+    final RLPInput input = RLP.input(encodedReceipts.get(index));
+    input.enterList();
+    // Skip the state root or status.
+    input.skipNext();
+    return input.readLongScalar();
+  }
+
+  /**
+   * Returns the gas used by the transaction at the given index alone.
+   *
+   * @param index the index of the transaction whose receipt to read.
+   * @return the gas used by the transaction at the given index.
+   * @throws IndexOutOfBoundsException if the block doesn't have such a transaction.
+   */
+  public long getGasUsed(final int index) {
+    final long cumulativeGasUsed = getCumulativeGasUsed(index);
+    return index > 0 ? cumulativeGasUsed - getCumulativeGasUsed(index - 1) : cumulativeGasUsed;
+  }
+
+  /** @return The receipts, all decoded if needed. */
+  public List<TransactionReceipt> materialize() {
+    if (receipts != null) {
+      return receipts;
+    }
+    return encodedReceipts.stream()
+        .map(receipt -> TransactionReceipt.readFrom(RLP.input(receipt)))
+        .collect(Collectors.toList());
+  }
+}
@@ -127,13 +127,41 @@ public class LogsBloomFilter implements UnformattedData {
   }
 
   public void insertLog(final Log log) {
-    setBits(keccak256(log.getLogger()));
+    insertValue(log.getLogger());
 
     for (final LogTopic topic : log.getTopics()) {
-      setBits(keccak256(topic));
+      insertValue(topic);
     }
   }
 
+  /**
+   * Sets the bits of a single value, such as a log address or topic.
+   *
+   * @param value The value to insert.
+   */
+  public void insertValue(final BytesValue value) {
+    setBits(keccak256(value));
+  }
+
+  /**
+   * Checks whether every bit set in another bloom filter is also set in this one.
+   *
+   * <p>Bloom filters having false positives but no false negatives, a filter built from a single
+   * value which isn't contained in this filter proves that the value was never inserted in it.
+   *
+   * @param other The bloom filter to check.
+   * @return Whether all bits set in {@code other} are set in this filter.
+   */
+  public boolean couldContain(final LogsBloomFilter other) {
+    for (int i = 0; i < BYTE_SIZE; ++i) {
+      final byte otherByte = other.data.get(i);
+      if ((data.get(i) & otherByte) != otherByte) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private void setBit(final int index) {
     final int byteIndex = BYTE_SIZE - 1 - index / 8;
     final int bitIndex = index % 8;
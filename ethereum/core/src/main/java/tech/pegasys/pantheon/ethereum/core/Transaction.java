@@ -73,11 +73,15 @@ public class Transaction implements tech.pegasys.pantheon.plugin.data.Transactio
   // Caches the hash used to uniquely identify the transaction.
   protected volatile Hash hash;
 
+  // The encoding the transaction was decoded from, if it was, to hash and re-encode it for free.
+  private final BytesValue encoded;
+
   public static Builder builder() {
     return new Builder();
   }
 
   public static Transaction readFrom(final RLPInput input) throws RLPException {
+    final BytesValue encoded = input.currentListAsBytesValue();
     input.enterList();
 
     final Builder builder =
@@ -108,6 +112,7 @@ public class Transaction implements tech.pegasys.pantheon.plugin.data.Transactio
     input.leaveList();
 
     chainId.ifPresent(builder::chainId);
+    builder.encoded = encoded;
     return builder.signature(signature).build();
   }
 
@@ -138,6 +143,20 @@ public class Transaction implements tech.pegasys.pantheon.plugin.data.Transactio
       final BytesValue payload,
       final Address sender,
       final Optional<BigInteger> chainId) {
+    this(nonce, gasPrice, gasLimit, to, value, signature, payload, sender, chainId, null);
+  }
+
+  private Transaction(
+      final long nonce,
+      final Wei gasPrice,
+      final long gasLimit,
+      final Optional<Address> to,
+      final Wei value,
+      final SECP256K1.Signature signature,
+      final BytesValue payload,
+      final Address sender,
+      final Optional<BigInteger> chainId,
+      final BytesValue encoded) {
     this.nonce = nonce;
     this.gasPrice = gasPrice;
     this.gasLimit = gasLimit;
@@ -147,6 +166,7 @@ public class Transaction implements tech.pegasys.pantheon.plugin.data.Transactio
     this.payload = payload;
     this.sender = sender;
     this.chainId = chainId;
+    this.encoded = encoded;
   }
 
   /**
@@ -287,6 +307,10 @@ public class Transaction implements tech.pegasys.pantheon.plugin.data.Transactio
    * @param out the output to write the transaction to
    */
   public void writeTo(final RLPOutput out) {
+    if (encoded != null) {
+      out.writeRLPUnsafe(encoded);
+      return;
+    }
     out.startList();
 
     out.writeLongScalar(getNonce());
@@ -335,12 +359,20 @@ public class Transaction implements tech.pegasys.pantheon.plugin.data.Transactio
    */
   public Hash hash() {
     if (hash == null) {
-      final BytesValue rlp = RLP.encode(this::writeTo);
-      hash = Hash.hash(rlp);
+      hash = Hash.hash(encoded());
     }
     return hash;
   }
 
+  /**
+   * Returns the RLP encoding of the transaction, which is the one it was decoded from if it was.
+   *
+   * @return the RLP encoding of the transaction
+   */
+  public BytesValue encoded() {
+    return encoded != null ? encoded : RLP.encode(this::writeTo);
+  }
+
   /**
    * Returns whether the transaction is a contract creation
    *
@@ -462,6 +494,8 @@ public class Transaction implements tech.pegasys.pantheon.plugin.data.Transactio
 
     protected Optional<BigInteger> chainId = Optional.empty();
 
+    private BytesValue encoded;
+
     public Builder chainId(final BigInteger chainId) {
       this.chainId = Optional.of(chainId);
       return this;
@@ -517,7 +551,8 @@ public class Transaction implements tech.pegasys.pantheon.plugin.data.Transactio
           signature,
           payload,
           sender,
-          chainId);
+          chainId,
+          encoded);
     }
 
     public Transaction signAndBuild(final SECP256K1.KeyPair keys) {
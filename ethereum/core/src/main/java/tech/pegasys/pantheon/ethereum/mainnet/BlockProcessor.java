@@ -78,4 +78,12 @@ public interface BlockProcessor {
       BlockHeader blockHeader,
       List<Transaction> transactions,
       List<BlockHeader> ommers);
+
+  /**
+   * Enables the speculative execution of the transactions of the processed blocks on the provided
+   * executor, if supported by this processor.
+   *
+   * @param executor the executor to execute transactions on
+   */
+  default void setSpeculativeTransactionExecutor(final SpeculativeTransactionExecutor executor) {}
 }
@@ -53,7 +53,7 @@ public final class BodyValidation {
     final MerklePatriciaTrie<BytesValue, BytesValue> trie = trie();
 
     for (int i = 0; i < transactions.size(); ++i) {
-      trie.put(indexKey(i), RLP.encode(transactions.get(i)::writeTo));
+      trie.put(indexKey(i), transactions.get(i).encoded());
     }
 
     return Hash.wrap(trie.getRootHash());
@@ -16,8 +16,6 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.ParsedExtraData;
-import tech.pegasys.pantheon.ethereum.rlp.RLP;
-import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 /** Implements the block hashing algorithm for MainNet as per the yellow paper. */
 public class MainnetBlockHeaderFunctions implements BlockHeaderFunctions {
@@ -28,8 +26,7 @@ public class MainnetBlockHeaderFunctions implements BlockHeaderFunctions {
   }
 
   public static Hash createHash(final BlockHeader header) {
-    final BytesValue rlp = RLP.encode(header::writeTo);
-    return Hash.hash(rlp);
+    return Hash.hash(header.encoded());
   }
 
   @Override
@@ -23,10 +23,16 @@ import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.core.WorldState;
 import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.core.WorldView;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.ImmutableList;
 import org.apache.logging.log4j.LogManager;
@@ -87,6 +93,9 @@ public class MainnetBlockProcessor implements BlockProcessor {
 
   private final MiningBeneficiaryCalculator miningBeneficiaryCalculator;
 
+  private volatile Optional<SpeculativeTransactionExecutor> speculativeTransactionExecutor =
+      Optional.empty();
+
   public MainnetBlockProcessor(
       final TransactionProcessor transactionProcessor,
       final TransactionReceiptFactory transactionReceiptFactory,
@@ -107,6 +116,13 @@ public class MainnetBlockProcessor implements BlockProcessor {
       final BlockHeader blockHeader,
       final List<Transaction> transactions,
       final List<BlockHeader> ommers) {
+    final Optional<SpeculativeTransactionExecutor> executor = speculativeTransactionExecutor;
+    if (executor.isPresent()
+        && transactions.size() > 1
+        && isParentWorldState(blockchain, worldState, blockHeader)) {
+      return processBlockSpeculatively(
+          executor.get(), blockchain, worldState, blockHeader, transactions, ommers);
+    }
 
     long gasUsed = 0;
     final List<TransactionReceipt> receipts = new ArrayList<>();
@@ -155,6 +171,181 @@ public class MainnetBlockProcessor implements BlockProcessor {
     return Result.successful(receipts);
   }
 
+  @Override
+  public void setSpeculativeTransactionExecutor(final SpeculativeTransactionExecutor executor) {
+    this.speculativeTransactionExecutor = Optional.of(executor);
+  }
+
+  /**
+   * Processes the transactions of the block concurrently, each against the world state at the
+   * start of the block, then applies their updates in order. A transaction which read anything the
+   * transactions preceding it wrote is executed again against the updated world state, so that the
+   * receipts and the world state are the same as if the transactions were executed one after the
+   * other.
+   *
+   * <p>The transactions are claimed in order by the executor threads and by this thread, which
+   * executes a transaction against the updated world state whenever no thread claimed it yet.
+   */
+  private Result processBlockSpeculatively(
+      final SpeculativeTransactionExecutor executor,
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final List<BlockHeader> ommers) {
+    final Address miningBeneficiary = miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
+    final List<CompletableFuture<TransactionExecution>> speculativeExecutions =
+        new ArrayList<>(transactions.size());
+    for (int i = 0; i < transactions.size(); i++) {
+      speculativeExecutions.add(new CompletableFuture<>());
+    }
+    final AtomicInteger nextTransaction = new AtomicInteger();
+    final AtomicBoolean processed = new AtomicBoolean();
+
+    // The world state is only read by the executor threads, which each need their own copy.
+    final MutableWorldState blockStart = worldState.copy();
+    final int workerCount = Math.min(executor.getParallelism(), transactions.size() - 1);
+    for (int worker = 0; worker < workerCount; worker++) {
+      final MutableWorldState snapshot = blockStart.copy();
+      executor.submit(
+          () -> {
+            while (!processed.get()) {
+              final int index = nextTransaction.getAndIncrement();
+              if (index >= transactions.size()) {
+                return;
+              }
+              try {
+                speculativeExecutions
+                    .get(index)
+                    .complete(
+                        executeTransaction(
+                            blockchain,
+                            snapshot,
+                            blockHeader,
+                            transactions.get(index),
+                            miningBeneficiary,
+                            false));
+              } catch (final Throwable t) {
+                // The thread processing the block awaits the execution, so it must complete.
+                speculativeExecutions.get(index).completeExceptionally(t);
+              }
+            }
+          });
+    }
+
+    long gasUsed = 0;
+    final List<TransactionReceipt> receipts = new ArrayList<>();
+    final SpeculativeWorldUpdater.BlockUpdates blockUpdates =
+        new SpeculativeWorldUpdater.BlockUpdates();
+    try {
+      for (int i = 0; i < transactions.size(); i++) {
+        final Transaction transaction = transactions.get(i);
+        final long remainingGasBudget = blockHeader.getGasLimit() - gasUsed;
+        if (Long.compareUnsigned(transaction.getGasLimit(), remainingGasBudget) > 0) {
+          LOG.warn(
+              "Transaction processing error: transaction gas limit {} exceeds available block budget remaining {}",
+              transaction.getGasLimit(),
+              remainingGasBudget);
+          return Result.failed();
+        }
+
+        TransactionExecution execution = null;
+        if (!nextTransaction.compareAndSet(i, i + 1)) {
+          executor.recordSpeculativeTransaction();
+          execution = awaitSpeculativeExecution(speculativeExecutions.get(i));
+          if (execution == null || blockUpdates.conflictsWith(execution.updater)) {
+            executor.recordConflict();
+            execution = null;
+          }
+        }
+        if (execution == null) {
+          execution =
+              executeTransaction(
+                  blockchain, worldState, blockHeader, transaction, miningBeneficiary, true);
+        }
+        if (execution.result.isInvalid()) {
+          return Result.failed();
+        }
+
+        final WorldUpdater worldStateUpdater = worldState.updater();
+        execution.updater.applyTo(worldStateUpdater);
+        worldStateUpdater.commit();
+        blockUpdates.add(execution.updater);
+        gasUsed = transaction.getGasLimit() - execution.result.getGasRemaining() + gasUsed;
+        final TransactionReceipt transactionReceipt =
+            transactionReceiptFactory.create(execution.result, worldState, gasUsed);
+        receipts.add(transactionReceipt);
+      }
+    } finally {
+      processed.set(true);
+    }
+
+    if (!rewardCoinbase(worldState, blockHeader, ommers, skipZeroBlockRewards)) {
+      return Result.failed();
+    }
+
+    worldState.persist();
+    return Result.successful(receipts);
+  }
+
+  private TransactionExecution executeTransaction(
+      final Blockchain blockchain,
+      final WorldView worldView,
+      final BlockHeader blockHeader,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final boolean isPersistingState) {
+    final SpeculativeWorldUpdater updater =
+        new SpeculativeWorldUpdater(worldView, transaction.getSender(), miningBeneficiary);
+    final TransactionProcessor.Result result =
+        transactionProcessor.processTransaction(
+            blockchain,
+            updater,
+            blockHeader,
+            transaction,
+            miningBeneficiary,
+            new BlockHashLookup(blockHeader, blockchain),
+            isPersistingState,
+            TransactionValidationParams.processingBlock());
+    return new TransactionExecution(updater, result);
+  }
+
+  private static TransactionExecution awaitSpeculativeExecution(
+      final CompletableFuture<TransactionExecution> speculativeExecution) {
+    try {
+      return speculativeExecution.join();
+    } catch (final CompletionException e) {
+      LOG.debug("Speculative transaction execution failed", e.getCause());
+      return null;
+    }
+  }
+
+  /**
+   * Whether the world state is the persisted world state of the parent of the block, which the
+   * executor threads can read from their own copy while this one is updated.
+   */
+  private static boolean isParentWorldState(
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final BlockHeader blockHeader) {
+    return blockchain
+        .getBlockHeader(blockHeader.getParentHash())
+        .map(parent -> parent.getStateRoot().equals(worldState.rootHash()))
+        .orElse(false);
+  }
+
+  private static class TransactionExecution {
+
+    private final SpeculativeWorldUpdater updater;
+    private final TransactionProcessor.Result result;
+
+    private TransactionExecution(
+        final SpeculativeWorldUpdater updater, final TransactionProcessor.Result result) {
+      this.updater = updater;
+      this.result = result;
+    }
+  }
+
   private boolean rewardCoinbase(
       final MutableWorldState worldState,
       final ProcessableBlockHeader header,
@@ -353,6 +353,11 @@ public abstract class MainnetProtocolSpecs {
       return wrapped.processBlock(blockchain, worldState, blockHeader, transactions, ommers);
     }
 
+    @Override
+    public void setSpeculativeTransactionExecutor(final SpeculativeTransactionExecutor executor) {
+      wrapped.setSpeculativeTransactionExecutor(executor);
+    }
+
     private static final Address DAO_REFUND_CONTRACT_ADDRESS =
         Address.fromHexString("0xbf4ed7b27f1d666546e30d74d50d173d20bca754");
 
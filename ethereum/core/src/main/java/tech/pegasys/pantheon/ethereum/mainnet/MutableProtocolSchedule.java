@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.ethereum.mainnet;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import tech.pegasys.pantheon.ethereum.core.TransactionFilter;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 
 import java.math.BigInteger;
 import java.util.Comparator;
@@ -76,4 +77,14 @@ public class MutableProtocolSchedule<C> implements ProtocolSchedule<C> {
   public void setTransactionFilter(final TransactionFilter transactionFilter) {
     protocolSpecs.forEach(spec -> spec.getSpec().setTransactionFilter(transactionFilter));
   }
+
+  @Override
+  public void setCodeCache(final CodeCache codeCache) {
+    protocolSpecs.forEach(spec -> spec.getSpec().setCodeCache(codeCache));
+  }
+
+  @Override
+  public void setSpeculativeTransactionExecutor(final SpeculativeTransactionExecutor executor) {
+    protocolSpecs.forEach(spec -> spec.getSpec().setSpeculativeTransactionExecutor(executor));
+  }
 }
@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockImporter;
 import tech.pegasys.pantheon.ethereum.core.TransactionFilter;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockProcessor.TransactionReceiptFactory;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 import tech.pegasys.pantheon.ethereum.vm.EVM;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 
@@ -277,4 +278,12 @@ public class ProtocolSpec<C> {
   public void setTransactionFilter(final TransactionFilter transactionFilter) {
     transactionValidator.setTransactionFilter(transactionFilter);
   }
+
+  public void setCodeCache(final CodeCache codeCache) {
+    evm.setCodeCache(codeCache);
+  }
+
+  public void setSpeculativeTransactionExecutor(final SpeculativeTransactionExecutor executor) {
+    blockProcessor.setSpeculativeTransactionExecutor(executor);
+  }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.plugin.services.MetricsSystem;
+import tech.pegasys.pantheon.plugin.services.metrics.Counter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.google.common.base.Preconditions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The threads the transactions of a block are executed on speculatively, against the world state
+ * at the start of the block, while the block processor applies their updates in order.
+ *
+ * <p>A transaction which read anything written by the transactions preceding it in the block is
+ * executed again against the updated world state: the ratio of such conflicts to speculatively
+ * executed transactions is reported as metrics.
+ */
+public class SpeculativeTransactionExecutor {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ExecutorService executorService;
+  private final int parallelism;
+  private final Counter speculativeTransactionCounter;
+  private final Counter conflictCounter;
+
+  /**
+   * @param executorService The executor the transactions are executed on.
+   * @param parallelism The number of threads of the executor, which is the maximum number of
+   *     transactions executed concurrently in addition to the one executed by the block processor.
+   * @param metricsSystem The metrics system to report conflicts to.
+   */
+  public SpeculativeTransactionExecutor(
+      final ExecutorService executorService,
+      final int parallelism,
+      final MetricsSystem metricsSystem) {
+    Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+    this.executorService = executorService;
+    this.parallelism = parallelism;
+    speculativeTransactionCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "speculative_transactions_total",
+            "Total number of transactions executed speculatively while processing blocks");
+    conflictCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.BLOCKCHAIN,
+            "speculative_transaction_conflicts_total",
+            "Total number of speculatively executed transactions executed again due to a conflict");
+  }
+
+  int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Runs the provided worker on the executor, unless the executor is shutting down or saturated in
+   * which case the block processor executes the transactions itself.
+   *
+   * @param worker Executes transactions until there are none left to execute.
+   */
+  void submit(final Runnable worker) {
+    try {
+      executorService.execute(worker);
+    } catch (final RejectedExecutionException e) {
+      LOG.trace("Speculative transaction execution rejected", e);
+    }
+  }
+
+  void recordSpeculativeTransaction() {
+    speculativeTransactionCounter.inc();
+  }
+
+  void recordConflict() {
+    conflictCounter.inc();
+  }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import tech.pegasys.pantheon.ethereum.core.AbstractWorldUpdater;
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.AccountStorageEntry;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.core.WorldView;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+
+/**
+ * The updater a single transaction of a block is executed against, recording the accounts and
+ * storage slots the transaction reads so that it can be executed speculatively, against the world
+ * state at the start of the block, and its updates later applied on top of the updates of the
+ * transactions which precede it provided none of them wrote what it read.
+ *
+ * <p>Every transaction credits its fee to the mining beneficiary, so the beneficiary would make
+ * every transaction conflict with the ones before it. The fee is credited by the transaction
+ * processor directly on this updater, once the transaction executed, while the EVM only reaches
+ * the accounts of this updater through the updaters stacked on top of it. A transaction which only
+ * accesses the beneficiary to credit its fee doesn't depend on its state, so its update of the
+ * beneficiary is applied as a balance increment rather than as a new balance.
+ */
+class SpeculativeWorldUpdater
+    extends AbstractWorldUpdater<SpeculativeWorldUpdater.ReadRecordingWorldView, Account> {
+
+  SpeculativeWorldUpdater(
+      final WorldView world, final Address sender, final Address miningBeneficiary) {
+    super(new ReadRecordingWorldView(world, miningBeneficiary));
+    // The sender is read before the execution, so its reads can't be told apart from the credit.
+    wrappedWorldView().beneficiaryObserved = sender.equals(miningBeneficiary);
+  }
+
+  @Override
+  public MutableAccount getMutable(final Address address) {
+    final ReadRecordingWorldView reads = wrappedWorldView();
+    if (!address.equals(reads.miningBeneficiary) || reads.beneficiaryObserved) {
+      return super.getMutable(address);
+    }
+    reads.beneficiaryCredited = true;
+    reads.creditingBeneficiary = true;
+    try {
+      return super.getMutable(address);
+    } finally {
+      reads.creditingBeneficiary = false;
+    }
+  }
+
+  @Override
+  protected Account getForMutation(final Address address) {
+    return wrappedWorldView().get(address);
+  }
+
+  @Override
+  public Collection<Account> getTouchedAccounts() {
+    return new ArrayList<>(updatedAccounts());
+  }
+
+  @Override
+  public void revert() {
+    deletedAccounts().clear();
+    updatedAccounts().clear();
+  }
+
+  @Override
+  public void commit() {
+    throw new UnsupportedOperationException("Speculative updates are applied with applyTo");
+  }
+
+  /**
+   * Applies the updates made to this updater to the provided updater, as if they had been made to
+   * it directly.
+   *
+   * @param target The updater to apply the updates to, which must not conflict with the reads of
+   *     this updater (see {@link BlockUpdates#conflictsWith(SpeculativeWorldUpdater)}).
+   */
+  void applyTo(final WorldUpdater target) {
+    deletedAccounts().forEach(target::deleteAccount);
+    for (final UpdateTrackingAccount<Account> updated : updatedAccounts()) {
+      if (isOnlyCreditedBeneficiary(updated)) {
+        target.getOrCreate(updated.getAddress()).incrementBalance(beneficiaryCredit(updated));
+        continue;
+      }
+      final MutableAccount account =
+          updated.getWrappedAccount() == null
+              ? target.createAccount(updated.getAddress())
+              : target.getMutable(updated.getAddress());
+      account.setNonce(updated.getNonce());
+      account.setBalance(updated.getBalance());
+      if (updated.codeWasUpdated()) {
+        account.setCode(updated.getCode());
+        account.setVersion(updated.getVersion());
+      }
+      if (updated.getStorageWasCleared()) {
+        account.clearStorage();
+      }
+      updated.getUpdatedStorage().forEach(account::setStorageValue);
+    }
+  }
+
+  private boolean isOnlyCreditedBeneficiary(final UpdateTrackingAccount<Account> updated) {
+    final ReadRecordingWorldView reads = wrappedWorldView();
+    return reads.isBeneficiaryOnlyCredited()
+        && updated.getAddress().equals(reads.miningBeneficiary);
+  }
+
+  private static Wei beneficiaryCredit(final UpdateTrackingAccount<Account> beneficiary) {
+    final Account original = beneficiary.getWrappedAccount();
+    return original == null
+        ? beneficiary.getBalance()
+        : beneficiary.getBalance().minus(original.getBalance());
+  }
+
+  /**
+   * Whether the credit of the fee to the beneficiary depends on its state, which is the case when
+   * the credit is zero: the beneficiary is then created or deleted depending on whether it exists
+   * and is empty, so the transaction needs to be executed against the actual world state.
+   */
+  private boolean isCreditDependingOnState() {
+    final ReadRecordingWorldView reads = wrappedWorldView();
+    if (!reads.isBeneficiaryOnlyCredited()) {
+      return false;
+    }
+    for (final UpdateTrackingAccount<Account> updated : updatedAccounts()) {
+      if (updated.getAddress().equals(reads.miningBeneficiary)) {
+        final Account original = updated.getWrappedAccount();
+        return original == null
+            ? updated.getBalance().isZero()
+            : updated.getBalance().compareTo(original.getBalance()) <= 0;
+      }
+    }
+    // The beneficiary was deleted, being empty.
+    return true;
+  }
+
+  /**
+   * The world state a transaction is executed against, recording the accounts and storage slots
+   * read from it.
+   */
+  static class ReadRecordingWorldView implements WorldView {
+
+    private final WorldView world;
+    private final Address miningBeneficiary;
+    private final Set<Address> accountReads = new HashSet<>();
+    private final Map<Address, Set<UInt256>> storageReads = new HashMap<>();
+    private final Set<Address> storageScans = new HashSet<>();
+    private boolean beneficiaryObserved;
+    private boolean beneficiaryCredited;
+    private boolean creditingBeneficiary;
+
+    private ReadRecordingWorldView(final WorldView world, final Address miningBeneficiary) {
+      this.world = world;
+      this.miningBeneficiary = miningBeneficiary;
+    }
+
+    @Override
+    public Account get(final Address address) {
+      if (!address.equals(miningBeneficiary)) {
+        accountReads.add(address);
+      } else if (!creditingBeneficiary) {
+        beneficiaryObserved = true;
+        accountReads.add(address);
+      }
+      final Account account = world.get(address);
+      return account == null ? null : new RecordingAccount(account);
+    }
+
+    private boolean isBeneficiaryOnlyCredited() {
+      return beneficiaryCredited && !beneficiaryObserved;
+    }
+
+    /** An account of the underlying world state, recording the storage slots read from it. */
+    private class RecordingAccount implements Account {
+
+      private final Account account;
+
+      private RecordingAccount(final Account account) {
+        this.account = account;
+      }
+
+      @Override
+      public Address getAddress() {
+        return account.getAddress();
+      }
+
+      @Override
+      public Hash getAddressHash() {
+        return account.getAddressHash();
+      }
+
+      @Override
+      public long getNonce() {
+        return account.getNonce();
+      }
+
+      @Override
+      public Wei getBalance() {
+        return account.getBalance();
+      }
+
+      @Override
+      public BytesValue getCode() {
+        return account.getCode();
+      }
+
+      @Override
+      public Hash getCodeHash() {
+        return account.getCodeHash();
+      }
+
+      @Override
+      public boolean hasCode() {
+        return account.hasCode();
+      }
+
+      @Override
+      public int getVersion() {
+        return account.getVersion();
+      }
+
+      @Override
+      public UInt256 getStorageValue(final UInt256 key) {
+        recordStorageRead(key);
+        return account.getStorageValue(key);
+      }
+
+      @Override
+      public UInt256 getOriginalStorageValue(final UInt256 key) {
+        recordStorageRead(key);
+        return account.getOriginalStorageValue(key);
+      }
+
+      @Override
+      public NavigableMap<Bytes32, AccountStorageEntry> storageEntriesFrom(
+          final Bytes32 startKeyHash, final int limit) {
+        storageScans.add(account.getAddress());
+        return account.storageEntriesFrom(startKeyHash, limit);
+      }
+
+      private void recordStorageRead(final UInt256 key) {
+        storageReads.computeIfAbsent(account.getAddress(), address -> new HashSet<>()).add(key);
+      }
+    }
+  }
+
+  /** The updates made to the world state by the transactions of a block processed so far. */
+  static class BlockUpdates {
+
+    // Accounts whose nonce, balance or code changed, or which were created or deleted.
+    private final Set<Address> accounts = new HashSet<>();
+    // Accounts whose storage was cleared, including by being created or deleted.
+    private final Set<Address> clearedStorage = new HashSet<>();
+    private final Map<Address, Set<UInt256>> storage = new HashMap<>();
+
+    /**
+     * Whether the provided updater read anything these updates wrote, in which case the
+     * transaction it executed must be executed again against the updated world state.
+     *
+     * @param updater The updater of a transaction executed against an earlier world state.
+     * @return true if the execution of the transaction may depend on these updates.
+     */
+    boolean conflictsWith(final SpeculativeWorldUpdater updater) {
+      if (updater.isCreditDependingOnState()) {
+        return true;
+      }
+      final ReadRecordingWorldView reads = updater.wrappedWorldView();
+      for (final Address address : reads.accountReads) {
+        if (accounts.contains(address)) {
+          return true;
+        }
+      }
+      for (final Map.Entry<Address, Set<UInt256>> slotReads : reads.storageReads.entrySet()) {
+        final Address address = slotReads.getKey();
+        if (clearedStorage.contains(address)) {
+          return true;
+        }
+        final Set<UInt256> written = storage.get(address);
+        if (written != null && slotReads.getValue().stream().anyMatch(written::contains)) {
+          return true;
+        }
+      }
+      for (final Address address : reads.storageScans) {
+        if (clearedStorage.contains(address) || storage.containsKey(address)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Adds the updates of the provided updater, once applied to the world state.
+     *
+     * @param updater The updater of the transaction which was just applied.
+     */
+    void add(final SpeculativeWorldUpdater updater) {
+      for (final Address address : updater.deletedAccounts()) {
+        accounts.add(address);
+        clearedStorage.add(address);
+      }
+      for (final UpdateTrackingAccount<Account> updated : updater.updatedAccounts()) {
+        final Address address = updated.getAddress();
+        final Account original = updated.getWrappedAccount();
+        if (original == null || updated.getStorageWasCleared()) {
+          accounts.add(address);
+          clearedStorage.add(address);
+        } else if (updated.getNonce() != original.getNonce()
+            || !updated.getBalance().equals(original.getBalance())
+            || updated.codeWasUpdated()) {
+          accounts.add(address);
+        }
+        if (!updated.getUpdatedStorage().isEmpty()) {
+          storage
+              .computeIfAbsent(address, a -> new HashSet<>())
+              .addAll(updated.getUpdatedStorage().keySet());
+        }
+      }
+    }
+  }
+}
@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LazyBlockBody;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorage;
@@ -88,6 +89,27 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
   }
 
+  @Override
+  public Optional<BytesValue> getBlockHeaderRlp(final Hash blockHash) {
+    return get(BLOCK_HEADER_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockBodyRlp(final Hash blockHash) {
+    return get(BLOCK_BODY_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<LazyBlockBody> getLazyBlockBody(final Hash blockHash) {
+    return getBlockBodyRlp(blockHash)
+        .map(bytesValue -> LazyBlockBody.fromRlp(bytesValue, blockHeaderFunctions));
+  }
+
+  @Override
+  public Optional<BytesValue> getTransactionReceiptsRlp(final Hash blockHash) {
+    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash);
+  }
+
   @Override
   public Optional<Hash> getBlockHash(final long blockNumber) {
     return get(BLOCK_HASH_PREFIX, UInt256Bytes.of(blockNumber)).map(this::bytesToHash);
@@ -131,12 +153,12 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
 
     @Override
     public void putBlockHeader(final Hash blockHash, final BlockHeader blockHeader) {
-      set(BLOCK_HEADER_PREFIX, blockHash, RLP.encode(blockHeader::writeTo));
+      set(BLOCK_HEADER_PREFIX, blockHash, blockHeader.encoded());
     }
 
     @Override
     public void putBlockBody(final Hash blockHash, final BlockBody blockBody) {
-      set(BLOCK_BODY_PREFIX, blockHash, RLP.encode(blockBody::writeTo));
+      set(BLOCK_BODY_PREFIX, blockHash, blockBody.encoded());
     }
 
     @Override
@@ -23,6 +23,7 @@ import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStatePreimageStorage;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 
 import java.io.IOException;
 
@@ -34,7 +35,9 @@ public class KeyValueStorageProvider implements StorageProvider {
   private final KeyValueStorage privateTransactionStorage;
   private final KeyValueStorage privateStateStorage;
   private final KeyValueStorage pruningStorage;
+  private final KeyValueStorage bloomBitsStorage;
   private final boolean isWorldStateIterable;
+  private final TrieNodeCache trieNodeCache;
 
   public KeyValueStorageProvider(
       final KeyValueStorage blockchainStorage,
@@ -44,13 +47,37 @@ public class KeyValueStorageProvider implements StorageProvider {
       final KeyValueStorage privateStateStorage,
       final KeyValueStorage pruningStorage,
       final boolean isWorldStateIterable) {
+    this(
+        blockchainStorage,
+        worldStateStorage,
+        worldStatePreimageStorage,
+        privateTransactionStorage,
+        privateStateStorage,
+        pruningStorage,
+        new InMemoryKeyValueStorage(),
+        isWorldStateIterable,
+        TrieNodeCache.disabled());
+  }
+
+  public KeyValueStorageProvider(
+      final KeyValueStorage blockchainStorage,
+      final KeyValueStorage worldStateStorage,
+      final KeyValueStorage worldStatePreimageStorage,
+      final KeyValueStorage privateTransactionStorage,
+      final KeyValueStorage privateStateStorage,
+      final KeyValueStorage pruningStorage,
+      final KeyValueStorage bloomBitsStorage,
+      final boolean isWorldStateIterable,
+      final TrieNodeCache trieNodeCache) {
     this.blockchainStorage = blockchainStorage;
     this.worldStateStorage = worldStateStorage;
     this.worldStatePreimageStorage = worldStatePreimageStorage;
     this.privateTransactionStorage = privateTransactionStorage;
     this.privateStateStorage = privateStateStorage;
     this.pruningStorage = pruningStorage;
+    this.bloomBitsStorage = bloomBitsStorage;
     this.isWorldStateIterable = isWorldStateIterable;
+    this.trieNodeCache = trieNodeCache;
   }
 
   @Override
@@ -61,7 +88,9 @@ public class KeyValueStorageProvider implements StorageProvider {
 
   @Override
   public WorldStateStorage createWorldStateStorage() {
-    return new WorldStateKeyValueStorage(worldStateStorage);
+    // The cache is shared by all the world state storages created from this provider, so that nodes
+    // pruned through any of them are dropped from it.
+    return new WorldStateKeyValueStorage(worldStateStorage, trieNodeCache);
   }
 
   @Override
@@ -84,6 +113,11 @@ public class KeyValueStorageProvider implements StorageProvider {
     return pruningStorage;
   }
 
+  @Override
+  public KeyValueStorage createBloomBitsStorage() {
+    return bloomBitsStorage;
+  }
+
   @Override
   public boolean isWorldStateIterable() {
     return isWorldStateIterable;
@@ -96,5 +130,6 @@ public class KeyValueStorageProvider implements StorageProvider {
     privateTransactionStorage.close();
     privateStateStorage.close();
     pruningStorage.close();
+    bloomBitsStorage.close();
   }
 }
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.storage.keyvalue;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.BLOCKCHAIN;
+import static tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.BLOOM_BITS;
 import static tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.PRIVATE_STATE;
 import static tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.PRIVATE_TRANSACTIONS;
 import static tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.PRUNING_STATE;
@@ -32,6 +33,7 @@ public class KeyValueStorageProviderBuilder {
   private KeyValueStorageFactory storageFactory;
   private PantheonConfiguration commonConfiguration;
   private MetricsSystem metricsSystem;
+  private long trieNodeCacheSize = 0;
 
   public KeyValueStorageProviderBuilder withStorageFactory(
       final KeyValueStorageFactory storageFactory) {
@@ -50,6 +52,11 @@ public class KeyValueStorageProviderBuilder {
     return this;
   }
 
+  public KeyValueStorageProviderBuilder withTrieNodeCacheSize(final long trieNodeCacheSize) {
+    this.trieNodeCacheSize = trieNodeCacheSize;
+    return this;
+  }
+
   public KeyValueStorageProvider build() {
     checkNotNull(storageFactory, "Cannot build a storage provider without a storage factory.");
     checkNotNull(
@@ -67,6 +74,8 @@ public class KeyValueStorageProviderBuilder {
         storageFactory.create(PRIVATE_TRANSACTIONS, commonConfiguration, metricsSystem),
         storageFactory.create(PRIVATE_STATE, commonConfiguration, metricsSystem),
         storageFactory.create(PRUNING_STATE, commonConfiguration, metricsSystem),
-        storageFactory.isSegmentIsolationSupported());
+        storageFactory.create(BLOOM_BITS, commonConfiguration, metricsSystem),
+        storageFactory.isSegmentIsolationSupported(),
+        new TrieNodeCache(trieNodeCacheSize, metricsSystem));
   }
 }
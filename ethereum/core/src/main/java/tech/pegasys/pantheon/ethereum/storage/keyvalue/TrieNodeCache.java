@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.keyvalue;
+
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.plugin.services.MetricsSystem;
+import tech.pegasys.pantheon.plugin.services.metrics.Counter;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+
+/**
+ * A bounded, thread-safe cache of world state trie nodes, keyed by node hash.
+ *
+ * <p>Importing a block reads the upper levels of the tries the previous block just wrote, so nodes
+ * are cached both when read from and when written to storage. The cache is bounded by the total
+ * size of the nodes it holds rather than by their number, as nodes range from a few dozen bytes to
+ * over 500 bytes for full branches.
+ *
+ * <p>Nodes being keyed by their hash, a cached node can never be stale: it only needs to be
+ * invalidated once removed from storage.
+ */
+public class TrieNodeCache {
+
+  /** The default bound on the total size, in bytes, of the cached nodes. */
+  public static final long DEFAULT_MAX_BYTES = 64 * 1024 * 1024;
+
+  // Rough size of the key, of the value wrapper and of the cache entry holding them.
+  private static final int ENTRY_OVERHEAD = 160;
+
+  private final Cache<Bytes32, BytesValue> cache;
+  private final boolean enabled;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter evictionCounter;
+
+  public TrieNodeCache(final long maxBytes, final MetricsSystem metricsSystem) {
+    enabled = maxBytes > 0;
+    hitCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.WORLD_STATE,
+            "trie_node_cache_hits_total",
+            "Total number of trie node cache hits");
+    missCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.WORLD_STATE,
+            "trie_node_cache_misses_total",
+            "Total number of trie node cache misses");
+    evictionCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.WORLD_STATE,
+            "trie_node_cache_evictions_total",
+            "Total number of trie node cache evictions");
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(Math.max(maxBytes, 0))
+            .<Bytes32, BytesValue>weigher((hash, node) -> node.size() + ENTRY_OVERHEAD)
+            .removalListener(
+                notification -> {
+                  if (notification.getCause() == RemovalCause.SIZE) {
+                    evictionCounter.inc();
+                  }
+                })
+            .build();
+  }
+
+  /** @return A cache which holds nothing, so that every read goes to storage. */
+  public static TrieNodeCache disabled() {
+    return new TrieNodeCache(0, new NoOpMetricsSystem());
+  }
+
+  /**
+   * Returns the node with the provided hash, loading and caching it if necessary.
+   *
+   * @param nodeHash The hash of the node.
+   * @param loader Loads the node from storage when it isn't cached.
+   * @return The node, or empty if it is neither cached nor in storage.
+   */
+  public Optional<BytesValue> getOrLoad(
+      final Bytes32 nodeHash, final Function<Bytes32, Optional<BytesValue>> loader) {
+    if (!enabled) {
+      return loader.apply(nodeHash);
+    }
+    final Optional<BytesValue> cached = getIfPresent(nodeHash);
+    if (cached.isPresent()) {
+      return cached;
+    }
+    final Optional<BytesValue> loaded = loader.apply(nodeHash);
+    loaded.ifPresent(node -> cache.put(nodeHash, node));
+    return loaded;
+  }
+
+  /**
+   * Returns the node with the provided hash if cached, without loading it otherwise.
+   *
+   * @param nodeHash The hash of the node.
+   * @return The node if cached, empty otherwise.
+   */
+  public Optional<BytesValue> getIfPresent(final Bytes32 nodeHash) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    final BytesValue node = cache.getIfPresent(nodeHash);
+    if (node == null) {
+      missCounter.inc();
+      return Optional.empty();
+    }
+    hitCounter.inc();
+    return Optional.of(node);
+  }
+
+  /**
+   * Caches nodes which have just been written to storage.
+   *
+   * @param nodes The written nodes, by hash.
+   */
+  public void putAll(final Map<Bytes32, BytesValue> nodes) {
+    if (enabled) {
+      cache.putAll(nodes);
+    }
+  }
+
+  /**
+   * Drops the node with the provided hash, which has been removed from storage.
+   *
+   * @param nodeHash The hash of the removed node.
+   */
+  public void invalidate(final Bytes32 nodeHash) {
+    cache.invalidate(nodeHash);
+  }
+
+  /** Drops every cached node, typically once an unknown set of nodes was removed from storage. */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /** @return The number of nodes currently cached. */
+  public long size() {
+    return cache.size();
+  }
+}
@@ -22,17 +22,32 @@ import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class WorldStateKeyValueStorage implements WorldStateStorage {
 
+  private static final int PRUNE_BATCH_SIZE = 1000;
+
   private final Subscribers<NodesAddedListener> nodeAddedListeners = Subscribers.create();
   private final KeyValueStorage keyValueStorage;
+  private final TrieNodeCache trieNodeCache;
 
   public WorldStateKeyValueStorage(final KeyValueStorage keyValueStorage) {
+    this(keyValueStorage, TrieNodeCache.disabled());
+  }
+
+  public WorldStateKeyValueStorage(
+      final KeyValueStorage keyValueStorage, final TrieNodeCache trieNodeCache) {
     this.keyValueStorage = keyValueStorage;
+    this.trieNodeCache = trieNodeCache;
   }
 
   @Override
@@ -58,10 +73,14 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
     if (nodeHash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE);
     } else {
-      return keyValueStorage.get(nodeHash.getArrayUnsafe()).map(BytesValue::wrap);
+      return trieNodeCache.getOrLoad(nodeHash, this::loadTrieNode);
     }
   }
 
+  private Optional<BytesValue> loadTrieNode(final Bytes32 nodeHash) {
+    return keyValueStorage.get(nodeHash.getArrayUnsafe()).map(BytesValue::wrap);
+  }
+
   @Override
   public Optional<BytesValue> getNodeData(final Bytes32 hash) {
     if (hash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
@@ -69,8 +88,46 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
     } else if (hash.equals(Hash.EMPTY)) {
       return Optional.of(BytesValue.EMPTY);
     } else {
-      return keyValueStorage.get(hash.getArrayUnsafe()).map(BytesValue::wrap);
+      // Nodes requested by peers aren't cached, so that serving a syncing peer doesn't evict the
+      // nodes the import of the next block needs.
+      final Optional<BytesValue> cached = trieNodeCache.getIfPresent(hash);
+      return cached.isPresent()
+          ? cached
+          : keyValueStorage.get(hash.getArrayUnsafe()).map(BytesValue::wrap);
+    }
+  }
+
+  @Override
+  public List<Optional<BytesValue>> getNodeData(final List<? extends Bytes32> hashes) {
+    final List<Optional<BytesValue>> cached = new ArrayList<>(hashes.size());
+    final List<byte[]> keys = new ArrayList<>(hashes.size());
+    for (final Bytes32 hash : hashes) {
+      if (hash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH) || hash.equals(Hash.EMPTY)) {
+        cached.add(Optional.empty());
+      } else {
+        final Optional<BytesValue> node = trieNodeCache.getIfPresent(hash);
+        cached.add(node);
+        if (node.isEmpty()) {
+          keys.add(hash.getArrayUnsafe());
+        }
+      }
     }
+    final Iterator<Optional<byte[]>> values = keyValueStorage.multiGet(keys).iterator();
+
+    final List<Optional<BytesValue>> result = new ArrayList<>(hashes.size());
+    for (int i = 0; i < hashes.size(); i++) {
+      final Bytes32 hash = hashes.get(i);
+      if (hash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
+        result.add(Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE));
+      } else if (hash.equals(Hash.EMPTY)) {
+        result.add(Optional.of(BytesValue.EMPTY));
+      } else if (cached.get(i).isPresent()) {
+        result.add(cached.get(i));
+      } else {
+        result.add(values.next().map(BytesValue::wrap));
+      }
+    }
+    return result;
   }
 
   @Override
@@ -80,12 +137,36 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
 
   @Override
   public Updater updater() {
-    return new Updater(keyValueStorage.startTransaction(), nodeAddedListeners);
+    return new Updater(keyValueStorage.startTransaction(), nodeAddedListeners, trieNodeCache);
   }
 
+  /**
+   * Removes the nodes which aren't in use, iterating over the keys in order and removing unused
+   * ones in batches rather than with one write per node.
+   */
   @Override
   public long prune(final Predicate<byte[]> inUseCheck) {
-    return keyValueStorage.removeAllKeysUnless(inUseCheck);
+    long prunedNodeCount = 0;
+    try (final Stream<byte[]> keys = keyValueStorage.streamKeys(new byte[0])) {
+      KeyValueStorageTransaction transaction = keyValueStorage.startTransaction();
+      int batchSize = 0;
+      for (final Iterator<byte[]> iterator = keys.iterator(); iterator.hasNext(); ) {
+        final byte[] key = iterator.next();
+        if (!inUseCheck.test(key)) {
+          transaction.remove(key);
+          prunedNodeCount++;
+          if (++batchSize == PRUNE_BATCH_SIZE) {
+            transaction.commit();
+            transaction = keyValueStorage.startTransaction();
+            batchSize = 0;
+          }
+        }
+      }
+      transaction.commit();
+    } finally {
+      trieNodeCache.invalidateAll();
+    }
+    return prunedNodeCount;
   }
 
   @Override
@@ -102,17 +183,30 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
 
     private final KeyValueStorageTransaction transaction;
     private final Subscribers<NodesAddedListener> nodeAddedListeners;
+    private final TrieNodeCache trieNodeCache;
     private final List<Bytes32> addedNodes = new ArrayList<>();
+    private final Map<Bytes32, BytesValue> addedTrieNodes = new HashMap<>();
+    private final Set<Bytes32> removedTrieNodes = new HashSet<>();
 
     public Updater(
         final KeyValueStorageTransaction transaction,
         final Subscribers<NodesAddedListener> nodeAddedListeners) {
+      this(transaction, nodeAddedListeners, TrieNodeCache.disabled());
+    }
+
+    public Updater(
+        final KeyValueStorageTransaction transaction,
+        final Subscribers<NodesAddedListener> nodeAddedListeners,
+        final TrieNodeCache trieNodeCache) {
       this.transaction = transaction;
       this.nodeAddedListeners = nodeAddedListeners;
+      this.trieNodeCache = trieNodeCache;
     }
 
     @Override
     public Updater removeAccountStateTrieNode(final Bytes32 nodeHash) {
+      addedTrieNodes.remove(nodeHash);
+      removedTrieNodes.add(nodeHash);
       transaction.remove(nodeHash.getArrayUnsafe());
       return this;
     }
@@ -136,6 +230,8 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
         return this;
       }
       addedNodes.add(nodeHash);
+      addedTrieNodes.put(nodeHash, node);
+      removedTrieNodes.remove(nodeHash);
       transaction.put(nodeHash.getArrayUnsafe(), node.getArrayUnsafe());
       return this;
     }
@@ -147,6 +243,8 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
         return this;
       }
       addedNodes.add(nodeHash);
+      addedTrieNodes.put(nodeHash, node);
+      removedTrieNodes.remove(nodeHash);
       transaction.put(nodeHash.getArrayUnsafe(), node.getArrayUnsafe());
       return this;
     }
@@ -155,6 +253,10 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
     public void commit() {
       nodeAddedListeners.forEach(listener -> listener.onNodesAdded(addedNodes));
       transaction.commit();
+      // Only cache the nodes once committed, so that readers never see nodes which may be rolled
+      // back.
+      removedTrieNodes.forEach(trieNodeCache::invalidate);
+      trieNodeCache.putAll(addedTrieNodes);
     }
 
     @Override
@@ -12,12 +12,10 @@
  */
 package tech.pegasys.pantheon.ethereum.vm;
 
-import tech.pegasys.pantheon.ethereum.vm.operations.JumpDestOperation;
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
-import java.util.BitSet;
-
 import com.google.common.base.MoreObjects;
 
 /** Represents EVM code associated with an account. */
@@ -26,8 +24,11 @@ public class Code {
   /** The bytes representing the code. */
   private final BytesValue bytes;
 
-  /** Used to cache valid jump destinations. */
-  private BitSet validJumpDestinations;
+  /** The hash of the code, if known or once computed. */
+  private Hash codeHash;
+
+  /** Used to cache the analysis of the code (valid jump destinations and decoded operations). */
+  private CodeAnalysis analysis;
 
   /**
    * Public constructor.
@@ -38,6 +39,18 @@ public class Code {
     this.bytes = bytes;
   }
 
+  /**
+   * Public constructor, to use when the hash of the code is already known (as for the code of an
+   * existing account).
+   *
+   * @param bytes The byte representation of the code.
+   * @param codeHash The hash of {@code bytes}.
+   */
+  public Code(final BytesValue bytes, final Hash codeHash) {
+    this.bytes = bytes;
+    this.codeHash = codeHash;
+  }
+
   public Code() {
     this(BytesValue.EMPTY);
   }
@@ -83,25 +96,38 @@ public class Code {
     final int jumpDestination = destination.toInt();
     if (jumpDestination > getSize()) return false;
 
-    if (validJumpDestinations == null) {
-      // Calculate valid jump destinations
-      validJumpDestinations = new BitSet(getSize());
-      evm.forEachOperation(
-          this,
-          frame.getContractAccountVersion(),
-          (final Operation op, final Integer offset) -> {
-            if (op.getOpcode() == JumpDestOperation.OPCODE) {
-              validJumpDestinations.set(offset);
-            }
-          });
+    return getAnalysis(evm, frame.getContractAccountVersion())
+        .isValidJumpDestination(jumpDestination);
+  }
+
+  /**
+   * Returns the analysis of this code for the provided EVM.
+   *
+   * @param evm the EVM executing this code
+   * @param contractAccountVersion The version of the account this code belongs to.
+   * @return The analysis of this code.
+   */
+  public CodeAnalysis getAnalysis(final EVM evm, final int contractAccountVersion) {
+    CodeAnalysis result = analysis;
+    if (result == null || !result.isAnalysisFor(evm, contractAccountVersion)) {
+      result = evm.getCodeCache().getOrAnalyse(evm, this, contractAccountVersion);
+      analysis = result;
     }
-    return validJumpDestinations.get(jumpDestination);
+    return result;
   }
 
   public BytesValue getBytes() {
     return bytes;
   }
 
+  /** @return The hash of the code bytes. */
+  public Hash getCodeHash() {
+    if (codeHash == null) {
+      codeHash = Hash.hash(bytes);
+    }
+    return codeHash;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this).add("bytes", bytes).toString();
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import tech.pegasys.pantheon.ethereum.vm.operations.JumpDestOperation;
+
+import java.util.BitSet;
+
+/**
+ * The immutable result of analysing some {@link Code} for a given {@link EVM}, which only depends on
+ * the code bytes, on the contract account version and on the EVM's operations, so can be shared by
+ * all executions of the same code.
+ *
+ * <p>Besides the valid jump destinations, the analysis holds the code pre-decoded into a dense
+ * array of operations indexed by offset, along with the stack requirements and program counter
+ * increment of each of them, which lets {@link EVM} dispatch operations without looking them up
+ * in the registry nor querying them for their metadata on every step.
+ */
+public class CodeAnalysis {
+
+  private static final int INVALID_OPCODE = 0xfe;
+
+  private final EVM evm;
+  private final int contractAccountVersion;
+  private final int codeSize;
+  private final BitSet validJumpDestinations;
+  // Indexed by offset, null for offsets in push data and for the designated invalid operation.
+  private final Operation[] operations;
+  private final byte[] stackItemsConsumed;
+  private final byte[] stackSizeChanges;
+  // The op size, or 0 for operations that update the program counter themselves.
+  private final byte[] programCounterIncrements;
+
+  private CodeAnalysis(
+      final EVM evm,
+      final int contractAccountVersion,
+      final int codeSize,
+      final BitSet validJumpDestinations,
+      final Operation[] operations,
+      final byte[] stackItemsConsumed,
+      final byte[] stackSizeChanges,
+      final byte[] programCounterIncrements) {
+    this.evm = evm;
+    this.contractAccountVersion = contractAccountVersion;
+    this.codeSize = codeSize;
+    this.validJumpDestinations = validJumpDestinations;
+    this.operations = operations;
+    this.stackItemsConsumed = stackItemsConsumed;
+    this.stackSizeChanges = stackSizeChanges;
+    this.programCounterIncrements = programCounterIncrements;
+  }
+
+  static CodeAnalysis analyse(final EVM evm, final Code code, final int contractAccountVersion) {
+    final int codeSize = code.getSize();
+    final BitSet validJumpDestinations = new BitSet(codeSize);
+    final Operation[] operations = new Operation[codeSize];
+    final byte[] stackItemsConsumed = new byte[codeSize];
+    final byte[] stackSizeChanges = new byte[codeSize];
+    final byte[] programCounterIncrements = new byte[codeSize];
+    evm.forEachOperation(
+        code,
+        contractAccountVersion,
+        (final Operation op, final Integer offset) -> {
+          if (op.getOpcode() == JumpDestOperation.OPCODE) {
+            validJumpDestinations.set(offset);
+          }
+          if (op.getOpcode() != INVALID_OPCODE) {
+            operations[offset] = op;
+            stackItemsConsumed[offset] = (byte) op.getStackItemsConsumed();
+            stackSizeChanges[offset] = (byte) op.getStackSizeChange();
+            programCounterIncrements[offset] =
+                (byte) (op.getUpdatesProgramCounter() ? 0 : op.getOpSize());
+          }
+        });
+    return new CodeAnalysis(
+        evm,
+        contractAccountVersion,
+        codeSize,
+        validJumpDestinations,
+        operations,
+        stackItemsConsumed,
+        stackSizeChanges,
+        programCounterIncrements);
+  }
+
+  /**
+   * @param evm An EVM.
+   * @param contractAccountVersion A contract account version.
+   * @return Whether this is the analysis of the code for {@code evm} and {@code
+   *     contractAccountVersion}.
+   */
+  boolean isAnalysisFor(final EVM evm, final int contractAccountVersion) {
+    return this.evm == evm && this.contractAccountVersion == contractAccountVersion;
+  }
+
+  /** @return The size of the analysed code, in bytes. */
+  public int getCodeSize() {
+    return codeSize;
+  }
+
+  /**
+   * @param offset An offset in the analysed code.
+   * @return Whether {@code offset} is the offset of a JUMPDEST operation.
+   */
+  public boolean isValidJumpDestination(final int offset) {
+    return validJumpDestinations.get(offset);
+  }
+
+  /**
+   * Returns the pre-decoded operation at the provided offset.
+   *
+   * @param offset An offset in the analysed code.
+   * @return The operation starting at {@code offset}, or null if there is none that can be
+   *     dispatched directly (the offset being past the end of the code or in push data, or the
+   *     operation being invalid), in which case the operation must be looked up and validated the
+   *     regular way.
+   */
+  Operation getOperation(final int offset) {
+    return offset < codeSize ? operations[offset] : null;
+  }
+
+  int getStackItemsConsumed(final int offset) {
+    return stackItemsConsumed[offset];
+  }
+
+  int getStackSizeChange(final int offset) {
+    return stackSizeChanges[offset];
+  }
+
+  int getProgramCounterIncrement(final int offset) {
+    return programCounterIncrements[offset];
+  }
+}
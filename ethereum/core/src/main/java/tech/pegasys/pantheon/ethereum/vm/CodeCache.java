@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.plugin.services.MetricsSystem;
+import tech.pegasys.pantheon.plugin.services.metrics.Counter;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * A bounded, thread-safe cache of {@link CodeAnalysis}, keyed by code hash and EVM.
+ *
+ * <p>Analysing code (finding its valid jump destinations and decoding its operations) is linear in
+ * the code size and the same popular contracts are entered many times per block, so the analysis is
+ * shared across frames, transactions, blocks and RPC calls. The cache is bounded by the total size
+ * of the code it holds the analysis of, each byte of code taking roughly a dozen bytes of analysis.
+ */
+public class CodeCache {
+
+  /** The default bound on the total size, in bytes, of the code whose analysis is cached. */
+  public static final long DEFAULT_MAX_CODE_BYTES = 8 * 1024 * 1024;
+
+  private final Cache<Key, CodeAnalysis> cache;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter evictionCounter;
+
+  public CodeCache(final long maxCodeBytes, final MetricsSystem metricsSystem) {
+    hitCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.EVM,
+            "code_cache_hits_total",
+            "Total number of code analysis cache hits");
+    missCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.EVM,
+            "code_cache_misses_total",
+            "Total number of code analysis cache misses");
+    evictionCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.EVM,
+            "code_cache_evictions_total",
+            "Total number of code analysis cache evictions");
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxCodeBytes)
+            .<Key, CodeAnalysis>weigher((key, analysis) -> Math.max(analysis.getCodeSize(), 1))
+            .removalListener(
+                notification -> {
+                  if (notification.getCause() == RemovalCause.SIZE) {
+                    evictionCounter.inc();
+                  }
+                })
+            .build();
+  }
+
+  /** @return A cache with the default bound, which doesn't report metrics. */
+  public static CodeCache createDefault() {
+    return new CodeCache(DEFAULT_MAX_CODE_BYTES, new NoOpMetricsSystem());
+  }
+
+  /**
+   * Returns the analysis of the provided code, computing and caching it if necessary.
+   *
+   * @param evm The EVM executing the code.
+   * @param code The code to analyse.
+   * @param contractAccountVersion The version of the account the code belongs to.
+   * @return The analysis of {@code code}.
+   */
+  public CodeAnalysis getOrAnalyse(
+      final EVM evm, final Code code, final int contractAccountVersion) {
+    final Key key = new Key(evm, code.getCodeHash(), contractAccountVersion);
+    final CodeAnalysis cached = cache.getIfPresent(key);
+    if (cached != null) {
+      hitCounter.inc();
+      return cached;
+    }
+    missCounter.inc();
+    try {
+      return cache.get(key, () -> CodeAnalysis.analyse(evm, code, contractAccountVersion));
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      throw new IllegalStateException("Unable to analyse code " + key.codeHash, e.getCause());
+    }
+  }
+
+  /** @return The number of code analysis currently cached. */
+  public long size() {
+    return cache.size();
+  }
+
+  private static class Key {
+    // The decoded operations depend on the EVM, which differs between milestones.
+    private final EVM evm;
+    private final Hash codeHash;
+    private final int contractAccountVersion;
+
+    private Key(final EVM evm, final Hash codeHash, final int contractAccountVersion) {
+      this.evm = evm;
+      this.codeHash = codeHash;
+      this.contractAccountVersion = contractAccountVersion;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key key = (Key) o;
+      return evm == key.evm
+          && contractAccountVersion == key.contractAccountVersion
+          && codeHash.equals(key.codeHash);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(evm), codeHash, contractAccountVersion);
+    }
+  }
+}
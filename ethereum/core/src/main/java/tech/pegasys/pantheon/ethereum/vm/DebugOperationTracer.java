@@ -21,6 +21,7 @@ import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
 import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.ArrayList;
@@ -29,14 +30,37 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 
 public class DebugOperationTracer implements OperationTracer {
 
   private final TraceOptions options;
   private final List<TraceFrame> traceFrames = new ArrayList<>();
+  private final Consumer<TraceFrame> traceFrameConsumer;
+
+  // Consecutive trace frames share the parts of the memory and storage they have in common, so
+  // that a long trace doesn't hold a copy of the whole memory and storage for each of its frames.
+  private MessageFrame memoryFrame;
+  private Bytes32[] memory;
+  private MessageFrame storageFrame;
+  private Map<UInt256, UInt256> storage;
 
   public DebugOperationTracer(final TraceOptions options) {
     this.options = options;
+    this.traceFrameConsumer = traceFrames::add;
+  }
+
+  /**
+   * Creates a tracer which hands each trace frame to the given consumer as it is captured rather
+   * than collecting them, so that the frames of a trace needn't all be held at once.
+   *
+   * @param options which parts of the execution state to capture.
+   * @param traceFrameConsumer the consumer of each trace frame.
+   */
+  public DebugOperationTracer(
+      final TraceOptions options, final Consumer<TraceFrame> traceFrameConsumer) {
+    this.options = options;
+    this.traceFrameConsumer = traceFrameConsumer;
   }
 
   @Override
@@ -57,10 +81,10 @@ public class DebugOperationTracer implements OperationTracer {
     try {
       executeOperation.execute();
     } finally {
-      final Optional<Map<UInt256, UInt256>> storage = captureStorage(frame);
+      final Optional<Map<UInt256, UInt256>> storage = captureStorage(frame, opcode);
       final Optional<Map<Address, Wei>> maybeRefunds =
           frame.getRefunds().isEmpty() ? Optional.empty() : Optional.of(frame.getRefunds());
-      traceFrames.add(
+      traceFrameConsumer.accept(
           new TraceFrame(
               pc,
               opcode,
@@ -76,24 +100,37 @@ public class DebugOperationTracer implements OperationTracer {
     }
   }
 
-  private Optional<Map<UInt256, UInt256>> captureStorage(final MessageFrame frame) {
+  private Optional<Map<UInt256, UInt256>> captureStorage(
+      final MessageFrame frame, final String opcode) {
     if (!options.isStorageEnabled()) {
       return Optional.empty();
     }
-    final Map<UInt256, UInt256> storageContents =
-        new TreeMap<>(
-            frame.getWorldState().getMutable(frame.getRecipientAddress()).getUpdatedStorage());
-    return Optional.of(storageContents);
+    // The storage of a message frame only changes when it executes an SSTORE or when a frame it
+    // called commits, and that frame's operations are traced in between.
+    if (frame != storageFrame || "SSTORE".equals(opcode)) {
+      storageFrame = frame;
+      storage =
+          new TreeMap<>(
+              frame.getWorldState().getMutable(frame.getRecipientAddress()).getUpdatedStorage());
+    }
+    return Optional.of(storage);
   }
 
   private Optional<Bytes32[]> captureMemory(final MessageFrame frame) {
     if (!options.isMemoryEnabled()) {
       return Optional.empty();
     }
+    final Bytes32[] previousContents = frame == memoryFrame ? memory : new Bytes32[0];
     final Bytes32[] memoryContents = new Bytes32[frame.memoryWordSize().toInt()];
     for (int i = 0; i < memoryContents.length; i++) {
-      memoryContents[i] = Bytes32.wrap(frame.readMemory(UInt256.of(i).times(U_32), U_32), 0);
+      final BytesValue word = frame.readMemoryWithoutCopy(UInt256.of(i).times(U_32), U_32);
+      memoryContents[i] =
+          i < previousContents.length && previousContents[i].equals(word)
+              ? previousContents[i]
+              : Bytes32.wrap(word.extractArray());
     }
+    memoryFrame = frame;
+    memory = memoryContents;
     return Optional.of(memoryContents);
   }
 
@@ -33,19 +33,106 @@ public class EVM {
   private static final int STOP_OPCODE = 0x00;
   private final OperationRegistry operations;
   private final Operation invalidOperation;
+  private volatile CodeCache codeCache = CodeCache.createDefault();
 
   public EVM(final OperationRegistry operations, final Operation invalidOperation) {
     this.operations = operations;
     this.invalidOperation = invalidOperation;
   }
 
+  public CodeCache getCodeCache() {
+    return codeCache;
+  }
+
+  /**
+   * Replaces the cache of code analysis used by this EVM, typically to share a single cache
+   * between the EVMs of all the milestones of a protocol schedule.
+   *
+   * @param codeCache The code cache to use.
+   */
+  public void setCodeCache(final CodeCache codeCache) {
+    this.codeCache = codeCache;
+  }
+
   public void runToHalt(final MessageFrame frame, final OperationTracer operationTracer)
       throws ExceptionalHaltException {
+    if (operationTracer == OperationTracer.NO_TRACING && !LOG.isTraceEnabled()) {
+      runDecodedToHalt(frame);
+      return;
+    }
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
       executeNextOperation(frame, operationTracer);
     }
   }
 
+  /**
+   * Runs the frame's code using its pre-decoded operations when nothing observes the execution.
+   *
+   * <p>Operations which can execute (valid, with enough stack items and room on the stack, no
+   * operation specific halt condition and enough gas) are dispatched directly, without going
+   * through the tracer nor building a set of halt reasons. Anything else (invalid operations, the
+   * end of the code, any halt condition) is handed over to the regular path so that it gets
+   * reported exactly as it otherwise would.
+   */
+  private void runDecodedToHalt(final MessageFrame frame) throws ExceptionalHaltException {
+    final CodeAnalysis analysis =
+        frame.getCode().getAnalysis(this, frame.getContractAccountVersion());
+    final int maxStackSize = frame.getMaxStackSize();
+    // Only ever empty while the frame is executing, as any halt reason ends the execution.
+    final EnumSet<ExceptionalHaltReason> noHaltReasons = frame.getExceptionalHaltReasons();
+
+    while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+      final int pc = frame.getPC();
+      final Operation operation = analysis.getOperation(pc);
+      if (operation == null) {
+        executeNextOperation(frame, OperationTracer.NO_TRACING);
+        continue;
+      }
+      frame.setCurrentOperation(operation);
+
+      final int stackSize = frame.stackSize();
+      final Gas cost;
+      if (stackSize < analysis.getStackItemsConsumed(pc)
+          || stackSize + analysis.getStackSizeChange(pc) > maxStackSize
+          || (cost = executableOperationCost(frame, operation, noHaltReasons)) == null) {
+        executeCurrentOperation(frame, OperationTracer.NO_TRACING);
+        continue;
+      }
+
+      frame.decrementRemainingGas(cost);
+      operation.execute(frame);
+      final int increment = analysis.getProgramCounterIncrement(pc);
+      if (increment != 0 && frame.getState() == State.CODE_EXECUTING) {
+        frame.setPC(pc + increment);
+      }
+    }
+  }
+
+  /**
+   * Returns the cost of the current operation if it can execute, given it has enough stack items.
+   *
+   * @return The cost of the current operation, or null if it cannot be computed, exceeds the
+   *     remaining gas or the operation has a specific halt condition.
+   */
+  private Gas executableOperationCost(
+      final MessageFrame frame,
+      final Operation operation,
+      final EnumSet<ExceptionalHaltReason> noHaltReasons) {
+    final Gas cost;
+    try {
+      cost = operation.cost(frame);
+    } catch (final IllegalArgumentException e) {
+      return null;
+    }
+    if (cost == null || frame.getRemainingGas().compareTo(cost) < 0) {
+      return null;
+    }
+    if (operation.exceptionalHaltCondition(frame, noHaltReasons, this).isPresent()) {
+      return null;
+    }
+    return cost;
+  }
+
   public void forEachOperation(
       final Code code,
       final int contractAccountVersion,
@@ -64,6 +151,12 @@ public class EVM {
       throws ExceptionalHaltException {
     frame.setCurrentOperation(
         operationAtOffset(frame.getCode(), frame.getContractAccountVersion(), frame.getPC()));
+    executeCurrentOperation(frame, operationTracer);
+  }
+
+  private void executeCurrentOperation(
+      final MessageFrame frame, final OperationTracer operationTracer)
+      throws ExceptionalHaltException {
     evaluateExceptionalHaltReasons(frame);
     final Optional<Gas> currentGasCost = calculateGasCost(frame);
     operationTracer.traceExecution(
@@ -534,6 +534,20 @@ public class MessageFrame {
     return memory.getBytes(offset, length);
   }
 
+  /**
+   * Read bytes in memory without copying them.
+   *
+   * <p>The returned bytes are only valid until memory is next modified, so must be consumed right
+   * away (hashed or copied elsewhere).
+   *
+   * @param offset The offset in memory
+   * @param length The length of the bytes to read
+   * @return A view of the bytes in the specified range
+   */
+  public BytesValue readMemoryWithoutCopy(final UInt256 offset, final UInt256 length) {
+    return memory.getBytesWithoutCopy(offset, length);
+  }
+
   /**
    * Write byte to memory
    *
@@ -81,7 +81,7 @@ public abstract class AbstractCreateOperation extends AbstractOperation {
   private void fail(final MessageFrame frame) {
     final UInt256 inputOffset = frame.getStackItem(1).asUInt256();
     final UInt256 inputSize = frame.getStackItem(2).asUInt256();
-    frame.readMemory(inputOffset, inputSize);
+    frame.readMemoryWithoutCopy(inputOffset, inputSize);
     frame.popStackItems(getStackItemsConsumed());
     frame.pushStackItem(Bytes32.ZERO);
   }
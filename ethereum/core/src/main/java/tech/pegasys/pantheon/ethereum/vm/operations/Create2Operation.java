@@ -35,7 +35,7 @@ public class Create2Operation extends AbstractCreateOperation {
     final UInt256 offset = frame.getStackItem(1).asUInt256();
     final UInt256 length = frame.getStackItem(2).asUInt256();
     final Bytes32 salt = frame.getStackItem(3);
-    final BytesValue initCode = frame.readMemory(offset, length);
+    final BytesValue initCode = frame.readMemoryWithoutCopy(offset, length);
     final Hash hash = Hash.hash(PREFIX.concat(sender).concat(salt).concat(Hash.hash(initCode)));
     return Address.extract(hash);
   }
@@ -36,7 +36,7 @@ public class MLoadOperation extends AbstractOperation {
   public void execute(final MessageFrame frame) {
     final UInt256 location = frame.popStackItem().asUInt256();
 
-    final Bytes32 value = Bytes32.leftPad(frame.readMemory(location, UInt256.U_32));
+    final Bytes32 value = Bytes32.leftPad(frame.readMemoryWithoutCopy(location, UInt256.U_32));
 
     frame.pushStackItem(value);
   }
@@ -16,7 +16,9 @@ import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.AbstractOperation;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
-import tech.pegasys.pantheon.util.uint.Int256;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+import tech.pegasys.pantheon.util.uint.Int256Bytes;
 
 public class SDivOperation extends AbstractOperation {
 
@@ -31,11 +33,12 @@ public class SDivOperation extends AbstractOperation {
 
   @Override
   public void execute(final MessageFrame frame) {
-    final Int256 value0 = frame.popStackItem().asInt256();
-    final Int256 value1 = frame.popStackItem().asInt256();
+    final Bytes32 value0 = frame.popStackItem();
+    final Bytes32 value1 = frame.popStackItem();
 
-    final Int256 result = value0.dividedBy(value1);
+    final MutableBytes32 result = MutableBytes32.create();
+    Int256Bytes.divide(value0, value1, result);
 
-    frame.pushStackItem(result.getBytes());
+    frame.pushStackItem(result);
   }
 }
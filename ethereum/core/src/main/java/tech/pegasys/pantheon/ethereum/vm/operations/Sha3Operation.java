@@ -39,7 +39,7 @@ public class Sha3Operation extends AbstractOperation {
     final UInt256 from = frame.popStackItem().asUInt256();
     final UInt256 length = frame.popStackItem().asUInt256();
 
-    final BytesValue bytes = frame.readMemory(from, length);
+    final BytesValue bytes = frame.readMemoryWithoutCopy(from, length);
     frame.pushStackItem(Hash.hash(bytes));
   }
 }
@@ -34,22 +34,31 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class DefaultMutableWorldState implements MutableWorldState {
 
   private final WorldStateStorage worldStateStorage;
   private final WorldStatePreimageStorage preimageStorage;
+  // Computes the roots of and commits the updated storage tries concurrently, if present.
+  private final Optional<ForkJoinPool> storageTriePool;
 
   private final MerklePatriciaTrie<Bytes32, BytesValue> accountStateTrie;
   private final Map<Address, MerklePatriciaTrie<Bytes32, BytesValue>> updatedStorageTries =
       new HashMap<>();
+  // Accounts whose storage was updated, which are only written to the account trie once needed so
+  // that the roots of all the storage tries updated by a block can be computed concurrently.
+  private final Map<Address, PendingAccount> accountsPendingStorageRoot = new HashMap<>();
   private final Map<Address, BytesValue> updatedAccountCode = new HashMap<>();
   private final Map<Bytes32, UInt256> newStorageKeyPreimages = new HashMap<>();
   private final Map<Bytes32, Address> newAccountKeyPreimages = new HashMap<>();
@@ -63,9 +72,18 @@ public class DefaultMutableWorldState implements MutableWorldState {
       final Bytes32 rootHash,
       final WorldStateStorage worldStateStorage,
       final WorldStatePreimageStorage preimageStorage) {
+    this(rootHash, worldStateStorage, preimageStorage, Optional.empty());
+  }
+
+  public DefaultMutableWorldState(
+      final Bytes32 rootHash,
+      final WorldStateStorage worldStateStorage,
+      final WorldStatePreimageStorage preimageStorage,
+      final Optional<ForkJoinPool> storageTriePool) {
     this.worldStateStorage = worldStateStorage;
     this.accountStateTrie = newAccountStateTrie(rootHash);
     this.preimageStorage = preimageStorage;
+    this.storageTriePool = storageTriePool;
   }
 
   public DefaultMutableWorldState(final WorldState worldState) {
@@ -79,7 +97,8 @@ public class DefaultMutableWorldState implements MutableWorldState {
     final DefaultMutableWorldState other = (DefaultMutableWorldState) worldState;
     this.worldStateStorage = other.worldStateStorage;
     this.preimageStorage = other.preimageStorage;
-    this.accountStateTrie = newAccountStateTrie(other.accountStateTrie.getRootHash());
+    this.storageTriePool = other.storageTriePool;
+    this.accountStateTrie = newAccountStateTrie(other.rootHash());
   }
 
   private MerklePatriciaTrie<Bytes32, BytesValue> newAccountStateTrie(final Bytes32 rootHash) {
@@ -94,16 +113,19 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
   @Override
   public Hash rootHash() {
+    commitPendingStorageRoots();
     return Hash.wrap(accountStateTrie.getRootHash());
   }
 
   @Override
   public MutableWorldState copy() {
-    return new DefaultMutableWorldState(rootHash(), worldStateStorage, preimageStorage);
+    return new DefaultMutableWorldState(
+        rootHash(), worldStateStorage, preimageStorage, storageTriePool);
   }
 
   @Override
   public Account get(final Address address) {
+    commitPendingStorageRoot(address);
     final Hash addressHash = Hash.hash(address);
     return accountStateTrie
         .get(Hash.hash(address))
@@ -136,6 +158,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
   @Override
   public Stream<StreamableAccount> streamAccounts(final Bytes32 startKeyHash, final int limit) {
+    commitPendingStorageRoots();
     return accountStateTrie.entriesFrom(startKeyHash, limit).entrySet().stream()
         .map(
             entry -> {
@@ -164,15 +187,25 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
   @Override
   public void persist() {
+    // The account trie can only be committed once the roots of the storage tries are known.
+    commitPendingStorageRoots();
     final WorldStateStorage.Updater stateUpdater = worldStateStorage.updater();
     // Store updated code
     for (final BytesValue code : updatedAccountCode.values()) {
       stateUpdater.putCode(code);
     }
-    // Commit account storage tries
-    for (final MerklePatriciaTrie<Bytes32, BytesValue> updatedStorage :
-        updatedStorageTries.values()) {
-      updatedStorage.commit(stateUpdater::putAccountStorageTrieNode);
+    // Commit account storage tries, collecting their nodes concurrently as the updater isn't
+    // thread-safe.
+    final List<Map<Bytes32, BytesValue>> storageTrieNodes =
+        mapInParallel(
+            new ArrayList<>(updatedStorageTries.values()),
+            storageTrie -> {
+              final Map<Bytes32, BytesValue> nodes = new HashMap<>();
+              storageTrie.commit(nodes::put);
+              return nodes;
+            });
+    for (final Map<Bytes32, BytesValue> nodes : storageTrieNodes) {
+      nodes.forEach(stateUpdater::putAccountStorageTrieNode);
     }
     // Commit account updates
     accountStateTrie.commit(stateUpdater::putAccountStateTrieNode);
@@ -192,6 +225,45 @@ public class DefaultMutableWorldState implements MutableWorldState {
     stateUpdater.commit();
   }
 
+  /**
+   * Writes the account whose storage was updated to the account trie, if its storage root hasn't
+   * been computed yet.
+   */
+  private void commitPendingStorageRoot(final Address address) {
+    final PendingAccount account = accountsPendingStorageRoot.remove(address);
+    if (account != null) {
+      accountStateTrie.put(account.addressHash, account.serialize(account.storageRoot()));
+    }
+  }
+
+  /** Computes the roots of the updated storage tries and writes their accounts to the trie. */
+  private void commitPendingStorageRoots() {
+    if (accountsPendingStorageRoot.isEmpty()) {
+      return;
+    }
+    final List<PendingAccount> accounts = new ArrayList<>(accountsPendingStorageRoot.values());
+    final List<Hash> storageRoots = mapInParallel(accounts, PendingAccount::storageRoot);
+    for (int i = 0; i < accounts.size(); i++) {
+      final PendingAccount account = accounts.get(i);
+      accountStateTrie.put(account.addressHash, account.serialize(storageRoots.get(i)));
+    }
+    accountsPendingStorageRoot.clear();
+  }
+
+  /**
+   * Maps each of the provided storage tries or accounts, each only reached from a single thread,
+   * on the storage trie pool if present.
+   */
+  private <T, R> List<R> mapInParallel(final List<T> items, final Function<T, R> mapper) {
+    if (storageTriePool.isEmpty() || items.size() < 2) {
+      return items.stream().map(mapper).collect(Collectors.toList());
+    }
+    return storageTriePool
+        .get()
+        .submit(() -> items.parallelStream().map(mapper).collect(Collectors.toList()))
+        .join();
+  }
+
   private Optional<UInt256> getStorageTrieKeyPreimage(final Bytes32 trieKey) {
     return Optional.ofNullable(newStorageKeyPreimages.get(trieKey))
         .or(() -> preimageStorage.getStorageTrieKeyPreimage(trieKey));
@@ -337,6 +409,40 @@ public class DefaultMutableWorldState implements MutableWorldState {
     }
   }
 
+  // An account whose storage was updated, with the values of its other fields.
+  private static class PendingAccount {
+
+    private final Hash addressHash;
+    private final long nonce;
+    private final Wei balance;
+    private final Hash codeHash;
+    private final int version;
+    private final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie;
+
+    private PendingAccount(
+        final Hash addressHash,
+        final long nonce,
+        final Wei balance,
+        final Hash codeHash,
+        final int version,
+        final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie) {
+      this.addressHash = addressHash;
+      this.nonce = nonce;
+      this.balance = balance;
+      this.codeHash = codeHash;
+      this.version = version;
+      this.storageTrie = storageTrie;
+    }
+
+    private Hash storageRoot() {
+      return Hash.wrap(storageTrie.getRootHash());
+    }
+
+    private BytesValue serialize(final Hash storageRoot) {
+      return serializeAccount(nonce, balance, storageRoot, codeHash, version);
+    }
+  }
+
   protected static class Updater
       extends AbstractWorldUpdater<DefaultMutableWorldState, WorldStateAccount> {
 
@@ -347,6 +453,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
     @Override
     protected WorldStateAccount getForMutation(final Address address) {
       final DefaultMutableWorldState wrapped = wrappedWorldView();
+      wrapped.commitPendingStorageRoot(address);
       final Hash addressHash = Hash.hash(address);
       return wrapped
           .accountStateTrie
@@ -373,12 +480,14 @@ public class DefaultMutableWorldState implements MutableWorldState {
       for (final Address address : deletedAccounts()) {
         final Hash addressHash = Hash.hash(address);
         wrapped.accountStateTrie.remove(addressHash);
+        wrapped.accountsPendingStorageRoot.remove(address);
         wrapped.updatedStorageTries.remove(address);
         wrapped.updatedAccountCode.remove(address);
       }
 
       for (final UpdateTrackingAccount<WorldStateAccount> updated : updatedAccounts()) {
         final WorldStateAccount origin = updated.getWrappedAccount();
+        wrapped.accountsPendingStorageRoot.remove(updated.getAddress());
 
         // Save the code in key-value storage ...
         Hash codeHash = origin == null ? Hash.EMPTY : origin.getCodeHash();
@@ -410,7 +519,19 @@ public class DefaultMutableWorldState implements MutableWorldState {
               storageTrie.put(keyHash, RLP.encode(out -> out.writeUInt256Scalar(entry.getValue())));
             }
           }
-          storageRoot = Hash.wrap(storageTrie.getRootHash());
+          // Save address preimage
+          wrapped.newAccountKeyPreimages.put(updated.getAddressHash(), updated.getAddress());
+          // The storage root is computed along with the others updated, once needed.
+          wrapped.accountsPendingStorageRoot.put(
+              updated.getAddress(),
+              new PendingAccount(
+                  updated.getAddressHash(),
+                  updated.getNonce(),
+                  updated.getBalance(),
+                  codeHash,
+                  updated.getVersion(),
+                  storageTrie));
+          continue;
         }
 
         // Save address preimage
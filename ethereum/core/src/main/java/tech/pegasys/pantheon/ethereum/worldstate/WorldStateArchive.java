@@ -24,11 +24,13 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 public class WorldStateArchive {
   private final WorldStateStorage worldStateStorage;
   private final WorldStatePreimageStorage preimageStorage;
   private final WorldStateProofProvider worldStateProof;
+  private volatile Optional<ForkJoinPool> storageTriePool = Optional.empty();
 
   private static final Hash EMPTY_ROOT_HASH = Hash.wrap(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH);
 
@@ -51,7 +53,9 @@ public class WorldStateArchive {
     if (!worldStateStorage.isWorldStateAvailable(rootHash)) {
       return Optional.empty();
     }
-    return Optional.of(new DefaultMutableWorldState(rootHash, worldStateStorage, preimageStorage));
+    return Optional.of(
+        new DefaultMutableWorldState(
+            rootHash, worldStateStorage, preimageStorage, storageTriePool));
   }
 
   public WorldState get() {
@@ -66,6 +70,20 @@ public class WorldStateArchive {
     return worldStateStorage.getNodeData(hash);
   }
 
+  public List<Optional<BytesValue>> getNodeData(final List<Hash> hashes) {
+    return worldStateStorage.getNodeData(hashes);
+  }
+
+  /**
+   * Sets the pool the world states of this archive compute the roots of and commit their updated
+   * storage tries on, concurrently across accounts.
+   *
+   * @param storageTriePool The pool to commit storage tries on.
+   */
+  public void setStorageTriePool(final ForkJoinPool storageTriePool) {
+    this.storageTriePool = Optional.of(storageTriePool);
+  }
+
   public WorldStateStorage getWorldStateStorage() {
     return worldStateStorage;
   }
@@ -17,8 +17,10 @@ import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public interface WorldStateStorage {
 
@@ -30,6 +32,10 @@ public interface WorldStateStorage {
 
   Optional<BytesValue> getNodeData(Bytes32 hash);
 
+  default List<Optional<BytesValue>> getNodeData(final List<? extends Bytes32> hashes) {
+    return hashes.stream().map(hash -> getNodeData(hash)).collect(Collectors.toList());
+  }
+
   boolean isWorldStateAvailable(Bytes32 rootHash);
 
   default boolean contains(final Bytes32 hash) {
@@ -252,7 +252,7 @@ public class BlockDataGenerator {
         .stateRoot(options.getStateRoot(hash()))
         .transactionsRoot(hash())
         .receiptsRoot(hash())
-        .logsBloom(logsBloom())
+        .logsBloom(options.getLogsBloom(logsBloom()))
         .difficulty(options.getDifficulty(uint256(4)))
         .number(number)
         .gasLimit(gasLimit)
@@ -464,6 +464,7 @@ public class BlockDataGenerator {
     private Optional<UInt256> difficulty = Optional.empty();
     private Optional<List<Transaction>> transactions = Optional.empty();
     private Optional<BytesValue> extraData = Optional.empty();
+    private Optional<LogsBloomFilter> logsBloom = Optional.empty();
     private Optional<BlockHeaderFunctions> blockHeaderFunctions = Optional.empty();
 
     public static BlockOptions create() {
@@ -494,6 +495,10 @@ public class BlockDataGenerator {
       return extraData.orElse(defaultValue);
     }
 
+    public LogsBloomFilter getLogsBloom(final LogsBloomFilter defaultValue) {
+      return logsBloom.orElse(defaultValue);
+    }
+
     public BlockHeaderFunctions getBlockHeaderFunctions(final BlockHeaderFunctions defaultValue) {
       return blockHeaderFunctions.orElse(defaultValue);
     }
@@ -531,6 +536,11 @@ public class BlockDataGenerator {
       return this;
     }
 
+    public BlockOptions setLogsBloom(final LogsBloomFilter logsBloom) {
+      this.logsBloom = Optional.of(logsBloom);
+      return this;
+    }
+
     public BlockOptions setBlockHeaderFunctions(final BlockHeaderFunctions blockHeaderFunctions) {
       this.blockHeaderFunctions = Optional.of(blockHeaderFunctions);
       return this;
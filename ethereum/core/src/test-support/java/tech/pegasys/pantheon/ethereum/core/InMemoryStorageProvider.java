@@ -92,6 +92,11 @@ public class InMemoryStorageProvider implements StorageProvider {
     return new InMemoryKeyValueStorage();
   }
 
+  @Override
+  public KeyValueStorage createBloomBitsStorage() {
+    return new InMemoryKeyValueStorage();
+  }
+
   @Override
   public boolean isWorldStateIterable() {
     return true;
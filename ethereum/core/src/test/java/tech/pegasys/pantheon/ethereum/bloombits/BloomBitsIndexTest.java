@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.bloombits;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BloomBitsIndexTest {
+
+  private static final int SECTION_SIZE = BloomBitsIndex.SECTION_SIZE;
+  // Logs are emitted by the address in every block whose number is a multiple of this.
+  private static final int LOG_INTERVAL = 100;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final Address address = gen.address();
+  private final KeyValueStorage storage = new InMemoryKeyValueStorage();
+  private final List<List<LogsBloomFilter>> addressQuery = singletonList(singletonList(bloom()));
+  private Block genesisBlock;
+  private MutableBlockchain blockchain;
+  private BloomBitsIndex index;
+
+  @Before
+  public void setUp() {
+    genesisBlock =
+        gen.block(
+            new BlockOptions()
+                .setBlockNumber(BlockHeader.GENESIS_BLOCK_NUMBER)
+                .setStateRoot(Hash.EMPTY_TRIE_HASH)
+                .setParentHash(Hash.ZERO)
+                .setLogsBloom(LogsBloomFilter.empty()));
+    blockchain = createInMemoryBlockchain(genesisBlock);
+    index = createIndex();
+    index.start();
+  }
+
+  @Test
+  public void shouldNotIndexUnconfirmedSections() {
+    appendBlocks(genesisBlock, SECTION_SIZE + BloomBitsIndex.CONFIRMATIONS - 2);
+
+    assertThat(index.getIndexedBlockCount()).isEqualTo(0);
+    assertThat(candidates(0, SECTION_SIZE - 1, addressQuery)).isEmpty();
+  }
+
+  @Test
+  public void shouldIndexConfirmedSectionsAsBlocksAreAdded() {
+    appendBlocks(genesisBlock, SECTION_SIZE + BloomBitsIndex.CONFIRMATIONS - 1);
+
+    assertThat(index.getIndexedBlockCount()).isEqualTo(SECTION_SIZE);
+    assertThat(candidates(0, SECTION_SIZE - 1, addressQuery))
+        .isEqualTo(expectedCandidates(0, SECTION_SIZE - 1));
+    assertThat(candidates(150, 350, addressQuery)).containsExactly(200L, 300L);
+  }
+
+  @Test
+  public void shouldOnlyReturnBlocksMatchingEveryClause() {
+    appendBlocks(genesisBlock, SECTION_SIZE + BloomBitsIndex.CONFIRMATIONS - 1);
+
+    final LogsBloomFilter otherAddress = new LogsBloomFilter();
+    otherAddress.insertValue(gen.address());
+
+    assertThat(candidates(0, SECTION_SIZE - 1, List.of(List.of(bloom()), List.of(otherAddress))))
+        .isEmpty();
+    assertThat(candidates(0, SECTION_SIZE - 1, List.of(List.of(otherAddress, bloom()))))
+        .isEqualTo(expectedCandidates(0, SECTION_SIZE - 1));
+  }
+
+  @Test
+  public void shouldResumeFromPersistedSections() {
+    appendBlocks(genesisBlock, SECTION_SIZE + BloomBitsIndex.CONFIRMATIONS - 1);
+
+    final BloomBitsIndex reopenedIndex = createIndex();
+
+    assertThat(reopenedIndex.getIndexedBlockCount()).isEqualTo(SECTION_SIZE);
+    assertThat(reopenedIndex.candidateBlockNumbers(0, SECTION_SIZE - 1, addressQuery))
+        .containsExactlyElementsOf(expectedCandidates(0, SECTION_SIZE - 1));
+  }
+
+  @Test
+  public void shouldDropAndRebuildSectionsReplacedByReorg() {
+    final Block head =
+        appendBlocks(genesisBlock, SECTION_SIZE + BloomBitsIndex.CONFIRMATIONS - 1);
+    assertThat(index.getIndexedBlockCount()).isEqualTo(SECTION_SIZE);
+
+    // Replace the end of the indexed section by heavier blocks without logs.
+    final Block commonAncestor = blockchain.getBlockByNumber(SECTION_SIZE - 10).get();
+    final Block fork =
+        gen.block(
+            gen.nextBlockOptions(commonAncestor)
+                .addTransaction()
+                .setDifficulty(UInt256.of(Long.MAX_VALUE))
+                .setLogsBloom(LogsBloomFilter.empty()));
+    blockchain.appendBlock(fork, Collections.emptyList());
+
+    assertThat(blockchain.getChainHeadHash()).isNotEqualTo(head.getHash());
+    assertThat(index.getIndexedBlockCount()).isEqualTo(0);
+
+    final long blocksToConfirmSection =
+        SECTION_SIZE + BloomBitsIndex.CONFIRMATIONS - 1 - fork.getHeader().getNumber();
+    appendBlocks(fork, blocksToConfirmSection);
+
+    assertThat(index.getIndexedBlockCount()).isEqualTo(SECTION_SIZE);
+    assertThat(candidates(0, SECTION_SIZE - 1, addressQuery))
+        .isEqualTo(expectedCandidates(0, SECTION_SIZE - 1));
+  }
+
+  private BloomBitsIndex createIndex() {
+    return new BloomBitsIndex(
+        blockchain, storage, MoreExecutors.newDirectExecutorService(), new NoOpMetricsSystem());
+  }
+
+  private LogsBloomFilter bloom() {
+    final LogsBloomFilter bloom = new LogsBloomFilter();
+    bloom.insertValue(address);
+    return bloom;
+  }
+
+  private Block appendBlocks(final Block parent, final long count) {
+    Block block = parent;
+    for (int i = 0; i < count; i++) {
+      final BlockOptions options =
+          gen.nextBlockOptions(block).addTransaction().setDifficulty(UInt256.ONE);
+      final long number = block.getHeader().getNumber() + 1;
+      options.setLogsBloom(number % LOG_INTERVAL == 0 ? bloom() : LogsBloomFilter.empty());
+      block = gen.block(options);
+      blockchain.appendBlock(block, Collections.emptyList());
+    }
+    return block;
+  }
+
+  private List<Long> candidates(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final List<List<LogsBloomFilter>> clauses) {
+    return index
+        .candidateBlockNumbers(fromBlockNumber, toBlockNumber, clauses)
+        .boxed()
+        .collect(Collectors.toList());
+  }
+
+  private static List<Long> expectedCandidates(
+      final long fromBlockNumber, final long toBlockNumber) {
+    final List<Long> expected = new ArrayList<>();
+    for (long blockNumber = fromBlockNumber; blockNumber <= toBlockNumber; blockNumber++) {
+      if (blockNumber % LOG_INTERVAL == 0 && blockNumber > 0) {
+        expected.add(blockNumber);
+      }
+    }
+    return expected;
+  }
+}
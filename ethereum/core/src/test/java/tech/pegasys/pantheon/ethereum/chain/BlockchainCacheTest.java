@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.chain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class BlockchainCacheTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final Block block = gen.block();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private Optional<BlockHeader> loadHeader(final Hash hash) {
+    loads.incrementAndGet();
+    return hash.equals(block.getHash()) ? Optional.of(block.getHeader()) : Optional.empty();
+  }
+
+  private Optional<Hash> loadHash(final long number) {
+    loads.incrementAndGet();
+    return Optional.of(block.getHash());
+  }
+
+  @Test
+  public void headersAreLoadedOnce() {
+    final BlockchainCache cache = new BlockchainCache(16, new NoOpMetricsSystem());
+
+    assertThat(cache.getBlockHeader(block.getHash(), this::loadHeader)).contains(block.getHeader());
+    assertThat(cache.getBlockHeader(block.getHash(), this::loadHeader)).contains(block.getHeader());
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void missingHeadersAreNotCached() {
+    final BlockchainCache cache = new BlockchainCache(16, new NoOpMetricsSystem());
+
+    assertThat(cache.getBlockHeader(Hash.EMPTY, this::loadHeader)).isEmpty();
+    assertThat(cache.getBlockHeader(Hash.EMPTY, this::loadHeader)).isEmpty();
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void appendedBlocksAreServedWithoutLoading() {
+    final BlockchainCache cache = new BlockchainCache(16, new NoOpMetricsSystem());
+    final List<TransactionReceipt> receipts = gen.receipts(block);
+    cache.putBlock(block.getHash(), block.getHeader(), block.getBody(), receipts);
+    cache.putBlockHash(block.getHeader().getNumber(), block.getHash());
+
+    assertThat(cache.getBlockHeader(block.getHash(), this::loadHeader)).contains(block.getHeader());
+    assertThat(cache.getBlockBody(block.getHash(), hash -> Optional.empty()))
+        .contains(block.getBody());
+    assertThat(cache.getTransactionReceipts(block.getHash(), hash -> Optional.empty()))
+        .contains(receipts);
+    assertThat(cache.getBlockHash(block.getHeader().getNumber(), this::loadHash))
+        .contains(block.getHash());
+    assertThat(loads.get()).isZero();
+  }
+
+  @Test
+  public void cachedReceiptsCannotBeModified() {
+    final BlockchainCache cache = new BlockchainCache(16, new NoOpMetricsSystem());
+    cache.putBlock(block.getHash(), block.getHeader(), block.getBody(), gen.receipts(block));
+
+    final List<TransactionReceipt> receipts =
+        cache.getTransactionReceipts(block.getHash(), hash -> Optional.empty()).get();
+    assertThatThrownBy(receipts::clear).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void blockHashesAreReloadedOnceInvalidated() {
+    final BlockchainCache cache = new BlockchainCache(16, new NoOpMetricsSystem());
+    cache.putBlockHash(1, block.getHash());
+
+    cache.invalidateBlockHashes();
+
+    assertThat(cache.getBlockHash(1, this::loadHash)).contains(block.getHash());
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void blockHashLoadedBeforeInvalidationIsNotCached() {
+    final BlockchainCache cache = new BlockchainCache(16, new NoOpMetricsSystem());
+
+    assertThat(
+            cache.getBlockHash(
+                1,
+                number -> {
+                  // A reorg is committed while the hash is read from storage.
+                  cache.invalidateBlockHashes();
+                  return loadHash(number);
+                }))
+        .contains(block.getHash());
+    assertThat(cache.getBlockHash(1, this::loadHash)).contains(block.getHash());
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void disabledCacheAlwaysLoads() {
+    final BlockchainCache cache = new BlockchainCache(0, new NoOpMetricsSystem());
+    cache.putBlockHash(1, block.getHash());
+
+    assertThat(cache.getBlockHeader(block.getHash(), this::loadHeader)).contains(block.getHeader());
+    assertThat(cache.getBlockHeader(block.getHash(), this::loadHeader)).contains(block.getHeader());
+    assertThat(cache.getBlockHash(1, this::loadHash)).contains(block.getHash());
+    assertThat(loads.get()).isEqualTo(3);
+  }
+}
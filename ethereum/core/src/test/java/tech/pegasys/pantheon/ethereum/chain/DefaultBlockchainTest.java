@@ -23,13 +23,16 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorage;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -747,6 +750,30 @@ public class DefaultBlockchainTest {
     assertThat(observer3Invoked.get()).isTrue();
   }
 
+  @Test
+  public void encodedBlockDataMatchesDecodedBlockData() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final Block genesisBlock = gen.genesisBlock();
+    final DefaultBlockchain blockchain = createMutableBlockchain(kvStore, genesisBlock);
+
+    final BlockOptions options =
+        gen.nextBlockOptions(genesisBlock).addTransaction(gen.transaction(), gen.transaction());
+    final Block block = gen.block(options);
+    // Revert reasons are stored but aren't part of the encoding of receipts sent to peers.
+    final List<TransactionReceipt> receipts =
+        Arrays.asList(gen.receipt(BytesValue.of(1, 2, 3)), gen.receipt());
+    blockchain.appendBlock(block, receipts);
+
+    assertThat(blockchain.getBlockHeaderRlp(block.getHash()))
+        .contains(RLP.encode(block.getHeader()::writeTo));
+    assertThat(blockchain.getBlockBodyRlp(block.getHash()))
+        .contains(RLP.encode(block.getBody()::writeTo));
+    assertThat(blockchain.getTxReceiptsRlp(block.getHash()))
+        .contains(RLP.encode(out -> out.writeList(receipts, TransactionReceipt::writeTo)));
+    assertThat(blockchain.getTxReceiptsRlp(gen.hash())).isEmpty();
+  }
+
   /*
    * Check that block header, block body, block number, transaction locations, and receipts for this
    * block are all stored.
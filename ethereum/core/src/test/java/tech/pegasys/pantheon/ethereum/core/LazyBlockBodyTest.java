@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class LazyBlockBodyTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final BlockHeader header = gen.header();
+  private final BlockBody body =
+      new BlockBody(new ArrayList<>(gen.transactions(5)), List.of(gen.header(), gen.header()));
+  private final LazyBlockBody lazyBody =
+      LazyBlockBody.fromRlp(body.encoded(), new MainnetBlockHeaderFunctions());
+
+  @Test
+  public void shouldReadTransactionsFromTheEncodedBody() {
+    assertThat(lazyBody.getTransactionCount()).isEqualTo(5);
+    for (int i = 0; i < 5; i++) {
+      assertThat(lazyBody.getTransaction(i)).isEqualTo(body.getTransactions().get(i));
+    }
+    assertThat(lazyBody.getTransactions()).isEqualTo(body.getTransactions());
+  }
+
+  @Test
+  public void shouldHashTransactionsWithoutDecodingThem() {
+    assertThat(lazyBody.getTransactionHashes())
+        .isEqualTo(
+            body.getTransactions().stream().map(Transaction::hash).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void shouldReadOmmersFromTheEncodedBody() {
+    assertThat(lazyBody.getOmmerCount()).isEqualTo(2);
+    assertThat(lazyBody.getOmmers()).isEqualTo(body.getOmmers());
+  }
+
+  @Test
+  public void shouldComputeTheBlockSizeWithoutEncodingTheBlock() {
+    assertThat(lazyBody.getBlockSize(header)).isEqualTo(new Block(header, body).calculateSize());
+  }
+
+  @Test
+  public void shouldMaterializeTheWholeBody() {
+    assertThat(lazyBody.materialize()).isEqualTo(body);
+  }
+
+  @Test
+  public void shouldReadFromADecodedBody() {
+    final LazyBlockBody view = LazyBlockBody.of(body);
+
+    assertThat(view.getTransactionCount()).isEqualTo(5);
+    assertThat(view.getTransaction(3)).isSameAs(body.getTransactions().get(3));
+    assertThat(view.getTransactionHash(3)).isEqualTo(body.getTransactions().get(3).hash());
+    assertThat(view.getOmmerCount()).isEqualTo(2);
+    assertThat(view.getBlockSize(header)).isEqualTo(lazyBody.getBlockSize(header));
+    assertThat(view.materialize()).isSameAs(body);
+  }
+
+  @Test
+  public void shouldRejectTransactionIndicesOutOfBounds() {
+    assertThatThrownBy(() -> lazyBody.getTransaction(5))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+}
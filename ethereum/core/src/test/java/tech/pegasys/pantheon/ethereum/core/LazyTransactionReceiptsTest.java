@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class LazyTransactionReceiptsTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final List<TransactionReceipt> receipts =
+      List.of(
+          gen.receipt(21_000),
+          new TransactionReceipt(
+              gen.hash(),
+              50_000,
+              List.of(gen.log()),
+              Optional.of(BytesValue.fromHexString("0x1122334455667788"))),
+          gen.receipt(100_000));
+  private final LazyTransactionReceipts lazyReceipts =
+      LazyTransactionReceipts.fromRlp(
+          RLP.encode(out -> out.writeList(receipts, TransactionReceipt::writeToWithRevertReason)));
+
+  @Test
+  public void shouldReadReceiptsFromTheirEncoding() {
+    assertThat(lazyReceipts.size()).isEqualTo(3);
+    for (int i = 0; i < 3; i++) {
+      assertThat(lazyReceipts.get(i)).isEqualTo(receipts.get(i));
+    }
+    assertThat(lazyReceipts.materialize()).isEqualTo(receipts);
+  }
+
+  @Test
+  public void shouldReadGasUsedWithoutDecodingReceipts() {
+    for (int i = 0; i < 3; i++) {
+      assertThat(lazyReceipts.getCumulativeGasUsed(i))
+          .isEqualTo(receipts.get(i).getCumulativeGasUsed());
+    }
+    assertThat(lazyReceipts.getGasUsed(0)).isEqualTo(receipts.get(0).getCumulativeGasUsed());
+    assertThat(lazyReceipts.getGasUsed(2)).isEqualTo(50_000);
+  }
+
+  @Test
+  public void shouldReadFromDecodedReceipts() {
+    final LazyTransactionReceipts view = LazyTransactionReceipts.of(receipts);
+
+    assertThat(view.size()).isEqualTo(3);
+    assertThat(view.get(1)).isSameAs(receipts.get(1));
+    assertThat(view.getGasUsed(2)).isEqualTo(lazyReceipts.getGasUsed(2));
+    assertThat(view.materialize()).isSameAs(receipts);
+  }
+}
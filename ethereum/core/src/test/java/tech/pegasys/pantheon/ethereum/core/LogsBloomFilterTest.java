@@ -42,4 +42,39 @@ public class LogsBloomFilterTest {
             BytesValue.fromHexString(
                 "0x00000000000000001000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000020000000000000000000800000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000004000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000020000000000040000000000000000000000000000000000000000000000000000000"));
   }
+
+  @Test
+  public void couldContainInsertedValues() {
+    final Address address = Address.fromHexString("0x095e7baea6a6c7c4c2dfeb977efac326af552d87");
+    final LogTopic topic =
+        LogTopic.of(
+            BytesValue.fromHexString(
+                "0x0000000000000000000000000000000000000000000000000000000000000000"));
+    final LogsBloomFilter bloom =
+        LogsBloomFilter.compute(
+            List.of(new Log(address, BytesValue.fromHexString("0x0102"), List.of(topic))));
+
+    final LogsBloomFilter addressBloom = new LogsBloomFilter();
+    addressBloom.insertValue(address);
+    final LogsBloomFilter topicBloom = new LogsBloomFilter();
+    topicBloom.insertValue(topic);
+
+    assertThat(bloom.couldContain(addressBloom)).isTrue();
+    assertThat(bloom.couldContain(topicBloom)).isTrue();
+    assertThat(bloom.couldContain(LogsBloomFilter.empty())).isTrue();
+    assertThat(LogsBloomFilter.empty().couldContain(addressBloom)).isFalse();
+  }
+
+  @Test
+  public void couldNotContainValuesWithUnsetBits() {
+    final Address inserted = Address.fromHexString("0x095e7baea6a6c7c4c2dfeb977efac326af552d87");
+    final Address missing = Address.fromHexString("0x0f572e5295c57f15886f9b263e2f6d2d6c7b5ec6");
+    final LogsBloomFilter bloom = new LogsBloomFilter();
+    bloom.insertValue(inserted);
+
+    final LogsBloomFilter missingBloom = new LogsBloomFilter();
+    missingBloom.insertValue(missing);
+
+    assertThat(bloom.couldContain(missingBloom)).isFalse();
+  }
 }
@@ -20,6 +20,7 @@ import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.math.BigInteger;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -52,6 +53,22 @@ public class TransactionIntegrationTest {
     assertThat(output.encoded().toString()).isEqualTo(encodedString);
   }
 
+  @Test
+  public void shouldHashAndEncodeDecodedTransactionsFromTheirEncoding() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final Transaction built = gen.transaction();
+    final BytesValue encoded =
+        RLP.encode(out -> out.writeList(List.of(built), Transaction::writeTo));
+
+    final RLPInput input = RLP.input(encoded);
+    input.enterList();
+    final Transaction transaction = Transaction.readFrom(input);
+
+    assertThat(transaction.encoded()).isEqualTo(RLP.encode(built::writeTo));
+    assertThat(transaction.hash()).isEqualTo(built.hash());
+    assertThat(RLP.encode(transaction::writeTo)).isEqualTo(transaction.encoded());
+  }
+
   @Test
   public void shouldDecodeTransactionWithLargeChainId() {
     final String encodedString =
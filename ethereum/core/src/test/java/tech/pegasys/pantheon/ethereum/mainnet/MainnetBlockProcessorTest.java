@@ -20,13 +20,16 @@ import static org.mockito.Mockito.mock;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.BlockchainSetupUtil;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockProcessor.TransactionReceiptFactory;
 import tech.pegasys.pantheon.ethereum.vm.TestBlockchain;
 import tech.pegasys.pantheon.ethereum.vm.WorldStateMock;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.Test;
 
 public class MainnetBlockProcessorTest {
@@ -84,4 +87,22 @@ public class MainnetBlockProcessorTest {
     // An empty block with 0 reward should change the world state prior to EIP158
     assertThat(worldState.rootHash()).isNotEqualTo(initialHash);
   }
+
+  @Test
+  public void speculativeTransactionExecutionMatchesSequentialExecution() {
+    final BlockchainSetupUtil<Void> setupUtil = BlockchainSetupUtil.forTesting();
+    // Every transaction is executed speculatively before any is applied, against the world state
+    // of the parent block, so transactions depending on the ones before them are executed again.
+    setupUtil
+        .getProtocolSchedule()
+        .setSpeculativeTransactionExecutor(
+            new SpeculativeTransactionExecutor(
+                MoreExecutors.newDirectExecutorService(), 1, new NoOpMetricsSystem()));
+
+    // Imported blocks are validated against their state and receipts roots.
+    final Blockchain blockchain = setupUtil.importAllBlocks();
+
+    assertThat(blockchain.getChainHeadBlockNumber())
+        .isEqualTo(setupUtil.getBlock(setupUtil.blockCount() - 1).getHeader().getNumber());
+  }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryWorldState;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.mainnet.SpeculativeWorldUpdater.BlockUpdates;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpeculativeWorldUpdaterTest {
+
+  private static final Address BENEFICIARY = Address.fromHexString("0x1000");
+  private static final Address SENDER_1 = Address.fromHexString("0x2001");
+  private static final Address SENDER_2 = Address.fromHexString("0x2002");
+  private static final Address RECIPIENT_1 = Address.fromHexString("0x3001");
+  private static final Address RECIPIENT_2 = Address.fromHexString("0x3002");
+  private static final Address CONTRACT = Address.fromHexString("0x4000");
+
+  private final MutableWorldState worldState = createInMemoryWorldState();
+  private final BlockUpdates blockUpdates = new BlockUpdates();
+
+  @Before
+  public void setUp() {
+    final WorldUpdater updater = worldState.updater();
+    updater.createAccount(SENDER_1, 0, Wei.of(1000));
+    updater.createAccount(SENDER_2, 0, Wei.of(1000));
+    updater.createAccount(BENEFICIARY, 0, Wei.of(5));
+    updater.createAccount(CONTRACT).setStorageValue(UInt256.ONE, UInt256.ONE);
+    updater.commit();
+    worldState.persist();
+  }
+
+  @Test
+  public void independentTransfersDontConflict() {
+    final SpeculativeWorldUpdater first = transfer(SENDER_1, RECIPIENT_1, 10, 1);
+    final SpeculativeWorldUpdater second = transfer(SENDER_2, RECIPIENT_2, 20, 2);
+
+    apply(first);
+
+    assertThat(blockUpdates.conflictsWith(second)).isFalse();
+    apply(second);
+    assertThat(worldState.get(SENDER_1).getBalance()).isEqualTo(Wei.of(989));
+    assertThat(worldState.get(SENDER_2).getBalance()).isEqualTo(Wei.of(978));
+    assertThat(worldState.get(RECIPIENT_1).getBalance()).isEqualTo(Wei.of(10));
+    assertThat(worldState.get(RECIPIENT_2).getBalance()).isEqualTo(Wei.of(20));
+    // Both fees are credited, as if the transfers were executed one after the other.
+    assertThat(worldState.get(BENEFICIARY).getBalance()).isEqualTo(Wei.of(8));
+  }
+
+  @Test
+  public void readingAnAccountWrittenBeforeConflicts() {
+    final SpeculativeWorldUpdater first = transfer(SENDER_1, RECIPIENT_1, 10, 1);
+    final SpeculativeWorldUpdater second = transfer(SENDER_2, RECIPIENT_1, 20, 1);
+
+    apply(first);
+
+    assertThat(blockUpdates.conflictsWith(second)).isTrue();
+  }
+
+  @Test
+  public void readingTheBeneficiaryConflictsWithCreditedFees() {
+    final SpeculativeWorldUpdater first = transfer(SENDER_1, RECIPIENT_1, 10, 1);
+    final SpeculativeWorldUpdater second = transfer(SENDER_2, BENEFICIARY, 10, 1);
+
+    apply(first);
+
+    assertThat(blockUpdates.conflictsWith(second)).isTrue();
+  }
+
+  @Test
+  public void zeroFeeCreditConflicts() {
+    final SpeculativeWorldUpdater updater = transfer(SENDER_1, RECIPIENT_1, 10, 0);
+
+    assertThat(blockUpdates.conflictsWith(updater)).isTrue();
+  }
+
+  @Test
+  public void readingAStorageSlotWrittenBeforeConflicts() {
+    final SpeculativeWorldUpdater first = speculativeUpdater(SENDER_1);
+    first.getMutable(CONTRACT).setStorageValue(UInt256.ONE, UInt256.of(2));
+    final SpeculativeWorldUpdater sameSlot = speculativeUpdater(SENDER_2);
+    sameSlot.get(CONTRACT).getStorageValue(UInt256.ONE);
+    final SpeculativeWorldUpdater otherSlot = speculativeUpdater(SENDER_2);
+    otherSlot.get(CONTRACT).getStorageValue(UInt256.of(2));
+
+    apply(first);
+
+    assertThat(blockUpdates.conflictsWith(sameSlot)).isTrue();
+    assertThat(blockUpdates.conflictsWith(otherSlot)).isFalse();
+  }
+
+  private SpeculativeWorldUpdater speculativeUpdater(final Address sender) {
+    return new SpeculativeWorldUpdater(worldState, sender, BENEFICIARY);
+  }
+
+  /** Updates the world state as the transaction processor does for a transfer. */
+  private SpeculativeWorldUpdater transfer(
+      final Address sender, final Address recipient, final long value, final long fee) {
+    final SpeculativeWorldUpdater updater = speculativeUpdater(sender);
+    final MutableAccount senderAccount = updater.getOrCreate(sender);
+    senderAccount.incrementNonce();
+    senderAccount.decrementBalance(Wei.of(value + fee));
+    updater.get(recipient);
+    final WorldUpdater messageUpdater = updater.updater();
+    messageUpdater.getOrCreate(recipient).incrementBalance(Wei.of(value));
+    messageUpdater.commit();
+    updater.getOrCreate(BENEFICIARY).incrementBalance(Wei.of(fee));
+    return updater;
+  }
+
+  private void apply(final SpeculativeWorldUpdater updater) {
+    final WorldUpdater worldStateUpdater = worldState.updater();
+    updater.applyTo(worldStateUpdater);
+    worldStateUpdater.commit();
+    blockUpdates.add(updater);
+  }
+}
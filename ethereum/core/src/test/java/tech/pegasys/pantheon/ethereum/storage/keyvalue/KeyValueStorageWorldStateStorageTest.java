@@ -13,14 +13,27 @@
 package tech.pegasys.pantheon.ethereum.storage.keyvalue;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.WorldStateKeyValueStorage.Updater;
 import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorage;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 import org.junit.Test;
 
 public class KeyValueStorageWorldStateStorageTest {
@@ -58,6 +71,27 @@ public class KeyValueStorageWorldStateStorageTest {
         .contains(MerklePatriciaTrie.EMPTY_TRIE_NODE);
   }
 
+  @Test
+  public void getNodeData_returnsValuesForAllHashesInOrder() {
+    final WorldStateKeyValueStorage storage = emptyStorage();
+    final BytesValue node = BytesValue.of(1, 2, 3);
+    final Hash nodeHash = Hash.hash(node);
+    storage.updater().putAccountStateTrieNode(nodeHash, node).commit();
+
+    assertThat(
+            storage.getNodeData(
+                Arrays.asList(
+                    Hash.hash(BytesValue.of(4)),
+                    MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH,
+                    nodeHash,
+                    Hash.EMPTY)))
+        .containsExactly(
+            Optional.empty(),
+            Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE),
+            Optional.of(node),
+            Optional.of(BytesValue.EMPTY));
+  }
+
   @Test
   public void getCode_saveAndGetSpecialValues() {
     final WorldStateKeyValueStorage storage = emptyStorage();
@@ -186,6 +220,73 @@ public class KeyValueStorageWorldStateStorageTest {
     assertThat(emptyStorage().isWorldStateAvailable(Hash.EMPTY_TRIE_HASH)).isTrue();
   }
 
+  @Test
+  public void committedTrieNodesAreReadFromTheCache() {
+    final BytesValue bytes = BytesValue.fromHexString("0x123456");
+    final KeyValueStorage keyValueStorage = spy(new InMemoryKeyValueStorage());
+    final WorldStateKeyValueStorage storage = cachingStorage(keyValueStorage);
+    storage.updater().putAccountStateTrieNode(Hash.hash(bytes), bytes).commit();
+
+    assertThat(storage.getAccountStateTrieNode(Hash.hash(bytes))).contains(bytes);
+    assertThat(storage.getNodeData(Arrays.asList(Hash.hash(bytes))))
+        .containsExactly(Optional.of(bytes));
+    verify(keyValueStorage, never()).get(any());
+  }
+
+  @Test
+  public void rolledBackTrieNodesAreNotCached() {
+    final BytesValue bytes = BytesValue.fromHexString("0x123456");
+    final WorldStateKeyValueStorage storage = cachingStorage(new InMemoryKeyValueStorage());
+    final Updater updater = storage.updater();
+    updater.putAccountStateTrieNode(Hash.hash(bytes), bytes);
+    updater.rollback();
+
+    assertThat(storage.getAccountStateTrieNode(Hash.hash(bytes))).isEmpty();
+  }
+
+  @Test
+  public void removedTrieNodesAreDroppedFromTheCache() {
+    final BytesValue bytesA = BytesValue.fromHexString("0x12");
+    final BytesValue bytesB = BytesValue.fromHexString("0x1234");
+    final WorldStateKeyValueStorage storage = cachingStorage(new InMemoryKeyValueStorage());
+    storage
+        .updater()
+        .putAccountStateTrieNode(Hash.hash(bytesA), bytesA)
+        .putAccountStateTrieNode(Hash.hash(bytesB), bytesB)
+        .commit();
+
+    storage.updater().removeAccountStateTrieNode(Hash.hash(bytesA)).commit();
+    assertThat(storage.getAccountStateTrieNode(Hash.hash(bytesA))).isEmpty();
+
+    storage.prune(key -> false);
+    assertThat(storage.getAccountStateTrieNode(Hash.hash(bytesB))).isEmpty();
+  }
+
+  @Test
+  public void pruneRemovesOnlyNodesWhichAreNotInUse() {
+    final WorldStateKeyValueStorage storage = emptyStorage();
+    final List<Hash> inUse = new ArrayList<>();
+    final List<Hash> unused = new ArrayList<>();
+    // Enough nodes for the removals to span several batches.
+    for (int i = 0; i < 2500; i++) {
+      final BytesValue node = BytesValue.of(i >> 8, i & 0xFF);
+      storage.updater().putAccountStateTrieNode(Hash.hash(node), node).commit();
+      (i % 3 == 0 ? inUse : unused).add(Hash.hash(node));
+    }
+    final Set<BytesValue> inUseKeys = new HashSet<>(inUse);
+
+    assertThat(storage.prune(key -> inUseKeys.contains(BytesValue.wrap(key))))
+        .isEqualTo(unused.size());
+
+    inUse.forEach(hash -> assertThat(storage.getAccountStateTrieNode(hash)).isPresent());
+    unused.forEach(hash -> assertThat(storage.getAccountStateTrieNode(hash)).isEmpty());
+  }
+
+  private WorldStateKeyValueStorage cachingStorage(final KeyValueStorage keyValueStorage) {
+    return new WorldStateKeyValueStorage(
+        keyValueStorage, new TrieNodeCache(1024 * 1024, new NoOpMetricsSystem()));
+  }
+
   private WorldStateKeyValueStorage emptyStorage() {
     return new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
   }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.keyvalue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class TrieNodeCacheTest {
+
+  private static final BytesValue NODE = BytesValue.fromHexString("0x123456");
+  private static final Hash NODE_HASH = Hash.hash(NODE);
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private Optional<BytesValue> load(final Bytes32 nodeHash) {
+    loads.incrementAndGet();
+    return nodeHash.equals(NODE_HASH) ? Optional.of(NODE) : Optional.empty();
+  }
+
+  @Test
+  public void nodesAreLoadedOnce() {
+    final TrieNodeCache cache = new TrieNodeCache(1024, new NoOpMetricsSystem());
+
+    assertThat(cache.getOrLoad(NODE_HASH, this::load)).contains(NODE);
+    assertThat(cache.getOrLoad(NODE_HASH, this::load)).contains(NODE);
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void missingNodesAreNotCached() {
+    final TrieNodeCache cache = new TrieNodeCache(1024, new NoOpMetricsSystem());
+
+    assertThat(cache.getOrLoad(Hash.EMPTY, this::load)).isEmpty();
+    assertThat(cache.getOrLoad(Hash.EMPTY, this::load)).isEmpty();
+    assertThat(loads.get()).isEqualTo(2);
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void disabledCacheAlwaysLoads() {
+    final TrieNodeCache cache = TrieNodeCache.disabled();
+
+    assertThat(cache.getOrLoad(NODE_HASH, this::load)).contains(NODE);
+    assertThat(cache.getOrLoad(NODE_HASH, this::load)).contains(NODE);
+    assertThat(loads.get()).isEqualTo(2);
+    assertThat(cache.getIfPresent(NODE_HASH)).isEmpty();
+  }
+}
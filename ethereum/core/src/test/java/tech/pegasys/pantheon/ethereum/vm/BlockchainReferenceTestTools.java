@@ -23,17 +23,36 @@ import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
+import tech.pegasys.pantheon.ethereum.mainnet.SpeculativeTransactionExecutor;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.testutil.JsonTestParameters;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public class BlockchainReferenceTestTools {
   private static final ReferenceTestProtocolSchedules REFERENCE_TEST_PROTOCOL_SCHEDULES =
       ReferenceTestProtocolSchedules.create();
 
+  // Executes the transactions of the blocks speculatively when "test.ethereum.blockchain.parallel"
+  // is set, to check it gives the same results as executing them one after the other.
+  private static final Optional<SpeculativeTransactionExecutor> SPECULATIVE_TRANSACTION_EXECUTOR =
+      Boolean.getBoolean("test.ethereum.blockchain.parallel")
+          ? Optional.of(
+              new SpeculativeTransactionExecutor(
+                  Executors.newFixedThreadPool(
+                      Runtime.getRuntime().availableProcessors(),
+                      new ThreadFactoryBuilder().setDaemon(true).build()),
+                  Runtime.getRuntime().availableProcessors(),
+                  new NoOpMetricsSystem()))
+          : Optional.empty();
+
   private static final List<String> NETWORKS_TO_RUN;
 
   static {
@@ -79,6 +98,7 @@ public class BlockchainReferenceTestTools {
 
     final ProtocolSchedule<Void> schedule =
         REFERENCE_TEST_PROTOCOL_SCHEDULES.getByName(spec.getNetwork());
+    SPECULATIVE_TRANSACTION_EXECUTOR.ifPresent(schedule::setSpeculativeTransactionExecutor);
 
     final MutableBlockchain blockchain = spec.getBlockchain();
     final ProtocolContext<Void> context = spec.getProtocolContext();
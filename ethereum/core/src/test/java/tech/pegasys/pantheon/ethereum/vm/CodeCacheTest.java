@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.junit.Test;
+
+public class CodeCacheTest {
+
+  // PUSH1 0x04 JUMP INVALID JUMPDEST PUSH1 0x5b STOP: only offset 4 is a valid destination, the
+  // 0x5b at offset 6 being push data.
+  private static final BytesValue CODE = BytesValue.fromHexString("0x600456fe5b605b00");
+
+  private final EVM evm = MainnetProtocolSchedule.create().getByBlockNumber(0).getEvm();
+
+  @Test
+  public void analysisIsSharedBetweenCodeInstancesWithTheSameBytes() {
+    final CodeCache cache = new CodeCache(1024, new NoOpMetricsSystem());
+
+    final CodeAnalysis first = cache.getOrAnalyse(evm, new Code(CODE), Account.DEFAULT_VERSION);
+    final CodeAnalysis second = cache.getOrAnalyse(evm, new Code(CODE), Account.DEFAULT_VERSION);
+
+    assertThat(second).isSameAs(first);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void analysisFindsJumpDestinations() {
+    final CodeCache cache = new CodeCache(1024, new NoOpMetricsSystem());
+
+    final CodeAnalysis analysis = cache.getOrAnalyse(evm, new Code(CODE), Account.DEFAULT_VERSION);
+
+    assertThat(analysis.getCodeSize()).isEqualTo(CODE.size());
+    assertThat(analysis.isValidJumpDestination(4)).isTrue();
+    assertThat(analysis.isValidJumpDestination(6)).isFalse();
+    assertThat(analysis.isValidJumpDestination(0)).isFalse();
+  }
+}
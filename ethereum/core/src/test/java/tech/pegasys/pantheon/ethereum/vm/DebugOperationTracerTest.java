@@ -30,10 +30,13 @@ import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
 import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.vm.OperationTracer.ExecuteOperation;
 import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
+import tech.pegasys.pantheon.ethereum.vm.operations.SStoreOperation;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
@@ -172,6 +175,64 @@ public class DebugOperationTracerTest {
     assertThat(traceFrame.getStorage()).contains(updatedStorage);
   }
 
+  @Test
+  public void shouldHandTraceFramesToConsumerInsteadOfCollectingThem() throws Exception {
+    final List<TraceFrame> consumedFrames = new ArrayList<>();
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, false, false), consumedFrames::add);
+
+    tracer.traceExecution(validMessageFrame(), Optional.of(Gas.ZERO), executeOperationAction);
+    tracer.traceExecution(validMessageFrame(), Optional.of(Gas.ZERO), executeOperationAction);
+
+    assertThat(consumedFrames).hasSize(2);
+    assertThat(tracer.getTraceFrames()).isEmpty();
+  }
+
+  @Test
+  public void shouldShareUnchangedMemoryWordsBetweenTraceFrames() throws Exception {
+    final MessageFrame frame = validMessageFrame();
+    frame.writeMemory(UInt256.ZERO, UInt256.of(32), Bytes32.fromHexString("0x01"));
+    frame.writeMemory(UInt256.of(32), UInt256.of(32), Bytes32.fromHexString("0x02"));
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, true, false));
+
+    tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction);
+    frame.writeMemory(UInt256.of(32), UInt256.of(32), Bytes32.fromHexString("0x03"));
+    frame.writeMemory(UInt256.of(64), UInt256.of(32), Bytes32.fromHexString("0x04"));
+    tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction);
+
+    final Bytes32[] firstMemory = tracer.getTraceFrames().get(0).getMemory().get();
+    final Bytes32[] secondMemory = tracer.getTraceFrames().get(1).getMemory().get();
+    assertThat(firstMemory)
+        .containsExactly(Bytes32.fromHexString("0x01"), Bytes32.fromHexString("0x02"));
+    assertThat(secondMemory)
+        .containsExactly(
+            Bytes32.fromHexString("0x01"),
+            Bytes32.fromHexString("0x03"),
+            Bytes32.fromHexString("0x04"));
+    assertThat(secondMemory[0]).isSameAs(firstMemory[0]);
+  }
+
+  @Test
+  public void shouldShareStorageBetweenTraceFramesUntilItIsStoredTo() throws Exception {
+    final MessageFrame frame = validMessageFrame();
+    setupStorageForCapture(frame);
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(true, false, false));
+
+    tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction);
+    tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction);
+    frame.setCurrentOperation(new SStoreOperation(null, SStoreOperation.FRONTIER_MINIMUM));
+    tracer.traceExecution(frame, Optional.of(Gas.ZERO), executeOperationAction);
+
+    final List<TraceFrame> traceFrames = tracer.getTraceFrames();
+    assertThat(traceFrames.get(1).getStorage().get())
+        .isSameAs(traceFrames.get(0).getStorage().get());
+    assertThat(traceFrames.get(2).getStorage().get())
+        .isNotSameAs(traceFrames.get(1).getStorage().get())
+        .isEqualTo(traceFrames.get(1).getStorage().get());
+  }
+
   private TraceFrame traceFrame(final MessageFrame frame, final Gas currentGasCost)
       throws Exception {
     return traceFrame(frame, currentGasCost, new TraceOptions(false, false, false));
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.core.MessageFrameTestFixture;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Checks that running code with its pre-decoded operations, as done when nothing traces the
+ * execution, behaves exactly as running it one traced operation at a time.
+ */
+@RunWith(Parameterized.class)
+public class EVMTest {
+
+  // Any tracer other than NO_TRACING disables the pre-decoded loop.
+  private static final OperationTracer PASS_THROUGH_TRACER =
+      (frame, currentGasCost, executeOperation) -> executeOperation.execute();
+
+  private final EVM evm = MainnetProtocolSchedule.create().getByBlockNumber(0).getEvm();
+
+  private final String code;
+  private final long gasLimit;
+
+  public EVMTest(final String name, final String code, final long gasLimit) {
+    this.code = code;
+    this.gasLimit = gasLimit;
+  }
+
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(
+        new Object[][] {
+          // Counts down from 1000, doing some arithmetic on every iteration.
+          {"arithmeticLoop", "0x6103e85b6001900380600702600301600506508060035700", 1_000_000},
+          // Counts down from 1000, hashing memory on every iteration.
+          {"memoryLoop", "0x6103e85b600190038060005260406000206020528060035700", 1_000_000},
+          {"outOfGas", "0x6103e85b600190038060005260406000206020528060035700", 5_000},
+          {"stackUnderflow", "0x600101", 1_000},
+          {"stackOverflow", "0x5b3a600056", 1_000_000},
+          {"invalidJump", "0x600556", 1_000},
+          {"invalidOperation", "0x6001fe", 1_000},
+          {"undefinedOperation", "0x6001ef", 1_000},
+          {"pushPastEndOfCode", "0x600161ff", 1_000},
+          {"return", "0x602a60005260206000f3", 1_000},
+        });
+  }
+
+  @Test
+  public void decodedExecutionMatchesTracedExecution() {
+    final MessageFrame decoded = run(OperationTracer.NO_TRACING);
+    final MessageFrame traced = run(PASS_THROUGH_TRACER);
+
+    assertThat(decoded.getState()).isEqualTo(traced.getState());
+    assertThat(decoded.getExceptionalHaltReasons()).isEqualTo(traced.getExceptionalHaltReasons());
+    assertThat(decoded.getPC()).isEqualTo(traced.getPC());
+    assertThat(decoded.getRemainingGas()).isEqualTo(traced.getRemainingGas());
+    assertThat(decoded.getOutputData()).isEqualTo(traced.getOutputData());
+    assertThat(decoded.memoryByteSize()).isEqualTo(traced.memoryByteSize());
+    assertThat(decoded.readMemory(UInt256.ZERO, UInt256.of(decoded.memoryByteSize())))
+        .isEqualTo(traced.readMemory(UInt256.ZERO, UInt256.of(traced.memoryByteSize())));
+    assertThat(decoded.stackSize()).isEqualTo(traced.stackSize());
+    for (int i = 0; i < decoded.stackSize(); i++) {
+      assertThat(decoded.getStackItem(i)).isEqualTo(traced.getStackItem(i));
+    }
+  }
+
+  private MessageFrame run(final OperationTracer tracer) {
+    final MessageFrame frame =
+        new MessageFrameTestFixture()
+            .code(new Code(BytesValue.fromHexString(code)))
+            .initialGas(Gas.of(gasLimit))
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    try {
+      evm.runToHalt(frame, tracer);
+    } catch (final ExceptionalHaltException e) {
+      assertThat(frame.getState()).isEqualTo(MessageFrame.State.EXCEPTIONAL_HALT);
+      assertThat(EnumSet.copyOf(e.getReasons())).isEqualTo(frame.getExceptionalHaltReasons());
+    }
+    return frame;
+  }
+}
@@ -147,6 +147,56 @@ public class MemoryTest {
     assertThat(memory.getWord(UInt256.of(64))).isEqualTo(Bytes32.ZERO);
   }
 
+  @Test
+  public void shouldExpandMemoryByWholeWords() {
+    memory.setByte(UInt256.of(40), (byte) 1);
+    assertThat(memory.getActiveBytes()).isEqualTo(64);
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.of(2));
+
+    memory.clearBytes(UInt256.of(1000), UInt256.of(25));
+    assertThat(memory.getActiveBytes()).isEqualTo(1056);
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.of(33));
+  }
+
+  @Test
+  public void shouldNotExpandMemoryWhenReadingNoBytes() {
+    assertThat(memory.getBytes(UInt256.of(1000), UInt256.ZERO)).isEqualTo(BytesValue.EMPTY);
+    assertThat(memory.getActiveBytes()).isZero();
+  }
+
+  @Test
+  public void shouldReadZerosFromNewlyExpandedMemory() {
+    memory.setWord(UInt256.ZERO, WORD1);
+    memory.clearBytes(UInt256.ZERO, UInt256.of(32));
+    memory.setWord(UInt256.of(4096), WORD2);
+
+    assertThat(memory.getBytes(UInt256.ZERO, UInt256.of(4096)))
+        .isEqualTo(BytesValue.wrap(new byte[4096]));
+    assertThat(memory.getWord(UInt256.of(4096))).isEqualTo(WORD2);
+  }
+
+  @Test
+  public void shouldCopyBytesSpanningManyWords() {
+    final BytesValue value = BytesValues.concatenate(WORD1, WORD2, WORD3, WORD4);
+    memory.setBytes(UInt256.of(7), UInt256.of(value.size()), value);
+
+    assertThat(memory.getBytes(UInt256.of(7), UInt256.of(value.size()))).isEqualTo(value);
+    assertThat(memory.getBytes(UInt256.of(39), UInt256.of(32))).isEqualTo(WORD2);
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.of(5));
+  }
+
+  @Test
+  public void shouldReturnCopyFromGetBytes() {
+    memory.setWord(UInt256.ZERO, WORD1);
+    final BytesValue copy = memory.getBytes(UInt256.ZERO, UInt256.of(32));
+    final BytesValue view = memory.getBytesWithoutCopy(UInt256.ZERO, UInt256.of(32));
+
+    memory.setWord(UInt256.ZERO, WORD2);
+
+    assertThat(copy).isEqualTo(WORD1);
+    assertThat(view).isEqualTo(WORD2);
+  }
+
   private static Bytes32 fillBytes32(final long value) {
     return Bytes32.fromHexString(Strings.repeat(Long.toString(value), 64));
   }
@@ -37,7 +37,9 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -668,4 +670,75 @@ public class DefaultMutableWorldStateTest {
     worldState.persist();
     assertThat(worldState.get(ADDRESS).storageEntriesFrom(Hash.ZERO, 10)).isEqualTo(finalEntries);
   }
+
+  @Test
+  public void updatingAccountAfterItsStorageGivesSameRootAsSingleUpdate() {
+    final MutableWorldState worldState = createEmpty();
+    WorldUpdater updater = worldState.updater();
+    updater.createAccount(ADDRESS).setStorageValue(UInt256.ONE, UInt256.of(2));
+    updater.commit();
+    updater = worldState.updater();
+    updater.getMutable(ADDRESS).incrementBalance(Wei.of(5));
+    updater.commit();
+
+    final MutableWorldState expected = createEmpty();
+    updater = expected.updater();
+    final MutableAccount account = updater.createAccount(ADDRESS);
+    account.setStorageValue(UInt256.ONE, UInt256.of(2));
+    account.incrementBalance(Wei.of(5));
+    updater.commit();
+
+    assertThat(worldState.rootHash()).isEqualTo(expected.rootHash());
+    assertThat(worldState.get(ADDRESS).getStorageValue(UInt256.ONE)).isEqualTo(UInt256.of(2));
+  }
+
+  @Test
+  public void concurrentStorageTrieCommitMatchesSequentialCommit() {
+    final ForkJoinPool storageTriePool = new ForkJoinPool(4);
+    try {
+      final WorldStateKeyValueStorage sequentialStorage =
+          new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+      final WorldStateKeyValueStorage concurrentStorage =
+          new WorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+      final MutableWorldState sequential =
+          new DefaultMutableWorldState(
+              MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH,
+              sequentialStorage,
+              new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()),
+              Optional.empty());
+      final MutableWorldState concurrent =
+          new DefaultMutableWorldState(
+              MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH,
+              concurrentStorage,
+              new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()),
+              Optional.of(storageTriePool));
+
+      for (final MutableWorldState worldState : List.of(sequential, concurrent)) {
+        final WorldUpdater updater = worldState.updater();
+        for (int i = 1; i <= 50; i++) {
+          final MutableAccount account = updater.createAccount(contractAddress(i));
+          for (int slot = 0; slot < 10; slot++) {
+            account.setStorageValue(UInt256.of(slot), UInt256.of(i * slot + 1));
+          }
+        }
+        updater.commit();
+        worldState.persist();
+      }
+
+      assertThat(concurrent.rootHash()).isEqualTo(sequential.rootHash());
+      final MutableWorldState reloaded =
+          new DefaultMutableWorldState(
+              concurrent.rootHash(),
+              concurrentStorage,
+              new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()));
+      assertThat(reloaded.get(contractAddress(7)).getStorageValue(UInt256.of(3)))
+          .isEqualTo(UInt256.of(22));
+    } finally {
+      storageTriePool.shutdownNow();
+    }
+  }
+
+  private static Address contractAddress(final int index) {
+    return Address.fromHexString(String.format("0x%040x", index));
+  }
 }
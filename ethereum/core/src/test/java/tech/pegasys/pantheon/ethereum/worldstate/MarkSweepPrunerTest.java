@@ -238,7 +238,7 @@ public class MarkSweepPrunerTest {
     for (Bytes32 stateRoot : stateRoots) {
       inOrder.verify(hashValueStore).remove(stateRoot);
     }
-    inOrder.verify(stateStorage).removeAllKeysUnless(any());
+    inOrder.verify(stateStorage).streamKeys(any());
   }
 
   @Test
@@ -273,7 +273,7 @@ public class MarkSweepPrunerTest {
     for (Bytes32 stateRoot : stateRoots) {
       inOrder.verify(hashValueStore).remove(stateRoot);
     }
-    inOrder.verify(stateStorage).removeAllKeysUnless(any());
+    inOrder.verify(stateStorage).streamKeys(any());
 
     assertThat(stateStorage.containsKey(markedRoot.getArrayUnsafe())).isTrue();
   }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.eth.EthProtocolConfiguration;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockBodiesMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockHeadersMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetReceiptsMessage;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures how quickly requests from peers syncing from this node are served. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EthServerBenchmark {
+
+  private static final int BLOCK_COUNT = 128;
+
+  @Param({"10", "100"})
+  public int transactionsPerBlock;
+
+  private MutableBlockchain blockchain;
+  private MessageData getHeaders;
+  private MessageData getBodies;
+  private MessageData getReceipts;
+
+  @Setup
+  public void setUp() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    Block block = gen.genesisBlock();
+    blockchain = createInMemoryBlockchain(block);
+    final List<Hash> hashes = new ArrayList<>();
+    for (int i = 0; i < BLOCK_COUNT; i++) {
+      final BlockOptions options = gen.nextBlockOptions(block);
+      for (int j = 0; j < transactionsPerBlock; j++) {
+        options.addTransaction(gen.transaction());
+      }
+      block = gen.block(options);
+      blockchain.appendBlock(block, gen.receipts(block));
+      hashes.add(block.getHash());
+    }
+    getHeaders = GetBlockHeadersMessage.create(1, BLOCK_COUNT, 0, false);
+    getBodies = GetBlockBodiesMessage.create(hashes);
+    getReceipts = GetReceiptsMessage.create(hashes);
+  }
+
+  @Benchmark
+  public MessageData serveHeaders() {
+    return EthServer.constructGetHeadersResponse(
+        blockchain, getHeaders, EthProtocolConfiguration.DEFAULT_MAX_GET_BLOCK_HEADERS);
+  }
+
+  @Benchmark
+  public MessageData serveBodies() {
+    return EthServer.constructGetBodiesResponse(
+        blockchain, getBodies, EthProtocolConfiguration.DEFAULT_MAX_GET_BLOCK_BODIES);
+  }
+
+  @Benchmark
+  public MessageData serveReceipts() {
+    return EthServer.constructGetReceiptsResponse(
+        blockchain, getReceipts, EthProtocolConfiguration.DEFAULT_MAX_GET_RECEIPTS);
+  }
+}
@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
+import tech.pegasys.pantheon.services.pipeline.AdaptiveBatchSize;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
@@ -35,12 +36,15 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
+import com.google.common.collect.ImmutableMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -49,6 +53,34 @@ public class EthPeer {
 
   private static final int MAX_OUTSTANDING_REQUESTS = 5;
 
+  // The requests whose responses are measured, by message code, with the name they're reported as.
+  static final Map<Integer, String> MEASURED_REQUESTS =
+      ImmutableMap.of(
+          EthPV62.GET_BLOCK_HEADERS,
+          "headers",
+          EthPV62.GET_BLOCK_BODIES,
+          "bodies",
+          EthPV63.GET_RECEIPTS,
+          "receipts",
+          EthPV63.GET_NODE_DATA,
+          "node_data");
+
+  // The number of items to request at first, by message code, which are the most items common
+  // clients serve in one response. Headers aren't sized adaptively, as they are requested in the
+  // ranges between the checkpoints being synced to.
+  private static final Map<Integer, Integer> INITIAL_REQUEST_SIZES =
+      ImmutableMap.of(
+          EthPV62.GET_BLOCK_BODIES,
+          128,
+          EthPV63.GET_RECEIPTS,
+          256,
+          EthPV63.GET_NODE_DATA,
+          384);
+  private static final int REQUEST_SIZE_INCREASE = 8;
+  private static final double REQUEST_SIZE_DECREASE = 0.5;
+  // Responses slower than this shrink requests, to keep them well within the request timeout.
+  private static final long TARGET_RESPONSE_LATENCY_MILLIS = 2500;
+
   private final PeerConnection connection;
 
   private final int maxTrackedSeenBlocks = 300;
@@ -61,10 +93,12 @@ public class EthPeer {
   private final AtomicBoolean statusHasBeenReceivedFromPeer = new AtomicBoolean(false);
 
   private volatile long lastRequestTimestamp = 0;
-  private final RequestManager headersRequestManager = new RequestManager(this);
-  private final RequestManager bodiesRequestManager = new RequestManager(this);
-  private final RequestManager receiptsRequestManager = new RequestManager(this);
-  private final RequestManager nodeDataRequestManager = new RequestManager(this);
+  private final Map<Integer, RequestStatistics> requestStatistics;
+  private final Map<Integer, AdaptiveBatchSize> requestSizes;
+  private final RequestManager headersRequestManager;
+  private final RequestManager bodiesRequestManager;
+  private final RequestManager receiptsRequestManager;
+  private final RequestManager nodeDataRequestManager;
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
@@ -88,6 +122,32 @@ public class EthPeer {
                 }));
     this.chainHeadState = new ChainState();
     this.onStatusesExchanged.set(onStatusesExchanged);
+
+    final Map<Integer, RequestStatistics> requestStatistics = new LinkedHashMap<>();
+    headersRequestManager = createRequestManager(EthPV62.GET_BLOCK_HEADERS, requestStatistics);
+    bodiesRequestManager = createRequestManager(EthPV62.GET_BLOCK_BODIES, requestStatistics);
+    receiptsRequestManager = createRequestManager(EthPV63.GET_RECEIPTS, requestStatistics);
+    nodeDataRequestManager = createRequestManager(EthPV63.GET_NODE_DATA, requestStatistics);
+    this.requestStatistics = Collections.unmodifiableMap(requestStatistics);
+    final Map<Integer, AdaptiveBatchSize> requestSizes = new LinkedHashMap<>();
+    INITIAL_REQUEST_SIZES.forEach(
+        (requestCode, initialSize) ->
+            requestSizes.put(
+                requestCode,
+                new AdaptiveBatchSize(
+                    initialSize,
+                    1,
+                    Integer.MAX_VALUE,
+                    REQUEST_SIZE_INCREASE,
+                    REQUEST_SIZE_DECREASE)));
+    this.requestSizes = Collections.unmodifiableMap(requestSizes);
+  }
+
+  private RequestManager createRequestManager(
+      final int requestCode, final Map<Integer, RequestStatistics> requestStatistics) {
+    final RequestStatistics statistics = new RequestStatistics();
+    requestStatistics.put(requestCode, statistics);
+    return new RequestManager(this, clock, statistics);
   }
 
   public boolean isDisconnected() {
@@ -104,6 +164,8 @@ public class EthPeer {
 
   public void recordRequestTimeout(final int requestCode) {
     LOG.debug("Timed out while waiting for response from peer {}", this);
+    requestStatistics(requestCode).ifPresent(RequestStatistics::recordTimeout);
+    Optional.ofNullable(requestSizes.get(requestCode)).ifPresent(AdaptiveBatchSize::recordFailure);
     reputation.recordRequestTimeout(requestCode).ifPresent(this::disconnect);
   }
 
@@ -232,6 +294,60 @@ public class EthPeer {
     }
   }
 
+  /**
+   * The performance of this peer responding to the provided type of request.
+   *
+   * @param requestCode the message code of the request, such as {@link EthPV62#GET_BLOCK_HEADERS}
+   * @return the statistics of the responses, or empty if the request doesn't expect responses
+   */
+  public Optional<RequestStatistics> requestStatistics(final int requestCode) {
+    return Optional.ofNullable(requestStatistics.get(requestCode));
+  }
+
+  /**
+   * The number of items to ask this peer for in the next request of the provided type, which
+   * adapts to how many items the peer returned in previous responses and how quickly.
+   *
+   * @param requestCode the message code of the request, such as {@link EthPV62#GET_BLOCK_BODIES}
+   * @return the number of items to request, or {@link Integer#MAX_VALUE} if requests of this type
+   *     are not sized per peer
+   */
+  public int requestSize(final int requestCode) {
+    final AdaptiveBatchSize requestSize = requestSizes.get(requestCode);
+    return requestSize != null ? requestSize.getAsInt() : Integer.MAX_VALUE;
+  }
+
+  /**
+   * Records how many of the items asked for in a request this peer returned, so that later
+   * requests of the same type are sized accordingly.
+   *
+   * @param requestCode the message code of the request, such as {@link EthPV62#GET_BLOCK_BODIES}
+   * @param requestedItems the number of items requested
+   * @param receivedItems the number of items returned in the response
+   */
+  public void recordResponseCompleteness(
+      final int requestCode, final int requestedItems, final int receivedItems) {
+    final AdaptiveBatchSize requestSize = requestSizes.get(requestCode);
+    if (requestSize == null) {
+      return;
+    }
+    final OptionalDouble latency = requestStatistics.get(requestCode).getLatencyMillis();
+    if (latency.isPresent() && latency.getAsDouble() > TARGET_RESPONSE_LATENCY_MILLIS) {
+      requestSize.recordFailure();
+    } else {
+      requestSize.recordResult(requestedItems, receivedItems);
+    }
+  }
+
+  /** @return the performance of this peer, by name of the type of request it responds to. */
+  public Map<String, RequestStatistics> requestStatistics() {
+    final Map<String, RequestStatistics> statisticsByName = new LinkedHashMap<>();
+    requestStatistics.forEach(
+        (requestCode, statistics) ->
+            statisticsByName.put(MEASURED_REQUESTS.get(requestCode), statistics));
+    return statisticsByName;
+  }
+
   public Map<Integer, AtomicInteger> timeoutCounts() {
     return reputation.timeoutCounts();
   }
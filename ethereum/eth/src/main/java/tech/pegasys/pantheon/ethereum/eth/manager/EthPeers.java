@@ -24,7 +24,9 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -41,6 +43,22 @@ public class EthPeers {
       Comparator.comparing(EthPeer::outstandingRequests)
           .thenComparing(EthPeer::getLastRequestTimestamp);
 
+  /**
+   * Orders peers from the one a request of the provided type is best sent to: idle peers before
+   * busy ones, idle peers from the highest to the lowest throughput measured for this type of
+   * request, and otherwise from the least to the most busy.
+   *
+   * @param requestCode the message code of the request, such as {@link
+   *     tech.pegasys.pantheon.ethereum.eth.messages.EthPV62#GET_BLOCK_HEADERS}
+   * @return the comparator to select the peer to send the request to with
+   */
+  public static Comparator<EthPeer> fastestIdle(final int requestCode) {
+    return Comparator.comparing((final EthPeer p) -> p.outstandingRequests() > 0)
+        .thenComparingDouble(
+            p -> p.outstandingRequests() > 0 ? 0 : -estimatedBytesPerSecond(p, requestCode))
+        .thenComparing(LEAST_TO_MOST_BUSY);
+  }
+
   private final Map<PeerConnection, EthPeer> connections = new ConcurrentHashMap<>();
   private final String protocolName;
   private final Clock clock;
@@ -56,6 +74,23 @@ public class EthPeers {
         "pending_peer_requests_current",
         "Number of peer requests currently pending because peers are busy",
         pendingRequests::size);
+    EthPeer.MEASURED_REQUESTS.forEach(
+        (requestCode, requestName) -> {
+          metricsSystem.createGauge(
+              PantheonMetricCategory.PEERS,
+              "peer_" + requestName + "_response_latency_milliseconds",
+              "Average over connected peers of their moving average latency to respond to "
+                  + requestName
+                  + " requests",
+              () -> averageRequestStatistic(requestCode, RequestStatistics::getLatencyMillis));
+          metricsSystem.createGauge(
+              PantheonMetricCategory.PEERS,
+              "peer_" + requestName + "_response_bytes_per_second",
+              "Average over connected peers of their moving average throughput responding to "
+                  + requestName
+                  + " requests",
+              () -> averageRequestStatistic(requestCode, RequestStatistics::getBytesPerSecond));
+        });
   }
 
   void registerConnection(final PeerConnection peerConnection) {
@@ -79,8 +114,25 @@ public class EthPeers {
 
   public PendingPeerRequest executePeerRequest(
       final PeerRequest request, final long minimumBlockNumber, final Optional<EthPeer> peer) {
+    return executePeerRequest(request, minimumBlockNumber, peer, LEAST_TO_MOST_BUSY);
+  }
+
+  /**
+   * Sends the provided request to a peer, once one has the capacity to handle it.
+   *
+   * @param request the request to send
+   * @param minimumBlockNumber the minimum chain height of the peer to send the request to
+   * @param peer the peer to send the request to, or empty to select one
+   * @param peerSelection the order to select the peer in, the first peer being selected
+   * @return the pending request
+   */
+  public PendingPeerRequest executePeerRequest(
+      final PeerRequest request,
+      final long minimumBlockNumber,
+      final Optional<EthPeer> peer,
+      final Comparator<EthPeer> peerSelection) {
     final PendingPeerRequest pendingPeerRequest =
-        new PendingPeerRequest(this, request, minimumBlockNumber, peer);
+        new PendingPeerRequest(this, request, minimumBlockNumber, peer, peerSelection);
     synchronized (this) {
       if (!pendingPeerRequest.attemptExecution()) {
         pendingRequests.add(pendingPeerRequest);
@@ -122,6 +174,43 @@ public class EthPeers {
     return connections.values().stream().filter(EthPeer::readyForRequests);
   }
 
+  /**
+   * The number of items to put in the next request of the provided type, sized for the peer the
+   * request would be sent to if it were sent now.
+   *
+   * @param requestCode the message code of the request, such as {@link
+   *     tech.pegasys.pantheon.ethereum.eth.messages.EthPV62#GET_BLOCK_BODIES}
+   * @param maximumRequestSize the largest number of items to request
+   * @return the number of items to request
+   */
+  public int nextRequestSize(final int requestCode, final int maximumRequestSize) {
+    return streamAvailablePeers()
+        .min(fastestIdle(requestCode))
+        .map(peer -> Math.min(peer.requestSize(requestCode), maximumRequestSize))
+        .orElse(maximumRequestSize);
+  }
+
+  private static double estimatedBytesPerSecond(final EthPeer peer, final int requestCode) {
+    // Peers which were never measured come first, so that they get measured.
+    return peer.requestStatistics(requestCode)
+        .map(RequestStatistics::getBytesPerSecond)
+        .filter(OptionalDouble::isPresent)
+        .map(OptionalDouble::getAsDouble)
+        .orElse(Double.POSITIVE_INFINITY);
+  }
+
+  private double averageRequestStatistic(
+      final int requestCode, final Function<RequestStatistics, OptionalDouble> statistic) {
+    return streamAvailablePeers()
+        .map(peer -> peer.requestStatistics(requestCode))
+        .flatMap(Optional::stream)
+        .map(statistic)
+        .filter(OptionalDouble::isPresent)
+        .mapToDouble(OptionalDouble::getAsDouble)
+        .average()
+        .orElse(0);
+  }
+
   public Optional<EthPeer> bestPeer() {
     return streamAvailablePeers().max(BEST_CHAIN);
   }
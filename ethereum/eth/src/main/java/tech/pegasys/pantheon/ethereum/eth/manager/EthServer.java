@@ -13,10 +13,8 @@
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
-import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
-import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockHeadersMessage;
@@ -36,18 +34,20 @@ import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
-import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 class EthServer {
   private static final Logger LOG = LogManager.getLogger();
 
+  // Responses stop growing once they reach this size, even if fewer items than were requested and
+  // allowed by the request limit are included, to keep messages well within the maximum size.
+  static final int RESPONSE_SIZE_SOFT_LIMIT = 2 * 1024 * 1024;
+
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
   private final EthMessages ethMessages;
@@ -149,68 +149,69 @@ class EthServer {
       final long firstNumber = getHeaders.blockNumber().getAsLong();
       firstHeader = blockchain.getBlockHeader(firstNumber).orElse(null);
     }
-    final Collection<BlockHeader> resp;
-    if (firstHeader == null) {
-      resp = Collections.emptyList();
-    } else {
-      resp = Lists.newArrayList(firstHeader);
+    final List<BytesValue> headers = new ArrayList<>();
+    if (firstHeader != null) {
+      headers.add(firstHeader.encoded());
+      int responseSize = headers.get(0).size();
       final long numberDelta = reversed ? -(skip + 1) : (skip + 1);
-      for (int i = 1; i < maxHeaders; i++) {
+      for (int i = 1; i < maxHeaders && responseSize < RESPONSE_SIZE_SOFT_LIMIT; i++) {
         final long blockNumber = firstHeader.getNumber() + i * numberDelta;
         if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
           break;
         }
-        final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
+        final Optional<BytesValue> maybeHeader =
+            blockchain.getBlockHashByNumber(blockNumber).flatMap(blockchain::getBlockHeaderRlp);
         if (maybeHeader.isPresent()) {
-          resp.add(maybeHeader.get());
+          headers.add(maybeHeader.get());
+          responseSize += maybeHeader.get().size();
         } else {
           break;
         }
       }
     }
-    return BlockHeadersMessage.create(resp);
+    return BlockHeadersMessage.createFromRlp(headers);
   }
 
   static MessageData constructGetBodiesResponse(
       final Blockchain blockchain, final MessageData message, final int requestLimit) {
     final GetBlockBodiesMessage getBlockBodiesMessage = GetBlockBodiesMessage.readFrom(message);
     final Iterable<Hash> hashes = getBlockBodiesMessage.hashes();
-
-    final Collection<BlockBody> bodies = new ArrayList<>();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
-      }
-      count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
-      if (!maybeBody.isPresent()) {
-        continue;
-      }
-      bodies.add(maybeBody.get());
-    }
-    return BlockBodiesMessage.create(bodies);
+    return BlockBodiesMessage.createFromRlp(
+        collectResponse(hashes, blockchain::getBlockBodyRlp, requestLimit));
   }
 
   static MessageData constructGetReceiptsResponse(
       final Blockchain blockchain, final MessageData message, final int requestLimit) {
     final GetReceiptsMessage getReceipts = GetReceiptsMessage.readFrom(message);
     final Iterable<Hash> hashes = getReceipts.hashes();
+    return ReceiptsMessage.createFromRlp(
+        collectResponse(hashes, blockchain::getTxReceiptsRlp, requestLimit));
+  }
 
-    final List<List<TransactionReceipt>> receipts = new ArrayList<>();
+  /**
+   * Looks up the RLP encoded data for each of the requested hashes, skipping those which aren't
+   * available, until either the request limit or the response size soft limit is reached.
+   */
+  private static List<BytesValue> collectResponse(
+      final Iterable<Hash> hashes,
+      final Function<Hash, Optional<BytesValue>> lookup,
+      final int requestLimit) {
+    final List<BytesValue> response = new ArrayList<>();
     int count = 0;
+    int responseSize = 0;
     for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
+      if (count >= requestLimit || responseSize >= RESPONSE_SIZE_SOFT_LIMIT) {
         break;
       }
       count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
-      if (!maybeReceipts.isPresent()) {
+      final Optional<BytesValue> maybeData = lookup.apply(hash);
+      if (!maybeData.isPresent()) {
         continue;
       }
-      receipts.add(maybeReceipts.get());
+      response.add(maybeData.get());
+      responseSize += maybeData.get().size();
     }
-    return ReceiptsMessage.create(receipts);
+    return response;
   }
 
   static MessageData constructGetNodeDataResponse(
@@ -220,15 +221,17 @@ class EthServer {
     final GetNodeDataMessage getNodeDataMessage = GetNodeDataMessage.readFrom(message);
     final Iterable<Hash> hashes = getNodeDataMessage.hashes();
 
-    final List<BytesValue> nodeData = new ArrayList<>();
-    int count = 0;
+    final List<Hash> requestedHashes = new ArrayList<>();
     for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
+      if (requestedHashes.size() >= requestLimit) {
         break;
       }
-      count++;
+      requestedHashes.add(hash);
+    }
 
-      worldStateArchive.getNodeData(hash).ifPresent(nodeData::add);
+    final List<BytesValue> nodeData = new ArrayList<>();
+    for (final Optional<BytesValue> data : worldStateArchive.getNodeData(requestedHashes)) {
+      data.ifPresent(nodeData::add);
     }
     return NodeDataMessage.create(nodeData);
   }
@@ -17,6 +17,7 @@ import tech.pegasys.pantheon.ethereum.eth.manager.exceptions.NoAvailablePeersExc
 import tech.pegasys.pantheon.ethereum.eth.manager.exceptions.PeerDisconnectedException;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
@@ -29,16 +30,19 @@ public class PendingPeerRequest {
   private final CompletableFuture<ResponseStream> result = new CompletableFuture<>();
   private final long minimumBlockNumber;
   private final Optional<EthPeer> peer;
+  private final Comparator<EthPeer> peerSelection;
 
   PendingPeerRequest(
       final EthPeers ethPeers,
       final PeerRequest request,
       final long minimumBlockNumber,
-      final Optional<EthPeer> peer) {
+      final Optional<EthPeer> peer,
+      final Comparator<EthPeer> peerSelection) {
     this.ethPeers = ethPeers;
     this.request = request;
     this.minimumBlockNumber = minimumBlockNumber;
     this.peer = peer;
+    this.peerSelection = peerSelection;
   }
 
   /**
@@ -50,15 +54,15 @@ public class PendingPeerRequest {
     if (result.isDone()) {
       return true;
     }
-    final Optional<EthPeer> leastBusySuitablePeer = getLeastBusySuitablePeer();
-    if (!leastBusySuitablePeer.isPresent()) {
+    final Optional<EthPeer> suitablePeer = getSuitablePeer();
+    if (!suitablePeer.isPresent()) {
       // No peers have the required height.
       result.completeExceptionally(new NoAvailablePeersException());
       return true;
     } else {
       // At least one peer has the required height, but we not be able to use it if it's busy
       final Optional<EthPeer> selectedPeer =
-          leastBusySuitablePeer.filter(EthPeer::hasAvailableRequestCapacity);
+          suitablePeer.filter(EthPeer::hasAvailableRequestCapacity);
 
       selectedPeer.ifPresent(this::sendRequest);
       return selectedPeer.isPresent();
@@ -77,13 +81,13 @@ public class PendingPeerRequest {
     }
   }
 
-  private Optional<EthPeer> getLeastBusySuitablePeer() {
+  private Optional<EthPeer> getSuitablePeer() {
     return peer.isPresent()
         ? peer
         : ethPeers
             .streamAvailablePeers()
             .filter(peer -> peer.chainState().getEstimatedHeight() >= minimumBlockNumber)
-            .min(EthPeers.LEAST_TO_MOST_BUSY);
+            .min(peerSelection);
   }
 
   /**
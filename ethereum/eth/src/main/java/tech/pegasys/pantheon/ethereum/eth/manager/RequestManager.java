@@ -15,12 +15,15 @@ package tech.pegasys.pantheon.ethereum.eth.manager;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -28,11 +31,19 @@ public class RequestManager {
   private final AtomicLong responseStreamId = new AtomicLong(0L);
   private final Map<Long, ResponseStream> responseStreams = new ConcurrentHashMap<>();
   private final EthPeer peer;
+  private final Clock clock;
+  private final RequestStatistics statistics;
 
   private final AtomicInteger outstandingRequests = new AtomicInteger(0);
 
   public RequestManager(final EthPeer peer) {
+    this(peer, Clock.systemUTC(), new RequestStatistics());
+  }
+
+  public RequestManager(final EthPeer peer, final Clock clock, final RequestStatistics statistics) {
     this.peer = peer;
+    this.clock = clock;
+    this.statistics = statistics;
   }
 
   public int outstandingRequests() {
@@ -42,13 +53,20 @@ public class RequestManager {
   public ResponseStream dispatchRequest(final RequestSender sender) throws PeerNotConnected {
     outstandingRequests.incrementAndGet();
     final ResponseStream stream = createStream();
-    sender.send();
+    try {
+      sender.send();
+    } catch (final PeerNotConnected e) {
+      outstandingRequests.decrementAndGet();
+      stream.close();
+      throw e;
+    }
     return stream;
   }
 
   public void dispatchResponse(final EthMessage message) {
     final Collection<ResponseStream> streams = new ArrayList<>(responseStreams.values());
     final int count = outstandingRequests.decrementAndGet();
+    recordResponse(streams, message.getData());
 
     streams.forEach(s -> s.processMessage(message.getData()));
     if (count == 0) {
@@ -61,9 +79,27 @@ public class RequestManager {
     closeOutstandingStreams(responseStreams.values());
   }
 
+  /**
+   * Measures a response against the request it answers. Peers respond to requests in the order they
+   * were sent, so that is the oldest request still awaiting a response. Requests which timed out or
+   * failed to send have had their streams closed, so they aren't mistaken for the one answered.
+   */
+  private void recordResponse(
+      final Collection<ResponseStream> streams, final MessageData response) {
+    streams.stream()
+        .filter(ResponseStream::isAwaitingResponse)
+        .min(Comparator.comparingLong(ResponseStream::getRequestTimestamp))
+        .filter(ResponseStream::markResponseReceived)
+        .ifPresent(
+            stream ->
+                statistics.recordResponse(
+                    clock.millis() - stream.getRequestTimestamp(), response.getSize()));
+  }
+
   private ResponseStream createStream() {
     final long listenerId = nextStreamId();
-    final ResponseStream stream = new ResponseStream(peer, () -> deregisterStream(listenerId));
+    final ResponseStream stream =
+        new ResponseStream(peer, () -> deregisterStream(listenerId), clock.millis());
     responseStreams.put(listenerId, stream);
     return stream;
   }
@@ -118,13 +154,19 @@ public class RequestManager {
   public static class ResponseStream {
     private final EthPeer peer;
     private final DeregistrationProcessor deregisterCallback;
+    private final long requestTimestamp;
+    private final AtomicBoolean responseReceived = new AtomicBoolean(false);
     private final Queue<Response> bufferedResponses = new ConcurrentLinkedQueue<>();
     private volatile boolean closed = false;
     private volatile ResponseCallback responseCallback = null;
 
-    public ResponseStream(final EthPeer peer, final DeregistrationProcessor deregisterCallback) {
+    public ResponseStream(
+        final EthPeer peer,
+        final DeregistrationProcessor deregisterCallback,
+        final long requestTimestamp) {
       this.peer = peer;
       this.deregisterCallback = deregisterCallback;
+      this.requestTimestamp = requestTimestamp;
     }
 
     public ResponseStream then(final ResponseCallback callback) {
@@ -152,6 +194,18 @@ public class RequestManager {
       return peer;
     }
 
+    private long getRequestTimestamp() {
+      return requestTimestamp;
+    }
+
+    private boolean isAwaitingResponse() {
+      return !closed && !responseReceived.get();
+    }
+
+    private boolean markResponseReceived() {
+      return responseReceived.compareAndSet(false, true);
+    }
+
     private void processMessage(final MessageData message) {
       if (closed) {
         return;
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import java.util.OptionalDouble;
+
+/**
+ * The performance of a peer responding to one type of request, measured as exponentially-decayed
+ * moving averages of the latency, size and throughput of its responses, so that recent responses
+ * weigh more than older ones.
+ */
+public class RequestStatistics {
+  // The weight of each new response in the averages.
+  static final double SMOOTHING_FACTOR = 0.2;
+
+  private long responseCount;
+  private long timeoutCount;
+  private double latencyMillis;
+  private double responseBytes;
+  private double bytesPerSecond;
+
+  /**
+   * Records a response.
+   *
+   * @param latencyMillis The time elapsed between sending the request and receiving its response.
+   * @param responseBytes The size of the response.
+   */
+  public synchronized void recordResponse(final long latencyMillis, final int responseBytes) {
+    // A response received within the millisecond the request was sent is considered to take one.
+    final double responseBytesPerSecond = responseBytes * 1000d / Math.max(latencyMillis, 1);
+    if (responseCount == 0) {
+      this.latencyMillis = latencyMillis;
+      this.responseBytes = responseBytes;
+    } else {
+      this.latencyMillis = decay(this.latencyMillis, latencyMillis);
+      this.responseBytes = decay(this.responseBytes, responseBytes);
+    }
+    bytesPerSecond =
+        hasSamples() ? decay(bytesPerSecond, responseBytesPerSecond) : responseBytesPerSecond;
+    responseCount++;
+  }
+
+  /** Records a request which timed out, as a response which transferred nothing. */
+  public synchronized void recordTimeout() {
+    bytesPerSecond = hasSamples() ? decay(bytesPerSecond, 0) : 0;
+    timeoutCount++;
+  }
+
+  private static double decay(final double average, final double sample) {
+    return average + SMOOTHING_FACTOR * (sample - average);
+  }
+
+  private boolean hasSamples() {
+    return responseCount > 0 || timeoutCount > 0;
+  }
+
+  public synchronized long getResponseCount() {
+    return responseCount;
+  }
+
+  public synchronized long getTimeoutCount() {
+    return timeoutCount;
+  }
+
+  /** @return the average latency of the responses, or empty if no response was received. */
+  public synchronized OptionalDouble getLatencyMillis() {
+    return responseCount == 0 ? OptionalDouble.empty() : OptionalDouble.of(latencyMillis);
+  }
+
+  /** @return the average size of the responses, or empty if no response was received. */
+  public synchronized OptionalDouble getResponseBytes() {
+    return responseCount == 0 ? OptionalDouble.empty() : OptionalDouble.of(responseBytes);
+  }
+
+  /**
+   * @return the average throughput of the requests, or empty if no request completed or timed
+   *     out.
+   */
+  public synchronized OptionalDouble getBytesPerSecond() {
+    return hasSamples() ? OptionalDouble.of(bytesPerSecond) : OptionalDouble.empty();
+  }
+}
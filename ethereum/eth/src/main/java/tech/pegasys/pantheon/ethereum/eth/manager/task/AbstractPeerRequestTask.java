@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.eth.manager.task;
 
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
 import tech.pegasys.pantheon.ethereum.eth.manager.PeerRequest;
 import tech.pegasys.pantheon.ethereum.eth.manager.PendingPeerRequest;
 import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.ResponseStream;
@@ -80,7 +81,10 @@ public abstract class AbstractPeerRequestTask<R> extends AbstractPeerTask<R> {
 
   public PendingPeerRequest sendRequestToPeer(
       final PeerRequest request, final long minimumBlockNumber) {
-    return ethContext.getEthPeers().executePeerRequest(request, minimumBlockNumber, assignedPeer);
+    return ethContext
+        .getEthPeers()
+        .executePeerRequest(
+            request, minimumBlockNumber, assignedPeer, EthPeers.fastestIdle(requestCode));
   }
 
   private void handleMessage(
@@ -125,6 +125,7 @@ public class GetBodiesFromPeerTask<C> extends AbstractPeerRequestTask<List<Block
       // Clear processed headers
       headers.clear();
     }
+    peer.recordResponseCompleteness(EthPV62.GET_BLOCK_BODIES, headers.size(), bodies.size());
     return Optional.of(blocks);
   }
 
@@ -84,7 +84,10 @@ public class GetNodeDataFromPeerTask extends AbstractPeerRequestTask<Map<Hash, B
       // Can't be the response to our request
       return Optional.empty();
     }
-    return mapNodeDataByHash(nodeData);
+    final Optional<Map<Hash, BytesValue>> nodeDataByHash = mapNodeDataByHash(nodeData);
+    nodeDataByHash.ifPresent(
+        data -> peer.recordResponseCompleteness(EthPV63.GET_NODE_DATA, hashes.size(), data.size()));
+    return nodeDataByHash;
   }
 
   private Optional<Map<Hash, BytesValue>> mapNodeDataByHash(final List<BytesValue> nodeData) {
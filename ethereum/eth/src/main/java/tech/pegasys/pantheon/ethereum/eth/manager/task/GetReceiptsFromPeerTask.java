@@ -115,6 +115,8 @@ public class GetReceiptsFromPeerTask
       }
       blockHeaders.forEach(header -> receiptsByHeader.put(header, receiptsInBlock));
     }
+    peer.recordResponseCompleteness(
+        EthPV63.GET_RECEIPTS, headersByReceiptsRoot.size(), receiptsByBlock.size());
     return Optional.of(receiptsByHeader);
   }
 }
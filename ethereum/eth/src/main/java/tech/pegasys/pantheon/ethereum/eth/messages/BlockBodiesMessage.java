@@ -46,6 +46,21 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     return new BlockBodiesMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a message from bodies which are already RLP encoded, such as stored, copying them as is
+   * rather than decoding and re-encoding them.
+   *
+   * @param encodedBodies the RLP encoded bodies, which aren't validated
+   * @return the message
+   */
+  public static BlockBodiesMessage createFromRlp(final Iterable<BytesValue> encodedBodies) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedBodies.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockBodiesMessage(tmp.encoded());
+  }
+
   private BlockBodiesMessage(final BytesValue data) {
     super(data);
   }
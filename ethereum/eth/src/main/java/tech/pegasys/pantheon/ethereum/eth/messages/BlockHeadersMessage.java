@@ -53,6 +53,21 @@ public final class BlockHeadersMessage extends AbstractMessageData {
     return new BlockHeadersMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a message from headers which are already RLP encoded, such as stored, copying them as
+   * is rather than decoding and re-encoding them.
+   *
+   * @param encodedHeaders the RLP encoded headers, which aren't validated
+   * @return the message
+   */
+  public static BlockHeadersMessage createFromRlp(final Iterable<BytesValue> encodedHeaders) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedHeaders.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockHeadersMessage(tmp.encoded());
+  }
+
   private BlockHeadersMessage(final BytesValue data) {
     super(data);
   }
@@ -50,6 +50,21 @@ public final class ReceiptsMessage extends AbstractMessageData {
     return new ReceiptsMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a message from the receipts of blocks which are already RLP encoded, each as the list
+   * of receipts of one block, copying them as is rather than decoding and re-encoding them.
+   *
+   * @param encodedReceipts the RLP encoded lists of receipts, which aren't validated
+   * @return the message
+   */
+  public static ReceiptsMessage createFromRlp(final Iterable<BytesValue> encodedReceipts) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedReceipts.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new ReceiptsMessage(tmp.encoded());
+  }
+
   private ReceiptsMessage(final BytesValue data) {
     super(data);
   }
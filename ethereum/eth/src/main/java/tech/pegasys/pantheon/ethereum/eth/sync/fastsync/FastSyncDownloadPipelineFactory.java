@@ -23,6 +23,9 @@ import tech.pegasys.pantheon.ethereum.ProtocolContext;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV63;
 import tech.pegasys.pantheon.ethereum.eth.sync.CheckpointHeaderFetcher;
 import tech.pegasys.pantheon.ethereum.eth.sync.CheckpointHeaderValidationStep;
 import tech.pegasys.pantheon.ethereum.eth.sync.CheckpointRangeSource;
@@ -140,12 +143,20 @@ public class FastSyncDownloadPipelineFactory<C> implements DownloadPipelineFacto
                 "action"))
         .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
         .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
-        .inBatches(headerRequestSize)
+        .inBatches(headerRequestSize, () -> nextBlockBatchSize(headerRequestSize))
         .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
         .thenProcessAsyncOrdered("downloadReceipts", downloadReceiptsStep, downloaderParallelism)
         .andFinishWith("importBlock", importBlockStep);
   }
 
+  // Sized so that both the bodies and the receipts of the batch are likely to fit in one response.
+  private int nextBlockBatchSize(final int maximumBatchSize) {
+    final EthPeers ethPeers = ethContext.getEthPeers();
+    return Math.min(
+        ethPeers.nextRequestSize(EthPV62.GET_BLOCK_BODIES, maximumBatchSize),
+        ethPeers.nextRequestSize(EthPV63.GET_RECEIPTS, maximumBatchSize));
+  }
+
   private boolean shouldContinueDownloadingFromPeer(
       final EthPeer peer, final BlockHeader lastCheckpointHeader) {
     return !peer.isDisconnected()
@@ -30,6 +30,7 @@ import tech.pegasys.pantheon.util.ExceptionUtils;
 
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.IntSupplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -129,6 +130,7 @@ public class WorldStateDownloadProcess {
   public static class Builder {
 
     private int hashCountPerRequest;
+    private IntSupplier requestSize;
     private int maxOutstandingRequests;
     private LoadLocalDataStep loadLocalDataStep;
     private WorldDownloadState downloadState;
@@ -143,6 +145,15 @@ public class WorldStateDownloadProcess {
       return this;
     }
 
+    /**
+     * Sizes each request from the supplied number of hashes as it is made, up to {@link
+     * #hashCountPerRequest(int)} hashes. By default every request is of the maximum size.
+     */
+    public Builder requestSize(final IntSupplier requestSize) {
+      this.requestSize = requestSize;
+      return this;
+    }
+
     public Builder maxOutstandingRequests(final int maxOutstandingRequests) {
       this.maxOutstandingRequests = maxOutstandingRequests;
       return this;
@@ -223,7 +234,9 @@ public class WorldStateDownloadProcess {
                   task -> loadLocalDataStep.loadLocalData(task, requestsToComplete),
                   3,
                   bufferCapacity)
-              .inBatches(hashCountPerRequest)
+              .inBatches(
+                  hashCountPerRequest,
+                  requestSize != null ? requestSize : () -> hashCountPerRequest)
               .thenProcessAsync(
                   "batchDownloadData",
                   requestTasks ->
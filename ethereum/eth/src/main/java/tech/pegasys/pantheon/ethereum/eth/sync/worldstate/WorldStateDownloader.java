@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.ethereum.eth.sync.worldstate;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV63;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 import tech.pegasys.pantheon.plugin.services.MetricsSystem;
@@ -124,6 +125,11 @@ public class WorldStateDownloader {
       final WorldStateDownloadProcess downloadProcess =
           WorldStateDownloadProcess.builder()
               .hashCountPerRequest(hashCountPerRequest)
+              .requestSize(
+                  () ->
+                      ethContext
+                          .getEthPeers()
+                          .nextRequestSize(EthPV63.GET_NODE_DATA, hashCountPerRequest))
               .maxOutstandingRequests(maxOutstandingRequests)
               .loadLocalDataStep(new LoadLocalDataStep(worldStateStorage, metricsSystem))
               .requestDataStep(new RequestDataStep(ethContext, metricsSystem))
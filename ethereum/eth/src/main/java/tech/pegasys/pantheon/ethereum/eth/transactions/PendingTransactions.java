@@ -28,6 +28,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -127,6 +128,31 @@ public class PendingTransactions {
     return transactionAdded;
   }
 
+  /**
+   * Adds a batch of transactions received from peers, holding the lock for the whole batch rather
+   * than taking it once per transaction. Listeners are only notified once the lock is released.
+   *
+   * @param transactions The transactions to add.
+   * @return The transactions which were added, in the order they were provided.
+   */
+  public List<Transaction> addRemoteTransactions(final Collection<Transaction> transactions) {
+    final List<Transaction> addedTransactions = new ArrayList<>(transactions.size());
+    final List<Transaction> droppedTransactions = new ArrayList<>();
+    synchronized (pendingTransactions) {
+      for (final Transaction transaction : transactions) {
+        final TransactionInfo transactionInfo =
+            new TransactionInfo(transaction, false, clock.instant());
+        if (doAddTransaction(transactionInfo, droppedTransactions)) {
+          remoteTransactionAddedCounter.inc();
+          addedTransactions.add(transaction);
+        }
+      }
+    }
+    addedTransactions.forEach(this::notifyTransactionAdded);
+    droppedTransactions.forEach(this::notifyTransactionDropped);
+    return addedTransactions;
+  }
+
   boolean addLocalTransaction(final Transaction transaction) {
     final boolean transactionAdded =
         addTransaction(new TransactionInfo(transaction, true, clock.instant()));
@@ -214,30 +240,48 @@ public class PendingTransactions {
   }
 
   private boolean addTransaction(final TransactionInfo transactionInfo) {
-    Optional<Transaction> droppedTransaction = Optional.empty();
+    final List<Transaction> droppedTransactions = new ArrayList<>();
+    final boolean transactionAdded;
     synchronized (pendingTransactions) {
-      if (pendingTransactions.containsKey(transactionInfo.getHash())) {
-        return false;
-      }
+      transactionAdded = doAddTransaction(transactionInfo, droppedTransactions);
+    }
+    if (transactionAdded) {
+      notifyTransactionAdded(transactionInfo.getTransaction());
+    }
+    droppedTransactions.forEach(this::notifyTransactionDropped);
+    return transactionAdded;
+  }
 
-      if (!addTransactionForSenderAndNonce(transactionInfo)) {
-        return false;
-      }
-      prioritizedTransactions.add(transactionInfo);
-      pendingTransactions.put(transactionInfo.getHash(), transactionInfo);
+  /**
+   * Adds a transaction without notifying listeners, so that callers can notify them once the lock
+   * is released. Must be called while holding the lock on {@code pendingTransactions}.
+   *
+   * @param transactionInfo The transaction to add.
+   * @param droppedTransactions Collects the transactions removed to make room for this one.
+   * @return true if the transaction was added.
+   */
+  private boolean doAddTransaction(
+      final TransactionInfo transactionInfo, final List<Transaction> droppedTransactions) {
+    if (pendingTransactions.containsKey(transactionInfo.getHash())) {
+      return false;
+    }
 
-      if (pendingTransactions.size() > maxPendingTransactions) {
-        final TransactionInfo toRemove = prioritizedTransactions.last();
-        doRemoveTransaction(toRemove.getTransaction(), false);
-        droppedTransaction = Optional.of(toRemove.getTransaction());
-      }
+    if (!addTransactionForSenderAndNonce(transactionInfo, droppedTransactions)) {
+      return false;
+    }
+    prioritizedTransactions.add(transactionInfo);
+    pendingTransactions.put(transactionInfo.getHash(), transactionInfo);
+
+    if (pendingTransactions.size() > maxPendingTransactions) {
+      final TransactionInfo toRemove = prioritizedTransactions.last();
+      doRemoveTransaction(toRemove.getTransaction(), false);
+      droppedTransactions.add(toRemove.getTransaction());
     }
-    notifyTransactionAdded(transactionInfo.getTransaction());
-    droppedTransaction.ifPresent(this::notifyTransactionDropped);
     return true;
   }
 
-  private boolean addTransactionForSenderAndNonce(final TransactionInfo transactionInfo) {
+  private boolean addTransactionForSenderAndNonce(
+      final TransactionInfo transactionInfo, final List<Transaction> droppedTransactions) {
     final Map<Long, TransactionInfo> transactionsForSender =
         transactionsBySender.computeIfAbsent(transactionInfo.getSender(), key -> new TreeMap<>());
     final TransactionInfo existingTransaction =
@@ -246,7 +290,8 @@ public class PendingTransactions {
       if (!shouldReplace(existingTransaction, transactionInfo)) {
         return false;
       }
-      removeTransaction(existingTransaction.getTransaction());
+      doRemoveTransaction(existingTransaction.getTransaction(), false);
+      droppedTransactions.add(existingTransaction.getTransaction());
     }
     transactionsForSender.put(transactionInfo.getNonce(), transactionInfo);
     return true;
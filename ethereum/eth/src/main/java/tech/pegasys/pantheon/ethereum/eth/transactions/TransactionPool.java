@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionValidationParams;
@@ -37,11 +38,16 @@ import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
 import tech.pegasys.pantheon.plugin.services.MetricsSystem;
 import tech.pegasys.pantheon.plugin.services.metrics.Counter;
 import tech.pegasys.pantheon.plugin.services.metrics.LabelledMetric;
+import tech.pegasys.pantheon.plugin.services.metrics.OperationTimer;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.Logger;
 
@@ -59,6 +65,8 @@ public class TransactionPool implements BlockAddedObserver {
   private static final long SYNC_TOLERANCE = 100L;
   private static final String REMOTE = "remote";
   private static final String LOCAL = "local";
+  // Recovering a sender takes in the order of 100µs, so smaller chunks aren't worth a task.
+  private static final int MIN_SENDER_RECOVERIES_PER_TASK = 8;
   private final PendingTransactions pendingTransactions;
   private final ProtocolSchedule<?> protocolSchedule;
   private final ProtocolContext<?> protocolContext;
@@ -67,6 +75,10 @@ public class TransactionPool implements BlockAddedObserver {
   private final Wei minTransactionGasPrice;
   private final LabelledMetric<Counter> duplicateTransactionCounter;
   private final PeerTransactionTracker peerTransactionTracker;
+  private final EthScheduler ethScheduler;
+  private final Counter remoteTransactionBatchCounter;
+  private final Counter remoteTransactionsReceivedCounter;
+  private final OperationTimer senderRecoveryTimer;
 
   public TransactionPool(
       final PendingTransactions pendingTransactions,
@@ -85,6 +97,7 @@ public class TransactionPool implements BlockAddedObserver {
     this.syncState = syncState;
     this.peerTransactionTracker = peerTransactionTracker;
     this.minTransactionGasPrice = minTransactionGasPrice;
+    this.ethScheduler = ethContext.getScheduler();
 
     duplicateTransactionCounter =
         metricsSystem.createLabelledCounter(
@@ -92,6 +105,21 @@ public class TransactionPool implements BlockAddedObserver {
             "transactions_duplicates_total",
             "Total number of duplicate transactions received",
             "source");
+    remoteTransactionBatchCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.TRANSACTION_POOL,
+            "remote_transaction_batches_total",
+            "Total number of batches of remote transactions received");
+    remoteTransactionsReceivedCounter =
+        metricsSystem.createCounter(
+            PantheonMetricCategory.TRANSACTION_POOL,
+            "remote_transactions_received_total",
+            "Total number of remote transactions received, including duplicates");
+    senderRecoveryTimer =
+        metricsSystem.createTimer(
+            PantheonMetricCategory.TRANSACTION_POOL,
+            "remote_transaction_batch_sender_recovery_seconds",
+            "Time taken to recover the senders of a batch of remote transactions");
 
     ethContext.getEthPeers().subscribeConnect(this::handleConnect);
   }
@@ -127,13 +155,27 @@ public class TransactionPool implements BlockAddedObserver {
     return validationResult;
   }
 
+  /**
+   * Adds a batch of transactions received from peers.
+   *
+   * <p>Transactions already pending are discarded first. The senders of the remaining ones are then
+   * recovered in parallel, which is by far the most expensive part of their validation, and the
+   * valid ones are added to the pending transactions all at once.
+   *
+   * @param transactions The received transactions.
+   */
   public void addRemoteTransactions(final Collection<Transaction> transactions) {
     if (!syncState.isInSync(SYNC_TOLERANCE)) {
       return;
     }
-    final Set<Transaction> addedTransactions = new HashSet<>();
+    remoteTransactionBatchCounter.inc();
+    remoteTransactionsReceivedCounter.inc(transactions.size());
+
+    final List<Transaction> newTransactions = new ArrayList<>(transactions.size());
+    final Set<Transaction> seenTransactions = new HashSet<>();
     for (final Transaction transaction : transactions) {
-      if (pendingTransactions.containsTransaction(transaction.hash())) {
+      if (pendingTransactions.containsTransaction(transaction.hash())
+          || !seenTransactions.add(transaction)) {
         // We already have this transaction, don't even validate it.
         duplicateTransactionCounter.labels(REMOTE).inc();
         continue;
@@ -141,15 +183,22 @@ public class TransactionPool implements BlockAddedObserver {
       if (transaction.getGasPrice().compareTo(minTransactionGasPrice) < 0) {
         continue;
       }
+      newTransactions.add(transaction);
+    }
+    if (newTransactions.isEmpty()) {
+      return;
+    }
+
+    try (final OperationTimer.TimingContext ignored = senderRecoveryTimer.startTimer()) {
+      recoverSenders(newTransactions);
+    }
+
+    final List<Transaction> validTransactions = new ArrayList<>(newTransactions.size());
+    for (final Transaction transaction : newTransactions) {
       final ValidationResult<TransactionInvalidReason> validationResult =
           validateTransaction(transaction);
       if (validationResult.isValid()) {
-        final boolean added = pendingTransactions.addRemoteTransaction(transaction);
-        if (added) {
-          addedTransactions.add(transaction);
-        } else {
-          duplicateTransactionCounter.labels(REMOTE).inc();
-        }
+        validTransactions.add(transaction);
       } else {
         LOG.trace(
             "Validation failed ({}) for transaction {}. Discarding.",
@@ -157,8 +206,76 @@ public class TransactionPool implements BlockAddedObserver {
             transaction);
       }
     }
+
+    final List<Transaction> addedTransactions =
+        pendingTransactions.addRemoteTransactions(validTransactions);
+    final int notAdded = validTransactions.size() - addedTransactions.size();
+    if (notAdded > 0) {
+      duplicateTransactionCounter.labels(REMOTE).inc(notAdded);
+    }
     if (!addedTransactions.isEmpty()) {
-      transactionBatchAddedListener.onTransactionsAdded(addedTransactions);
+      transactionBatchAddedListener.onTransactionsAdded(new HashSet<>(addedTransactions));
+    }
+  }
+
+  /**
+   * Recovers, and so caches, the senders of the provided transactions, spreading the work between
+   * the calling thread and the computation executor.
+   *
+   * <p>Transactions are claimed one at a time by whichever thread is free, and the calling thread
+   * only waits for the transactions already claimed by other threads, so this completes even if
+   * the computation executor is busy, or if it is the calling thread's own executor.
+   */
+  private void recoverSenders(final List<Transaction> transactions) {
+    final int tasks =
+        Math.min(
+            (transactions.size() - 1) / MIN_SENDER_RECOVERIES_PER_TASK,
+            Runtime.getRuntime().availableProcessors() - 1);
+    if (tasks <= 0) {
+      transactions.forEach(TransactionPool::recoverSender);
+      return;
+    }
+
+    final AtomicInteger nextTransaction = new AtomicInteger();
+    final CountDownLatch recovered = new CountDownLatch(transactions.size());
+    final Runnable recoverClaimedSenders =
+        () -> {
+          for (int i = nextTransaction.getAndIncrement();
+              i < transactions.size();
+              i = nextTransaction.getAndIncrement()) {
+            try {
+              recoverSender(transactions.get(i));
+            } finally {
+              recovered.countDown();
+            }
+          }
+        };
+    try {
+      for (int i = 0; i < tasks; i++) {
+        ethScheduler.scheduleComputationTask(
+            () -> {
+              recoverClaimedSenders.run();
+              return null;
+            });
+      }
+    } catch (final RejectedExecutionException e) {
+      LOG.trace("Unable to recover transaction senders in parallel", e);
+    }
+    recoverClaimedSenders.run();
+
+    try {
+      recovered.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void recoverSender(final Transaction transaction) {
+    try {
+      transaction.getSender();
+    } catch (final RuntimeException e) {
+      // The transaction is rejected, with the reason why, when validated.
+      LOG.trace("Unable to recover sender of transaction {}", transaction.hash(), e);
     }
   }
 
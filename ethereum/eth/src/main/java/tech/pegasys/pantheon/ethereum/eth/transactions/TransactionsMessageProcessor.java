@@ -19,9 +19,12 @@ import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
 import tech.pegasys.pantheon.ethereum.eth.messages.TransactionsMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.metrics.RunnableCounter;
 import tech.pegasys.pantheon.plugin.services.metrics.Counter;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -74,7 +77,7 @@ class TransactionsMessageProcessor {
       LOG.trace("Received transactions message from {}", peer);
 
       final Iterator<Transaction> readTransactions =
-          transactionsMessage.transactions(Transaction::readFrom);
+          transactionsMessage.transactions(TransactionsMessageProcessor::readTransaction);
       final Set<Transaction> transactions = Sets.newHashSet(readTransactions);
       transactionTracker.markTransactionsAsSeen(peer, transactions);
       transactionPool.addRemoteTransactions(transactions);
@@ -84,4 +87,15 @@ class TransactionsMessageProcessor {
       }
     }
   }
+
+  /**
+   * Reads a transaction from a copy of its own encoding. A transaction retains the encoding it was
+   * decoded from, and a slice of the message would keep the whole message in memory for as long as
+   * the transaction is pending, however little of it the transaction takes up.
+   */
+  private static Transaction readTransaction(final RLPInput input) {
+    final BytesValue encoded = BytesValue.wrap(input.currentListAsBytesValue().extractArray());
+    input.skipNext();
+    return Transaction.readFrom(RLP.input(encoded));
+  }
 }
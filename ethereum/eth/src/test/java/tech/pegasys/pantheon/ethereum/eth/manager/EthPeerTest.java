@@ -23,6 +23,8 @@ import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.ResponseCallbac
 import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.ResponseStream;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockHeadersMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV63;
 import tech.pegasys.pantheon.ethereum.eth.messages.NodeDataMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.ReceiptsMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection;
@@ -262,6 +264,57 @@ public class EthPeerTest {
     assertThat(bodiesClosedCount.get()).isEqualTo(1);
   }
 
+  @Test
+  public void shouldGrowRequestSizeWhenFullResponsesAreReceived() {
+    final EthPeer peer = createPeer();
+    final int initialSize = peer.requestSize(EthPV62.GET_BLOCK_BODIES);
+
+    peer.recordResponseCompleteness(EthPV62.GET_BLOCK_BODIES, initialSize, initialSize);
+
+    assertThat(peer.requestSize(EthPV62.GET_BLOCK_BODIES)).isGreaterThan(initialSize);
+  }
+
+  @Test
+  public void shouldShrinkRequestSizeToPartialResponses() {
+    final EthPeer peer = createPeer();
+    final int initialSize = peer.requestSize(EthPV63.GET_NODE_DATA);
+
+    peer.recordResponseCompleteness(EthPV63.GET_NODE_DATA, initialSize, initialSize - 10);
+
+    assertThat(peer.requestSize(EthPV63.GET_NODE_DATA)).isEqualTo(initialSize - 10);
+    // Other types of requests are sized independently.
+    peer.recordResponseCompleteness(EthPV63.GET_RECEIPTS, 5, 5);
+    assertThat(peer.requestSize(EthPV63.GET_NODE_DATA)).isEqualTo(initialSize - 10);
+  }
+
+  @Test
+  public void shouldShrinkRequestSizeWhenResponsesAreSlow() {
+    final EthPeer peer = createPeer();
+    final int initialSize = peer.requestSize(EthPV63.GET_RECEIPTS);
+    peer.requestStatistics(EthPV63.GET_RECEIPTS).get().recordResponse(4000, 1000);
+
+    peer.recordResponseCompleteness(EthPV63.GET_RECEIPTS, initialSize, initialSize);
+
+    assertThat(peer.requestSize(EthPV63.GET_RECEIPTS)).isLessThan(initialSize);
+  }
+
+  @Test
+  public void shouldShrinkRequestSizeWhenRequestsTimeOut() {
+    final EthPeer peer = createPeer();
+    final int initialSize = peer.requestSize(EthPV62.GET_BLOCK_BODIES);
+
+    peer.recordRequestTimeout(EthPV62.GET_BLOCK_BODIES);
+
+    assertThat(peer.requestSize(EthPV62.GET_BLOCK_BODIES)).isLessThan(initialSize);
+  }
+
+  @Test
+  public void shouldNotLimitSizeOfUnsizedRequests() {
+    final EthPeer peer = createPeer();
+
+    assertThat(peer.requestSize(EthPV62.GET_BLOCK_HEADERS)).isEqualTo(Integer.MAX_VALUE);
+  }
+
   private void messageStream(
       final ResponseStreamSupplier getStream,
       final MessageData targetMessage,
@@ -26,6 +26,8 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.ResponseStream;
 import tech.pegasys.pantheon.ethereum.eth.manager.exceptions.NoAvailablePeersException;
 import tech.pegasys.pantheon.ethereum.eth.manager.exceptions.PeerDisconnectedException;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV63;
 import tech.pegasys.pantheon.ethereum.eth.messages.NodeDataMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
@@ -147,6 +149,68 @@ public class EthPeersTest {
     assertRequestSuccessful(pendingRequest);
   }
 
+  @Test
+  public void shouldUseFastestIdlePeerForRequest() throws Exception {
+    final RespondingEthPeer slowPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    final RespondingEthPeer fastPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    final RespondingEthPeer fastestBusyPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    recordNodeDataResponse(slowPeer.getEthPeer(), 1000, 100);
+    recordNodeDataResponse(fastPeer.getEthPeer(), 100, 10_000);
+    recordNodeDataResponse(fastestBusyPeer.getEthPeer(), 10, 10_000);
+    useRequestSlot(fastestBusyPeer.getEthPeer());
+
+    final PendingPeerRequest pendingRequest =
+        ethPeers.executePeerRequest(
+            peerRequest, 10, Optional.empty(), EthPeers.fastestIdle(EthPV63.GET_NODE_DATA));
+
+    verify(peerRequest).sendRequest(fastPeer.getEthPeer());
+    assertRequestSuccessful(pendingRequest);
+  }
+
+  @Test
+  public void shouldPreferUnmeasuredPeerAmongIdlePeers() throws Exception {
+    final RespondingEthPeer measuredPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    final RespondingEthPeer unmeasuredPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    recordNodeDataResponse(measuredPeer.getEthPeer(), 10, 10_000);
+    // Headers responses don't tell anything about node data responses.
+    unmeasuredPeer
+        .getEthPeer()
+        .requestStatistics(EthPV62.GET_BLOCK_HEADERS)
+        .get()
+        .recordResponse(10, 10_000);
+
+    final PendingPeerRequest pendingRequest =
+        ethPeers.executePeerRequest(
+            peerRequest, 10, Optional.empty(), EthPeers.fastestIdle(EthPV63.GET_NODE_DATA));
+
+    verify(peerRequest).sendRequest(unmeasuredPeer.getEthPeer());
+    assertRequestSuccessful(pendingRequest);
+  }
+
+  @Test
+  public void shouldSizeRequestsForFastestIdlePeer() throws Exception {
+    final RespondingEthPeer fastPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    final RespondingEthPeer slowPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    recordNodeDataResponse(fastPeer.getEthPeer(), 10, 10_000);
+    recordNodeDataResponse(slowPeer.getEthPeer(), 1000, 10_000);
+    fastPeer.getEthPeer().recordResponseCompleteness(EthPV63.GET_NODE_DATA, 30, 20);
+
+    assertThat(ethPeers.nextRequestSize(EthPV63.GET_NODE_DATA, 100)).isEqualTo(20);
+    assertThat(ethPeers.nextRequestSize(EthPV63.GET_NODE_DATA, 10)).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldUseMaximumRequestSizeWhenNoPeersConnected() {
+    assertThat(ethPeers.nextRequestSize(EthPV63.GET_NODE_DATA, 100)).isEqualTo(100);
+  }
+
   @Test
   public void shouldFailWithNoAvailablePeersWhenNoPeersConnected() {
     final PendingPeerRequest pendingRequest =
@@ -247,6 +311,13 @@ public class EthPeersTest {
     ethPeers.dispatchMessage(ethPeer, new EthMessage(ethPeer, NodeDataMessage.create(emptyList())));
   }
 
+  private void recordNodeDataResponse(
+      final EthPeer peer, final long latencyMillis, final int responseBytes) {
+    peer.requestStatistics(EthPV63.GET_NODE_DATA)
+        .get()
+        .recordResponse(latencyMillis, responseBytes);
+  }
+
   private void useAllAvailableCapacity(final EthPeer peer) throws PeerNotConnected {
     while (peer.hasAvailableRequestCapacity()) {
       useRequestSlot(peer);
@@ -19,13 +19,22 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.eth.EthProtocolConfiguration;
+import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockBodiesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.GetNodeDataMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetReceiptsMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.NodeDataMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.ReceiptsMessage;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Before;
@@ -39,6 +48,7 @@ public class EthServerTest {
   private static final Hash HASH1 = Hash.hash(VALUE1);
   private static final Hash HASH2 = Hash.hash(VALUE2);
   private static final Hash HASH3 = Hash.hash(VALUE3);
+  private final BlockDataGenerator gen = new BlockDataGenerator();
   private final Blockchain blockchain = mock(Blockchain.class);
   private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
   private final EthPeer ethPeer = mock(EthPeer.class);
@@ -52,8 +62,8 @@ public class EthServerTest {
 
   @Test
   public void shouldRespondToNodeDataRequests() throws Exception {
-    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
-    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.of(VALUE2));
+    when(worldStateArchive.getNodeData(asList(HASH1, HASH2)))
+        .thenReturn(asList(Optional.of(VALUE1), Optional.of(VALUE2)));
     ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2))));
 
     verify(ethPeer).send(NodeDataMessage.create(asList(VALUE1, VALUE2)));
@@ -61,8 +71,8 @@ public class EthServerTest {
 
   @Test
   public void shouldHandleDataBeingUnavailableWhenRespondingToNodeDataRequests() throws Exception {
-    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
-    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.empty());
+    when(worldStateArchive.getNodeData(asList(HASH1, HASH2)))
+        .thenReturn(asList(Optional.of(VALUE1), Optional.empty()));
     ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2))));
 
     verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE1)));
@@ -70,8 +80,8 @@ public class EthServerTest {
 
   @Test
   public void shouldLimitNumberOfResponsesToNodeDataRequests() throws Exception {
-    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
-    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.of(VALUE2));
+    when(worldStateArchive.getNodeData(asList(HASH1, HASH2)))
+        .thenReturn(asList(Optional.of(VALUE1), Optional.of(VALUE2)));
     ethMessages.dispatch(
         new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2, HASH3))));
 
@@ -81,12 +91,46 @@ public class EthServerTest {
   @Test
   public void shouldLimitTheNumberOfNodeDataResponsesLookedUpNotTheNumberReturned()
       throws Exception {
-    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
-    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.empty());
-    when(worldStateArchive.getNodeData(HASH3)).thenReturn(Optional.of(VALUE3));
+    when(worldStateArchive.getNodeData(asList(HASH1, HASH2)))
+        .thenReturn(asList(Optional.of(VALUE1), Optional.empty()));
     ethMessages.dispatch(
         new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2, HASH3))));
 
     verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE1)));
   }
+
+  @Test
+  public void shouldRespondToBlockBodiesRequestsWithStoredBodies() throws Exception {
+    final BlockBody body1 = gen.body();
+    final BlockBody body2 = gen.body();
+    when(blockchain.getBlockBodyRlp(HASH1)).thenReturn(Optional.of(RLP.encode(body1::writeTo)));
+    when(blockchain.getBlockBodyRlp(HASH2)).thenReturn(Optional.of(RLP.encode(body2::writeTo)));
+    ethMessages.dispatch(
+        new EthMessage(ethPeer, GetBlockBodiesMessage.create(asList(HASH1, HASH3, HASH2))));
+
+    verify(ethPeer).send(BlockBodiesMessage.create(asList(body1)));
+  }
+
+  @Test
+  public void shouldRespondToReceiptsRequestsWithStoredReceipts() throws Exception {
+    final List<TransactionReceipt> receipts = asList(gen.receipt(), gen.receipt());
+    when(blockchain.getTxReceiptsRlp(HASH1))
+        .thenReturn(
+            Optional.of(RLP.encode(out -> out.writeList(receipts, TransactionReceipt::writeTo))));
+    ethMessages.dispatch(new EthMessage(ethPeer, GetReceiptsMessage.create(asList(HASH1))));
+
+    verify(ethPeer).send(ReceiptsMessage.create(singletonList(receipts)));
+  }
+
+  @Test
+  public void shouldStopAddingToResponsesOnceSizeSoftLimitIsReached() throws Exception {
+    final BytesValue largeBody =
+        RLP.encodeOne(BytesValue.wrap(new byte[EthServer.RESPONSE_SIZE_SOFT_LIMIT]));
+    when(blockchain.getBlockBodyRlp(HASH1)).thenReturn(Optional.of(largeBody));
+    when(blockchain.getBlockBodyRlp(HASH2)).thenReturn(Optional.of(RLP.encodeOne(VALUE2)));
+    ethMessages.dispatch(
+        new EthMessage(ethPeer, GetBlockBodiesMessage.create(asList(HASH1, HASH2))));
+
+    verify(ethPeer).send(BlockBodiesMessage.createFromRlp(singletonList(largeBody)));
+  }
 }
@@ -13,12 +13,14 @@
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
 import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.RequestSender;
 import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.ResponseCallback;
 import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.ResponseStream;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.Capability;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
@@ -212,6 +214,80 @@ public class RequestManagerTest {
     assertThat(closedCountB.get()).isEqualTo(1);
   }
 
+  @Test
+  public void measuresResponsesInTheOrderRequestsWereSent() throws Exception {
+    final EthPeer peer = createPeer();
+    final TestClock clock = new TestClock();
+    final RequestStatistics statistics = new RequestStatistics();
+    final RequestManager requestManager = new RequestManager(peer, clock, statistics);
+    final RequestSender sender = () -> {};
+
+    requestManager.dispatchRequest(sender);
+    clock.stepMillis(100);
+    requestManager.dispatchRequest(sender);
+    clock.stepMillis(100);
+
+    // The first response answers the request sent 200ms ago
+    requestManager.dispatchResponse(
+        new EthMessage(peer, new RawMessage(1, BytesValue.wrap(new byte[1000]))));
+    assertThat(statistics.getResponseCount()).isEqualTo(1);
+    assertThat(statistics.getLatencyMillis()).hasValue(200);
+    assertThat(statistics.getResponseBytes()).hasValue(1000);
+    assertThat(statistics.getBytesPerSecond()).hasValue(5000);
+
+    // The second response answers the request sent 100ms ago
+    requestManager.dispatchResponse(
+        new EthMessage(peer, new RawMessage(1, BytesValue.wrap(new byte[1000]))));
+    assertThat(statistics.getResponseCount()).isEqualTo(2);
+    assertThat(statistics.getLatencyMillis()).hasValue(180);
+  }
+
+  @Test
+  public void doesNotMeasureResponsesAgainstRequestsWhichTimedOut() throws Exception {
+    final EthPeer peer = createPeer();
+    final TestClock clock = new TestClock();
+    final RequestStatistics statistics = new RequestStatistics();
+    final RequestManager requestManager = new RequestManager(peer, clock, statistics);
+    final RequestSender sender = () -> {};
+
+    final ResponseStream timedOutStream = requestManager.dispatchRequest(sender);
+    clock.stepMillis(5000);
+    // Timed out requests have their streams closed.
+    timedOutStream.close();
+    requestManager.dispatchRequest(sender);
+    clock.stepMillis(100);
+
+    requestManager.dispatchResponse(
+        new EthMessage(peer, new RawMessage(1, BytesValue.wrap(new byte[1000]))));
+    assertThat(statistics.getResponseCount()).isEqualTo(1);
+    assertThat(statistics.getLatencyMillis()).hasValue(100);
+  }
+
+  @Test
+  public void doesNotMeasureResponsesAgainstRequestsWhichFailedToSend() throws Exception {
+    final EthPeer peer = createPeer();
+    final TestClock clock = new TestClock();
+    final RequestStatistics statistics = new RequestStatistics();
+    final RequestManager requestManager = new RequestManager(peer, clock, statistics);
+
+    assertThatThrownBy(
+            () ->
+                requestManager.dispatchRequest(
+                    () -> {
+                      throw new PeerNotConnected("Disconnected");
+                    }))
+        .isInstanceOf(PeerNotConnected.class);
+    assertThat(requestManager.outstandingRequests()).isZero();
+    clock.stepMillis(5000);
+    requestManager.dispatchRequest(() -> {});
+    clock.stepMillis(100);
+
+    requestManager.dispatchResponse(
+        new EthMessage(peer, new RawMessage(1, BytesValue.wrap(new byte[1000]))));
+    assertThat(statistics.getResponseCount()).isEqualTo(1);
+    assertThat(statistics.getLatencyMillis()).hasValue(100);
+  }
+
   private EthMessage mockMessage(final EthPeer peer) {
     return new EthMessage(peer, new RawMessage(1, BytesValue.EMPTY));
   }
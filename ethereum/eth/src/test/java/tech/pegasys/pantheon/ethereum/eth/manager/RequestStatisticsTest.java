@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class RequestStatisticsTest {
+
+  private final RequestStatistics statistics = new RequestStatistics();
+
+  @Test
+  public void hasNoAveragesBeforeAnyResponse() {
+    assertThat(statistics.getLatencyMillis()).isEmpty();
+    assertThat(statistics.getResponseBytes()).isEmpty();
+    assertThat(statistics.getBytesPerSecond()).isEmpty();
+  }
+
+  @Test
+  public void weighsRecentResponsesMore() {
+    statistics.recordResponse(100, 1000);
+    statistics.recordResponse(200, 2000);
+
+    assertThat(statistics.getResponseCount()).isEqualTo(2);
+    assertThat(statistics.getLatencyMillis()).hasValue(120);
+    assertThat(statistics.getResponseBytes()).hasValue(1200);
+    assertThat(statistics.getBytesPerSecond()).hasValue(10_000);
+  }
+
+  @Test
+  public void treatsInstantResponsesAsTakingOneMillisecond() {
+    statistics.recordResponse(0, 10);
+
+    assertThat(statistics.getBytesPerSecond()).hasValue(10_000);
+  }
+
+  @Test
+  public void timeoutsLowerTheThroughputOnly() {
+    statistics.recordResponse(100, 1000);
+    statistics.recordTimeout();
+
+    assertThat(statistics.getTimeoutCount()).isEqualTo(1);
+    assertThat(statistics.getLatencyMillis()).hasValue(100);
+    assertThat(statistics.getBytesPerSecond()).hasValue(8000);
+  }
+
+  @Test
+  public void timeoutWithoutResponseMeasuresNoThroughput() {
+    statistics.recordTimeout();
+
+    assertThat(statistics.getLatencyMillis()).isEmpty();
+    assertThat(statistics.getBytesPerSecond()).hasValue(0);
+  }
+}
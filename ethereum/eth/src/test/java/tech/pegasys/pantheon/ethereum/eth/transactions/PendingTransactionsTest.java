@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.transactions;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -33,6 +35,8 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.collect.Lists;
 import org.junit.Test;
@@ -191,6 +195,40 @@ public class PendingTransactionsTest {
     verify(listener).onTransactionAdded(transaction1);
   }
 
+  @Test
+  public void shouldNotifyListenersOfTransactionsAddedAndDroppedInABatch() {
+    final Transaction oldestTransaction = createTransaction(0);
+    transactions.addRemoteTransaction(oldestTransaction);
+    for (int i = 1; i < MAX_TRANSACTIONS; i++) {
+      transactions.addRemoteTransaction(createTransaction(i));
+    }
+    transactions.subscribePendingTransactions(listener);
+    transactions.subscribeDroppedTransactions(droppedListener);
+
+    final Transaction newTransaction = createTransaction(MAX_TRANSACTIONS + 1);
+    assertThat(transactions.addRemoteTransactions(singletonList(newTransaction)))
+        .containsExactly(newTransaction);
+
+    verify(listener).onTransactionAdded(newTransaction);
+    verify(droppedListener).onTransactionDropped(oldestTransaction);
+  }
+
+  @Test
+  public void shouldNotifyListenersOfABatchOnceTheLockIsReleased() {
+    final List<OptionalLong> noncesSeenByListener = new ArrayList<>();
+    transactions.subscribePendingTransactions(
+        transaction ->
+            // Blocks until the lock is released, so would time out if it were still held.
+            noncesSeenByListener.add(
+                CompletableFuture.supplyAsync(() -> transactions.getNextNonceForSender(SENDER1))
+                    .orTimeout(10, TimeUnit.SECONDS)
+                    .join()));
+
+    transactions.addRemoteTransactions(asList(transaction1, transaction2));
+
+    assertThat(noncesSeenByListener).hasSize(2);
+  }
+
   @Test
   public void shouldNotifyDroppedListenerWhenRemoteTransactionDropped() {
     transactions.addRemoteTransaction(transaction1);
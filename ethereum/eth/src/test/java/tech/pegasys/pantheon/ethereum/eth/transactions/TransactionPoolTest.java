@@ -49,6 +49,7 @@ import tech.pegasys.pantheon.ethereum.core.Wei;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManager;
+import tech.pegasys.pantheon.ethereum.eth.manager.DeterministicEthScheduler;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManagerTestUtil;
 import tech.pegasys.pantheon.ethereum.eth.manager.RespondingEthPeer;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
@@ -64,10 +65,13 @@ import tech.pegasys.pantheon.plugin.services.MetricsSystem;
 import tech.pegasys.pantheon.testutil.TestClock;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -119,6 +123,7 @@ public class TransactionPoolTest {
     ethContext = mock(EthContext.class);
     EthPeers ethPeers = mock(EthPeers.class);
     when(ethContext.getEthPeers()).thenReturn(ethPeers);
+    when(ethContext.getScheduler()).thenReturn(new DeterministicEthScheduler());
     peerTransactionTracker = mock(PeerTransactionTracker.class);
     transactionPool =
         new TransactionPool(
@@ -549,6 +554,48 @@ public class TransactionPoolTest {
     assertTransactionPending(transaction3);
   }
 
+  @Test
+  public void shouldAddLargeBatchOfRemoteTransactions() {
+    final int batchSize = 40;
+    final PendingTransactions pendingTransactions =
+        new PendingTransactions(
+            TransactionPoolConfiguration.DEFAULT_TX_RETENTION_HOURS,
+            batchSize,
+            TestClock.fixed(),
+            metricsSystem);
+    final TransactionPool transactionPool =
+        new TransactionPool(
+            pendingTransactions,
+            protocolSchedule,
+            protocolContext,
+            batchAddedListener,
+            syncState,
+            ethContext,
+            peerTransactionTracker,
+            Wei.ZERO,
+            metricsSystem);
+    final TransactionTestFixture builder = new TransactionTestFixture();
+    final List<Transaction> batch =
+        IntStream.range(0, batchSize)
+            .mapToObj(nonce -> builder.nonce(nonce).createTransaction(KEY_PAIR1))
+            .collect(toList());
+    when(transactionValidator.validate(any(Transaction.class))).thenReturn(valid());
+    when(transactionValidator.validateForSender(
+            any(Transaction.class), nullable(Account.class), any(TransactionValidationParams.class)))
+        .thenReturn(valid());
+
+    // Duplicates within the batch are only added once.
+    final List<Transaction> batchWithDuplicates = new ArrayList<>(batch);
+    batchWithDuplicates.addAll(batch);
+    transactionPool.addRemoteTransactions(batchWithDuplicates);
+
+    batch.forEach(
+        transaction ->
+            assertThat(pendingTransactions.getTransactionByHash(transaction.hash()))
+                .contains(transaction));
+    verify(batchAddedListener).onTransactionsAdded(new HashSet<>(batch));
+  }
+
   @Test
   public void shouldSendOnlyLocalTransactionToNewlyConnectedPeer() {
     EthProtocolManager ethProtocolManager = EthProtocolManagerTestUtil.create();
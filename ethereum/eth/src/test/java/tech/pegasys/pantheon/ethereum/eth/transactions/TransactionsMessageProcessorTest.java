@@ -16,18 +16,26 @@ import static java.time.Duration.ofMillis;
 import static java.time.Duration.ofMinutes;
 import static java.time.Instant.now;
 import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
 import tech.pegasys.pantheon.ethereum.eth.messages.TransactionsMessage;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
 import tech.pegasys.pantheon.plugin.services.metrics.Counter;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Arrays;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -69,6 +77,27 @@ public class TransactionsMessageProcessorTest {
         .addRemoteTransactions(ImmutableSet.of(transaction1, transaction2, transaction3));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldNotRetainTheMessageTransactionsWereReadFrom() {
+    final byte[] messageBytes =
+        TransactionsMessage.create(asList(transaction1, transaction2)).getData().extractArray();
+    messageHandler.processTransactionsMessage(
+        peer1,
+        TransactionsMessage.readFrom(
+            new RawMessage(EthPV62.TRANSACTIONS, BytesValue.wrap(messageBytes))),
+        now(),
+        ofMinutes(1));
+
+    final ArgumentCaptor<Set<Transaction>> pooled = ArgumentCaptor.forClass(Set.class);
+    verify(transactionPool).addRemoteTransactions(pooled.capture());
+    // Transactions sharing the message's bytes would see them change.
+    Arrays.fill(messageBytes, (byte) 0);
+    assertThat(pooled.getValue())
+        .extracting(Transaction::encoded)
+        .containsExactlyInAnyOrder(transaction1.encoded(), transaction2.encoded());
+  }
+
   @Test
   public void shouldNotMarkReceivedExpiredTransactionsAsSeen() {
     messageHandler.processTransactionsMessage(
@@ -15,8 +15,10 @@ package tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.netty;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnectionEventDispatcher;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.ByteBufMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.CapabilityMultiplexer;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.PongMessage;
@@ -97,7 +99,13 @@ final class ApiHandler extends SimpleChannelInboundHandler<MessageData> {
       }
       return;
     }
-    connectionEventDispatcher.dispatchMessage(demultiplexed.getCapability(), connection, message);
+    // Sub-protocols may hold on to the message beyond its release once this returns.
+    final MessageData dispatchedMessage =
+        originalMessage instanceof ByteBufMessage
+            ? new RawMessage(message.getCode(), message.getData().copy())
+            : message;
+    connectionEventDispatcher.dispatchMessage(
+        demultiplexed.getCapability(), connection, dispatchedMessage);
   }
 
   @Override
@@ -24,6 +24,7 @@ import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnection;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.connections.PeerConnectionEventDispatcher;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.framing.Framer;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.framing.FramingException;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.ByteBufMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.CapabilityMultiplexer;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.PeerInfo;
@@ -100,8 +101,14 @@ final class DeFramer extends ByteToMessageDecoder {
     while ((message = framer.deframe(in)) != null) {
 
       if (hellosExchanged) {
+        // Handed over to the next handlers, which release it.
         out.add(message);
-      } else if (message.getCode() == WireMessageCodes.HELLO) {
+        continue;
+      }
+
+      // Parts of the messages received until HELLOs are exchanged are held on to.
+      message = copyToHeap(message);
+      if (message.getCode() == WireMessageCodes.HELLO) {
         hellosExchanged = true;
         // Decode first hello and use the payload to modify pipeline
         final PeerInfo peerInfo;
@@ -187,6 +194,18 @@ final class DeFramer extends ByteToMessageDecoder {
     }
   }
 
+  private static MessageData copyToHeap(final MessageData message) {
+    if (!(message instanceof ByteBufMessage)) {
+      return message;
+    }
+    final ByteBufMessage bufferedMessage = (ByteBufMessage) message;
+    try {
+      return bufferedMessage.copy();
+    } finally {
+      bufferedMessage.release();
+    }
+  }
+
   private Peer createPeer(final PeerInfo peerInfo, final ChannelHandlerContext ctx) {
     final InetSocketAddress remoteAddress = ((InetSocketAddress) ctx.channel().remoteAddress());
     int port = peerInfo.getPort();
@@ -17,6 +17,7 @@ import static io.netty.buffer.Unpooled.wrappedBuffer;
 import static org.bouncycastle.pqc.math.linearalgebra.ByteUtils.xor;
 
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.ByteBufMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
@@ -54,6 +55,7 @@ public class Framer {
   private static final int LENGTH_FRAME_SIZE = 3;
   private static final int LENGTH_MESSAGE_ID = 1;
   private static final int LENGTH_MAX_MESSAGE_FRAME = 0xFFFFFF;
+  private static final int SCRATCH_SIZE = 4096;
 
   private static final byte[] IV = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
   private static final byte[] PROTOCOL_HEADER =
@@ -74,6 +76,7 @@ public class Framer {
   private boolean headerProcessed;
   private int frameSize;
   private boolean compressionEnabled = false;
+  private final byte[] scratch = new byte[SCRATCH_SIZE];
 
   /**
    * Creates a new framer out of the handshake secrets derived during the cryptographic handshake.
@@ -125,9 +128,13 @@ public class Framer {
    * <p>When this method throws an exception, it is recommended that the caller scraps away the RLPx
    * connection, as the digests and stream ciphers could have become corrupted.
    *
+   * <p>Frames are decrypted in place, and messages are views of the byte buffer or of pooled
+   * buffers, so that their data is never copied. Each message must be released once handled, and
+   * the caller must not discard the read bytes of the byte buffer while messages are in use.
+   *
    * @param buf The buffer containing no messages, partial messages or multiple messages.
    * @return The first fully extracted message from this buffer, or <code>null</code> if no message
-   *     could be extracted yet.
+   *     could be extracted yet. The message is a {@link ByteBufMessage} to be released.
    * @throws FramingException Thrown when a decryption or internal error occurs.
    */
   public synchronized MessageData deframe(final ByteBuf buf) throws FramingException {
@@ -142,7 +149,6 @@ public class Framer {
       }
       frameSize = processHeader(buf.readSlice(LENGTH_FULL_HEADER));
       headerProcessed = true;
-      buf.discardReadBytes();
     }
 
     final int size = frameSize + padding16(frameSize) + LENGTH_MAC;
@@ -150,8 +156,8 @@ public class Framer {
       return null;
     }
 
+    // Read bytes are not discarded here, as messages may be views of them.
     final MessageData msg = processFrame(buf.readSlice(size), frameSize);
-    buf.discardReadBytes();
     headerProcessed = false;
     return msg;
   }
@@ -224,24 +230,31 @@ public class Framer {
    * Parses, decrypts and performs MAC verification on a frame.
    *
    * <p>This method expects a well-formed frame, sized according to the length indicated in this
-   * packet's header.
+   * packet's header. The frame is decrypted in place, and the returned message is a view of it, or
+   * of a buffer of the same allocator when decompressed, which must be released once handled.
    *
-   * @param f The buffer containing
-   * @param frameSize The expected
+   * @param f The buffer containing the frame and its MAC.
+   * @param frameSize The size of the frame, as indicated by the header.
+   * @return The message of the frame.
    */
-  private MessageData processFrame(final ByteBuf f, final int frameSize) {
+  private ByteBufMessage processFrame(final ByteBuf f, final int frameSize) {
     final int pad = padding16(frameSize);
     final int expectedSize = frameSize + pad + LENGTH_MAC;
     if (f.readableBytes() != expectedSize) {
       throw error("Expected %s bytes in header, got %s", expectedSize, f.readableBytes());
     }
 
-    final byte[] frameData = new byte[frameSize + pad];
+    final int frameStart = f.readerIndex();
+    final int frameLength = frameSize + pad;
     final byte[] fMac = new byte[LENGTH_MAC];
-    f.readBytes(frameData).readBytes(fMac);
+    f.getBytes(frameStart + frameLength, fMac);
+
+    // Update the ingress MAC with the frame data, decrypting it in place along the way. The
+    // decrypted data is discarded if the MAC turns out not to match.
+    updateIngressMacAndDecrypt(f, frameStart, frameLength);
 
     // Validate the frame's MAC.
-    final byte[] fMacSeed = secrets.updateIngress(frameData).getIngressMac();
+    final byte[] fMacSeed = secrets.getIngressMac();
     final byte[] fMacSeedEnc = new byte[16];
     macEncryptor.processBlock(fMacSeed, 0, fMacSeedEnc, 0);
     byte[] expectedMac = secrets.updateIngress(xor(fMacSeedEnc, fMacSeed)).getIngressMac();
@@ -249,30 +262,52 @@ public class Framer {
 
     validateMac(fMac, expectedMac);
 
-    // Decrypt frame data.
-    decryptor.processBytes(frameData, 0, frameData.length, frameData, 0);
-
     // Read the id.
-    final BytesValue idbv = RLP.decodeOne(BytesValue.of(frameData[0]));
+    final BytesValue idbv = RLP.decodeOne(BytesValue.of(f.getByte(frameStart)));
     final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
 
-    // Write message data to ByteBuf, decompressing as necessary
-    final BytesValue data;
+    final int messageStart = frameStart + LENGTH_MESSAGE_ID;
+    final int messageLength = frameSize - LENGTH_MESSAGE_ID;
     if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
+      final ByteBuf messageData = f.slice(messageStart, messageLength);
+      final int uncompressedLength = compressor.uncompressedLength(messageData);
       if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
         throw error("Message size %s in excess of maximum length.", uncompressedLength);
       }
-      final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
-      data = BytesValue.wrap(decompressedMessageData);
+      final ByteBuf decompressed =
+          messageData.isDirect()
+              ? f.alloc().directBuffer(uncompressedLength)
+              : f.alloc().heapBuffer(uncompressedLength);
+      try {
+        compressor.decompress(messageData, decompressed);
+      } catch (final RuntimeException e) {
+        decompressed.release();
+        throw e;
+      }
+      return new ByteBufMessage(id, decompressed);
     } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = BytesValue.wrap(frameData, 1, messageLength);
+      // Share the frame, which must then outlive the message.
+      return new ByteBufMessage(id, f.retainedSlice(messageStart, messageLength));
     }
+  }
 
-    return new RawMessage(id, data);
+  private void updateIngressMacAndDecrypt(final ByteBuf f, final int index, final int length) {
+    if (f.hasArray()) {
+      final byte[] array = f.array();
+      final int offset = f.arrayOffset() + index;
+      secrets.updateIngress(array, offset, length);
+      decryptor.processBytes(array, offset, length, array, offset);
+      return;
+    }
+    // Direct buffers are processed a chunk at a time through a reused array, as the MAC and cipher
+    // only work on arrays.
+    for (int chunkIndex = index; chunkIndex < index + length; chunkIndex += scratch.length) {
+      final int chunkLength = Math.min(scratch.length, index + length - chunkIndex);
+      f.getBytes(chunkIndex, scratch, 0, chunkLength);
+      secrets.updateIngress(scratch, 0, chunkLength);
+      decryptor.processBytes(scratch, 0, chunkLength, scratch, 0);
+      f.setBytes(chunkIndex, scratch, 0, chunkLength);
+    }
   }
 
   private void validateMac(final byte[] candidateMac, final byte[] expectedMac) {
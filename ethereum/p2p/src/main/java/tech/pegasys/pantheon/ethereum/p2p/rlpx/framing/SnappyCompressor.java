@@ -16,6 +16,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.IOException;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.xerial.snappy.Snappy;
 
 /**
@@ -43,6 +45,43 @@ public class SnappyCompressor {
     }
   }
 
+  /**
+   * Decompresses the readable bytes of a buffer straight into another, without copying them to
+   * intermediate arrays when both buffers are direct or both are array-backed.
+   *
+   * @param compressed The buffer to decompress, which is fully read.
+   * @param uncompressed The buffer to write the decompressed data to, which must have at least
+   *     {@link #uncompressedLength(ByteBuf)} writable bytes.
+   */
+  public void decompress(final ByteBuf compressed, final ByteBuf uncompressed) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      final int length;
+      if (isSingleDirectBuffer(compressed) && isSingleDirectBuffer(uncompressed)) {
+        length =
+            Snappy.uncompress(
+                compressed.nioBuffer(),
+                uncompressed.nioBuffer(uncompressed.writerIndex(), uncompressed.writableBytes()));
+      } else if (compressed.hasArray() && uncompressed.hasArray()) {
+        length =
+            Snappy.uncompress(
+                compressed.array(),
+                compressed.arrayOffset() + compressed.readerIndex(),
+                compressed.readableBytes(),
+                uncompressed.array(),
+                uncompressed.arrayOffset() + uncompressed.writerIndex());
+      } else {
+        final byte[] decompressed = Snappy.uncompress(ByteBufUtil.getBytes(compressed));
+        uncompressed.setBytes(uncompressed.writerIndex(), decompressed);
+        length = decompressed.length;
+      }
+      compressed.skipBytes(compressed.readableBytes());
+      uncompressed.writerIndex(uncompressed.writerIndex() + length);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+  }
+
   public int uncompressedLength(final byte[] compressed) {
     checkNotNull(compressed, "input data must not be null");
     try {
@@ -51,4 +90,26 @@ public class SnappyCompressor {
       throw new FramingException("Snappy uncompressedLength failed", e);
     }
   }
+
+  public int uncompressedLength(final ByteBuf compressed) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      if (isSingleDirectBuffer(compressed)) {
+        return Snappy.uncompressedLength(compressed.nioBuffer());
+      } else if (compressed.hasArray()) {
+        return Snappy.uncompressedLength(
+            compressed.array(),
+            compressed.arrayOffset() + compressed.readerIndex(),
+            compressed.readableBytes());
+      } else {
+        return Snappy.uncompressedLength(ByteBufUtil.getBytes(compressed));
+      }
+    } catch (final IOException e) {
+      throw new FramingException("Snappy uncompressedLength failed", e);
+    }
+  }
+
+  private static boolean isSingleDirectBuffer(final ByteBuf buffer) {
+    return buffer.isDirect() && buffer.nioBufferCount() == 1;
+  }
 }
@@ -82,7 +82,19 @@ public class HandshakeSecrets {
    * @return Returns this instance for fluent chaining.
    */
   public HandshakeSecrets updateIngress(final byte[] bytes) {
-    ingressMac.update(bytes, 0, bytes.length);
+    return updateIngress(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Updates the ingress mac with a range of the provided bytes.
+   *
+   * @param bytes The bytes of the incoming message.
+   * @param offset The offset of the range in the bytes.
+   * @param length The length of the range.
+   * @return Returns this instance for fluent chaining.
+   */
+  public HandshakeSecrets updateIngress(final byte[] bytes, final int offset, final int length) {
+    ingressMac.update(bytes, offset, length);
     return this;
   }
 
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.rlpx.wire;
+
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+
+/**
+ * A message whose data is a view of a reference-counted, typically pooled, {@link ByteBuf}, so that
+ * it can be passed along without being copied.
+ *
+ * <p>The message owns a reference to the buffer, and must be released once handled. Its data must
+ * not be used after that, so anything holding on to the message or parts of its data beyond that
+ * must copy them first.
+ */
+public final class ByteBufMessage extends AbstractMessageData implements ReferenceCounted {
+
+  private final int code;
+  private final ByteBuf buffer;
+
+  /**
+   * @param code The message code.
+   * @param buffer The data of the message, from index 0 to its writer index, whose reference is
+   *     passed to this message.
+   */
+  public ByteBufMessage(final int code, final ByteBuf buffer) {
+    super(MutableBytesValue.wrapBuffer(buffer));
+    this.code = code;
+    this.buffer = buffer;
+  }
+
+  @Override
+  public int getCode() {
+    return code;
+  }
+
+  /**
+   * Copies this message to the heap, to hold on to it beyond its release.
+   *
+   * @return A copy of this message which doesn't depend on the buffer.
+   */
+  public RawMessage copy() {
+    return new RawMessage(code, data.copy());
+  }
+
+  @Override
+  public int refCnt() {
+    return buffer.refCnt();
+  }
+
+  @Override
+  public ByteBufMessage retain() {
+    buffer.retain();
+    return this;
+  }
+
+  @Override
+  public ByteBufMessage retain(final int increment) {
+    buffer.retain(increment);
+    return this;
+  }
+
+  @Override
+  public ByteBufMessage touch() {
+    buffer.touch();
+    return this;
+  }
+
+  @Override
+  public ByteBufMessage touch(final Object hint) {
+    buffer.touch(hint);
+    return this;
+  }
+
+  @Override
+  public boolean release() {
+    return buffer.release();
+  }
+
+  @Override
+  public boolean release(final int decrement) {
+    return buffer.release(decrement);
+  }
+
+  @Override
+  public String toString() {
+    return "ByteBufMessage{" + "code=" + code + ", size=" + buffer.writerIndex() + '}';
+  }
+}
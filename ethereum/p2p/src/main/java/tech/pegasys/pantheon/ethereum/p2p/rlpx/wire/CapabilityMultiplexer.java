@@ -91,7 +91,7 @@ public class CapabilityMultiplexer {
   }
 
   private MessageData offsetMessageCode(final MessageData originalMessage, final int offset) {
-    // Return wrapped message with modified offset
+    // Return wrapped message with modified offset, sharing the data of the original message
     return new MessageData() {
       @Override
       public int getSize() {
@@ -23,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.ByteBufMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.RawMessage;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.wire.messages.DisconnectMessage;
@@ -36,6 +37,7 @@ import java.util.Random;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import org.junit.Test;
 import org.xerial.snappy.Snappy;
@@ -215,6 +217,47 @@ public class FramerTest {
     }
   }
 
+  @Test
+  public void deframeCompressedMessageFromPooledDirectBuffer() throws IOException {
+    final JsonNode td = MAPPER.readTree(FramerTest.class.getResource("/peer1.json"));
+    final Framer framer = new Framer(secretsFrom(td, true));
+    final Framer deframer = new Framer(secretsFrom(td, false));
+    framer.enableCompression();
+    deframer.enableCompression();
+
+    final BytesValue data = BytesValue.wrap(new byte[1000]);
+    final ByteBuf framed = PooledByteBufAllocator.DEFAULT.directBuffer();
+    framer.frame(new RawMessage(0x10, data), framed);
+
+    final MessageData message = deframer.deframe(framed);
+    framed.release();
+
+    assertThat(message).isInstanceOf(ByteBufMessage.class);
+    assertThat(message.getCode()).isEqualTo(0x10);
+    assertThat(message.getData()).isEqualTo(data);
+    assertThat(((ByteBufMessage) message).release()).isTrue();
+  }
+
+  @Test
+  public void deframedUncompressedMessageSharesTheFrame() throws IOException {
+    final JsonNode td = MAPPER.readTree(FramerTest.class.getResource("/peer1.json"));
+    final Framer framer = new Framer(secretsFrom(td, true));
+    final Framer deframer = new Framer(secretsFrom(td, false));
+
+    final BytesValue data = BytesValue.of(1, 2, 3, 4, 5);
+    final ByteBuf framed = PooledByteBufAllocator.DEFAULT.directBuffer();
+    framer.frame(new RawMessage(0x10, data), framed);
+
+    final ByteBufMessage message = (ByteBufMessage) deframer.deframe(framed);
+    assertThat(framed.refCnt()).isEqualTo(2);
+    assertThat(message.getData()).isEqualTo(data);
+    assertThat(message.copy()).isEqualTo(new RawMessage(0x10, data));
+
+    message.release();
+    assertThat(framed.refCnt()).isEqualTo(1);
+    framed.release();
+  }
+
   @Test
   public void shouldThrowFramingExceptionWhenMessageIsNotCompressedButShouldBe() {
     final HandshakeSecrets secrets =
@@ -20,6 +20,9 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.nio.charset.StandardCharsets;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.junit.Test;
 
 public class SnappyCompressorTest {
@@ -40,6 +43,38 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(data))).isEqualTo(data);
   }
 
+  @Test
+  public void decompressBetweenDirectBuffers() {
+    assertDecompressesBetween(Unpooled.directBuffer(), Unpooled.directBuffer());
+  }
+
+  @Test
+  public void decompressBetweenHeapBuffers() {
+    assertDecompressesBetween(Unpooled.buffer(), Unpooled.buffer());
+  }
+
+  @Test
+  public void decompressBetweenDirectAndHeapBuffers() {
+    assertDecompressesBetween(Unpooled.directBuffer(), Unpooled.buffer());
+  }
+
+  private void assertDecompressesBetween(final ByteBuf compressed, final ByteBuf uncompressed) {
+    final byte[] data = "Sample text, sample text, sample text".getBytes(StandardCharsets.UTF_8);
+    // Data around the compressed data must be left alone.
+    compressed.writeByte(1).writeBytes(snappy.compress(data)).writeByte(2).skipBytes(1);
+    final ByteBuf input = compressed.readSlice(compressed.readableBytes() - 1);
+    uncompressed.writeByte(3);
+
+    assertThat(snappy.uncompressedLength(input)).isEqualTo(data.length);
+    uncompressed.ensureWritable(data.length);
+    snappy.decompress(input, uncompressed);
+
+    assertThat(input.isReadable()).isFalse();
+    assertThat(uncompressed.readByte()).isEqualTo((byte) 3);
+    assertThat(ByteBufUtil.getBytes(uncompressed)).isEqualTo(data);
+    assertThat(compressed.readByte()).isEqualTo((byte) 2);
+  }
+
   @Test
   public void compressNull() {
     assertThatThrownBy(() -> snappy.compress(null)).isInstanceOf(NullPointerException.class);
@@ -52,7 +87,7 @@ public class SnappyCompressorTest {
 
   @Test
   public void uncompressedLengthNull() {
-    assertThatThrownBy(() -> snappy.uncompressedLength(null))
+    assertThatThrownBy(() -> snappy.uncompressedLength((byte[]) null))
         .isInstanceOf(NullPointerException.class);
   }
 
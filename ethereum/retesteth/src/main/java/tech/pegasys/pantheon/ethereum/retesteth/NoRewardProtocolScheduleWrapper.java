@@ -22,6 +22,8 @@ import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockImporter;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockProcessor;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
+import tech.pegasys.pantheon.ethereum.mainnet.SpeculativeTransactionExecutor;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 
 import java.math.BigInteger;
 import java.util.Optional;
@@ -81,4 +83,14 @@ public class NoRewardProtocolScheduleWrapper<C> implements ProtocolSchedule<C> {
   public void setTransactionFilter(final TransactionFilter transactionFilter) {
     delegate.setTransactionFilter(transactionFilter);
   }
+
+  @Override
+  public void setCodeCache(final CodeCache codeCache) {
+    delegate.setCodeCache(codeCache);
+  }
+
+  @Override
+  public void setSpeculativeTransactionExecutor(final SpeculativeTransactionExecutor executor) {
+    delegate.setSpeculativeTransactionExecutor(executor);
+  }
 }
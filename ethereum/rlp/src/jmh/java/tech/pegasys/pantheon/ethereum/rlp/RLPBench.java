@@ -76,4 +76,115 @@ public class RLPBench {
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
   }
+
+  /** Encodes and decodes values shaped like the ones the client encodes the most of. */
+  @State(Scope.Benchmark)
+  public static class RealWorldShapes {
+
+    public enum Shape {
+      // A branch node of the world state trie: 16 child hashes, some missing, and no value.
+      BRANCH_NODE {
+        @Override
+        Object generate() {
+          final List<Object> node = new ArrayList<>(17);
+          for (int i = 0; i < 16; i++) {
+            node.add(i % 4 == 3 ? BytesValue.EMPTY : bytes(32, i));
+          }
+          node.add(BytesValue.EMPTY);
+          return node;
+        }
+      },
+      // A block body with 150 transfers and contract calls, and a single ommer.
+      BLOCK_BODY {
+        @Override
+        Object generate() {
+          final List<Object> transactions = new ArrayList<>(150);
+          for (int i = 0; i < 150; i++) {
+            transactions.add(
+                List.of(
+                    bytes(3, i),
+                    bytes(5, i),
+                    bytes(3, i),
+                    bytes(20, i),
+                    bytes(8, i),
+                    bytes(i % 2 == 0 ? 0 : 68 + i, i),
+                    bytes(1, i),
+                    bytes(32, i),
+                    bytes(32, i + 1)));
+          }
+          return List.of(transactions, List.of(header()));
+        }
+      },
+      // The receipts of a block with 150 transactions, each emitting a couple of logs.
+      RECEIPTS {
+        @Override
+        Object generate() {
+          final List<Object> receipts = new ArrayList<>(150);
+          for (int i = 0; i < 150; i++) {
+            final List<Object> logs = new ArrayList<>(2);
+            for (int j = 0; j < i % 3; j++) {
+              logs.add(
+                  List.of(
+                      bytes(20, i),
+                      List.of(bytes(32, i), bytes(32, j), bytes(32, i + j)),
+                      bytes(32, j)));
+            }
+            receipts.add(List.of(bytes(1, 1), bytes(4, i), bytes(256, i), logs));
+          }
+          return receipts;
+        }
+      };
+
+      abstract Object generate();
+
+      private static List<Object> header() {
+        return List.of(
+            bytes(32, 1),
+            bytes(32, 2),
+            bytes(20, 3),
+            bytes(32, 4),
+            bytes(32, 5),
+            bytes(32, 6),
+            bytes(256, 7),
+            bytes(7, 8),
+            bytes(3, 9),
+            bytes(3, 10),
+            bytes(3, 11),
+            bytes(4, 12),
+            bytes(16, 13),
+            bytes(32, 14),
+            bytes(8, 15));
+      }
+
+      private static BytesValue bytes(final int size, final int seed) {
+        final byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+          bytes[i] = (byte) ((seed + 1) * (i + 31));
+        }
+        return BytesValue.wrap(bytes);
+      }
+    }
+
+    @Param({"BRANCH_NODE", "BLOCK_BODY", "RECEIPTS"})
+    public Shape shape;
+
+    volatile Object toEncode;
+    volatile BytesValue toDecode;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      toEncode = shape.generate();
+      toDecode = RLPTestUtil.encode(toEncode);
+    }
+
+    @Benchmark
+    public BytesValue getBenchmarkEncoding() {
+      return RLPTestUtil.encode(toEncode);
+    }
+
+    @Benchmark
+    public Object getBenchmarkDecoding() {
+      return RLPTestUtil.decode(toDecode);
+    }
+  }
 }
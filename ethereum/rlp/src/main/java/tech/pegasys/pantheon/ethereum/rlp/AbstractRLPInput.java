@@ -435,6 +435,17 @@ abstract class AbstractRLPInput implements RLPInput {
     return res;
   }
 
+  @Override
+  public BytesValue currentListAsBytesValue() {
+    if (currentItem >= size) {
+      throw error("Cannot read current list, input is fully consumed");
+    }
+    if (!currentKind.isList()) {
+      throw error("Expected current item to be a list, but it is: " + currentKind);
+    }
+    return inputSlice(currentItem, Math.toIntExact(nextItem() - currentItem));
+  }
+
   @Override
   public int enterList() {
     return enterList(false);
@@ -12,121 +12,200 @@
  */
 package tech.pegasys.pantheon.ethereum.rlp;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
-import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.elementSize;
-import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.listSize;
-import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.writeElement;
-import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.writeListHeader;
+import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.sizeLength;
 
+import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256Value;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
-import java.util.List;
 
 abstract class AbstractRLPOutput implements RLPOutput {
   /*
    * The algorithm implemented works as follows:
    *
-   * Values written to the output are accumulated in the 'values' list. When a list is started, it
-   * is indicated by adding a specific marker in that list (LIST_MARKER).
-   * While this is gathered, we also incrementally compute the size of the payload of every list of
-   * that output. Those sizes are stored in 'payloadSizes': when all the output has been added,
-   * payloadSizes[i] will contain the size of the (encoded) payload of the ith list in 'values'
-   * (that is, the list that starts at the ith LIST_MARKER in 'values').
+   * Items are encoded straight into 'buffer' as they are written, in a single pass. The only thing
+   * not known when an item is written is the size of the lists it is in, which their header
+   * depends on. So startList() reserves a single byte for the header of the list, which is all a
+   * list needs when its payload is less than 56 bytes long, and pushes the offset of that byte on
+   * the 'listStarts' stack. Once the list ends, endList() knows its payload size and writes the
+   * header in place, first moving the payload up by the few bytes a longer list needs to write
+   * its payload size.
    *
-   * With that information gathered, encoded() can write its output in a single walk of 'values':
-   * values can encoded directly, and every time we read a list marker, we use the corresponding
-   * payload size to write the proper prefix and continue.
+   * A large list is thus moved once per enclosing list, with a single System.arraycopy() each
+   * time, which is much cheaper than gathering every item in a list of values and copying them
+   * all once the sizes are known.
    *
-   * The main remaining aspect is how the values of 'payloadSizes' are computed. Computing the size
-   * of a list without nesting inside is easy: simply add the encoded size of any newly added value
-   * to the running size. The difficulty is with nesting: when we start a new list, we need to
-   * track both the sizes of the previous list and the new one. To deal with that, we use the small
-   * stack 'parentListStack': it stores the index in 'payloadSizes' of every currently "open" lists.
-   * In other words, payloadSises[parentListStack[stackSize - 1]] corresponds to the size of the
-   * current list, the one to which newly added value are currently written (until the next call
-   * to 'endList()' that is, while payloadSises[parentListStack[stackSize - 2]] would be the size
-   * of the parent list, ....
-   *
-   * Note that when a new value is added, we add its size only the currently running list. We should
-   * add that size to that of any parent list as well, but we do so indirectly when a list is
-   * finished: when 'endList()' is called, we add the size of the full list we just finished (and
-   * whose size we have now have completely) to its parent size.
+   * The buffer is borrowed from a per-thread pool and given back once the encoding is complete, so
+   * that encoding a value usually allocates nothing but the final result.
    *
    * Side-note: this class internally and informally use "element" to refer to a non list items.
    */
 
-  private static final BytesValue LIST_MARKER = BytesValue.wrap(new byte[0]);
-
-  private final List<BytesValue> values = new ArrayList<>();
-  // For every value i in values, rlpEncoded.get(i) will be true only if the value stored is an
-  // already encoded item.
-  private final BitSet rlpEncoded = new BitSet();
+  private static final int INITIAL_BUFFER_SIZE = 256;
+  // Larger buffers are left to the garbage collector rather than being held by the pool.
+  private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+  private static final ThreadLocal<byte[]> BUFFER_POOL = new ThreadLocal<>();
 
-  // First element is the total size of everything (the encoding may be a single non-list item, so
-  // this handle that case more easily; we need that value to size out final output). Following
-  // elements holds the size of the payload of the ith list in 'values'.
-  private int[] payloadSizes = new int[8];
-  private int listsCount = 1; // number of lists current in 'values' + 1.
+  private byte[] buffer;
+  // Wraps the buffer, for values to copy themselves into it.
+  private MutableBytesValue bufferView;
+  private int size;
 
-  private int[] parentListStack = new int[4];
-  private int stackSize = 1;
+  // Offset in the buffer of the header of every currently "open" list.
+  private int[] listStarts = new int[4];
+  private int depth;
 
-  private int currentList() {
-    return parentListStack[stackSize - 1];
-  }
+  // The encoding, once complete and copied out of the buffer.
+  private BytesValue encoded;
 
   @Override
   public void writeBytesValue(final BytesValue v) {
-    checkState(
-        stackSize > 1 || values.isEmpty(), "Terminated RLP output, cannot add more elements");
-    values.add(v);
-    payloadSizes[currentList()] += elementSize(v);
+    checkWritable();
+    final int length = v.size();
+    if (length == 1 && v.get(0) >= 0) {
+      ensureCapacity(1);
+      buffer[size++] = v.get(0);
+      return;
+    }
+    ensureCapacity(length + 9);
+    writeElementHeader(length);
+    v.copyTo(bufferView, size);
+    size += length;
   }
 
   @Override
   public void writeRLPUnsafe(final BytesValue v) {
-    checkState(
-        stackSize > 1 || values.isEmpty(), "Terminated RLP output, cannot add more elements");
-    values.add(v);
-    // Mark that last value added as already encoded.
-    rlpEncoded.set(values.size() - 1);
-    payloadSizes[currentList()] += v.size();
+    checkWritable();
+    ensureCapacity(v.size());
+    v.copyTo(bufferView, size);
+    size += v.size();
   }
 
   @Override
-  public void startList() {
-    values.add(LIST_MARKER);
-    ++listsCount; // we'll add a new element to payloadSizes
-    ++stackSize; // and to the list stack.
+  public void writeLongScalar(final long v) {
+    checkArgument(v >= 0, "Invalid negative value %s for scalar encoding", v);
+    checkWritable();
+    ensureCapacity(9);
+    if (v != 0 && v < 0x80) {
+      buffer[size++] = (byte) v;
+      return;
+    }
+    final int length = 8 - Long.numberOfLeadingZeros(v) / 8;
+    buffer[size++] = (byte) (0x80 + length);
+    for (int i = length - 1; i >= 0; i--) {
+      buffer[size++] = (byte) (v >>> (8 * i));
+    }
+  }
+
+  @Override
+  public void writeUInt256Scalar(final UInt256Value<?> v) {
+    checkWritable();
+    ensureCapacity(Bytes32.SIZE + 1);
+    final Bytes32 bytes = v.getBytes();
+    int start = 0;
+    while (start < Bytes32.SIZE && bytes.get(start) == 0) {
+      start++;
+    }
+    final int length = Bytes32.SIZE - start;
+    if (length == 1 && bytes.get(start) >= 0) {
+      buffer[size++] = bytes.get(start);
+      return;
+    }
+    buffer[size++] = (byte) (0x80 + length);
+    for (int i = start; i < Bytes32.SIZE; i++) {
+      buffer[size++] = bytes.get(i);
+    }
+  }
 
-    // Resize our lists if necessary.
-    if (listsCount > payloadSizes.length) {
-      payloadSizes = Arrays.copyOf(payloadSizes, (payloadSizes.length * 3) / 2);
+  @Override
+  public void writeByte(final byte b) {
+    checkWritable();
+    ensureCapacity(2);
+    if (b < 0) {
+      buffer[size++] = (byte) 0x81;
     }
-    if (stackSize > parentListStack.length) {
-      parentListStack = Arrays.copyOf(parentListStack, (parentListStack.length * 3) / 2);
+    buffer[size++] = b;
+  }
+
+  @Override
+  public void writeLong(final long l) {
+    checkWritable();
+    ensureCapacity(9);
+    buffer[size++] = (byte) (0x80 + 8);
+    for (int i = 7; i >= 0; i--) {
+      buffer[size++] = (byte) (l >>> (8 * i));
     }
+  }
 
-    // The new current list size is store in the slot we just made room for by incrementing
-    // listsCount
-    parentListStack[stackSize - 1] = listsCount - 1;
+  @Override
+  public void startList() {
+    checkState(encoded == null, "Terminated RLP output, cannot add more elements");
+    ensureCapacity(1);
+    if (depth == listStarts.length) {
+      listStarts = Arrays.copyOf(listStarts, (listStarts.length * 3) / 2);
+    }
+    listStarts[depth++] = size++;
   }
 
   @Override
   public void endList() {
-    checkState(stackSize > 1, "LeaveList() called with no prior matching startList()");
+    checkState(depth > 0, "LeaveList() called with no prior matching startList()");
+
+    final int header = listStarts[--depth];
+    final int payloadStart = header + 1;
+    final int payloadSize = size - payloadStart;
+    if (payloadSize <= 55) {
+      buffer[header] = (byte) (0xc0 + payloadSize);
+      return;
+    }
 
-    final int current = currentList();
-    final int finishedListSize = listSize(payloadSizes[current]);
-    --stackSize;
+    // Make room for the payload size, right after the single byte reserved for the header.
+    final int sizeLength = sizeLength(payloadSize);
+    ensureCapacity(sizeLength);
+    System.arraycopy(buffer, payloadStart, buffer, payloadStart + sizeLength, payloadSize);
+    buffer[header] = (byte) (0xf7 + sizeLength);
+    for (int i = 0; i < sizeLength; i++) {
+      buffer[payloadStart + i] = (byte) (payloadSize >>> (8 * (sizeLength - 1 - i)));
+    }
+    size += sizeLength;
+  }
+
+  private void writeElementHeader(final int length) {
+    if (length <= 55) {
+      buffer[size++] = (byte) (0x80 + length);
+      return;
+    }
+    final int sizeLength = sizeLength(length);
+    buffer[size++] = (byte) (0xb7 + sizeLength);
+    for (int i = sizeLength - 1; i >= 0; i--) {
+      buffer[size++] = (byte) (length >>> (8 * i));
+    }
+  }
 
-    // We just finished an item of our parent list, add it to that parent list size now.
-    final int newCurrent = currentList();
-    payloadSizes[newCurrent] += finishedListSize;
+  private void checkWritable() {
+    checkState(
+        encoded == null && (depth > 0 || size == 0),
+        "Terminated RLP output, cannot add more elements");
+  }
+
+  private void ensureCapacity(final int bytes) {
+    if (buffer == null) {
+      final byte[] pooled = BUFFER_POOL.get();
+      BUFFER_POOL.remove();
+      setBuffer(pooled != null ? pooled : new byte[Math.max(INITIAL_BUFFER_SIZE, bytes)]);
+    }
+    if (size + bytes > buffer.length) {
+      setBuffer(Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes)));
+    }
+  }
+
+  private void setBuffer(final byte[] buffer) {
+    this.buffer = buffer;
+    this.bufferView = MutableBytesValue.wrap(buffer);
   }
 
   /**
@@ -137,57 +216,47 @@ abstract class AbstractRLPOutput implements RLPOutput {
    *     as is).
    */
   public int encodedSize() {
-    checkState(stackSize == 1, "A list has been entered (startList()) but not left (endList())");
-    return payloadSizes[0];
+    checkState(depth == 0, "A list has been entered (startList()) but not left (endList())");
+    return size;
   }
+
   /**
    * Write the rlp encoded value to the provided {@link MutableBytesValue}
    *
    * @param mutableBytesValue the value to which the rlp-data will be written
    */
   public void writeEncoded(final MutableBytesValue mutableBytesValue) {
-    // Special case where we encode only a single non-list item (note that listsCount is initially
-    // set to 1, so listsCount == 1 really mean no list explicitly added to the output).
-    if (listsCount == 1) {
-      // writeBytesValue make sure we cannot have more than 1 value without a list
-      assert values.size() == 1;
-      final BytesValue value = values.get(0);
-
-      final int finalOffset;
-      // Single non-list value.
-      if (rlpEncoded.get(0)) {
-        value.copyTo(mutableBytesValue, 0);
-        finalOffset = value.size();
-      } else {
-        finalOffset = writeElement(value, mutableBytesValue, 0);
-      }
-      checkState(
-          finalOffset == mutableBytesValue.size(),
-          "Expected single element RLP encode to be of size %s but was of size %s.",
-          mutableBytesValue.size(),
-          finalOffset);
-      return;
+    final int encodedSize = encodedSize();
+    checkState(
+        encodedSize == mutableBytesValue.size(),
+        "Expected RLP encoding to be of size %s but was of size %s.",
+        mutableBytesValue.size(),
+        encodedSize);
+    if (encoded != null) {
+      encoded.copyTo(mutableBytesValue);
+    } else if (encodedSize > 0) {
+      MutableBytesValue.wrap(buffer, 0, encodedSize).copyTo(mutableBytesValue);
     }
+  }
 
-    int offset = 0;
-    int listIdx = 0;
-    for (int i = 0; i < values.size(); i++) {
-      final BytesValue value = values.get(i);
-      if (value == LIST_MARKER) {
-        final int payloadSize = payloadSizes[++listIdx];
-        offset = writeListHeader(payloadSize, mutableBytesValue, offset);
-      } else if (rlpEncoded.get(i)) {
-        value.copyTo(mutableBytesValue, offset);
-        offset += value.size();
-      } else {
-        offset = writeElement(value, mutableBytesValue, offset);
+  /**
+   * Completes the encoding, copying it out of the buffer so the buffer can be reused. Nothing can
+   * be written to this output afterwards.
+   *
+   * @return The RLP-encoded data written to this output.
+   * @throws IllegalStateException if some opened list haven't been closed (the output is not valid
+   *     as is).
+   */
+  protected BytesValue complete() {
+    final int encodedSize = encodedSize();
+    if (encoded == null) {
+      encoded = encodedSize == 0 ? BytesValue.EMPTY : BytesValue.wrap(Arrays.copyOf(buffer, size));
+      if (buffer != null && buffer.length <= MAX_POOLED_BUFFER_SIZE) {
+        BUFFER_POOL.set(buffer);
       }
+      buffer = null;
+      bufferView = null;
     }
-
-    checkState(
-        offset == mutableBytesValue.size(),
-        "Expected RLP encoding to be of size %s but was of size %s.",
-        mutableBytesValue.size(),
-        offset);
+    return encoded;
   }
 }
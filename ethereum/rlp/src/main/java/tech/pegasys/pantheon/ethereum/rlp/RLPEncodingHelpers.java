@@ -30,10 +30,6 @@ class RLPEncodingHelpers {
     return value.size() <= 55;
   }
 
-  static boolean isShortList(final int payloadSize) {
-    return payloadSize <= 55;
-  }
-
   /** The encoded size of the provided value. */
   static int elementSize(final BytesValue value) {
     if (isSingleRLPByte(value)) return 1;
@@ -43,13 +39,6 @@ class RLPEncodingHelpers {
     return 1 + sizeLength(value.size()) + value.size();
   }
 
-  /** The encoded size of a list given the encoded size of its payload. */
-  static int listSize(final int payloadSize) {
-    int size = 1 + payloadSize;
-    if (!isShortList(payloadSize)) size += sizeLength(payloadSize);
-    return size;
-  }
-
   /**
    * Writes the result of encoding the provided value to the provided destination (which must be big
    * enough).
@@ -73,20 +62,6 @@ class RLPEncodingHelpers {
     return offset + size;
   }
 
-  /**
-   * Writes the encoded header of a list provided its encoded payload size to the provided
-   * destination (which must be big enough).
-   */
-  static int writeListHeader(
-      final int payloadSize, final MutableBytesValue dest, final int destOffset) {
-    if (isShortList(payloadSize)) {
-      dest.set(destOffset, (byte) (0xc0 + payloadSize));
-      return destOffset + 1;
-    }
-
-    return writeLongMetadata(0xf7, payloadSize, dest, destOffset);
-  }
-
   private static int writeLongMetadata(
       final int baseCode, final int size, final MutableBytesValue dest, final int destOffset) {
     final int sizeLength = sizeLength(size);
@@ -99,7 +74,7 @@ class RLPEncodingHelpers {
     return destOffset + 1 + sizeLength;
   }
 
-  private static int sizeLength(final int size) {
+  static int sizeLength(final int size) {
     final int zeros = Integer.numberOfLeadingZeros(size);
     return 4 - (zeros / 8);
   }
@@ -313,6 +313,18 @@ public interface RLPInput {
    */
   RLPInput readAsRlp();
 
+  /**
+   * Returns the encoding of the current item, which must be a list, without reading it.
+   *
+   * <p>The returned value is a slice of this input rather than a copy, which lets decoded objects
+   * retain the encoding they were decoded from at no cost, and reuse it to hash or re-encode
+   * themselves. The returned value is only valid as long as the bytes this input reads from are.
+   *
+   * @return The encoding of the current list, prefix included.
+   * @throws RLPException if the input is fully consumed or the current item is not a list.
+   */
+  BytesValue currentListAsBytesValue();
+
   /**
    * Returns a raw {@link BytesValue} representation of this RLP.
    *
@@ -423,6 +423,20 @@ public class BytesValueRLPInputTest {
     assertThat(nl.readAsRlp().raw()).isEqualTo(h("0xc22122"));
   }
 
+  @Test
+  public void currentListAsBytesValue() {
+    final RLPInput in = RLP.input(h("0xc80102c51112c22122"));
+    assertThat(in.currentListAsBytesValue()).isEqualTo(h("0xc80102c51112c22122"));
+
+    // Doesn't consume the list.
+    assertThat(in.enterList()).isEqualTo(3);
+    in.skipNext();
+    assertThatThrownBy(in::currentListAsBytesValue).isInstanceOf(RLPException.class);
+    in.skipNext();
+    assertThat(in.currentListAsBytesValue()).isEqualTo(h("0xc51112c22122"));
+    assertThat(in.enterList()).isEqualTo(3);
+  }
+
   @Test
   public void raw() {
     final BytesValue initial = h("0xc80102c51112c22122");
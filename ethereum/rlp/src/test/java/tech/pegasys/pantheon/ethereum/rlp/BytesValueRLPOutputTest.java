@@ -315,4 +315,41 @@ public class BytesValueRLPOutputTest {
     // so 0xc0 + size then payloads
     assertThat(out.encoded()).isEqualTo(h("0xc52cc203123b"));
   }
+
+  @Test
+  public void nestedLongLists() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    // Both lists outgrow the single byte reserved for their header once they are ended.
+    out.startList();
+    for (int i = 0; i < 60; i++) {
+      out.writeByte((byte) 0x3c);
+    }
+    out.endList();
+    out.writeByte((byte) 0x01);
+    out.endList();
+
+    assertThat(out.encoded()).isEqualTo(h("0xf83ff83c" + times("3c", 60) + "01"));
+  }
+
+  @Test
+  public void encodedCanBeRetrievedRepeatedly() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeByte((byte) 0x2c);
+    out.endList();
+
+    assertThat(out.encoded()).isEqualTo(h("0xc12c"));
+    assertThat(out.encoded()).isEqualTo(h("0xc12c"));
+    assertThat(out.encodedSize()).isEqualTo(2);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void writeAfterEncoded() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.endList();
+    out.encoded();
+    out.startList();
+  }
 }
@@ -22,7 +22,9 @@ import com.google.common.collect.ImmutableSet;
 
 public enum PantheonMetricCategory implements MetricCategory {
   BLOCKCHAIN("blockchain"),
+  CONSENSUS("consensus"),
   ETHEREUM("ethereum", false),
+  EVM("evm"),
   EXECUTORS("executors"),
   NETWORK("network"),
   PEERS("peers"),
@@ -32,7 +34,8 @@ public enum PantheonMetricCategory implements MetricCategory {
   PRUNER("pruner"),
   RPC("rpc"),
   SYNCHRONIZER("synchronizer"),
-  TRANSACTION_POOL("transaction_pool");
+  TRANSACTION_POOL("transaction_pool"),
+  WORLD_STATE("world_state");
 
   private static final Optional<String> PANTHEON_PREFIX = Optional.of("pantheon_");
   public static final Set<MetricCategory> DEFAULT_METRIC_CATEGORIES;
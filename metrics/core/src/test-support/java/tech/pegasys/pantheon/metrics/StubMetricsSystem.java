@@ -23,12 +23,14 @@ import tech.pegasys.pantheon.plugin.services.metrics.OperationTimer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.DoubleSupplier;
 import java.util.stream.Stream;
 
 public class StubMetricsSystem implements ObservableMetricsSystem {
 
-  private final Map<String, StubLabelledCounter> counters = new HashMap<>();
+  private final Map<String, StubLabelledCounter> counters = new ConcurrentHashMap<>();
   private final Map<String, DoubleSupplier> gauges = new HashMap<>();
 
   @Override
@@ -89,7 +91,7 @@ public class StubMetricsSystem implements ObservableMetricsSystem {
   }
 
   public static class StubLabelledCounter implements LabelledMetric<Counter> {
-    private final Map<List<String>, StubCounter> metrics = new HashMap<>();
+    private final Map<List<String>, StubCounter> metrics = new ConcurrentHashMap<>();
 
     @Override
     public Counter labels(final String... labels) {
@@ -102,20 +104,20 @@ public class StubMetricsSystem implements ObservableMetricsSystem {
   }
 
   public static class StubCounter implements Counter {
-    private long value = 0;
+    private final AtomicLong value = new AtomicLong();
 
     @Override
     public void inc() {
-      value++;
+      value.incrementAndGet();
     }
 
     @Override
     public void inc(final long amount) {
-      value += amount;
+      value.addAndGet(amount);
     }
 
     public long getValue() {
-      return value;
+      return value.get();
     }
   }
 }
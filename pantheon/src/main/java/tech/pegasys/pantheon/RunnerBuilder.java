@@ -348,7 +348,14 @@ public class RunnerBuilder {
     final MiningCoordinator miningCoordinator = pantheonController.getMiningCoordinator();
 
     final PrivacyParameters privacyParameters = pantheonController.getPrivacyParameters();
-    final FilterManager filterManager = createFilterManager(vertx, context, transactionPool);
+    final FilterManager filterManager =
+        createFilterManager(
+            vertx,
+            new BlockchainQueries(
+                context.getBlockchain(),
+                context.getWorldStateArchive(),
+                pantheonController.getBloomBitsIndex()),
+            transactionPool);
 
     final P2PNetwork peerNetwork = networkRunner.getNetwork();
 
@@ -548,13 +555,12 @@ public class RunnerBuilder {
   }
 
   private FilterManager createFilterManager(
-      final Vertx vertx, final ProtocolContext<?> context, final TransactionPool transactionPool) {
+      final Vertx vertx,
+      final BlockchainQueries blockchainQueries,
+      final TransactionPool transactionPool) {
     final FilterManager filterManager =
         new FilterManager(
-            new BlockchainQueries(context.getBlockchain(), context.getWorldStateArchive()),
-            transactionPool,
-            new FilterIdGenerator(),
-            new FilterRepository());
+            blockchainQueries, transactionPool, new FilterIdGenerator(), new FilterRepository());
     vertx.deployVerticle(filterManager);
     return filterManager;
   }
@@ -584,18 +590,21 @@ public class RunnerBuilder {
                 ethNetworkConfig.getNetworkId(),
                 pantheonController.getGenesisConfigOptions(),
                 network,
-                context.getBlockchain(),
-                context.getWorldStateArchive(),
+                pantheonController.getProtocolManager().ethContext().getEthPeers(),
+                new BlockchainQueries(
+                    context.getBlockchain(),
+                    context.getWorldStateArchive(),
+                    pantheonController.getBloomBitsIndex()),
                 synchronizer,
-                transactionPool,
                 protocolSchedule,
+                filterManager,
+                transactionPool,
                 miningCoordinator,
                 metricsSystem,
                 supportedCapabilities,
-                jsonRpcApis,
-                filterManager,
                 accountWhitelistController,
                 nodeWhitelistController,
+                jsonRpcApis,
                 privacyParameters,
                 jsonRpcConfiguration,
                 webSocketConfiguration,
@@ -653,7 +662,8 @@ public class RunnerBuilder {
     final WebSocketMethodsFactory websocketMethodsFactory =
         new WebSocketMethodsFactory(subscriptionManager, jsonRpcMethods);
     final WebSocketRequestHandler websocketRequestHandler =
-        new WebSocketRequestHandler(vertx, websocketMethodsFactory.methods());
+        new WebSocketRequestHandler(
+            vertx, websocketMethodsFactory.methods(), configuration.getMaxResponseBytes());
 
     return new WebSocketService(vertx, configuration, websocketRequestHandler);
   }
@@ -61,11 +61,13 @@ import tech.pegasys.pantheon.config.GenesisConfigFile;
 import tech.pegasys.pantheon.controller.KeyPairUtil;
 import tech.pegasys.pantheon.controller.PantheonController;
 import tech.pegasys.pantheon.controller.PantheonControllerBuilder;
+import tech.pegasys.pantheon.crypto.SECP256K1;
 import tech.pegasys.pantheon.ethereum.api.graphql.GraphQLConfiguration;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.RpcApi;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.RpcApis;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.websocket.WebSocketConfiguration;
+import tech.pegasys.pantheon.ethereum.chain.BlockchainCache;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.MiningParameters;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
@@ -82,6 +84,7 @@ import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfigurationBu
 import tech.pegasys.pantheon.ethereum.permissioning.SmartContractPermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageProvider;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageProviderBuilder;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.TrieNodeCache;
 import tech.pegasys.pantheon.ethereum.worldstate.PruningConfiguration;
 import tech.pegasys.pantheon.metrics.ObservableMetricsSystem;
 import tech.pegasys.pantheon.metrics.PantheonMetricCategory;
@@ -591,6 +594,57 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
       arity = "1")
   private final Long pruningBlockConfirmations = DEFAULT_PRUNING_BLOCK_CONFIRMATIONS;
 
+  @Option(
+      names = {"--Xtrie-node-cache-size"},
+      hidden = true,
+      paramLabel = "<LONG>",
+      description =
+          "Maximum total size in bytes of the world state trie nodes cached in memory, 0 to disable the cache (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long trieNodeCacheSize = TrieNodeCache.DEFAULT_MAX_BYTES;
+
+  @Option(
+      names = {"--Xstorage-trie-commit-parallelism"},
+      hidden = true,
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Number of threads computing and committing the updated account storage tries of the world state concurrently, 1 to do it on the importing thread (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer storageTrieCommitParallelism = Runtime.getRuntime().availableProcessors();
+
+  @Option(
+      names = {"--Xblockchain-cache-size"},
+      hidden = true,
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Number of recent blocks whose headers, bodies and receipts are cached in memory, 0 to disable the cache (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer blockchainCacheSize = BlockchainCache.DEFAULT_MAX_BLOCKS;
+
+  @Option(
+      names = {"--Xbloom-bits-index-enabled"},
+      hidden = true,
+      description =
+          "Enable the index of the logs bloom filters of the chain, maintained in the background to speed up log queries (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean isBloomBitsIndexEnabled = true;
+
+  @Option(
+      names = {"--Xparallel-transaction-processing-enabled"},
+      hidden = true,
+      description =
+          "Enable the speculative execution of the transactions of imported blocks in parallel, unless privacy is enabled (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean isParallelTransactionProcessingEnabled = false;
+
+  @Option(
+      names = {"--Xsecp256k1-native-enabled"},
+      hidden = true,
+      description =
+          "Use the native libsecp256k1 library, when available, to verify signatures and recover public keys (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean isNativeSecp256k1Enabled = true;
+
   @Option(
       names = {"--permissions-nodes-config-file-enabled"},
       description = "Enable node level permissions (default: ${DEFAULT-VALUE})")
@@ -761,6 +815,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     try {
       prepareLogging();
       logger.info("Starting Pantheon version: {}", PantheonInfo.version());
+      configureNativeLibraries();
       validateOptions().configure().controller().startPlugins().startSynchronization();
     } catch (final Exception e) {
       throw new ParameterException(this.commandLine, e.getMessage(), e);
@@ -903,6 +958,21 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     }
   }
 
+  private void configureNativeLibraries() {
+    if (isNativeSecp256k1Enabled && SECP256K1.enableNative()) {
+      logger.info("Using the native libsecp256k1 library");
+    } else {
+      SECP256K1.disableNative();
+      if (isNativeSecp256k1Enabled) {
+        logger.info(
+            "The native libsecp256k1 library is unavailable, "
+                + "using the Java implementation of secp256k1");
+      } else {
+        logger.info("Using the Java implementation of secp256k1");
+      }
+    }
+  }
+
   private PantheonCommand validateOptions() {
     issueOptionWarnings();
 
@@ -1044,9 +1114,13 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           .privacyParameters(privacyParameters())
           .clock(Clock.systemUTC())
           .isRevertReasonEnabled(isRevertReasonEnabled)
-          .storageProvider(keyStorageProvider(keyValueStorageName))
+          .storageProvider(keyStorageProvider(keyValueStorageName, trieNodeCacheSize))
           .isPruningEnabled(isPruningEnabled)
           .pruningConfiguration(buildPruningConfiguration())
+          .isBloomBitsIndexEnabled(isBloomBitsIndexEnabled)
+          .isParallelTransactionProcessingEnabled(isParallelTransactionProcessingEnabled)
+          .storageTrieCommitParallelism(storageTrieCommitParallelism)
+          .blockchainCacheSize(blockchainCacheSize)
           .genesisConfigOverrides(genesisConfigOverrides);
     } catch (final IOException e) {
       throw new ExecutionException(this.commandLine, "Invalid path", e);
@@ -1292,13 +1366,14 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
       privacyParametersBuilder.setPrivacyAddress(privacyPrecompiledAddress);
       privacyParametersBuilder.setPrivateKeyPath(privacyMarkerTransactionSigningKeyPath);
       privacyParametersBuilder.setStorageProvider(
-          keyStorageProvider(keyValueStorageName + "-privacy"));
+          keyStorageProvider(keyValueStorageName + "-privacy", 0));
     }
 
     return privacyParametersBuilder.build();
   }
 
-  private KeyValueStorageProvider keyStorageProvider(final String name) {
+  private KeyValueStorageProvider keyStorageProvider(
+      final String name, final long trieNodeCacheSize) {
     return new KeyValueStorageProviderBuilder()
         .withStorageFactory(
             storageService
@@ -1307,6 +1382,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
                     () -> new StorageException("No KeyValueStorageFactory found for key: " + name)))
         .withCommonConfiguration(pluginCommonConfiguration)
         .withMetricsSystem(getMetricsSystem())
+        .withTrieNodeCacheSize(trieNodeCacheSize)
         .build();
   }
 
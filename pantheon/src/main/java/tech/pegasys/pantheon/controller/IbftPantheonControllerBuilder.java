@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.consensus.ibft.IbftBlockInterface;
 import tech.pegasys.pantheon.consensus.ibft.IbftContext;
 import tech.pegasys.pantheon.consensus.ibft.IbftEventQueue;
 import tech.pegasys.pantheon.consensus.ibft.IbftGossip;
+import tech.pegasys.pantheon.consensus.ibft.IbftMessagePreprocessor;
 import tech.pegasys.pantheon.consensus.ibft.IbftProcessor;
 import tech.pegasys.pantheon.consensus.ibft.IbftProtocolSchedule;
 import tech.pegasys.pantheon.consensus.ibft.MessageTracker;
@@ -77,6 +78,7 @@ public class IbftPantheonControllerBuilder extends PantheonControllerBuilder<Ibf
   private IbftEventQueue ibftEventQueue;
   private IbftConfigOptions ibftConfig;
   private ValidatorPeers peers;
+  private IbftMessagePreprocessor messagePreprocessor;
   private final BlockInterface blockInterface = new IbftBlockInterface();
 
   @Override
@@ -96,7 +98,8 @@ public class IbftPantheonControllerBuilder extends PantheonControllerBuilder<Ibf
       final EthProtocolManager ethProtocolManager) {
     return new SubProtocolConfiguration()
         .withSubProtocol(EthProtocol.get(), ethProtocolManager)
-        .withSubProtocol(IbftSubProtocol.get(), new IbftProtocolManager(ibftEventQueue, peers));
+        .withSubProtocol(
+            IbftSubProtocol.get(), new IbftProtocolManager(messagePreprocessor, peers));
   }
 
   @Override
@@ -161,6 +164,14 @@ public class IbftPantheonControllerBuilder extends PantheonControllerBuilder<Ibf
             blockchain.getChainHeadBlockNumber());
     final MessageTracker duplicateMessageTracker =
         new MessageTracker(ibftConfig.getDuplicateMessageLimit());
+    messagePreprocessor =
+        new IbftMessagePreprocessor(
+            blockchain,
+            ibftEventQueue,
+            ibftConfig.getMessageQueueLimit(),
+            ibftConfig.getFutureMessagesMaxDistance(),
+            ibftConfig.getDuplicateMessageLimit(),
+            metricsSystem);
 
     final IbftController ibftController =
         new IbftController(
@@ -184,12 +195,14 @@ public class IbftPantheonControllerBuilder extends PantheonControllerBuilder<Ibf
     final IbftProcessor ibftProcessor = new IbftProcessor(ibftEventQueue, eventMultiplexer);
     final ExecutorService processorExecutor = Executors.newSingleThreadExecutor();
     processorExecutor.execute(ibftProcessor);
+    messagePreprocessor.start();
 
     final MiningCoordinator ibftMiningCoordinator =
         new IbftMiningCoordinator(ibftProcessor, blockCreatorFactory, blockchain, ibftEventQueue);
     ibftMiningCoordinator.enable();
     addShutdownAction(
         () -> {
+          messagePreprocessor.stop();
           ibftProcessor.stop();
           ibftMiningCoordinator.disable();
           processorExecutor.shutdownNow();
@@ -21,6 +21,7 @@ import tech.pegasys.pantheon.ethereum.api.jsonrpc.RpcApi;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.methods.JsonRpcMethodFactory;
 import tech.pegasys.pantheon.ethereum.blockcreation.MiningCoordinator;
+import tech.pegasys.pantheon.ethereum.bloombits.BloomBitsIndex;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.core.Synchronizer;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManager;
@@ -32,6 +33,7 @@ import tech.pegasys.pantheon.ethereum.p2p.config.SubProtocolConfiguration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
 public class PantheonController<C> implements java.io.Closeable {
 
@@ -50,6 +52,7 @@ public class PantheonController<C> implements java.io.Closeable {
   private final PrivacyParameters privacyParameters;
   private final Runnable close;
   private final SyncState syncState;
+  private final Optional<BloomBitsIndex> bloomBitsIndex;
 
   PantheonController(
       final ProtocolSchedule<C> protocolSchedule,
@@ -64,7 +67,8 @@ public class PantheonController<C> implements java.io.Closeable {
       final PrivacyParameters privacyParameters,
       final Runnable close,
       final JsonRpcMethodFactory additionalJsonRpcMethodsFactory,
-      final KeyPair keyPair) {
+      final KeyPair keyPair,
+      final Optional<BloomBitsIndex> bloomBitsIndex) {
     this.protocolSchedule = protocolSchedule;
     this.protocolContext = protocolContext;
     this.ethProtocolManager = ethProtocolManager;
@@ -78,6 +82,7 @@ public class PantheonController<C> implements java.io.Closeable {
     this.miningCoordinator = miningCoordinator;
     this.privacyParameters = privacyParameters;
     this.close = close;
+    this.bloomBitsIndex = bloomBitsIndex;
   }
 
   public ProtocolContext<C> getProtocolContext() {
@@ -134,6 +139,10 @@ public class PantheonController<C> implements java.io.Closeable {
     return syncState;
   }
 
+  public Optional<BloomBitsIndex> getBloomBitsIndex() {
+    return bloomBitsIndex;
+  }
+
   public static class Builder {
 
     public PantheonControllerBuilder<?> fromEthNetworkConfig(
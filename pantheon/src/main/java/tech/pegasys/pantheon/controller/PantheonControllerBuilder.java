@@ -21,7 +21,9 @@ import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
 import tech.pegasys.pantheon.ethereum.ProtocolContext;
 import tech.pegasys.pantheon.ethereum.api.jsonrpc.internal.methods.JsonRpcMethodFactory;
 import tech.pegasys.pantheon.ethereum.blockcreation.MiningCoordinator;
+import tech.pegasys.pantheon.ethereum.bloombits.BloomBitsIndex;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.chain.BlockchainCache;
 import tech.pegasys.pantheon.ethereum.chain.GenesisState;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.core.MiningParameters;
@@ -41,8 +43,10 @@ import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPool;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPoolConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPoolFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.SpeculativeTransactionExecutor;
 import tech.pegasys.pantheon.ethereum.p2p.config.SubProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 import tech.pegasys.pantheon.ethereum.worldstate.MarkSweepPruner;
 import tech.pegasys.pantheon.ethereum.worldstate.Pruner;
 import tech.pegasys.pantheon.ethereum.worldstate.PruningConfiguration;
@@ -60,7 +64,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
@@ -87,6 +94,10 @@ public abstract class PantheonControllerBuilder<C> {
   private final List<Runnable> shutdownActions = new ArrayList<>();
   private boolean isPruningEnabled;
   private PruningConfiguration pruningConfiguration;
+  private boolean isBloomBitsIndexEnabled;
+  private boolean isParallelTransactionProcessingEnabled;
+  private int storageTrieCommitParallelism = 1;
+  private int blockchainCacheSize = BlockchainCache.DEFAULT_MAX_BLOCKS;
   Map<String, String> genesisConfigOverrides;
 
   public PantheonControllerBuilder<C> storageProvider(final StorageProvider storageProvider) {
@@ -174,6 +185,29 @@ public abstract class PantheonControllerBuilder<C> {
     return this;
   }
 
+  public PantheonControllerBuilder<C> isBloomBitsIndexEnabled(
+      final boolean bloomBitsIndexEnabled) {
+    this.isBloomBitsIndexEnabled = bloomBitsIndexEnabled;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> isParallelTransactionProcessingEnabled(
+      final boolean parallelTransactionProcessingEnabled) {
+    this.isParallelTransactionProcessingEnabled = parallelTransactionProcessingEnabled;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> blockchainCacheSize(final int blockchainCacheSize) {
+    this.blockchainCacheSize = blockchainCacheSize;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> storageTrieCommitParallelism(
+      final int storageTrieCommitParallelism) {
+    this.storageTrieCommitParallelism = storageTrieCommitParallelism;
+    return this;
+  }
+
   public PantheonControllerBuilder<C> genesisConfigOverrides(
       final Map<String, String> genesisConfigOverrides) {
     this.genesisConfigOverrides = genesisConfigOverrides;
@@ -197,6 +231,23 @@ public abstract class PantheonControllerBuilder<C> {
     prepForBuild();
 
     final ProtocolSchedule<C> protocolSchedule = createProtocolSchedule();
+    // Share the analysis of contract code across all milestones, including for RPC calls.
+    protocolSchedule.setCodeCache(new CodeCache(CodeCache.DEFAULT_MAX_CODE_BYTES, metricsSystem));
+    // Private transactions update the private state as they execute, so they can't be speculative.
+    if (isParallelTransactionProcessingEnabled && !privacyParameters.isEnabled()) {
+      final int parallelism = Runtime.getRuntime().availableProcessors();
+      final ExecutorService speculativeTransactionExecutor =
+          Executors.newFixedThreadPool(
+              parallelism,
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("SpeculativeTransactions-%d")
+                  .build());
+      protocolSchedule.setSpeculativeTransactionExecutor(
+          new SpeculativeTransactionExecutor(
+              speculativeTransactionExecutor, parallelism, metricsSystem));
+      addShutdownAction(speculativeTransactionExecutor::shutdownNow);
+    }
     final GenesisState genesisState = GenesisState.fromConfig(genesisConfig, protocolSchedule);
     final ProtocolContext<C> protocolContext =
         ProtocolContext.init(
@@ -204,11 +255,28 @@ public abstract class PantheonControllerBuilder<C> {
             genesisState,
             protocolSchedule,
             metricsSystem,
+            blockchainCacheSize,
             this::createConsensusContext);
     validateContext(protocolContext);
 
     final MutableBlockchain blockchain = protocolContext.getBlockchain();
 
+    if (storageTrieCommitParallelism > 1) {
+      final ForkJoinPool storageTriePool =
+          new ForkJoinPool(
+              storageTrieCommitParallelism,
+              pool -> {
+                final ForkJoinWorkerThread thread =
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("StorageTrieCommit-" + thread.getPoolIndex());
+                return thread;
+              },
+              null,
+              false);
+      protocolContext.getWorldStateArchive().setStorageTriePool(storageTriePool);
+      addShutdownAction(storageTriePool::shutdownNow);
+    }
+
     Optional<Pruner> maybePruner = Optional.empty();
     if (isPruningEnabled) {
       checkState(
@@ -244,6 +312,33 @@ public abstract class PantheonControllerBuilder<C> {
                   }
                 }));
 
+    final Optional<BloomBitsIndex> maybeBloomBitsIndex;
+    if (isBloomBitsIndexEnabled) {
+      final BloomBitsIndex bloomBitsIndex =
+          new BloomBitsIndex(
+              blockchain,
+              storageProvider.createBloomBitsStorage(),
+              Executors.newSingleThreadExecutor(
+                  new ThreadFactoryBuilder()
+                      .setDaemon(true)
+                      .setPriority(Thread.MIN_PRIORITY)
+                      .setNameFormat("BloomBitsIndex-%d")
+                      .build()),
+              metricsSystem);
+      bloomBitsIndex.start();
+      addShutdownAction(
+          () -> {
+            try {
+              bloomBitsIndex.stop();
+            } catch (final InterruptedException ie) {
+              throw new RuntimeException(ie);
+            }
+          });
+      maybeBloomBitsIndex = Optional.of(bloomBitsIndex);
+    } else {
+      maybeBloomBitsIndex = Optional.empty();
+    }
+
     final boolean fastSyncEnabled = syncConfig.getSyncMode().equals(SyncMode.FAST);
     ethProtocolManager = createEthProtocolManager(protocolContext, fastSyncEnabled);
     final SyncState syncState =
@@ -321,7 +416,8 @@ public abstract class PantheonControllerBuilder<C> {
           }
         },
         additionalJsonRpcMethodFactory,
-        nodeKeys);
+        nodeKeys,
+        maybeBloomBitsIndex);
   }
 
   protected void prepForBuild() {}
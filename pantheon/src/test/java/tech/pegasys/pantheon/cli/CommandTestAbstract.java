@@ -167,6 +167,13 @@ public abstract class CommandTestAbstract {
     when(mockControllerBuilder.storageProvider(any())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.isPruningEnabled(anyBoolean())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.pruningConfiguration(any())).thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.isBloomBitsIndexEnabled(anyBoolean()))
+        .thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.isParallelTransactionProcessingEnabled(anyBoolean()))
+        .thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.storageTrieCommitParallelism(anyInt()))
+        .thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.blockchainCacheSize(anyInt())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.genesisConfigOverrides(any())).thenReturn(mockControllerBuilder);
 
     // doReturn used because of generic PantheonController
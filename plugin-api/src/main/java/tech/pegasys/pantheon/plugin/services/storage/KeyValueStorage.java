@@ -16,8 +16,12 @@ import tech.pegasys.pantheon.plugin.Unstable;
 import tech.pegasys.pantheon.plugin.services.exception.StorageException;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Responsible for storing values against keys.
@@ -57,6 +61,51 @@ public interface KeyValueStorage extends Closeable {
    */
   Optional<byte[]> get(byte[] key) throws StorageException;
 
+  /**
+   * Retrieves the values associated with the given keys, as a single batch where the underlying
+   * storage supports it.
+   *
+   * <p>The default implementation retrieves each key in turn, so storages which existed before this
+   * method was added keep working, but should override it when they can fetch keys in batches.
+   *
+   * @param keys whose associated values are being retrieved.
+   * @return a list with an element for each of the given keys, in the same order, being an {@link
+   *     Optional} containing the value associated with the key, otherwise empty.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+    for (final byte[] key : keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
+
+  /**
+   * Streams the entries of the storage, in ascending unsigned lexicographic order of their keys,
+   * starting from the given key.
+   *
+   * <p>The stream may hold resources of the underlying storage and must be closed after use.
+   *
+   * @param startKey the key from which to start, inclusive, whether or not it is present.
+   * @return a stream of the key-value pairs whose key is greater than or equal to {@code
+   *     startKey}.
+   * @throws StorageException problem encountered when iterating over the storage.
+   */
+  Stream<Map.Entry<byte[], byte[]>> streamFrom(byte[] startKey) throws StorageException;
+
+  /**
+   * Streams the keys of the storage that start with the given prefix, in ascending unsigned
+   * lexicographic order.
+   *
+   * <p>The stream may hold resources of the underlying storage and must be closed after use.
+   *
+   * @param prefix the prefix of the keys to stream, an empty prefix streaming all the keys.
+   * @return a stream of the keys starting with {@code prefix}.
+   * @throws StorageException problem encountered when iterating over the storage.
+   */
+  Stream<byte[]> streamKeys(byte[] prefix) throws StorageException;
+
   /**
    * Performs an evaluation against each key in the store, keeping the entries that pass, removing
    * those that fail.
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.plugin.services.storage.rocksdb;
+
+import tech.pegasys.pantheon.plugin.services.storage.SegmentIdentifier;
+import tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBConfigurationBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+/**
+ * Random point reads of world state nodes, with the stock column family options the segments used
+ * to be opened with, and with the tuned options of the world state profile.
+ *
+ * <p>Besides the read latency, the number of blocks read from outside the block cache and the
+ * number of SST files whose bloom filter ruled out the key are reported per read when the trial
+ * ends, which respectively show the read amplification and how much of it bloom filters save.
+ */
+@State(Scope.Thread)
+public class RocksDBReadAmplificationBenchmark {
+
+  private static final SegmentIdentifier WORLD_STATE =
+      new SegmentIdentifier() {
+        @Override
+        public String getName() {
+          return "WORLD_STATE";
+        }
+
+        @Override
+        public byte[] getId() {
+          return new byte[] {2};
+        }
+      };
+  private static final int BATCH_SIZE = 10_000;
+  private static final TickerType[] REPORTED_TICKERS = {
+    TickerType.BLOCK_CACHE_MISS, TickerType.BLOCK_CACHE_DATA_MISS, TickerType.BLOOM_FILTER_USEFUL
+  };
+  // Roughly the size of an account leaf or of a short extension node.
+  private static final int VALUE_SIZE = 110;
+
+  @Param({"false", "true"})
+  public boolean tuned;
+
+  @Param({"1000000"})
+  public int entries;
+
+  private Path databaseDir;
+  private RocksDBColumnFamilyOptionsFactory optionsFactory;
+  private Statistics stats;
+  private DBOptions options;
+  private RocksDB db;
+  private ColumnFamilyHandle worldState;
+  private final List<ColumnFamilyHandle> handles = new ArrayList<>();
+  private final Map<TickerType, Long> tickersBeforeReads = new EnumMap<>(TickerType.class);
+  private final Random random = new Random(42);
+  private MessageDigest digest;
+  private long reads;
+
+  @Setup(Level.Trial)
+  public void prepare() throws IOException, RocksDBException, NoSuchAlgorithmException {
+    digest = MessageDigest.getInstance("SHA-256");
+    databaseDir = Files.createTempDirectory("rocksdb-read-amplification");
+    optionsFactory =
+        new RocksDBColumnFamilyOptionsFactory(
+            new RocksDBConfigurationBuilder().databaseDir(databaseDir).build());
+    final ColumnFamilyOptions worldStateOptions =
+        tuned
+            ? optionsFactory.createColumnFamilyOptions(WORLD_STATE)
+            : new ColumnFamilyOptions();
+    final List<ColumnFamilyDescriptor> descriptors =
+        List.of(
+            new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY),
+            new ColumnFamilyDescriptor(WORLD_STATE.getId(), worldStateOptions));
+
+    stats = new Statistics();
+    options =
+        new DBOptions()
+            .setCreateIfMissing(true)
+            .setCreateMissingColumnFamilies(true)
+            .setStatistics(stats);
+    db = RocksDB.open(options, databaseDir.toString(), descriptors, handles);
+    worldState = handles.get(1);
+
+    final byte[] value = new byte[VALUE_SIZE];
+    try (final WriteOptions writeOptions = new WriteOptions().setDisableWAL(true)) {
+      for (int written = 0; written < entries; written += BATCH_SIZE) {
+        try (final WriteBatch batch = new WriteBatch()) {
+          for (int i = written; i < Math.min(entries, written + BATCH_SIZE); i++) {
+            random.nextBytes(value);
+            batch.put(worldState, key(i), value);
+          }
+          db.write(writeOptions, batch);
+        }
+      }
+    }
+    // Push everything out of the memtables and down the levels, as in a long running node.
+    db.compactRange(worldState);
+    for (final TickerType ticker : REPORTED_TICKERS) {
+      tickersBeforeReads.put(ticker, stats.getTickerCount(ticker));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    System.out.printf(
+        "%n%s options: %.3f blocks read from disk, %.3f data blocks read from disk, "
+            + "%.3f SST files skipped by bloom filters per read%n",
+        tuned ? "Tuned" : "Stock",
+        perRead(TickerType.BLOCK_CACHE_MISS),
+        perRead(TickerType.BLOCK_CACHE_DATA_MISS),
+        perRead(TickerType.BLOOM_FILTER_USEFUL));
+
+    handles.forEach(ColumnFamilyHandle::close);
+    db.close();
+    options.close();
+    stats.close();
+    optionsFactory.close();
+    try (final Stream<Path> paths = Files.walk(databaseDir)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  /** Reads a node which is in the database. */
+  @Benchmark
+  public byte[] readPresentKey() throws RocksDBException {
+    reads++;
+    return db.get(worldState, key(random.nextInt(entries)));
+  }
+
+  /**
+   * Reads a node which isn't in the database, as done by the world state downloader when checking
+   * whether a node still needs to be requested.
+   */
+  @Benchmark
+  public byte[] readMissingKey() throws RocksDBException {
+    reads++;
+    return db.get(worldState, key(entries + random.nextInt(entries)));
+  }
+
+  private double perRead(final TickerType ticker) {
+    final long count = stats.getTickerCount(ticker) - tickersBeforeReads.get(ticker);
+    return reads == 0 ? 0 : (double) count / reads;
+  }
+
+  // World state keys are hashes, so are spread uniformly over the key space.
+  private byte[] key(final int index) {
+    return digest.digest(ByteBuffer.allocate(Integer.BYTES).putInt(index).array());
+  }
+}
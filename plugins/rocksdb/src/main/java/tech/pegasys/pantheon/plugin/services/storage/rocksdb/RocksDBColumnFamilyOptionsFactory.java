@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.plugin.services.storage.rocksdb;
+
+import tech.pegasys.pantheon.plugin.services.storage.SegmentIdentifier;
+import tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.LRUCache;
+import org.rocksdb.Options;
+
+/**
+ * Creates the options of the column families of a database, all of them sharing a single block
+ * cache sized by the configured cache capacity.
+ *
+ * <p>The options depend on the profile of the segment stored in the column family: the trie nodes
+ * of the world state segments are small values read at random by hash, so are stored in small
+ * blocks, while the blockchain segment holds larger, more compressible RLP values. Every column
+ * family gets whole-key bloom filters, so that most reads of a missing key don't touch any data
+ * block, and its index and filter blocks are held in the block cache alongside the data blocks.
+ *
+ * <p>The factory owns the native objects backing the options it creates, so must only be closed
+ * once the database using them is.
+ */
+public class RocksDBColumnFamilyOptionsFactory implements AutoCloseable {
+
+  // The names of the segments (see KeyValueSegmentIdentifier) holding trie nodes keyed by hash.
+  private static final Set<String> POINT_LOOKUP_SEGMENTS =
+      Set.of("WORLD_STATE", "PRIVATE_STATE", "PRUNING_STATE");
+  private static final int NUM_LEVELS = 7;
+  // Levels 0 and 1 are rewritten often and are small, so aren't worth compressing.
+  private static final int UNCOMPRESSED_LEVELS = 2;
+
+  enum Profile {
+    POINT_LOOKUP(4 * 1024, CompressionType.LZ4_COMPRESSION),
+    GENERAL(16 * 1024, CompressionType.ZSTD_COMPRESSION);
+
+    private final long blockSize;
+    private final CompressionType bottommostCompression;
+
+    Profile(final long blockSize, final CompressionType bottommostCompression) {
+      this.blockSize = blockSize;
+      this.bottommostCompression = bottommostCompression;
+    }
+
+    static Profile forSegment(final SegmentIdentifier segment) {
+      return POINT_LOOKUP_SEGMENTS.contains(segment.getName()) ? POINT_LOOKUP : GENERAL;
+    }
+  }
+
+  private final RocksDBConfiguration configuration;
+  private final LRUCache blockCache;
+  private final BloomFilter bloomFilter;
+  private final List<ColumnFamilyOptions> columnFamilyOptions = new ArrayList<>();
+
+  public RocksDBColumnFamilyOptionsFactory(final RocksDBConfiguration configuration) {
+    this.configuration = configuration;
+    this.blockCache = new LRUCache(configuration.getCacheCapacity());
+    this.bloomFilter =
+        configuration.getBloomFilterBitsPerKey() > 0
+            ? new BloomFilter(configuration.getBloomFilterBitsPerKey(), false)
+            : null;
+  }
+
+  /**
+   * Creates the options of the column family storing the provided segment.
+   *
+   * @param segment The segment stored in the column family.
+   * @return The options of the column family.
+   */
+  public ColumnFamilyOptions createColumnFamilyOptions(final SegmentIdentifier segment) {
+    return createColumnFamilyOptions(Profile.forSegment(segment));
+  }
+
+  /** @return The options of the default column family, which holds no segment. */
+  public ColumnFamilyOptions createDefaultColumnFamilyOptions() {
+    return createColumnFamilyOptions(Profile.GENERAL);
+  }
+
+  ColumnFamilyOptions createColumnFamilyOptions(final Profile profile) {
+    final ColumnFamilyOptions options =
+        new ColumnFamilyOptions().setTableFormatConfig(createBlockBasedTableConfig(profile));
+    if (configuration.isCompressionEnabled()) {
+      options
+          .setCompressionPerLevel(compressionPerLevel())
+          .setBottommostCompressionType(profile.bottommostCompression);
+    }
+    columnFamilyOptions.add(options);
+    return options;
+  }
+
+  /**
+   * Applies the options of the general profile to the provided options of a database without
+   * column families.
+   *
+   * @param options The options of the database.
+   * @return The provided options.
+   */
+  public Options configure(final Options options) {
+    options.setTableFormatConfig(createBlockBasedTableConfig(Profile.GENERAL));
+    if (configuration.isCompressionEnabled()) {
+      options
+          .setCompressionPerLevel(compressionPerLevel())
+          .setBottommostCompressionType(Profile.GENERAL.bottommostCompression);
+    }
+    return options;
+  }
+
+  private BlockBasedTableConfig createBlockBasedTableConfig(final Profile profile) {
+    final BlockBasedTableConfig config =
+        new BlockBasedTableConfig()
+            .setBlockCache(blockCache)
+            .setBlockSize(profile.blockSize)
+            .setCacheIndexAndFilterBlocks(configuration.isCacheIndexAndFilterBlocks())
+            .setPinL0FilterAndIndexBlocksInCache(configuration.isCacheIndexAndFilterBlocks());
+    if (bloomFilter != null) {
+      config.setFilter(bloomFilter).setWholeKeyFiltering(true);
+    }
+    return config;
+  }
+
+  private static List<CompressionType> compressionPerLevel() {
+    final List<CompressionType> compression = new ArrayList<>(NUM_LEVELS);
+    compression.addAll(Collections.nCopies(UNCOMPRESSED_LEVELS, CompressionType.NO_COMPRESSION));
+    compression.addAll(
+        Collections.nCopies(NUM_LEVELS - UNCOMPRESSED_LEVELS, CompressionType.LZ4_COMPRESSION));
+    return compression;
+  }
+
+  @Override
+  public void close() {
+    columnFamilyOptions.forEach(ColumnFamilyOptions::close);
+    if (bloomFilter != null) {
+      bloomFilter.close();
+    }
+    blockCache.close();
+  }
+}
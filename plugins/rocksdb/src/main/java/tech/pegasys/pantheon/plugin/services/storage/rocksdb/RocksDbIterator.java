@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.plugin.services.storage.rocksdb;
+
+import tech.pegasys.pantheon.plugin.services.exception.StorageException;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+/**
+ * Exposes a {@link RocksIterator} as a {@link Stream}, which releases the native iterator when it
+ * is exhausted or closed.
+ */
+public class RocksDbIterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+  private static final byte[] NO_PREFIX = new byte[0];
+
+  private final RocksIterator iterator;
+  private final byte[] prefix;
+  private final BiFunction<byte[], RocksIterator, T> reader;
+  private boolean closed = false;
+
+  private RocksDbIterator(
+      final RocksIterator iterator,
+      final byte[] prefix,
+      final BiFunction<byte[], RocksIterator, T> reader) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    this.iterator = iterator;
+    this.prefix = prefix;
+    this.reader = reader;
+  }
+
+  /**
+   * Streams the entries of the iterator, starting from {@code startKey}.
+   *
+   * @param iterator A fresh iterator, which the returned stream takes ownership of.
+   * @param startKey The key to start from, inclusive.
+   * @return The key-value pairs from {@code startKey} on.
+   */
+  public static Stream<Map.Entry<byte[], byte[]>> streamFrom(
+      final RocksIterator iterator, final byte[] startKey) {
+    iterator.seek(startKey);
+    return stream(
+        new RocksDbIterator<>(
+            iterator,
+            NO_PREFIX,
+            (key, it) -> new AbstractMap.SimpleImmutableEntry<>(key, it.value())));
+  }
+
+  /**
+   * Streams the keys of the iterator starting with {@code prefix}.
+   *
+   * @param iterator A fresh iterator, which the returned stream takes ownership of.
+   * @param prefix The prefix of the keys to stream.
+   * @return The keys starting with {@code prefix}.
+   */
+  public static Stream<byte[]> streamKeys(final RocksIterator iterator, final byte[] prefix) {
+    iterator.seek(prefix);
+    return stream(new RocksDbIterator<>(iterator, prefix, (key, it) -> key));
+  }
+
+  private static <T> Stream<T> stream(final RocksDbIterator<T> spliterator) {
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super T> action) {
+    if (closed) {
+      return false;
+    }
+    if (!iterator.isValid()) {
+      try {
+        iterator.status();
+      } catch (final RocksDBException e) {
+        throw new StorageException(e);
+      } finally {
+        close();
+      }
+      return false;
+    }
+    final byte[] key = iterator.key();
+    if (!hasPrefix(key)) {
+      close();
+      return false;
+    }
+    action.accept(reader.apply(key, iterator));
+    iterator.next();
+    return true;
+  }
+
+  private boolean hasPrefix(final byte[] key) {
+    if (key.length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (key[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void close() {
+    if (!closed) {
+      closed = true;
+      iterator.close();
+    }
+  }
+}
@@ -21,12 +21,20 @@ public class RocksDBCLIOptions {
   public static final long DEFAULT_CACHE_CAPACITY = 8388608;
   public static final int DEFAULT_MAX_BACKGROUND_COMPACTIONS = 4;
   public static final int DEFAULT_BACKGROUND_THREAD_COUNT = 4;
+  public static final int DEFAULT_BLOOM_FILTER_BITS_PER_KEY = 10;
+  public static final boolean DEFAULT_CACHE_INDEX_AND_FILTER_BLOCKS = true;
+  public static final boolean DEFAULT_COMPRESSION_ENABLED = true;
 
   private static final String MAX_OPEN_FILES_FLAG = "--Xrocksdb-max-open-files";
   private static final String CACHE_CAPACITY_FLAG = "--Xrocksdb-cache-capacity";
   private static final String MAX_BACKGROUND_COMPACTIONS_FLAG =
       "--Xrocksdb-max-background-compactions";
   private static final String BACKGROUND_THREAD_COUNT_FLAG = "--Xrocksdb-background-thread-count";
+  private static final String BLOOM_FILTER_BITS_PER_KEY_FLAG =
+      "--Xrocksdb-bloom-filter-bits-per-key";
+  private static final String CACHE_INDEX_AND_FILTER_BLOCKS_FLAG =
+      "--Xrocksdb-cache-index-and-filter-blocks";
+  private static final String COMPRESSION_ENABLED_FLAG = "--Xrocksdb-compression-enabled";
 
   @CommandLine.Option(
       names = {MAX_OPEN_FILES_FLAG},
@@ -41,7 +49,8 @@ public class RocksDBCLIOptions {
       hidden = true,
       defaultValue = "8388608",
       paramLabel = "<LONG>",
-      description = "Cache capacity of RocksDB (default: ${DEFAULT-VALUE})")
+      description =
+          "Capacity of the block cache shared by all RocksDB column families (default: ${DEFAULT-VALUE})")
   long cacheCapacity;
 
   @CommandLine.Option(
@@ -60,6 +69,35 @@ public class RocksDBCLIOptions {
       description = "Number of RocksDB background threads (default: ${DEFAULT-VALUE})")
   int backgroundThreadCount;
 
+  @CommandLine.Option(
+      names = {BLOOM_FILTER_BITS_PER_KEY_FLAG},
+      hidden = true,
+      defaultValue = "10",
+      paramLabel = "<INTEGER>",
+      description =
+          "Bits per key of the RocksDB bloom filters, 0 to disable them (default: ${DEFAULT-VALUE})")
+  int bloomFilterBitsPerKey;
+
+  @CommandLine.Option(
+      names = {CACHE_INDEX_AND_FILTER_BLOCKS_FLAG},
+      hidden = true,
+      defaultValue = "true",
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Hold RocksDB index and filter blocks in the block cache (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  boolean cacheIndexAndFilterBlocks;
+
+  @CommandLine.Option(
+      names = {COMPRESSION_ENABLED_FLAG},
+      hidden = true,
+      defaultValue = "true",
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Compress the lower levels of RocksDB with LZ4, and the bottommost one with LZ4 or ZSTD (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  boolean compressionEnabled;
+
   private RocksDBCLIOptions() {}
 
   public static RocksDBCLIOptions create() {
@@ -72,12 +110,21 @@ public class RocksDBCLIOptions {
     options.cacheCapacity = config.getCacheCapacity();
     options.maxBackgroundCompactions = config.getMaxBackgroundCompactions();
     options.backgroundThreadCount = config.getBackgroundThreadCount();
+    options.bloomFilterBitsPerKey = config.getBloomFilterBitsPerKey();
+    options.cacheIndexAndFilterBlocks = config.isCacheIndexAndFilterBlocks();
+    options.compressionEnabled = config.isCompressionEnabled();
     return options;
   }
 
   public RocksDBFactoryConfiguration toDomainObject() {
     return new RocksDBFactoryConfiguration(
-        maxOpenFiles, maxBackgroundCompactions, backgroundThreadCount, cacheCapacity);
+        maxOpenFiles,
+        maxBackgroundCompactions,
+        backgroundThreadCount,
+        cacheCapacity,
+        bloomFilterBitsPerKey,
+        cacheIndexAndFilterBlocks,
+        compressionEnabled);
   }
 
   @Override
@@ -87,6 +134,9 @@ public class RocksDBCLIOptions {
         .add("cacheCapacity", cacheCapacity)
         .add("maxBackgroundCompactions", maxBackgroundCompactions)
         .add("backgroundThreadCount", backgroundThreadCount)
+        .add("bloomFilterBitsPerKey", bloomFilterBitsPerKey)
+        .add("cacheIndexAndFilterBlocks", cacheIndexAndFilterBlocks)
+        .add("compressionEnabled", compressionEnabled)
         .toString();
   }
 }
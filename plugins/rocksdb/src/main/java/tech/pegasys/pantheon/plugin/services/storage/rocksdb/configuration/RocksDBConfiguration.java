@@ -22,6 +22,9 @@ public class RocksDBConfiguration {
   private final int maxBackgroundCompactions;
   private final int backgroundThreadCount;
   private final long cacheCapacity;
+  private final int bloomFilterBitsPerKey;
+  private final boolean cacheIndexAndFilterBlocks;
+  private final boolean compressionEnabled;
 
   public RocksDBConfiguration(
       final Path databaseDir,
@@ -29,12 +32,18 @@ public class RocksDBConfiguration {
       final int maxBackgroundCompactions,
       final int backgroundThreadCount,
       final long cacheCapacity,
+      final int bloomFilterBitsPerKey,
+      final boolean cacheIndexAndFilterBlocks,
+      final boolean compressionEnabled,
       final String label) {
     this.maxBackgroundCompactions = maxBackgroundCompactions;
     this.backgroundThreadCount = backgroundThreadCount;
     this.databaseDir = databaseDir;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    this.cacheIndexAndFilterBlocks = cacheIndexAndFilterBlocks;
+    this.compressionEnabled = compressionEnabled;
     this.label = label;
   }
 
@@ -58,6 +67,18 @@ public class RocksDBConfiguration {
     return cacheCapacity;
   }
 
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public boolean isCacheIndexAndFilterBlocks() {
+    return cacheIndexAndFilterBlocks;
+  }
+
+  public boolean isCompressionEnabled() {
+    return compressionEnabled;
+  }
+
   public String getLabel() {
     return label;
   }
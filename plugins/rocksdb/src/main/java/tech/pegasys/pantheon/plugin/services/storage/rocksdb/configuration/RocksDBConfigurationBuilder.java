@@ -13,7 +13,10 @@
 package tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration;
 
 import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_BACKGROUND_THREAD_COUNT;
+import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
 import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_CACHE_CAPACITY;
+import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_CACHE_INDEX_AND_FILTER_BLOCKS;
+import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_COMPRESSION_ENABLED;
 import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_BACKGROUND_COMPACTIONS;
 import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_OPEN_FILES;
 
@@ -27,6 +30,9 @@ public class RocksDBConfigurationBuilder {
   private long cacheCapacity = DEFAULT_CACHE_CAPACITY;
   private int maxBackgroundCompactions = DEFAULT_MAX_BACKGROUND_COMPACTIONS;
   private int backgroundThreadCount = DEFAULT_BACKGROUND_THREAD_COUNT;
+  private int bloomFilterBitsPerKey = DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
+  private boolean cacheIndexAndFilterBlocks = DEFAULT_CACHE_INDEX_AND_FILTER_BLOCKS;
+  private boolean compressionEnabled = DEFAULT_COMPRESSION_ENABLED;
 
   public RocksDBConfigurationBuilder databaseDir(final Path databaseDir) {
     this.databaseDir = databaseDir;
@@ -58,12 +64,31 @@ public class RocksDBConfigurationBuilder {
     return this;
   }
 
+  public RocksDBConfigurationBuilder bloomFilterBitsPerKey(final int bloomFilterBitsPerKey) {
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    return this;
+  }
+
+  public RocksDBConfigurationBuilder cacheIndexAndFilterBlocks(
+      final boolean cacheIndexAndFilterBlocks) {
+    this.cacheIndexAndFilterBlocks = cacheIndexAndFilterBlocks;
+    return this;
+  }
+
+  public RocksDBConfigurationBuilder compressionEnabled(final boolean compressionEnabled) {
+    this.compressionEnabled = compressionEnabled;
+    return this;
+  }
+
   public static RocksDBConfigurationBuilder from(final RocksDBFactoryConfiguration configuration) {
     return new RocksDBConfigurationBuilder()
         .backgroundThreadCount(configuration.getBackgroundThreadCount())
         .cacheCapacity(configuration.getCacheCapacity())
         .maxBackgroundCompactions(configuration.getMaxBackgroundCompactions())
-        .maxOpenFiles(configuration.getMaxOpenFiles());
+        .maxOpenFiles(configuration.getMaxOpenFiles())
+        .bloomFilterBitsPerKey(configuration.getBloomFilterBitsPerKey())
+        .cacheIndexAndFilterBlocks(configuration.isCacheIndexAndFilterBlocks())
+        .compressionEnabled(configuration.isCompressionEnabled());
   }
 
   public RocksDBConfiguration build() {
@@ -73,6 +98,9 @@ public class RocksDBConfigurationBuilder {
         maxBackgroundCompactions,
         backgroundThreadCount,
         cacheCapacity,
+        bloomFilterBitsPerKey,
+        cacheIndexAndFilterBlocks,
+        compressionEnabled,
         label);
   }
 }
@@ -18,16 +18,40 @@ public class RocksDBFactoryConfiguration {
   private final int maxBackgroundCompactions;
   private final int backgroundThreadCount;
   private final long cacheCapacity;
+  private final int bloomFilterBitsPerKey;
+  private final boolean cacheIndexAndFilterBlocks;
+  private final boolean compressionEnabled;
 
   public RocksDBFactoryConfiguration(
       final int maxOpenFiles,
       final int maxBackgroundCompactions,
       final int backgroundThreadCount,
       final long cacheCapacity) {
+    this(
+        maxOpenFiles,
+        maxBackgroundCompactions,
+        backgroundThreadCount,
+        cacheCapacity,
+        RocksDBCLIOptions.DEFAULT_BLOOM_FILTER_BITS_PER_KEY,
+        RocksDBCLIOptions.DEFAULT_CACHE_INDEX_AND_FILTER_BLOCKS,
+        RocksDBCLIOptions.DEFAULT_COMPRESSION_ENABLED);
+  }
+
+  public RocksDBFactoryConfiguration(
+      final int maxOpenFiles,
+      final int maxBackgroundCompactions,
+      final int backgroundThreadCount,
+      final long cacheCapacity,
+      final int bloomFilterBitsPerKey,
+      final boolean cacheIndexAndFilterBlocks,
+      final boolean compressionEnabled) {
     this.maxBackgroundCompactions = maxBackgroundCompactions;
     this.backgroundThreadCount = backgroundThreadCount;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    this.cacheIndexAndFilterBlocks = cacheIndexAndFilterBlocks;
+    this.compressionEnabled = compressionEnabled;
   }
 
   public int getMaxOpenFiles() {
@@ -45,4 +69,16 @@ public class RocksDBFactoryConfiguration {
   public long getCacheCapacity() {
     return cacheCapacity;
   }
+
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public boolean isCacheIndexAndFilterBlocks() {
+    return cacheIndexAndFilterBlocks;
+  }
+
+  public boolean isCompressionEnabled() {
+    return compressionEnabled;
+  }
 }
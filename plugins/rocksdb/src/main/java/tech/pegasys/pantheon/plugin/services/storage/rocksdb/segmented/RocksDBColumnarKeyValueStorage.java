@@ -18,7 +18,9 @@ import tech.pegasys.pantheon.plugin.services.MetricsSystem;
 import tech.pegasys.pantheon.plugin.services.exception.StorageException;
 import tech.pegasys.pantheon.plugin.services.metrics.OperationTimer;
 import tech.pegasys.pantheon.plugin.services.storage.SegmentIdentifier;
+import tech.pegasys.pantheon.plugin.services.storage.rocksdb.RocksDBColumnFamilyOptionsFactory;
 import tech.pegasys.pantheon.plugin.services.storage.rocksdb.RocksDBMetrics;
+import tech.pegasys.pantheon.plugin.services.storage.rocksdb.RocksDbIterator;
 import tech.pegasys.pantheon.plugin.services.storage.rocksdb.RocksDbUtil;
 import tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 import tech.pegasys.pantheon.services.kvstore.SegmentedKeyValueStorage;
@@ -28,23 +30,22 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import java.io.Closeable;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
-import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
 import org.rocksdb.Env;
-import org.rocksdb.LRUCache;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.Statistics;
@@ -62,6 +63,7 @@ public class RocksDBColumnarKeyValueStorage
   private static final Logger LOG = LogManager.getLogger();
   private static final String DEFAULT_COLUMN = "default";
 
+  private final RocksDBColumnFamilyOptionsFactory columnFamilyOptionsFactory;
   private final DBOptions options;
   private final TransactionDBOptions txOptions;
   private final TransactionDB db;
@@ -75,16 +77,20 @@ public class RocksDBColumnarKeyValueStorage
       final MetricsSystem metricsSystem)
       throws StorageException {
 
+    columnFamilyOptionsFactory = new RocksDBColumnFamilyOptionsFactory(configuration);
     try {
       final List<ColumnFamilyDescriptor> columnDescriptors =
           segments.stream()
-              .map(segment -> new ColumnFamilyDescriptor(segment.getId()))
+              .map(
+                  segment ->
+                      new ColumnFamilyDescriptor(
+                          segment.getId(),
+                          columnFamilyOptionsFactory.createColumnFamilyOptions(segment)))
               .collect(Collectors.toList());
       columnDescriptors.add(
           new ColumnFamilyDescriptor(
               DEFAULT_COLUMN.getBytes(StandardCharsets.UTF_8),
-              new ColumnFamilyOptions()
-                  .setTableFormatConfig(createBlockBasedTableConfig(configuration))));
+              columnFamilyOptionsFactory.createDefaultColumnFamilyOptions()));
 
       final Statistics stats = new Statistics();
       options =
@@ -124,15 +130,11 @@ public class RocksDBColumnarKeyValueStorage
       columnHandlesByName = builder.build();
 
     } catch (final RocksDBException e) {
+      columnFamilyOptionsFactory.close();
       throw new StorageException(e);
     }
   }
 
-  private BlockBasedTableConfig createBlockBasedTableConfig(final RocksDBConfiguration config) {
-    final LRUCache cache = new LRUCache(config.getCacheCapacity());
-    return new BlockBasedTableConfig().setBlockCache(cache);
-  }
-
   @Override
   public ColumnFamilyHandle getSegmentIdentifierByName(final SegmentIdentifier segment) {
     return columnHandlesByName.get(segment.getName());
@@ -150,6 +152,37 @@ public class RocksDBColumnarKeyValueStorage
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final ColumnFamilyHandle segment, final List<byte[]> keys)
+      throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      // The returned map is keyed by the very arrays passed in, so can be looked up by identity.
+      final Map<byte[], byte[]> values =
+          db.multiGet(Collections.nCopies(keys.size(), segment), keys);
+      return keys.stream()
+          .map(key -> Optional.ofNullable(values.get(key)))
+          .collect(Collectors.toList());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> streamFrom(
+      final ColumnFamilyHandle segment, final byte[] startKey) throws StorageException {
+    throwIfClosed();
+    return RocksDbIterator.streamFrom(db.newIterator(segment), startKey);
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys(final ColumnFamilyHandle segment, final byte[] prefix)
+      throws StorageException {
+    throwIfClosed();
+    return RocksDbIterator.streamKeys(db.newIterator(segment), prefix);
+  }
+
   @Override
   public Transaction<ColumnFamilyHandle> startTransaction() throws StorageException {
     throwIfClosed();
@@ -203,6 +236,7 @@ public class RocksDBColumnarKeyValueStorage
       options.close();
       columnHandlesByName.values().forEach(ColumnFamilyHandle::close);
       db.close();
+      columnFamilyOptionsFactory.close();
     }
   }
 
@@ -17,19 +17,23 @@ import tech.pegasys.pantheon.plugin.services.exception.StorageException;
 import tech.pegasys.pantheon.plugin.services.metrics.OperationTimer;
 import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorage;
 import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorageTransaction;
+import tech.pegasys.pantheon.plugin.services.storage.rocksdb.RocksDBColumnFamilyOptionsFactory;
 import tech.pegasys.pantheon.plugin.services.storage.rocksdb.RocksDBMetrics;
+import tech.pegasys.pantheon.plugin.services.storage.rocksdb.RocksDbIterator;
 import tech.pegasys.pantheon.plugin.services.storage.rocksdb.RocksDbUtil;
 import tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 import tech.pegasys.pantheon.services.kvstore.KeyValueStorageTransactionTransitionValidatorDecorator;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.rocksdb.BlockBasedTableConfig;
-import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
@@ -46,6 +50,7 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
 
   private static final Logger LOG = LogManager.getLogger();
 
+  private final RocksDBColumnFamilyOptionsFactory columnFamilyOptionsFactory;
   private final Options options;
   private final TransactionDBOptions txOptions;
   private final TransactionDB db;
@@ -55,13 +60,14 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
   public RocksDBKeyValueStorage(
       final RocksDBConfiguration configuration, final MetricsSystem metricsSystem) {
 
+    columnFamilyOptionsFactory = new RocksDBColumnFamilyOptionsFactory(configuration);
     try {
       final Statistics stats = new Statistics();
       options =
-          new Options()
+          columnFamilyOptionsFactory
+              .configure(new Options())
               .setCreateIfMissing(true)
               .setMaxOpenFiles(configuration.getMaxOpenFiles())
-              .setTableFormatConfig(createBlockBasedTableConfig(configuration))
               .setMaxBackgroundCompactions(configuration.getMaxBackgroundCompactions())
               .setStatistics(stats);
       options.getEnv().setBackgroundThreads(configuration.getBackgroundThreadCount());
@@ -70,6 +76,7 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
       db = TransactionDB.open(options, txOptions, configuration.getDatabaseDir().toString());
       rocksDBMetrics = RocksDBMetrics.of(metricsSystem, configuration, db, stats);
     } catch (final RocksDBException e) {
+      columnFamilyOptionsFactory.close();
       throw new StorageException(e);
     }
   }
@@ -109,6 +116,35 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+
+    try (final OperationTimer.TimingContext ignored =
+        rocksDBMetrics.getReadLatency().startTimer()) {
+      // The returned map is keyed by the very arrays passed in, so can be looked up by identity.
+      final Map<byte[], byte[]> values = db.multiGet(keys);
+      return keys.stream()
+          .map(key -> Optional.ofNullable(values.get(key)))
+          .collect(Collectors.toList());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> streamFrom(final byte[] startKey)
+      throws StorageException {
+    throwIfClosed();
+    return RocksDbIterator.streamFrom(db.newIterator(), startKey);
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys(final byte[] prefix) throws StorageException {
+    throwIfClosed();
+    return RocksDbIterator.streamKeys(db.newIterator(), prefix);
+  }
+
   @Override
   public long removeAllKeysUnless(final Predicate<byte[]> retainCondition) throws StorageException {
     long removedNodeCounter = 0;
@@ -142,14 +178,10 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
       txOptions.close();
       options.close();
       db.close();
+      columnFamilyOptionsFactory.close();
     }
   }
 
-  private BlockBasedTableConfig createBlockBasedTableConfig(final RocksDBConfiguration config) {
-    final LRUCache cache = new LRUCache(config.getCacheCapacity());
-    return new BlockBasedTableConfig().setBlockCache(cache);
-  }
-
   private void throwIfClosed() {
     if (closed.get()) {
       LOG.error("Attempting to use a closed RocksDBKeyValueStorage");
@@ -14,7 +14,10 @@ package tech.pegasys.pantheon.plugin.services.storage.rocksdb;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_BACKGROUND_THREAD_COUNT;
+import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
 import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_CACHE_CAPACITY;
+import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_CACHE_INDEX_AND_FILTER_BLOCKS;
+import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_COMPRESSION_ENABLED;
 import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_BACKGROUND_COMPACTIONS;
 import static tech.pegasys.pantheon.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_OPEN_FILES;
 
@@ -31,6 +34,11 @@ public class RocksDBCLIOptionsTest {
   private static final String MAX_BACKGROUND_COMPACTIONS_FLAG =
       "--Xrocksdb-max-background-compactions";
   private static final String BACKGROUND_THREAD_COUNT_FLAG = "--Xrocksdb-background-thread-count";
+  private static final String BLOOM_FILTER_BITS_PER_KEY_FLAG =
+      "--Xrocksdb-bloom-filter-bits-per-key";
+  private static final String CACHE_INDEX_AND_FILTER_BLOCKS_FLAG =
+      "--Xrocksdb-cache-index-and-filter-blocks";
+  private static final String COMPRESSION_ENABLED_FLAG = "--Xrocksdb-compression-enabled";
 
   @Test
   public void defaultValues() {
@@ -45,6 +53,11 @@ public class RocksDBCLIOptionsTest {
     assertThat(configuration.getMaxBackgroundCompactions())
         .isEqualTo(DEFAULT_MAX_BACKGROUND_COMPACTIONS);
     assertThat(configuration.getMaxOpenFiles()).isEqualTo(DEFAULT_MAX_OPEN_FILES);
+    assertThat(configuration.getBloomFilterBitsPerKey())
+        .isEqualTo(DEFAULT_BLOOM_FILTER_BITS_PER_KEY);
+    assertThat(configuration.isCacheIndexAndFilterBlocks())
+        .isEqualTo(DEFAULT_CACHE_INDEX_AND_FILTER_BLOCKS);
+    assertThat(configuration.isCompressionEnabled()).isEqualTo(DEFAULT_COMPRESSION_ENABLED);
   }
 
   @Test
@@ -112,4 +125,26 @@ public class RocksDBCLIOptionsTest {
         .isEqualTo(DEFAULT_MAX_BACKGROUND_COMPACTIONS);
     assertThat(configuration.getMaxOpenFiles()).isEqualTo(expectedMaxOpenFiles);
   }
+
+  @Test
+  public void customTableOptions() {
+    final RocksDBCLIOptions options = RocksDBCLIOptions.create();
+
+    new CommandLine(options)
+        .parse(
+            BLOOM_FILTER_BITS_PER_KEY_FLAG,
+            "0",
+            CACHE_INDEX_AND_FILTER_BLOCKS_FLAG,
+            "false",
+            COMPRESSION_ENABLED_FLAG,
+            "false");
+
+    final RocksDBFactoryConfiguration configuration = options.toDomainObject();
+    assertThat(configuration).isNotNull();
+    assertThat(configuration.getBloomFilterBitsPerKey()).isEqualTo(0);
+    assertThat(configuration.isCacheIndexAndFilterBlocks()).isFalse();
+    assertThat(configuration.isCompressionEnabled()).isFalse();
+    assertThat(configuration.getCacheCapacity()).isEqualTo(DEFAULT_CACHE_CAPACITY);
+    assertThat(configuration.getMaxOpenFiles()).isEqualTo(DEFAULT_MAX_OPEN_FILES);
+  }
 }
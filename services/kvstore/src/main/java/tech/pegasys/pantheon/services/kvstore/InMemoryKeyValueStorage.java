@@ -17,8 +17,10 @@ import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorage;
 import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorageTransaction;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -26,6 +28,8 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class InMemoryKeyValueStorage implements KeyValueStorage {
 
@@ -73,6 +77,69 @@ public class InMemoryKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return keys.stream()
+          .map(key -> Optional.ofNullable(hashValueStore.get(BytesValue.wrap(key))))
+          .collect(Collectors.toList());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> streamFrom(final byte[] startKey) {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return sortedEntriesFrom(hashValueStore, BytesValue.wrap(startKey)).stream();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys(final byte[] prefix) {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return sortedKeysWithPrefix(hashValueStore.keySet(), BytesValue.wrap(prefix)).stream();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Snapshots the entries of an in-memory store whose key is at least {@code startKey}, ordered
+   * as they would be by a persistent store.
+   */
+  static List<Map.Entry<byte[], byte[]>> sortedEntriesFrom(
+      final Map<BytesValue, byte[]> store, final BytesValue startKey) {
+    return store.entrySet().stream()
+        .filter(entry -> entry.getKey().compareTo(startKey) >= 0)
+        .sorted(Map.Entry.comparingByKey())
+        .map(
+            entry ->
+                new AbstractMap.SimpleImmutableEntry<>(
+                    entry.getKey().getArrayUnsafe(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Snapshots the keys of an in-memory store starting with {@code prefix}, ordered as they would
+   * be by a persistent store.
+   */
+  static List<byte[]> sortedKeysWithPrefix(final Set<BytesValue> keys, final BytesValue prefix) {
+    return keys.stream()
+        .filter(key -> key.commonPrefixLength(prefix) == prefix.size())
+        .sorted()
+        .map(BytesValue::getArrayUnsafe)
+        .collect(Collectors.toList());
+  }
+
   @Override
   public long removeAllKeysUnless(final Predicate<byte[]> retainCondition) throws StorageException {
     long initialSize = hashValueStore.keySet().size();
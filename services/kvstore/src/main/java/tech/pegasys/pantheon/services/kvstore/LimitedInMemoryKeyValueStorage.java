@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -26,6 +27,8 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -79,6 +82,44 @@ public class LimitedInMemoryKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return keys.stream()
+          .map(key -> Optional.ofNullable(storage.getIfPresent(BytesValue.wrap(key))))
+          .collect(Collectors.toList());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> streamFrom(final byte[] startKey) {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return InMemoryKeyValueStorage.sortedEntriesFrom(storage.asMap(), BytesValue.wrap(startKey))
+          .stream();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys(final byte[] prefix) {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return InMemoryKeyValueStorage.sortedKeysWithPrefix(
+              storage.asMap().keySet(), BytesValue.wrap(prefix))
+          .stream();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public long removeAllKeysUnless(final Predicate<byte[]> retainCondition) throws StorageException {
     final long initialSize = storage.size();
@@ -16,8 +16,11 @@ import tech.pegasys.pantheon.plugin.services.exception.StorageException;
 import tech.pegasys.pantheon.plugin.services.storage.SegmentIdentifier;
 
 import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Service provided by pantheon to facilitate persistent data storage.
@@ -35,6 +38,34 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
    */
   Optional<byte[]> get(S segment, byte[] key) throws StorageException;
 
+  /**
+   * @param segment the segment
+   * @param keys Indices into persistent data repository.
+   * @return The values persisted at the key indices, in the same order as the keys.
+   */
+  List<Optional<byte[]>> multiGet(S segment, List<byte[]> keys) throws StorageException;
+
+  /**
+   * Streams the entries of a segment in ascending key order, from the given key. The stream must
+   * be closed after use.
+   *
+   * @param segment the segment
+   * @param startKey The key to start from, inclusive.
+   * @return The entries of the segment whose key is greater than or equal to {@code startKey}.
+   */
+  Stream<Map.Entry<byte[], byte[]>> streamFrom(S segment, byte[] startKey)
+      throws StorageException;
+
+  /**
+   * Streams the keys of a segment starting with the given prefix, in ascending order. The stream
+   * must be closed after use.
+   *
+   * @param segment the segment
+   * @param prefix The prefix of the keys to stream.
+   * @return The keys of the segment starting with {@code prefix}.
+   */
+  Stream<byte[]> streamKeys(S segment, byte[] prefix) throws StorageException;
+
   default boolean containsKey(final S segment, final byte[] key) throws StorageException {
     return get(segment, key).isPresent();
   }
@@ -18,8 +18,11 @@ import tech.pegasys.pantheon.plugin.services.storage.KeyValueStorageTransaction;
 import tech.pegasys.pantheon.plugin.services.storage.SegmentIdentifier;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
 
@@ -47,6 +50,22 @@ public class SegmentedKeyValueStorageAdapter<S> implements KeyValueStorage {
     return storage.get(segmentHandle, key);
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    return storage.multiGet(segmentHandle, keys);
+  }
+
+  @Override
+  public Stream<Map.Entry<byte[], byte[]>> streamFrom(final byte[] startKey)
+      throws StorageException {
+    return storage.streamFrom(segmentHandle, startKey);
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys(final byte[] prefix) throws StorageException {
+    return storage.streamKeys(segmentHandle, prefix);
+  }
+
   @Override
   public long removeAllKeysUnless(final Predicate<byte[]> retainCondition) throws StorageException {
     return storage.removeUnless(segmentHandle, retainCondition);
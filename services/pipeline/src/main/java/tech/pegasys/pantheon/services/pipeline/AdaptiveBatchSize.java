@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.pipeline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.function.IntSupplier;
+
+/**
+ * A batch size which adapts to how much of each batch is actually processed, with additive
+ * increase and multiplicative decrease: the size grows by a constant each time a batch as large as
+ * the current size is fully processed, and shrinks by a factor each time a batch is only partially
+ * processed or fails, though never below the number of items the partial batch did process.
+ *
+ * <p>The size converges on the largest batch which is reliably processed, probing for a larger one
+ * now and then, which suits batches of requests sent to a remote party whose limits are unknown
+ * and vary over time.
+ */
+public class AdaptiveBatchSize implements IntSupplier {
+
+  private final int minimumBatchSize;
+  private final int maximumBatchSize;
+  private final int additiveIncrease;
+  private final double multiplicativeDecrease;
+  private int batchSize;
+
+  /**
+   * @param initialBatchSize the batch size to start from.
+   * @param minimumBatchSize the smallest batch size to shrink to.
+   * @param maximumBatchSize the largest batch size to grow to.
+   * @param additiveIncrease the number of items to grow the batch size by on success.
+   * @param multiplicativeDecrease the factor to shrink the batch size by on failure, between 0 and
+   *     1 exclusive.
+   */
+  public AdaptiveBatchSize(
+      final int initialBatchSize,
+      final int minimumBatchSize,
+      final int maximumBatchSize,
+      final int additiveIncrease,
+      final double multiplicativeDecrease) {
+    checkArgument(minimumBatchSize > 0, "Minimum batch size must be greater than 0");
+    checkArgument(
+        minimumBatchSize <= initialBatchSize && initialBatchSize <= maximumBatchSize,
+        "Initial batch size must be between the minimum and maximum batch sizes");
+    checkArgument(additiveIncrease > 0, "Additive increase must be greater than 0");
+    checkArgument(
+        multiplicativeDecrease > 0 && multiplicativeDecrease < 1,
+        "Multiplicative decrease must be between 0 and 1");
+    this.minimumBatchSize = minimumBatchSize;
+    this.maximumBatchSize = maximumBatchSize;
+    this.additiveIncrease = additiveIncrease;
+    this.multiplicativeDecrease = multiplicativeDecrease;
+    this.batchSize = initialBatchSize;
+  }
+
+  /** @return the size of the next batch. */
+  @Override
+  public synchronized int getAsInt() {
+    return batchSize;
+  }
+
+  /**
+   * Records the outcome of a batch.
+   *
+   * @param batchItems the number of items in the batch.
+   * @param processedItems the number of items of the batch which were processed.
+   */
+  public synchronized void recordResult(final int batchItems, final int processedItems) {
+    if (processedItems < batchItems) {
+      final int decreased = decreasedBatchSize(Math.min(batchSize, batchItems));
+      batchSize = Math.min(Math.max(processedItems, decreased), maximumBatchSize);
+    } else if (batchItems >= batchSize) {
+      // Only a batch as large as the current size tells whether a larger one would succeed.
+      batchSize = (int) Math.min((long) batchSize + additiveIncrease, maximumBatchSize);
+    }
+  }
+
+  /** Records a batch which failed altogether, or was processed too slowly. */
+  public synchronized void recordFailure() {
+    batchSize = decreasedBatchSize(batchSize);
+  }
+
+  private int decreasedBatchSize(final int size) {
+    return Math.max(minimumBatchSize, (int) (size * multiplicativeDecrease));
+  }
+}
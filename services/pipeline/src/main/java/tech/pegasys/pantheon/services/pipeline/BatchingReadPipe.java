@@ -17,17 +17,29 @@ import tech.pegasys.pantheon.plugin.services.metrics.Counter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.IntSupplier;
 
 public class BatchingReadPipe<T> implements ReadPipe<List<T>> {
 
   private final ReadPipe<T> input;
-  private final int maximumBatchSize;
+  private final IntSupplier batchSize;
   private final Counter batchCounter;
 
   public BatchingReadPipe(
       final ReadPipe<T> input, final int maximumBatchSize, final Counter batchCounter) {
+    this(input, () -> maximumBatchSize, batchCounter);
+  }
+
+  /**
+   * @param input the pipe to read items from.
+   * @param batchSize supplies the maximum size of each batch as it is created, so that the batch
+   *     size may vary over time.
+   * @param batchCounter the counter to increment for each batch.
+   */
+  public BatchingReadPipe(
+      final ReadPipe<T> input, final IntSupplier batchSize, final Counter batchCounter) {
     this.input = input;
-    this.maximumBatchSize = maximumBatchSize;
+    this.batchSize = batchSize;
     this.batchCounter = batchCounter;
   }
 
@@ -51,7 +63,7 @@ public class BatchingReadPipe<T> implements ReadPipe<List<T>> {
     }
     final List<T> batch = new ArrayList<>();
     batch.add(firstItem);
-    input.drainTo(batch, maximumBatchSize - 1);
+    input.drainTo(batch, nextBatchSize() - 1);
     batchCounter.inc();
     return batch;
   }
@@ -59,7 +71,7 @@ public class BatchingReadPipe<T> implements ReadPipe<List<T>> {
   @Override
   public List<T> poll() {
     final List<T> batch = new ArrayList<>();
-    input.drainTo(batch, maximumBatchSize);
+    input.drainTo(batch, nextBatchSize());
     if (batch.isEmpty()) {
       // Poll has to return null if the pipe is empty
       return null;
@@ -68,6 +80,10 @@ public class BatchingReadPipe<T> implements ReadPipe<List<T>> {
     return batch;
   }
 
+  private int nextBatchSize() {
+    return Math.max(batchSize.getAsInt(), 1);
+  }
+
   @Override
   public void drainTo(final Collection<List<T>> output, final int maxElements) {
     final List<T> nextBatch = poll();
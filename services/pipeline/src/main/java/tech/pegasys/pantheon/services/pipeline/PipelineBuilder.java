@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -203,6 +204,25 @@ public class PipelineBuilder<I, T> {
    * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
    */
   public PipelineBuilder<I, List<T>> inBatches(final int maximumBatchSize) {
+    return inBatches(maximumBatchSize, () -> maximumBatchSize);
+  }
+
+  /**
+   * Batches items into groups of at most <i>batchSize</i> items, as supplied when each batch is
+   * created, and never more than <i>maximumBatchSize</i>. This allows the size of batches to adapt
+   * to how well previous batches were processed, for example using an {@link AdaptiveBatchSize}.
+   * Batches are created eagerly to minimize delay so may not be full.
+   *
+   * <p>Order of items is preserved.
+   *
+   * <p>The output buffer size is reduced to <code>bufferSize / maximumBatchSize + 1</code>.
+   *
+   * @param maximumBatchSize the maximum number of items to include in a batch.
+   * @param batchSize supplies the number of items to include in the next batch.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public PipelineBuilder<I, List<T>> inBatches(
+      final int maximumBatchSize, final IntSupplier batchSize) {
     checkArgument(maximumBatchSize > 0, "Maximum batch size must be greater than 0");
     return new PipelineBuilder<>(
         inputPipe,
@@ -211,7 +231,7 @@ public class PipelineBuilder<I, T> {
         lastStageName,
         new BatchingReadPipe<>(
             pipeEnd,
-            maximumBatchSize,
+            () -> Math.min(batchSize.getAsInt(), maximumBatchSize),
             outputCounter.labels(lastStageName + "_outputPipe", "batches")),
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter);
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+public class AdaptiveBatchSizeTest {
+
+  private final AdaptiveBatchSize batchSize = new AdaptiveBatchSize(10, 2, 20, 4, 0.5);
+
+  @Test
+  public void shouldStartFromInitialBatchSize() {
+    assertThat(batchSize.getAsInt()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldGrowAdditivelyWhenFullBatchIsProcessed() {
+    batchSize.recordResult(10, 10);
+    assertThat(batchSize.getAsInt()).isEqualTo(14);
+
+    batchSize.recordResult(14, 14);
+    assertThat(batchSize.getAsInt()).isEqualTo(18);
+  }
+
+  @Test
+  public void shouldNotGrowWhenSmallerBatchIsProcessed() {
+    batchSize.recordResult(5, 5);
+    assertThat(batchSize.getAsInt()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldNotGrowBeyondMaximum() {
+    batchSize.recordResult(10, 10);
+    batchSize.recordResult(14, 14);
+    batchSize.recordResult(18, 18);
+    batchSize.recordResult(20, 20);
+    assertThat(batchSize.getAsInt()).isEqualTo(20);
+  }
+
+  @Test
+  public void shouldShrinkMultiplicativelyWhenBatchIsPartiallyProcessed() {
+    batchSize.recordResult(10, 2);
+    assertThat(batchSize.getAsInt()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldNotShrinkBelowTheNumberOfItemsProcessed() {
+    batchSize.recordResult(10, 8);
+    assertThat(batchSize.getAsInt()).isEqualTo(8);
+  }
+
+  @Test
+  public void shouldShrinkMultiplicativelyOnFailure() {
+    batchSize.recordFailure();
+    assertThat(batchSize.getAsInt()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldNotShrinkBelowMinimum() {
+    batchSize.recordFailure();
+    batchSize.recordFailure();
+    batchSize.recordFailure();
+    assertThat(batchSize.getAsInt()).isEqualTo(2);
+
+    batchSize.recordResult(2, 0);
+    assertThat(batchSize.getAsInt()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldRejectInitialBatchSizeOutsideOfBounds() {
+    assertThatThrownBy(() -> new AdaptiveBatchSize(21, 2, 20, 4, 0.5))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
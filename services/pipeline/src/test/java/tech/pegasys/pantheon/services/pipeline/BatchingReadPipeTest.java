@@ -24,6 +24,7 @@ import tech.pegasys.pantheon.plugin.services.metrics.Counter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -50,6 +51,25 @@ public class BatchingReadPipeTest {
     assertThat(batchingPipe.get()).containsExactly("a");
   }
 
+  @Test
+  public void shouldUseCurrentBatchSizeForEachBatch() {
+    final AtomicInteger batchSize = new AtomicInteger(2);
+    final BatchingReadPipe<String> adaptivePipe =
+        new BatchingReadPipe<>(source, batchSize::get, batchCounter);
+    source.put("a");
+    source.put("b");
+    source.put("c");
+    source.put("d");
+    source.put("e");
+    source.put("f");
+
+    assertThat(adaptivePipe.get()).containsExactly("a", "b");
+    batchSize.set(3);
+    assertThat(adaptivePipe.poll()).containsExactly("c", "d", "e");
+    batchSize.set(0);
+    assertThat(adaptivePipe.get()).containsExactly("f");
+  }
+
   @Test
   public void shouldPollForNextBatchWhenAvailable() {
     source.put("a");
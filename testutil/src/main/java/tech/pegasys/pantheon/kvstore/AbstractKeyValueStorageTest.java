@@ -22,9 +22,11 @@ import tech.pegasys.pantheon.util.bytes.BytesValues;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -386,6 +388,68 @@ public abstract class AbstractKeyValueStorageTest {
   /*
    * Used to mimic the wrapping with BytesValue performed in Pantheon
    */
+  @Test
+  public void multiGet() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(bytesOf(1), bytesOf(11));
+    tx.put(bytesOf(3), bytesOf(13));
+    tx.commit();
+
+    final List<Optional<byte[]>> values =
+        store.multiGet(Arrays.asList(bytesOf(3), bytesOf(2), bytesOf(1), bytesOf(3)));
+
+    assertThat(values.stream().map(value -> value.map(BytesValue::wrap)))
+        .containsExactly(
+            Optional.of(BytesValue.of(13)),
+            Optional.empty(),
+            Optional.of(BytesValue.of(11)),
+            Optional.of(BytesValue.of(13)));
+    assertThat(store.multiGet(new ArrayList<>())).isEmpty();
+  }
+
+  @Test
+  public void streamFromReturnsEntriesInKeyOrder() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(bytesOf(0xF0), bytesOf(4));
+    tx.put(bytesOf(2), bytesOf(2));
+    tx.put(bytesOf(1), bytesOf(1));
+    tx.put(bytesOf(2, 1), bytesOf(3));
+    tx.commit();
+
+    try (final Stream<Map.Entry<byte[], byte[]>> entries = store.streamFrom(bytesOf(2))) {
+      assertThat(entries.map(entry -> BytesValue.wrap(entry.getKey()) + "=" + entry.getValue()[0]))
+          .containsExactly("0x02=2", "0x0201=3", "0xf0=4");
+    }
+    try (final Stream<Map.Entry<byte[], byte[]>> entries = store.streamFrom(bytesOf(0xF1))) {
+      assertThat(entries).isEmpty();
+    }
+  }
+
+  @Test
+  public void streamKeysReturnsKeysWithPrefix() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(bytesOf(1, 2), bytesOf(1));
+    tx.put(bytesOf(1, 1), bytesOf(1));
+    tx.put(bytesOf(1), bytesOf(1));
+    tx.put(bytesOf(0), bytesOf(1));
+    tx.put(bytesOf(2, 1), bytesOf(1));
+    tx.commit();
+
+    try (final Stream<byte[]> keys = store.streamKeys(bytesOf(1))) {
+      assertThat(keys.map(BytesValue::wrap))
+          .containsExactly(BytesValue.of(1), BytesValue.of(1, 1), BytesValue.of(1, 2));
+    }
+    try (final Stream<byte[]> keys = store.streamKeys(new byte[0])) {
+      assertThat(keys).hasSize(5);
+    }
+    try (final Stream<byte[]> keys = store.streamKeys(bytesOf(3))) {
+      assertThat(keys).isEmpty();
+    }
+  }
+
   protected byte[] bytesFromHexString(final String hex) {
     return BytesValue.fromHexString(hex).getArrayUnsafe();
   }
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the limb-based arithmetic of {@link UInt256Bytes} and {@link Int256Bytes} with the
+ * {@link BigInteger} round-trip they used to do, for every operator backing an EVM arithmetic
+ * opcode.
+ */
+@State(Scope.Thread)
+public class UInt256ArithmeticBenchmark {
+
+  private static final BigInteger P256 = BigInteger.ONE.shiftLeft(256);
+
+  public enum Operator {
+    ADD,
+    SUB,
+    MUL,
+    DIV,
+    MOD,
+    SDIV,
+    SMOD,
+    ADDMOD,
+    MULMOD,
+    EXP
+  }
+
+  @Param({"ADD", "SUB", "MUL", "DIV", "MOD", "SDIV", "SMOD", "ADDMOD", "MULMOD", "EXP"})
+  public Operator operator;
+
+  // Bit length of the (random) operands: small values are the common case for counters and
+  // offsets, full-width ones for hashes and fixed-point math.
+  @Param({"64", "128", "256"})
+  public int bits;
+
+  private Bytes32 v1;
+  private Bytes32 v2;
+  private Bytes32 v3;
+  private final MutableBytes32 result = MutableBytes32.create();
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(42);
+    v1 = UInt256Bytes.of(new BigInteger(bits, random));
+    // Keep the divisor/modulus a bit smaller than the dividend so division does real work.
+    v2 = UInt256Bytes.of(new BigInteger(Math.max(bits - 32, 1), random).add(BigInteger.ONE));
+    v3 = UInt256Bytes.of(new BigInteger(Math.max(bits / 2, 1), random).add(BigInteger.ONE));
+  }
+
+  @Benchmark
+  public Bytes32 limbs() {
+    switch (operator) {
+      case ADD:
+        UInt256Bytes.add(v1, v2, result);
+        break;
+      case SUB:
+        UInt256Bytes.subtract(v1, v2, result);
+        break;
+      case MUL:
+        UInt256Bytes.multiply(v1, v2, result);
+        break;
+      case DIV:
+        UInt256Bytes.divide(v1, v2, result);
+        break;
+      case MOD:
+        UInt256Bytes.modulo(v1, v2, result);
+        break;
+      case SDIV:
+        Int256Bytes.divide(v1, v2, result);
+        break;
+      case SMOD:
+        Int256Bytes.mod(v1, v2, result);
+        break;
+      case ADDMOD:
+        UInt256Bytes.addModulo(v1, v2, v3, result);
+        break;
+      case MULMOD:
+        UInt256Bytes.multiplyModulo(v1, v2, v3, result);
+        break;
+      case EXP:
+        UInt256Bytes.exponent(v1, v3, result);
+        break;
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 bigInteger() {
+    final BigInteger i1 = BytesValues.asUnsignedBigInteger(v1);
+    final BigInteger i2 = BytesValues.asUnsignedBigInteger(v2);
+    final BigInteger i3 = BytesValues.asUnsignedBigInteger(v3);
+    final BigInteger r;
+    switch (operator) {
+      case ADD:
+        r = i1.add(i2).mod(P256);
+        break;
+      case SUB:
+        r = i1.subtract(i2).mod(P256);
+        break;
+      case MUL:
+        r = i1.multiply(i2).mod(P256);
+        break;
+      case DIV:
+        r = i1.divide(i2);
+        break;
+      case MOD:
+        r = i1.mod(i2);
+        break;
+      case SDIV:
+        r = BytesValues.asSignedBigInteger(v1).divide(BytesValues.asSignedBigInteger(v2)).mod(P256);
+        break;
+      case SMOD:
+        {
+          final BigInteger s1 = BytesValues.asSignedBigInteger(v1);
+          final BigInteger abs = s1.abs().mod(BytesValues.asSignedBigInteger(v2).abs());
+          r = (s1.signum() < 0 ? abs.negate() : abs).mod(P256);
+          break;
+        }
+      case ADDMOD:
+        r = i1.add(i2).mod(i3);
+        break;
+      case MULMOD:
+        r = i1.multiply(i2).mod(i3);
+        break;
+      case EXP:
+        r = i1.modPow(i3, P256);
+        break;
+      default:
+        throw new IllegalStateException("Unknown operator " + operator);
+    }
+    copy(r, result);
+    return result;
+  }
+
+  // What UInt256Bytes used to do to write a BigInteger result back to bytes.
+  private static void copy(final BigInteger value, final MutableBytes32 destination) {
+    final BytesValue bytes = BytesValue.wrap(value.toByteArray());
+    final int size = bytes.size();
+    if (size >= Bytes32.SIZE) {
+      bytes.slice(size - Bytes32.SIZE, Bytes32.SIZE).copyTo(destination);
+    } else {
+      destination.clear();
+      bytes.copyTo(destination, Bytes32.SIZE - size);
+    }
+  }
+}
@@ -85,4 +85,11 @@ class MutableByteBufWrappingBytesValue extends AbstractBytesValue implements Mut
   public BytesValue slice(final int index, final int length) {
     return mutableSlice(index, length);
   }
+
+  @Override
+  public byte[] extractArray() {
+    final byte[] array = new byte[size];
+    buffer.getBytes(offset, array);
+    return array;
+  }
 }
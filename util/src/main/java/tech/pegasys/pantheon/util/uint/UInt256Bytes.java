@@ -21,7 +21,6 @@ import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.bytes.MutableBytes32;
 
 import java.math.BigInteger;
-import java.util.function.BinaryOperator;
 
 import com.google.common.annotations.VisibleForTesting;
 
@@ -56,8 +55,6 @@ public abstract class UInt256Bytes {
 
   private static final int SIZE = Bytes32.SIZE;
 
-  private static final BigInteger P256 = BigInteger.valueOf(2).pow(8 * 32);
-
   /** The number of ints a word contains. */
   private static final int INT_SIZE = 32 / 4;
 
@@ -69,50 +66,12 @@ public abstract class UInt256Bytes {
   /** This mask is used to obtain the value of an int as if it were unsigned. */
   private static final long LONG_MASK = 0xffffffffL;
 
-  static void copyPadded(
-      final BytesValue toCopy, final MutableBytes32 destination, final byte padByte) {
-    final int copySize = toCopy.size();
-    if (copySize == SIZE) {
-      toCopy.copyTo(destination);
-    } else if (copySize > SIZE) {
-      toCopy.slice(copySize - SIZE, SIZE).copyTo(destination);
-    } else {
-      final int padding = SIZE - toCopy.size();
-      destination.mutableSlice(0, padding).fill(padByte);
-      toCopy.copyTo(destination, padding);
-    }
-  }
-
-  private static void copy(final BigInteger result, final MutableBytes32 destination) {
-    copyPadded(BytesValue.wrap(result.toByteArray()), destination, ALL_ZERO_BYTE);
-  }
-
-  private interface TriOperator<T> {
-    T apply(T op1, T op2, T op3);
-  }
-
-  private static void doOnBigInteger(
-      final Bytes32 v1,
-      final Bytes32 v2,
-      final MutableBytes32 dest,
-      final BinaryOperator<BigInteger> operator) {
-    final BigInteger i1 = BytesValues.asUnsignedBigInteger(v1);
-    final BigInteger i2 = BytesValues.asUnsignedBigInteger(v2);
-    final BigInteger result = operator.apply(i1, i2);
-    copy(result, dest);
-  }
+  // Arithmetic that can't be done directly on the bytes goes through limbs, which are mutable, so
+  // use one per thread to stay allocation-free.
+  private static final ThreadLocal<UInt256Limbs> LIMBS = ThreadLocal.withInitial(UInt256Limbs::new);
 
-  private static void doOnBigInteger(
-      final Bytes32 v1,
-      final Bytes32 v2,
-      final Bytes32 v3,
-      final MutableBytes32 dest,
-      final TriOperator<BigInteger> operator) {
-    final BigInteger i1 = BytesValues.asUnsignedBigInteger(v1);
-    final BigInteger i2 = BytesValues.asUnsignedBigInteger(v2);
-    final BigInteger i3 = BytesValues.asUnsignedBigInteger(v3);
-    final BigInteger result = operator.apply(i1, i2, i3);
-    copy(result, dest);
+  static UInt256Limbs limbs() {
+    return LIMBS.get();
   }
 
   public static void add(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
@@ -147,7 +106,7 @@ public abstract class UInt256Bytes {
     if (modulo.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, modulo, result, (op1, op2, mod) -> op1.add(op2).mod(mod));
+      limbs().set(v1).addModulo(v2, modulo).writeTo(result);
     }
   }
 
@@ -227,7 +186,7 @@ public abstract class UInt256Bytes {
   }
 
   public static void multiply(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
-    doOnBigInteger(v1, v2, result, BigInteger::multiply);
+    limbs().set(v1).multiply(v2).writeTo(result);
   }
 
   public static void multiply(final Bytes32 v1, final long v2, final MutableBytes32 result) {
@@ -237,12 +196,12 @@ public abstract class UInt256Bytes {
       final int shifts = log2(v2);
       // We have to be careful with overflowing operation.
       if (bitLength(v1) >= SIZE - 1 - shifts) {
-        doOnBigInteger(v1, of(v2), result, BigInteger::multiply);
+        limbs().set(v1).multiply(v2).writeTo(result);
       } else {
         shiftLeft(v1, shifts, result);
       }
     } else {
-      doOnBigInteger(v1, of(v2), result, BigInteger::multiply);
+      limbs().set(v1).multiply(v2).writeTo(result);
     }
   }
 
@@ -251,7 +210,7 @@ public abstract class UInt256Bytes {
     if (modulo.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, modulo, result, (op1, op2, mod) -> op1.multiply(op2).mod(mod));
+      limbs().set(v1).multiplyModulo(v2, modulo).writeTo(result);
     }
   }
 
@@ -259,7 +218,7 @@ public abstract class UInt256Bytes {
     if (v2.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, result, BigInteger::divide);
+      limbs().set(v1).divide(v2).writeTo(result);
     }
   }
 
@@ -308,19 +267,19 @@ public abstract class UInt256Bytes {
     } else if (v2 > 0 && isPowerOf2(v2)) {
       shiftRight(v1, log2(v2), result);
     } else {
-      doOnBigInteger(v1, of(v2), result, BigInteger::divide);
+      limbs().set(v1).divide(v2).writeTo(result);
     }
   }
 
   public static void exponent(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
-    doOnBigInteger(v1, v2, result, (val, pow) -> val.modPow(pow, P256));
+    limbs().set(v1).pow(v2).writeTo(result);
   }
 
   public static void modulo(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
     if (v2.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, result, BigInteger::mod);
+      limbs().set(v1).mod(v2).writeTo(result);
     }
   }
 
@@ -340,7 +299,7 @@ public abstract class UInt256Bytes {
         result.set(SIZE - 1 - i, (byte) 0);
       }
     } else {
-      doOnBigInteger(v1, of(v2), result, BigInteger::mod);
+      limbs().set(v1).mod(v2).writeTo(result);
     }
   }
 
@@ -0,0 +1,556 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+
+/**
+ * A mutable 256-bits unsigned integer held in four {@code long} limbs.
+ *
+ * <p>This is the arithmetic engine behind {@link UInt256Bytes} and {@link Int256Bytes}: a value is
+ * loaded from its {@link Bytes32} representation with {@link #set(Bytes32)}, operated on in place
+ * and written back with {@link #writeTo(MutableBytes32)}, without ever going through {@link
+ * java.math.BigInteger}. An instance carries all the scratch space its operations need (including
+ * for long division and 512-bits intermediate products), so reusing one instance for any number of
+ * operations does not allocate. Instances are consequently <b>not</b> thread-safe.
+ *
+ * <p>All operations are modulo 2^256, and division or modulo by zero produce zero, as specified by
+ * the Yellow Paper.
+ */
+public final class UInt256Limbs {
+
+  private static final int LIMBS = 4;
+  private static final int DIGITS = 2 * LIMBS;
+  private static final long DIGIT_MASK = 0xFFFFFFFFL;
+
+  // The value, least significant limb first.
+  private final long[] value = new long[LIMBS];
+
+  // Scratch space: the second and third operand of the current operation, ...
+  private final long[] operand = new long[LIMBS];
+  private final long[] modulus = new long[LIMBS];
+  // ... a full 512-bits product, ...
+  private final long[] product = new long[2 * LIMBS];
+  // ... and the 32-bits digits (least significant first) used by long division. The dividend has
+  // one extra digit for normalization.
+  private final int[] dividend = new int[2 * DIGITS + 1];
+  private final int[] divisor = new int[DIGITS];
+  private final int[] quotient = new int[2 * DIGITS];
+  // Where the remainder of the last long division is in 'dividend'.
+  private int remainderDigits;
+  private int normalizationShift;
+
+  /** @return The current value, as a newly allocated {@link Bytes32}. */
+  public Bytes32 toBytes32() {
+    final MutableBytes32 bytes = MutableBytes32.create();
+    writeTo(bytes);
+    return bytes;
+  }
+
+  /**
+   * Writes the current value to the provided bytes.
+   *
+   * @param destination The bytes to write to.
+   */
+  public void writeTo(final MutableBytes32 destination) {
+    for (int i = 0; i < LIMBS; i++) {
+      destination.setLong((LIMBS - 1 - i) * 8, value[i]);
+    }
+  }
+
+  /**
+   * Sets the current value.
+   *
+   * @param bytes The bytes of the new value, interpreted as unsigned.
+   * @return This instance.
+   */
+  public UInt256Limbs set(final Bytes32 bytes) {
+    load(bytes, value);
+    return this;
+  }
+
+  /**
+   * Sets the current value.
+   *
+   * @param v The new value, interpreted as unsigned.
+   * @return This instance.
+   */
+  public UInt256Limbs set(final long v) {
+    value[0] = v;
+    value[1] = 0;
+    value[2] = 0;
+    value[3] = 0;
+    return this;
+  }
+
+  /** @return True if the current value is zero. */
+  public boolean isZero() {
+    return isZero(value);
+  }
+
+  /** @return True if the current value, interpreted as a signed two's complement, is negative. */
+  public boolean isNegative() {
+    return value[LIMBS - 1] < 0;
+  }
+
+  public UInt256Limbs add(final Bytes32 other) {
+    load(other, operand);
+    add(value, operand, value);
+    return this;
+  }
+
+  public UInt256Limbs subtract(final Bytes32 other) {
+    load(other, operand);
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long a = value[i];
+      final long diff = a - operand[i] - borrow;
+      final int cmp = Long.compareUnsigned(a, operand[i]);
+      borrow = (cmp < 0 || (cmp == 0 && borrow != 0)) ? 1 : 0;
+      value[i] = diff;
+    }
+    return this;
+  }
+
+  public UInt256Limbs multiply(final Bytes32 other) {
+    load(other, operand);
+    multiplyLow(value, operand);
+    return this;
+  }
+
+  public UInt256Limbs multiply(final long other) {
+    operand[0] = other;
+    operand[1] = 0;
+    operand[2] = 0;
+    operand[3] = 0;
+    multiplyLow(value, operand);
+    return this;
+  }
+
+  public UInt256Limbs divide(final Bytes32 other) {
+    load(other, operand);
+    divideUnsigned();
+    return this;
+  }
+
+  public UInt256Limbs divide(final long other) {
+    operand[0] = other;
+    operand[1] = 0;
+    operand[2] = 0;
+    operand[3] = 0;
+    divideUnsigned();
+    return this;
+  }
+
+  public UInt256Limbs mod(final Bytes32 other) {
+    load(other, operand);
+    modUnsigned();
+    return this;
+  }
+
+  public UInt256Limbs mod(final long other) {
+    operand[0] = other;
+    operand[1] = 0;
+    operand[2] = 0;
+    operand[3] = 0;
+    modUnsigned();
+    return this;
+  }
+
+  /**
+   * Sets the current value to {@code (this + other) mod modulo}, where the addition is <b>not</b>
+   * truncated to 256 bits.
+   *
+   * @param other The value to add.
+   * @param modulo The modulus.
+   * @return This instance.
+   */
+  public UInt256Limbs addModulo(final Bytes32 other, final Bytes32 modulo) {
+    load(other, operand);
+    load(modulo, modulus);
+    if (isZero(modulus)) {
+      clear(value);
+      return this;
+    }
+    product[LIMBS] = add(value, operand, product);
+    for (int i = LIMBS + 1; i < product.length; i++) {
+      product[i] = 0;
+    }
+    remainderOfProduct(LIMBS + 1);
+    return this;
+  }
+
+  /**
+   * Sets the current value to {@code (this * other) mod modulo}, where the product is <b>not</b>
+   * truncated to 256 bits.
+   *
+   * @param other The value to multiply by.
+   * @param modulo The modulus.
+   * @return This instance.
+   */
+  public UInt256Limbs multiplyModulo(final Bytes32 other, final Bytes32 modulo) {
+    load(other, operand);
+    load(modulo, modulus);
+    if (isZero(modulus)) {
+      clear(value);
+      return this;
+    }
+    multiplyFull(value, operand);
+    remainderOfProduct(2 * LIMBS);
+    return this;
+  }
+
+  /**
+   * Sets the current value to {@code this^exponent mod 2^256}.
+   *
+   * @param exponent The exponent.
+   * @return This instance.
+   */
+  public UInt256Limbs pow(final Bytes32 exponent) {
+    // Square-and-multiply: the base is kept in 'modulus' and the exponent in 'operand', which are
+    // otherwise unused here, while 'value' accumulates the result.
+    System.arraycopy(value, 0, modulus, 0, LIMBS);
+    load(exponent, operand);
+    set(1);
+    int top = LIMBS - 1;
+    while (top >= 0 && operand[top] == 0) {
+      top--;
+    }
+    for (int i = 0; i <= top; i++) {
+      long bits = operand[i];
+      final int bitCount = i == top ? 64 - Long.numberOfLeadingZeros(bits) : 64;
+      for (int b = 0; b < bitCount; b++) {
+        if ((bits & 1) != 0) {
+          multiplyLow(value, modulus);
+        }
+        bits >>>= 1;
+        if (i < top || b < bitCount - 1) {
+          multiplyLow(modulus, modulus);
+        }
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Sets the current value to the signed (two's complement) division of this by {@code other},
+   * truncated toward zero.
+   *
+   * <p>Note that as per the Yellow Paper, {@code -2^255 / -1} is {@code -2^255}, which is what the
+   * two's complement arithmetic naturally yields.
+   *
+   * @param other The divisor.
+   * @return This instance.
+   */
+  public UInt256Limbs signedDivide(final Bytes32 other) {
+    load(other, operand);
+    final boolean negativeDividend = value[LIMBS - 1] < 0;
+    final boolean negativeDivisor = operand[LIMBS - 1] < 0;
+    if (negativeDividend) {
+      negate(value);
+    }
+    if (negativeDivisor) {
+      negate(operand);
+    }
+    divideUnsigned();
+    if (negativeDividend != negativeDivisor) {
+      negate(value);
+    }
+    return this;
+  }
+
+  /**
+   * Sets the current value to the signed (two's complement) remainder of this by {@code other}. The
+   * result takes the sign of the dividend.
+   *
+   * @param other The divisor.
+   * @return This instance.
+   */
+  public UInt256Limbs signedMod(final Bytes32 other) {
+    load(other, operand);
+    final boolean negativeDividend = value[LIMBS - 1] < 0;
+    if (negativeDividend) {
+      negate(value);
+    }
+    if (operand[LIMBS - 1] < 0) {
+      negate(operand);
+    }
+    modUnsigned();
+    if (negativeDividend) {
+      negate(value);
+    }
+    return this;
+  }
+
+  private static void load(final Bytes32 bytes, final long[] limbs) {
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[i] = bytes.getLong((LIMBS - 1 - i) * 8);
+    }
+  }
+
+  private static boolean isZero(final long[] limbs) {
+    return (limbs[0] | limbs[1] | limbs[2] | limbs[3]) == 0;
+  }
+
+  private static void clear(final long[] limbs) {
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[i] = 0;
+    }
+  }
+
+  // Writes a + b (mod 2^256) to the first limbs of result (which may be a or b) and returns the
+  // final carry.
+  private static long add(final long[] a, final long[] b, final long[] result) {
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long sum = a[i] + b[i];
+      final long c1 = Long.compareUnsigned(sum, a[i]) < 0 ? 1 : 0;
+      final long total = sum + carry;
+      final long c2 = Long.compareUnsigned(total, sum) < 0 ? 1 : 0;
+      result[i] = total;
+      carry = c1 + c2;
+    }
+    return carry;
+  }
+
+  private static void negate(final long[] limbs) {
+    long carry = 1;
+    for (int i = 0; i < LIMBS; i++) {
+      final long sum = ~limbs[i] + carry;
+      carry = (carry != 0 && sum == 0) ? 1 : 0;
+      limbs[i] = sum;
+    }
+  }
+
+  // The high 64 bits of the unsigned 128 bits product of a and b.
+  private static long multiplyHighUnsigned(final long a, final long b) {
+    return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+  }
+
+  // Writes the low 256 bits of a * b to a.
+  private void multiplyLow(final long[] a, final long[] b) {
+    final long[] result = product;
+    clear(result);
+    for (int i = 0; i < LIMBS; i++) {
+      final long ai = a[i];
+      if (ai == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; i + j < LIMBS; j++) {
+        carry = multiplyAccumulate(result, i + j, ai, b[j], carry);
+      }
+    }
+    System.arraycopy(result, 0, a, 0, LIMBS);
+  }
+
+  // Writes the full 512 bits of a * b to product.
+  private void multiplyFull(final long[] a, final long[] b) {
+    final long[] result = product;
+    for (int i = 0; i < result.length; i++) {
+      result[i] = 0;
+    }
+    for (int i = 0; i < LIMBS; i++) {
+      final long ai = a[i];
+      if (ai == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; j < LIMBS; j++) {
+        carry = multiplyAccumulate(result, i + j, ai, b[j], carry);
+      }
+      result[i + LIMBS] = carry;
+    }
+  }
+
+  // Sets result[index] += a * b + carry, and returns the carry out. Note that a * b + c + d always
+  // fits in 128 bits for 64 bits a, b, c and d.
+  private static long multiplyAccumulate(
+      final long[] result, final int index, final long a, final long b, final long carry) {
+    final long low = a * b;
+    final long high = multiplyHighUnsigned(a, b);
+    final long sum = result[index] + low;
+    final long c1 = Long.compareUnsigned(sum, low) < 0 ? 1 : 0;
+    final long total = sum + carry;
+    final long c2 = Long.compareUnsigned(total, sum) < 0 ? 1 : 0;
+    result[index] = total;
+    return high + c1 + c2;
+  }
+
+  private void divideUnsigned() {
+    if (isZero(operand)) {
+      clear(value);
+      return;
+    }
+    System.arraycopy(value, 0, product, 0, LIMBS);
+    for (int i = LIMBS; i < product.length; i++) {
+      product[i] = 0;
+    }
+    final int quotientDigits = divideProduct(LIMBS, operand);
+    for (int i = 0; i < LIMBS; i++) {
+      final int low = 2 * i;
+      final int high = low + 1;
+      value[i] =
+          (low < quotientDigits ? quotient[low] & DIGIT_MASK : 0)
+              | (high < quotientDigits ? ((long) quotient[high]) << 32 : 0);
+    }
+  }
+
+  private void modUnsigned() {
+    if (isZero(operand)) {
+      clear(value);
+      return;
+    }
+    System.arraycopy(value, 0, product, 0, LIMBS);
+    System.arraycopy(operand, 0, modulus, 0, LIMBS);
+    remainderOfProduct(LIMBS);
+  }
+
+  // Sets value to the first productLimbs limbs of product modulo the (non-zero) modulus.
+  private void remainderOfProduct(final int productLimbs) {
+    divideProduct(productLimbs, modulus);
+    // divideProduct leaves the (normalized) remainder in the dividend digits.
+    readRemainder();
+  }
+
+  /**
+   * Long division of the first productLimbs limbs of 'product' by the provided (non-zero) limbs,
+   * using Knuth's algorithm D (The Art of Computer Programming, vol. 2, 4.3.1), on 32-bits digits.
+   *
+   * <p>On return, 'quotient' holds the quotient digits (the number of which is returned), and the
+   * remainder can be read with readRemainder().
+   */
+  private int divideProduct(final int productLimbs, final long[] by) {
+    int n = DIGITS;
+    for (int i = 0; i < LIMBS; i++) {
+      divisor[2 * i] = (int) by[i];
+      divisor[2 * i + 1] = (int) (by[i] >>> 32);
+    }
+    while (divisor[n - 1] == 0) {
+      n--;
+    }
+    int size = 2 * productLimbs;
+    for (int i = 0; i < productLimbs; i++) {
+      dividend[2 * i] = (int) product[i];
+      dividend[2 * i + 1] = (int) (product[i] >>> 32);
+    }
+    while (size > 0 && dividend[size - 1] == 0) {
+      size--;
+    }
+    remainderDigits = n;
+    normalizationShift = 0;
+
+    if (size < n) {
+      // Dividend is smaller than the divisor: quotient is zero and remainder is the dividend.
+      for (int i = size; i < n; i++) {
+        dividend[i] = 0;
+      }
+      return 0;
+    }
+
+    final int m = size - n;
+    if (n == 1) {
+      final long d = divisor[0] & DIGIT_MASK;
+      long remainder = 0;
+      for (int j = size - 1; j >= 0; j--) {
+        final long current = (remainder << 32) | (dividend[j] & DIGIT_MASK);
+        quotient[j] = (int) Long.divideUnsigned(current, d);
+        remainder = Long.remainderUnsigned(current, d);
+      }
+      dividend[0] = (int) remainder;
+      return size;
+    }
+
+    // Normalize so the top digit of the divisor has its high bit set.
+    final int s = Integer.numberOfLeadingZeros(divisor[n - 1]);
+    normalizationShift = s;
+    if (s != 0) {
+      for (int i = n - 1; i > 0; i--) {
+        divisor[i] = (divisor[i] << s) | (divisor[i - 1] >>> (32 - s));
+      }
+      divisor[0] <<= s;
+      dividend[size] = dividend[size - 1] >>> (32 - s);
+      for (int i = size - 1; i > 0; i--) {
+        dividend[i] = (dividend[i] << s) | (dividend[i - 1] >>> (32 - s));
+      }
+      dividend[0] <<= s;
+    } else {
+      dividend[size] = 0;
+    }
+
+    final long vTop = divisor[n - 1] & DIGIT_MASK;
+    final long vNext = divisor[n - 2] & DIGIT_MASK;
+    for (int j = m; j >= 0; j--) {
+      final long numerator =
+          ((dividend[j + n] & DIGIT_MASK) << 32) | (dividend[j + n - 1] & DIGIT_MASK);
+      long qHat = Long.divideUnsigned(numerator, vTop);
+      long rHat = Long.remainderUnsigned(numerator, vTop);
+      while (qHat > DIGIT_MASK
+          || Long.compareUnsigned(
+                  qHat * vNext, (rHat << 32) | (dividend[j + n - 2] & DIGIT_MASK))
+              > 0) {
+        qHat--;
+        rHat += vTop;
+        if (rHat > DIGIT_MASK) {
+          break;
+        }
+      }
+
+      // Multiply and subtract.
+      long borrow = 0;
+      long t;
+      for (int i = 0; i < n; i++) {
+        final long p = qHat * (divisor[i] & DIGIT_MASK);
+        t = (dividend[i + j] & DIGIT_MASK) - borrow - (p & DIGIT_MASK);
+        dividend[i + j] = (int) t;
+        borrow = (p >>> 32) - (t >> 32);
+      }
+      t = (dividend[j + n] & DIGIT_MASK) - borrow;
+      dividend[j + n] = (int) t;
+
+      if (t < 0) {
+        // qHat was one too large: add back.
+        qHat--;
+        long carry = 0;
+        for (int i = 0; i < n; i++) {
+          t = (dividend[i + j] & DIGIT_MASK) + (divisor[i] & DIGIT_MASK) + carry;
+          dividend[i + j] = (int) t;
+          carry = t >>> 32;
+        }
+        dividend[j + n] += (int) carry;
+      }
+      quotient[j] = (int) qHat;
+    }
+    return m + 1;
+  }
+
+  // Reads the remainder left by divideProduct into value.
+  private void readRemainder() {
+    final int n = remainderDigits;
+    final int s = normalizationShift;
+    if (s != 0) {
+      for (int i = 0; i < n - 1; i++) {
+        dividend[i] = (dividend[i] >>> s) | (dividend[i + 1] << (32 - s));
+      }
+      dividend[n - 1] >>>= s;
+    }
+    for (int i = 0; i < LIMBS; i++) {
+      final int low = 2 * i;
+      final int high = low + 1;
+      value[i] =
+          (low < n ? dividend[low] & DIGIT_MASK : 0)
+              | (high < n ? ((long) dividend[high]) << 32 : 0);
+    }
+  }
+}
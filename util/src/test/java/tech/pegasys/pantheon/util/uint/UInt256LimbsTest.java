@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import org.junit.Test;
+
+public class UInt256LimbsTest {
+
+  private static final BigInteger P256 = BigInteger.ONE.shiftLeft(256);
+  private static final int ITERATIONS = 10_000;
+
+  private final Random random = new Random(1);
+  private final UInt256Limbs limbs = new UInt256Limbs();
+
+  // Mixes random values of all sizes with edge cases (zero, powers of 2, values close to 2^256 and
+  // values whose 32-bits digits are all 0xFFFFFFFF or close to 0, which exercise the corrections of
+  // the long division).
+  private BigInteger randomValue() {
+    switch (random.nextInt(6)) {
+      case 0:
+        return BigInteger.valueOf(random.nextInt(5));
+      case 1:
+        return new BigInteger(random.nextInt(256) + 1, random);
+      case 2:
+        return P256.subtract(BigInteger.valueOf(random.nextInt(3) + 1));
+      case 3:
+        return BigInteger.ONE.shiftLeft(random.nextInt(256));
+      case 4:
+        {
+          BigInteger v = BigInteger.ZERO;
+          for (int i = 0; i < 8; i++) {
+            final long digit = random.nextBoolean() ? 0xFFFFFFFFL : random.nextInt(3);
+            v = v.shiftLeft(32).or(BigInteger.valueOf(digit));
+          }
+          return v;
+        }
+      default:
+        return new BigInteger(256, random);
+    }
+  }
+
+  private static BigInteger signed(final BigInteger v) {
+    return v.testBit(255) ? v.subtract(P256) : v;
+  }
+
+  private void checkBinary(
+      final BiFunction<UInt256Limbs, Bytes32, UInt256Limbs> op,
+      final BiFunction<BigInteger, BigInteger, BigInteger> expected) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      final BigInteger v1 = randomValue();
+      final BigInteger v2 = randomValue();
+      final Bytes32 actual =
+          op.apply(limbs.set(UInt256Bytes.of(v1)), UInt256Bytes.of(v2)).toBytes32();
+      assertThat(BytesValues.asUnsignedBigInteger(actual))
+          .describedAs("v1=%s, v2=%s", v1, v2)
+          .isEqualTo(expected.apply(v1, v2).mod(P256));
+    }
+  }
+
+  private void checkModular(final boolean multiply, final TernaryFunction<BigInteger> expected) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      final BigInteger v1 = randomValue();
+      final BigInteger v2 = randomValue();
+      final BigInteger m = randomValue();
+      limbs.set(UInt256Bytes.of(v1));
+      if (multiply) {
+        limbs.multiplyModulo(UInt256Bytes.of(v2), UInt256Bytes.of(m));
+      } else {
+        limbs.addModulo(UInt256Bytes.of(v2), UInt256Bytes.of(m));
+      }
+      assertThat(BytesValues.asUnsignedBigInteger(limbs.toBytes32()))
+          .describedAs("v1=%s, v2=%s, m=%s", v1, v2, m)
+          .isEqualTo(m.signum() == 0 ? BigInteger.ZERO : expected.apply(v1, v2, m));
+    }
+  }
+
+  private interface TernaryFunction<T> {
+    T apply(T v1, T v2, T v3);
+  }
+
+  @Test
+  public void add() {
+    checkBinary(UInt256Limbs::add, BigInteger::add);
+  }
+
+  @Test
+  public void subtract() {
+    checkBinary(UInt256Limbs::subtract, BigInteger::subtract);
+  }
+
+  @Test
+  public void multiply() {
+    checkBinary(UInt256Limbs::multiply, BigInteger::multiply);
+  }
+
+  @Test
+  public void divide() {
+    checkBinary(
+        UInt256Limbs::divide, (v1, v2) -> v2.signum() == 0 ? BigInteger.ZERO : v1.divide(v2));
+  }
+
+  @Test
+  public void mod() {
+    checkBinary(UInt256Limbs::mod, (v1, v2) -> v2.signum() == 0 ? BigInteger.ZERO : v1.mod(v2));
+  }
+
+  @Test
+  public void signedDivide() {
+    checkBinary(
+        UInt256Limbs::signedDivide,
+        (v1, v2) -> v2.signum() == 0 ? BigInteger.ZERO : signed(v1).divide(signed(v2)));
+  }
+
+  @Test
+  public void signedMod() {
+    checkBinary(
+        UInt256Limbs::signedMod,
+        (v1, v2) -> {
+          if (v2.signum() == 0) {
+            return BigInteger.ZERO;
+          }
+          final BigInteger abs = signed(v1).abs().mod(signed(v2).abs());
+          return signed(v1).signum() < 0 ? abs.negate() : abs;
+        });
+  }
+
+  @Test
+  public void pow() {
+    checkBinary(UInt256Limbs::pow, (v1, v2) -> v1.modPow(v2, P256));
+  }
+
+  @Test
+  public void powWithSmallExponents() {
+    for (int i = 0; i < ITERATIONS; i++) {
+      final BigInteger base = randomValue();
+      final BigInteger exponent = BigInteger.valueOf(random.nextInt(300));
+      final Bytes32 actual =
+          limbs.set(UInt256Bytes.of(base)).pow(UInt256Bytes.of(exponent)).toBytes32();
+      assertThat(BytesValues.asUnsignedBigInteger(actual)).isEqualTo(base.modPow(exponent, P256));
+    }
+  }
+
+  @Test
+  public void addModulo() {
+    checkModular(false, (v1, v2, m) -> v1.add(v2).mod(m));
+  }
+
+  @Test
+  public void multiplyModulo() {
+    checkModular(true, (v1, v2, m) -> v1.multiply(v2).mod(m));
+  }
+
+  @Test
+  public void divisionByZeroIsZero() {
+    final Bytes32 value = UInt256Bytes.of(42);
+    assertThat(limbs.set(value).divide(Bytes32.ZERO).isZero()).isTrue();
+    assertThat(limbs.set(value).mod(Bytes32.ZERO).isZero()).isTrue();
+    assertThat(limbs.set(value).signedDivide(Bytes32.ZERO).isZero()).isTrue();
+    assertThat(limbs.set(value).signedMod(Bytes32.ZERO).isZero()).isTrue();
+  }
+
+  @Test
+  public void minimumSignedValueDividedByMinusOne() {
+    final Bytes32 minimum = UInt256Bytes.of(BigInteger.ONE.shiftLeft(255));
+    final Bytes32 minusOne = Int256.MINUS_ONE.getBytes();
+    assertThat(limbs.set(minimum).signedDivide(minusOne).toBytes32()).isEqualTo(minimum);
+  }
+}